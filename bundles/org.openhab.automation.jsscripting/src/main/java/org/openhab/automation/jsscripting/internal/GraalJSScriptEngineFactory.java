@@ -19,19 +19,84 @@ import java.util.Map;
 
 import javax.script.ScriptEngine;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.graalvm.polyglot.Engine;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionPool;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.config.core.ConfigurableService;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 
 /**
  * An implementation of {@link ScriptEngineFactory} with customizations for GraalJS ScriptEngines.
  *
+ * By default all script engines share one polyglot {@link Engine}, so that the code of common modules is parsed and
+ * compiled only once. Scripts can be isolated into their own engines by configuration.
+ *
+ * Optionally each script is evaluated in a pool of contexts, so that its rules can run concurrently instead of one
+ * after another.
+ *
  * @author Jonathan Gilbert - Initial contribution
  */
-@Component(service = ScriptEngineFactory.class)
+@Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.jsscripting", //
+        property = Constants.SERVICE_PID + "=org.openhab.jsscripting")
+@ConfigurableService(category = "automation", label = "JS Scripting", description_uri = "automation:jsscripting")
 public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
+    private static final String CFG_SHARED_ENGINE = "sharedEngine";
+    private static final String CFG_CONTEXT_POOL_SIZE = "contextPoolSize";
+
+    private final Logger logger = LoggerFactory.getLogger(GraalJSScriptEngineFactory.class);
+
+    private boolean sharedEngine = true;
+    private int contextPoolSize = 1;
+    private @Nullable Engine engine;
+
+    @Activate
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        Object sharedEngineValue = config == null ? null : config.get(CFG_SHARED_ENGINE);
+        sharedEngine = sharedEngineValue == null || Boolean.parseBoolean(sharedEngineValue.toString());
+        logger.debug("JS script engines {} a polyglot engine", sharedEngine ? "share" : "do not share");
+
+        Object contextPoolSizeValue = config == null ? null : config.get(CFG_CONTEXT_POOL_SIZE);
+        try {
+            contextPoolSize = contextPoolSizeValue == null ? 1
+                    : Math.max(1, Integer.parseInt(contextPoolSizeValue.toString()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid context pool size '{}', using a single context per script", contextPoolSizeValue);
+            contextPoolSize = 1;
+        }
+        logger.debug("JS scripts using the context pool directive are evaluated in {} context(s)", contextPoolSize);
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        Engine localEngine = engine;
+        if (localEngine != null) {
+            try {
+                // contexts that are not executing are closed along with the engine
+                localEngine.close();
+            } catch (IllegalStateException e) {
+                logger.debug("Shared polyglot engine is still executing, cancelling its scripts: {}", e.getMessage());
+                try {
+                    localEngine.close(true);
+                } catch (RuntimeException e2) {
+                    logger.warn("Failed to close the shared polyglot engine, its resources are leaked: {}",
+                            e2.getMessage());
+                }
+            }
+            engine = null;
+        }
+    }
+
     @Override
     public List<String> getScriptTypes() {
         List<String> scriptTypes = new ArrayList<>();
@@ -50,7 +115,22 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     @Override
     public ScriptEngine createScriptEngine(String scriptType) {
-        OpenhabGraalJSScriptEngine engine = new OpenhabGraalJSScriptEngine();
+        Engine polyglotEngine = sharedEngine ? getSharedEngine() : null;
+        if (contextPoolSize > 1) {
+            RuleExecutionPool pool = new RuleExecutionPool(contextPoolSize);
+            return new DebuggingGraalScriptEngine<>(new PooledGraalJSScriptEngine(pool,
+                    contextIndex -> new OpenhabGraalJSScriptEngine(polyglotEngine, pool, contextIndex)));
+        }
+        OpenhabGraalJSScriptEngine engine = new OpenhabGraalJSScriptEngine(polyglotEngine);
         return new DebuggingGraalScriptEngine<>(engine);
     }
+
+    private synchronized Engine getSharedEngine() {
+        Engine localEngine = engine;
+        if (localEngine == null) {
+            localEngine = Engine.newBuilder().allowExperimentalOptions(true).build();
+            engine = localEngine;
+        }
+        return localEngine;
+    }
 }
@@ -29,10 +29,13 @@ import java.util.function.Function;
 import javax.script.ScriptContext;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.openhab.automation.jsscripting.internal.fs.DelegatingFileSystem;
 import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChannel;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocable;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionPool;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.slf4j.Logger;
@@ -57,15 +60,36 @@ public class OpenhabGraalJSScriptEngine extends InvocationInterceptingScriptEngi
     private @NonNullByDefault({}) String engineIdentifier;
     private @NonNullByDefault({}) Consumer<String> scriptDependencyListener;
 
+    private final RuleExecutionPool ruleExecutionPool;
+    private final int contextIndex;
+
     private boolean initialized = false;
 
     /**
      * Creates an implementation of ScriptEngine (& Invocable), wrapping the contained engine, that tracks the script
      * lifecycle and provides hooks for scripts to do so too.
+     *
+     * @param engine the polyglot engine to share with other scripts (and thereby its code cache), or null to use an
+     *            engine exclusively for this script
+     */
+    public OpenhabGraalJSScriptEngine(@Nullable Engine engine) {
+        this(engine, new RuleExecutionPool(1), 0);
+    }
+
+    /**
+     * Creates a script engine providing one context of a pool of contexts evaluating the same script.
+     *
+     * @param engine the polyglot engine to share with other scripts (and thereby its code cache), or null to use an
+     *            engine exclusively for this script
+     * @param ruleExecutionPool the pool executing the rules of the script
+     * @param contextIndex the index of this engine's context in the pool, 0 for the primary context
      */
-    public OpenhabGraalJSScriptEngine() {
+    public OpenhabGraalJSScriptEngine(@Nullable Engine engine, RuleExecutionPool ruleExecutionPool,
+            int contextIndex) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
-        delegate = GraalJSScriptEngine.create(null,
+        this.ruleExecutionPool = ruleExecutionPool;
+        this.contextIndex = contextIndex;
+        delegate = GraalJSScriptEngine.create(engine,
                 Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true)
                         .option("js.commonjs-require-cwd", MODULE_DIR).option("js.nashorn-compat", "true") // to ease
                                                                                                            // migration
@@ -117,7 +141,7 @@ public class OpenhabGraalJSScriptEngine extends InvocationInterceptingScriptEngi
         }
 
         ScriptExtensionModuleProvider scriptExtensionModuleProvider = new ScriptExtensionModuleProvider(
-                scriptExtensionAccessor);
+                scriptExtensionAccessor, ruleExecutionPool, contextIndex);
 
         Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn = originalRequireFn -> moduleName -> scriptExtensionModuleProvider
                 .locatorFor(delegate.getPolyglotContext(), engineIdentifier).locateModule(moduleName)
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.openhab.core.automation.module.script.ScriptEngineFactory.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jsscripting.internal.scriptengine.DelegatingScriptEngineWithInvocable;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A script engine evaluating a script in a pool of GraalJS contexts, so that the rules of the script can run
+ * concurrently. The primary context is the one visible to openHAB; the replica contexts are created on the first
+ * evaluation and receive every later script evaluation of the primary context.
+ * <p>
+ * Replica contexts run the top level code of the script again, so only scripts opting in with the
+ * {@value #POOL_DIRECTIVE} directive are pooled. All other scripts are evaluated in the primary context only. The
+ * lifecycle functions (e.g. {@code scriptLoaded}) are only invoked in the primary context.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PooledGraalJSScriptEngine extends DelegatingScriptEngineWithInvocable<OpenhabGraalJSScriptEngine> {
+
+    static final String POOL_DIRECTIVE = "use context pool";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledGraalJSScriptEngine.class);
+
+    // attributes set on the primary context by openHAB, which the replica contexts need as well
+    private static final String[] INHERITED_ATTRIBUTES = { CONTEXT_KEY_ENGINE_IDENTIFIER,
+            CONTEXT_KEY_EXTENSION_ACCESSOR, "oh.dependency-listener"/* CONTEXT_KEY_DEPENDENCY_LISTENER */,
+            ScriptEngine.FILENAME };
+
+    // the directive prologue: string literal statements, preceded by comments only
+    private static final Pattern PROLOGUE_STATEMENT = Pattern
+            .compile("\\G(?:\\s+|//[^\\n]*|/\\*.*?\\*/)*(['\"])([^'\"\\n]*)\\1\\s*;?", Pattern.DOTALL);
+
+    private final RuleExecutionPool ruleExecutionPool;
+    private final IntFunction<OpenhabGraalJSScriptEngine> replicaFactory;
+    private final List<OpenhabGraalJSScriptEngine> replicas = new ArrayList<>();
+
+    private boolean replicasCreated = false;
+    private @Nullable Boolean pooled;
+
+    /**
+     * Creates a pooled script engine.
+     *
+     * @param ruleExecutionPool the pool executing the rules of the script, its size is the number of contexts
+     * @param replicaFactory creates the engine for the context with the given index, including the primary one
+     */
+    PooledGraalJSScriptEngine(RuleExecutionPool ruleExecutionPool,
+            IntFunction<OpenhabGraalJSScriptEngine> replicaFactory) {
+        super(replicaFactory.apply(0));
+        this.ruleExecutionPool = ruleExecutionPool;
+        this.replicaFactory = replicaFactory;
+    }
+
+    @Override
+    public Object eval(String s) throws ScriptException {
+        Boolean pooled = this.pooled;
+        if (pooled == null) {
+            // the first evaluation is the script itself, its directive decides whether it is pooled
+            pooled = hasPoolDirective(s);
+            this.pooled = pooled;
+            if (!pooled) {
+                LOGGER.debug("Script '{}' does not use the '{}' directive, evaluating it in a single context",
+                        delegate.getContext().getAttribute(ScriptEngine.FILENAME), POOL_DIRECTIVE);
+            }
+        }
+        Object result = delegate.eval(s);
+        if (!pooled) {
+            return result;
+        }
+        for (OpenhabGraalJSScriptEngine replica : getReplicas()) {
+            try {
+                replica.eval(s);
+            } catch (ScriptException e) {
+                LOGGER.warn("Failed to evaluate script in replica context: {}", e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object eval(Reader reader) throws ScriptException {
+        // the script is evaluated once per context, so it needs to be read completely
+        StringBuilder script = new StringBuilder();
+        char[] buffer = new char[8192];
+        try {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                script.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new ScriptException(e);
+        }
+        return eval(script.toString());
+    }
+
+    /**
+     * Checks whether the directive prologue of a script contains the {@value #POOL_DIRECTIVE} directive.
+     *
+     * @param script the script source
+     * @return true if the script may be evaluated in several contexts
+     */
+    static boolean hasPoolDirective(String script) {
+        Matcher matcher = PROLOGUE_STATEMENT.matcher(script);
+        while (matcher.find()) {
+            if (POOL_DIRECTIVE.equals(matcher.group(2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<OpenhabGraalJSScriptEngine> getReplicas() {
+        if (!replicasCreated) {
+            ScriptContext primaryContext = delegate.getContext();
+            for (int i = 1; i < ruleExecutionPool.size(); i++) {
+                OpenhabGraalJSScriptEngine replica = replicaFactory.apply(i);
+                for (String attribute : INHERITED_ATTRIBUTES) {
+                    Object value = primaryContext.getAttribute(attribute);
+                    if (value != null) {
+                        replica.getContext().setAttribute(attribute, value, ScriptContext.ENGINE_SCOPE);
+                    }
+                }
+                replicas.add(replica);
+            }
+            replicasCreated = true;
+        }
+        return replicas;
+    }
+}
@@ -12,7 +12,6 @@
  */
 package org.openhab.automation.jsscripting.internal;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -21,6 +20,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
+import org.openhab.automation.jsscripting.internal.threading.RuleExecutionPool;
 import org.openhab.automation.jsscripting.internal.threading.ThreadsafeWrappingScriptedAutomationManagerDelegate;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
@@ -37,10 +37,21 @@ public class ScriptExtensionModuleProvider {
     private static final String RUNTIME_MODULE_PREFIX = "@runtime";
     private static final String DEFAULT_MODULE_NAME = "Defaults";
 
+    // built once, so that contexts sharing an engine also share the parsed code
+    private static final Source MAP_TO_OBJECT_SOURCE = Source.newBuilder( // convert to Map to JS Object
+            "js", "(function (mapOfValues) {\n" + "let rv = {};\n" + "for (var key in mapOfValues) {\n"
+                    + "    rv[key] = mapOfValues.get(key);\n" + "}\n" + "return rv;\n" + "})",
+            "<generated>").buildLiteral();
+
     private final ScriptExtensionAccessor scriptExtensionAccessor;
+    private final RuleExecutionPool ruleExecutionPool;
+    private final int contextIndex;
 
-    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor) {
+    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor,
+            RuleExecutionPool ruleExecutionPool, int contextIndex) {
         this.scriptExtensionAccessor = scriptExtensionAccessor;
+        this.ruleExecutionPool = ruleExecutionPool;
+        this.contextIndex = contextIndex;
     }
 
     public ModuleLocator locatorFor(Context ctx, String engineIdentifier) {
@@ -71,15 +82,7 @@ public class ScriptExtensionModuleProvider {
     }
 
     private Value toValue(Context ctx, Map<String, Object> map) {
-        try {
-            return ctx.eval(Source.newBuilder( // convert to Map to JS Object
-                    "js",
-                    "(function (mapOfValues) {\n" + "let rv = {};\n" + "for (var key in mapOfValues) {\n"
-                            + "    rv[key] = mapOfValues.get(key);\n" + "}\n" + "return rv;\n" + "})",
-                    "<generated>").build()).execute(map);
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Failed to generate exports", e);
-        }
+        return ctx.eval(MAP_TO_OBJECT_SOURCE).execute(map);
     }
 
     /**
@@ -94,7 +97,7 @@ public class ScriptExtensionModuleProvider {
         for (Map.Entry<String, Object> entry : rv.entrySet()) {
             if (entry.getValue() instanceof ScriptedAutomationManager) {
                 entry.setValue(new ThreadsafeWrappingScriptedAutomationManagerDelegate(
-                        (ScriptedAutomationManager) entry.getValue()));
+                        (ScriptedAutomationManager) entry.getValue(), ruleExecutionPool, contextIndex));
             }
         }
 
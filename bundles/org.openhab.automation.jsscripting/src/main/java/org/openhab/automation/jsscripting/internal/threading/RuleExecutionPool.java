@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.automation.Action;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the rules of one script file on a pool of script contexts.
+ *
+ * Every context evaluates the same script and therefore registers the same rules in the same order, so the n-th rule
+ * of a context is a replica of the n-th rule of every other context. Each context is guarded by its own lock, which
+ * keeps the single threaded semantics within a context, while independent rules can run concurrently on different
+ * contexts. With a single context, this behaves like one lock per script file.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RuleExecutionPool {
+
+    private final Logger logger = LoggerFactory.getLogger(RuleExecutionPool.class);
+
+    private final ReentrantLock[] contextLocks;
+    private final AtomicInteger[] registeredRules;
+    private final ReentrantLock poolLock = new ReentrantLock();
+    private final Condition contextReleased = poolLock.newCondition();
+    private final List<PooledRule> rules = new ArrayList<>();
+    private final AtomicInteger nextContext = new AtomicInteger();
+
+    /**
+     * Creates a pool for the given number of script contexts.
+     *
+     * @param size the number of contexts, at least 1
+     */
+    public RuleExecutionPool(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A rule execution pool needs at least one context");
+        }
+        contextLocks = new ReentrantLock[size];
+        registeredRules = new AtomicInteger[size];
+        for (int i = 0; i < size; i++) {
+            contextLocks[i] = new ReentrantLock();
+            registeredRules[i] = new AtomicInteger();
+        }
+    }
+
+    public int size() {
+        return contextLocks.length;
+    }
+
+    /**
+     * Registers a rule created by the script in the given context.
+     *
+     * @param contextIndex the index of the context that created the rule
+     * @param rule the rule
+     * @return the index of the rule, or -1 if the context registered more rules than the primary context
+     */
+    public int register(int contextIndex, SimpleRule rule) {
+        int ruleIndex = registeredRules[contextIndex].getAndIncrement();
+        synchronized (rules) {
+            if (contextIndex == 0) {
+                rules.add(new PooledRule(rule, contextLocks.length));
+            } else if (ruleIndex >= rules.size()) {
+                logger.warn("Context {} registered more rules than the primary context, ignoring rule '{}'",
+                        contextIndex, rule.getName());
+                return -1;
+            }
+            rules.get(ruleIndex).replicas[contextIndex] = rule;
+        }
+        return ruleIndex;
+    }
+
+    /**
+     * Executes a rule on a free context that has a replica of it, waiting for one if all of them are busy. A thread
+     * which already executes a rule on a context keeps using that context, so nested rule executions do not block.
+     *
+     * @param ruleIndex the index returned by {@link #register(int, SimpleRule)} for the primary context
+     * @param module the action to execute
+     * @param inputs the inputs of the action
+     * @return the result of the rule
+     */
+    public @Nullable Object execute(int ruleIndex, Action module, Map<String, ?> inputs) {
+        PooledRule rule;
+        synchronized (rules) {
+            rule = rules.get(ruleIndex);
+        }
+
+        long queued = System.nanoTime();
+        int contextIndex = acquire(rule);
+        long started = System.nanoTime();
+        try {
+            SimpleRule replica = rule.replicas[contextIndex];
+            return replica == null ? null : replica.execute(module, inputs);
+        } finally {
+            long finished = System.nanoTime();
+            release(contextIndex);
+            rule.statistics.record(started - queued, finished - started);
+            logger.trace("Rule '{}' waited {} µs and ran {} µs on context {}", rule.name, (started - queued) / 1000,
+                    (finished - started) / 1000, contextIndex);
+        }
+    }
+
+    private int acquire(PooledRule rule) {
+        for (int i = 0; i < contextLocks.length; i++) {
+            if (contextLocks[i].isHeldByCurrentThread() && rule.replicas[i] != null) {
+                contextLocks[i].lock();
+                return i;
+            }
+        }
+
+        poolLock.lock();
+        try {
+            while (true) {
+                int start = Math.floorMod(nextContext.getAndIncrement(), contextLocks.length);
+                for (int n = 0; n < contextLocks.length; n++) {
+                    int i = (start + n) % contextLocks.length;
+                    if (rule.replicas[i] != null && contextLocks[i].tryLock()) {
+                        return i;
+                    }
+                }
+                contextReleased.awaitUninterruptibly();
+            }
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    private void release(int contextIndex) {
+        ReentrantLock contextLock = contextLocks[contextIndex];
+        contextLock.unlock();
+        if (!contextLock.isHeldByCurrentThread()) {
+            poolLock.lock();
+            try {
+                contextReleased.signalAll();
+            } finally {
+                poolLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the execution statistics of all rules registered by the primary context.
+     *
+     * @return a list of statistics, in registration order
+     */
+    public List<RuleStatistics> getStatistics() {
+        List<RuleStatistics> statistics = new ArrayList<>();
+        synchronized (rules) {
+            for (PooledRule rule : rules) {
+                statistics.add(rule.statistics);
+            }
+        }
+        return Collections.unmodifiableList(statistics);
+    }
+
+    /**
+     * Logs the execution statistics of all rules.
+     */
+    public void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            for (RuleStatistics statistics : getStatistics()) {
+                logger.debug("{}", statistics);
+            }
+        }
+    }
+
+    private static class PooledRule {
+        private final @Nullable String name;
+        private final @Nullable SimpleRule[] replicas;
+        private final RuleStatistics statistics;
+
+        private PooledRule(SimpleRule primary, int size) {
+            this.name = primary.getName() != null ? primary.getName() : primary.getUID();
+            this.replicas = new SimpleRule[size];
+            this.statistics = new RuleStatistics(name);
+        }
+    }
+
+    /**
+     * Queue wait and execution time of a rule.
+     */
+    public static class RuleStatistics {
+        private final @Nullable String rule;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalExecutionNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+        private RuleStatistics(@Nullable String rule) {
+            this.rule = rule;
+        }
+
+        private void record(long waitNanos, long executionNanos) {
+            executions.increment();
+            totalWaitNanos.add(waitNanos);
+            totalExecutionNanos.add(executionNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            maxExecutionNanos.accumulateAndGet(executionNanos, Math::max);
+        }
+
+        public @Nullable String getRule() {
+            return rule;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public long getTotalWaitNanos() {
+            return totalWaitNanos.sum();
+        }
+
+        public long getMaxWaitNanos() {
+            return maxWaitNanos.get();
+        }
+
+        public long getTotalExecutionNanos() {
+            return totalExecutionNanos.sum();
+        }
+
+        public long getMaxExecutionNanos() {
+            return maxExecutionNanos.get();
+        }
+
+        @Override
+        public String toString() {
+            long count = getExecutions();
+            return String.format("Rule '%s': %d executions, queue wait avg %d µs max %d µs, execution avg %d µs max %d µs",
+                    rule, count, count == 0 ? 0 : getTotalWaitNanos() / count / 1000, getMaxWaitNanos() / 1000,
+                    count == 0 ? 0 : getTotalExecutionNanos() / count / 1000, getMaxExecutionNanos() / 1000);
+        }
+    }
+}
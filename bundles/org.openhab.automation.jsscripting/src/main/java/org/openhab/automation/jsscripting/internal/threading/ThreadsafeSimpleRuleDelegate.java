@@ -31,33 +31,35 @@ import org.openhab.core.config.core.Configuration;
 
 /**
  * An version of {@link SimpleRule} which controls multithreaded execution access to this specific rule. This is useful
- * for rules which wrap GraalJS Contexts, which are not multithreaded.
+ * for rules which wrap GraalJS Contexts, which are not multithreaded. Executions are handed to a
+ * {@link RuleExecutionPool}, which runs them on a context that is not in use by another thread.
  *
  * @author Jonathan Gilbert - Initial contribution
  */
 @NonNullByDefault
 class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
 
-    private final Object lock;
+    private final RuleExecutionPool pool;
+    private final int ruleIndex;
     private final SimpleRule delegate;
 
     /**
-     * Constructor requires a lock object and delegate to forward invocations to.
+     * Constructor requires the pool executing the rules and the delegate to forward invocations to.
      *
-     * @param lock rule executions will synchronize on this object
+     * @param pool rule executions will run on a free context of this pool
+     * @param ruleIndex the index of the rule in the pool
      * @param delegate the delegate to forward invocations to
      */
-    ThreadsafeSimpleRuleDelegate(Object lock, SimpleRule delegate) {
-        this.lock = lock;
+    ThreadsafeSimpleRuleDelegate(RuleExecutionPool pool, int ruleIndex, SimpleRule delegate) {
+        this.pool = pool;
+        this.ruleIndex = ruleIndex;
         this.delegate = delegate;
     }
 
     @Override
     @NonNullByDefault({})
     public Object execute(Action module, Map<String, ?> inputs) {
-        synchronized (lock) {
-            return delegate.execute(module, inputs);
-        }
+        return pool.execute(ruleIndex, module, inputs);
     }
 
     @Override
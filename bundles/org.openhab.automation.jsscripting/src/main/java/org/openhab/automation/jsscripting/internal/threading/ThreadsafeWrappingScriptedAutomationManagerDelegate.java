@@ -28,7 +28,10 @@ import org.openhab.core.automation.type.TriggerType;
 /**
  * A replacement for {@link ScriptedAutomationManager} which wraps all rule registrations in a
  * {@link ThreadsafeSimpleRuleDelegate}. This means that all rules registered via this class with be run in serial per
- * instance of this class that they are registered with.
+ * context of the {@link RuleExecutionPool} that they are registered with.
+ *
+ * Only the primary context of a pool registers rules, handlers and types with the automation manager. The other
+ * contexts evaluate the same script, so their registrations are only used as replicas of the primary's rules.
  *
  * @author Jonathan Gilbert - Initial contribution
  */
@@ -36,70 +39,112 @@ import org.openhab.core.automation.type.TriggerType;
 public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
 
     private ScriptedAutomationManager delegate;
-    private Object lock = new Object();
+    private RuleExecutionPool pool;
+    private int contextIndex;
 
-    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate) {
+    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate,
+            RuleExecutionPool pool, int contextIndex) {
         this.delegate = delegate;
+        this.pool = pool;
+        this.contextIndex = contextIndex;
+    }
+
+    private boolean isPrimary() {
+        return contextIndex == 0;
+    }
+
+    private String replicaHandlerId() {
+        // handlers of replica contexts are not registered, the primary context's handlers are used instead
+        return "replica-" + contextIndex;
     }
 
     public void removeModuleType(String UID) {
-        delegate.removeModuleType(UID);
+        if (isPrimary()) {
+            delegate.removeModuleType(UID);
+        }
     }
 
     public void removeHandler(String typeUID) {
-        delegate.removeHandler(typeUID);
+        if (isPrimary()) {
+            delegate.removeHandler(typeUID);
+        }
     }
 
     public void removePrivateHandler(String privId) {
-        delegate.removePrivateHandler(privId);
+        if (isPrimary()) {
+            delegate.removePrivateHandler(privId);
+        }
     }
 
     public void removeAll() {
-        delegate.removeAll();
+        if (isPrimary()) {
+            pool.logStatistics();
+            delegate.removeAll();
+        }
     }
 
     public Rule addRule(Rule element) {
+        if (!isPrimary()) {
+            if (element instanceof SimpleRule) {
+                pool.register(contextIndex, (SimpleRule) element);
+            }
+            return element;
+        }
+
         // wrap in a threadsafe version, safe per context
         if (element instanceof SimpleRule) {
-            element = new ThreadsafeSimpleRuleDelegate(lock, (SimpleRule) element);
+            SimpleRule rule = (SimpleRule) element;
+            element = new ThreadsafeSimpleRuleDelegate(pool, pool.register(contextIndex, rule), rule);
         }
 
         return delegate.addRule(element);
     }
 
     public void addConditionType(ConditionType condititonType) {
-        delegate.addConditionType(condititonType);
+        if (isPrimary()) {
+            delegate.addConditionType(condititonType);
+        }
     }
 
     public void addConditionHandler(String uid, ScriptedHandler conditionHandler) {
-        delegate.addConditionHandler(uid, conditionHandler);
+        if (isPrimary()) {
+            delegate.addConditionHandler(uid, conditionHandler);
+        }
     }
 
     public String addPrivateConditionHandler(SimpleConditionHandler conditionHandler) {
-        return delegate.addPrivateConditionHandler(conditionHandler);
+        return isPrimary() ? delegate.addPrivateConditionHandler(conditionHandler) : replicaHandlerId();
     }
 
     public void addActionType(ActionType actionType) {
-        delegate.addActionType(actionType);
+        if (isPrimary()) {
+            delegate.addActionType(actionType);
+        }
     }
 
     public void addActionHandler(String uid, ScriptedHandler actionHandler) {
-        delegate.addActionHandler(uid, actionHandler);
+        if (isPrimary()) {
+            delegate.addActionHandler(uid, actionHandler);
+        }
     }
 
     public String addPrivateActionHandler(SimpleActionHandler actionHandler) {
-        return delegate.addPrivateActionHandler(actionHandler);
+        return isPrimary() ? delegate.addPrivateActionHandler(actionHandler) : replicaHandlerId();
     }
 
     public void addTriggerType(TriggerType triggerType) {
-        delegate.addTriggerType(triggerType);
+        if (isPrimary()) {
+            delegate.addTriggerType(triggerType);
+        }
     }
 
     public void addTriggerHandler(String uid, ScriptedHandler triggerHandler) {
-        delegate.addTriggerHandler(uid, triggerHandler);
+        if (isPrimary()) {
+            delegate.addTriggerHandler(uid, triggerHandler);
+        }
     }
 
     public String addPrivateTriggerHandler(SimpleTriggerHandler triggerHandler) {
-        return delegate.addPrivateTriggerHandler(triggerHandler);
+        return isPrimary() ? delegate.addPrivateTriggerHandler(triggerHandler) : replicaHandlerId();
     }
 }
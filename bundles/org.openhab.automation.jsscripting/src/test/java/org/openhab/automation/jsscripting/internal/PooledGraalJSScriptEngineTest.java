@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PooledGraalJSScriptEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PooledGraalJSScriptEngineTest {
+
+    @Test
+    public void directiveAtStartOptsIn() {
+        assertTrue(PooledGraalJSScriptEngine.hasPoolDirective("'use context pool';\nrules.JSRule({});"));
+        assertTrue(PooledGraalJSScriptEngine.hasPoolDirective("\"use context pool\"\nrules.JSRule({});"));
+    }
+
+    @Test
+    public void directiveAfterCommentsAndOtherDirectivesOptsIn() {
+        assertTrue(PooledGraalJSScriptEngine
+                .hasPoolDirective("// header\n/* multi\n line */\n'use strict';\n'use context pool';\nlet x = 1;"));
+    }
+
+    @Test
+    public void scriptsWithoutDirectiveAreNotPooled() {
+        assertFalse(PooledGraalJSScriptEngine.hasPoolDirective(""));
+        assertFalse(PooledGraalJSScriptEngine.hasPoolDirective("'use strict';\nlet x = 1;"));
+    }
+
+    @Test
+    public void directiveAfterFirstStatementIsIgnored() {
+        assertFalse(PooledGraalJSScriptEngine.hasPoolDirective("let x = 1;\n'use context pool';"));
+        assertFalse(PooledGraalJSScriptEngine.hasPoolDirective("let x = 'use context pool';"));
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.openhab.core.automation.module.script.ScriptEngineFactory.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Startup benchmark comparing script engines sharing a polyglot engine with isolated ones. Reports the time to the
+ * first rule execution and the retained heap per script. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ScriptEngineStartupBenchmarkTest {
+
+    private static final int SCRIPTS = Integer.getInteger("benchmark.scripts", 20);
+    private static final int LIBRARY_FUNCTIONS = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(ScriptEngineStartupBenchmarkTest.class);
+
+    @Test
+    public void sharedEngine() throws Exception {
+        run(true);
+    }
+
+    @Test
+    public void isolatedEngines() throws Exception {
+        run(false);
+    }
+
+    private void run(boolean shared) throws Exception {
+        GraalJSScriptEngineFactory factory = new GraalJSScriptEngineFactory();
+        factory.modified(Map.of("sharedEngine", Boolean.toString(shared)));
+        String library = createLibrary();
+        List<ScriptEngine> engines = new ArrayList<>();
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        long firstRule = 0;
+        for (int i = 0; i < SCRIPTS; i++) {
+            ScriptEngine engine = factory.createScriptEngine("js");
+            engine.getContext().setAttribute(CONTEXT_KEY_ENGINE_IDENTIFIER, "script" + i, ScriptContext.ENGINE_SCOPE);
+            engine.getContext().setAttribute(CONTEXT_KEY_EXTENSION_ACCESSOR, mock(ScriptExtensionAccessor.class),
+                    ScriptContext.ENGINE_SCOPE);
+            engine.eval(library);
+            engine.eval("function rule(x) { return f" + (LIBRARY_FUNCTIONS - 1) + "(x); }");
+            assertEquals(LIBRARY_FUNCTIONS, ((Number) ((Invocable) engine).invokeFunction("rule", 1)).intValue());
+            if (i == 0) {
+                firstRule = System.nanoTime() - start;
+            }
+            engines.add(engine);
+        }
+        long total = System.nanoTime() - start;
+        long retainedPerScript = (usedHeap() - heapBefore) / SCRIPTS;
+
+        logger.info(
+                "{} engine(s): {} scripts, first rule executed after {} ms, all rules after {} ms, retained heap per script {} KiB",
+                shared ? "shared" : "isolated", SCRIPTS, firstRule / 1_000_000, total / 1_000_000,
+                retainedPerScript / 1024);
+
+        engines.clear();
+        factory.deactivate();
+    }
+
+    private String createLibrary() {
+        StringBuilder library = new StringBuilder("function f0(x) { return x; }\n");
+        for (int i = 1; i < LIBRARY_FUNCTIONS; i++) {
+            library.append("function f").append(i).append("(x) { return f").append(i - 1).append("(x) + 1; }\n");
+        }
+        return library.toString();
+    }
+
+    private long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
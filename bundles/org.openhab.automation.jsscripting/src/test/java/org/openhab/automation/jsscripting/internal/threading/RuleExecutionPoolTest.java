@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.automation.Action;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+
+/**
+ * Tests for {@link RuleExecutionPool}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RuleExecutionPoolTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Action action = mock(Action.class);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void singleContextSerializesRules() throws Exception {
+        RuleExecutionPool pool = new RuleExecutionPool(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        int slow = pool.register(0, new BlockingRule(slowStarted, release));
+        int fast = pool.register(0, new CountingRule(new AtomicInteger()));
+
+        Future<?> slowRun = executor.submit(() -> pool.execute(slow, action, Map.of()));
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        Future<?> fastRun = executor.submit(() -> pool.execute(fast, action, Map.of()));
+
+        Thread.sleep(100);
+        assertFalse(fastRun.isDone());
+        release.countDown();
+        slowRun.get(5, TimeUnit.SECONDS);
+        fastRun.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void independentRulesRunConcurrentlyOnDifferentContexts() throws Exception {
+        RuleExecutionPool pool = new RuleExecutionPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        AtomicInteger fastExecutions = new AtomicInteger();
+        int slow = -1;
+        int fast = -1;
+        for (int context = 0; context < 2; context++) {
+            slow = pool.register(context, new BlockingRule(slowStarted, release));
+            fast = pool.register(context, new CountingRule(fastExecutions));
+        }
+        int slowIndex = slow;
+        int fastIndex = fast;
+
+        Future<?> slowRun = executor.submit(() -> pool.execute(slowIndex, action, Map.of()));
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> pool.execute(fastIndex, action, Map.of())).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, fastExecutions.get());
+        assertFalse(slowRun.isDone());
+        release.countDown();
+        slowRun.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void nestedExecutionReusesContextOfThread() throws Exception {
+        RuleExecutionPool pool = new RuleExecutionPool(1);
+        AtomicInteger innerExecutions = new AtomicInteger();
+        int inner = pool.register(0, new CountingRule(innerExecutions));
+        int outer = pool.register(0, new SimpleRule() {
+            @Override
+            public @Nullable Object execute(Action module, Map<String, ?> inputs) {
+                return pool.execute(inner, module, inputs);
+            }
+        });
+
+        executor.submit(() -> pool.execute(outer, action, Map.of())).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, innerExecutions.get());
+    }
+
+    @Test
+    public void recordsStatisticsPerRule() {
+        RuleExecutionPool pool = new RuleExecutionPool(1);
+        int first = pool.register(0, new CountingRule(new AtomicInteger()));
+        pool.register(0, new CountingRule(new AtomicInteger()));
+
+        pool.execute(first, action, Map.of());
+        pool.execute(first, action, Map.of());
+
+        assertEquals(2, pool.getStatistics().get(0).getExecutions());
+        assertEquals(0, pool.getStatistics().get(1).getExecutions());
+    }
+
+    @Test
+    public void ignoresRulesUnknownToPrimaryContext() {
+        RuleExecutionPool pool = new RuleExecutionPool(2);
+        pool.register(0, new CountingRule(new AtomicInteger()));
+        pool.register(1, new CountingRule(new AtomicInteger()));
+
+        assertEquals(-1, pool.register(1, new CountingRule(new AtomicInteger())));
+    }
+
+    private static class CountingRule extends SimpleRule {
+        private final AtomicInteger executions;
+
+        CountingRule(AtomicInteger executions) {
+            this.executions = executions;
+        }
+
+        @Override
+        public @Nullable Object execute(Action module, Map<String, ?> inputs) {
+            executions.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static class BlockingRule extends SimpleRule {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingRule(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public @Nullable Object execute(Action module, Map<String, ?> inputs) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+}
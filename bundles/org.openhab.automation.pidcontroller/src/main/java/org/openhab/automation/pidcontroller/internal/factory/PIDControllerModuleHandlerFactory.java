@@ -17,6 +17,7 @@ import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pidcontroller.internal.handler.PIDControllerEngine;
 import org.openhab.automation.pidcontroller.internal.handler.PIDControllerTriggerHandler;
 import org.openhab.core.automation.Module;
 import org.openhab.core.automation.Trigger;
@@ -25,7 +26,6 @@ import org.openhab.core.automation.handler.ModuleHandler;
 import org.openhab.core.automation.handler.ModuleHandlerFactory;
 import org.openhab.core.events.EventPublisher;
 import org.openhab.core.items.ItemRegistry;
-import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -40,14 +40,14 @@ public class PIDControllerModuleHandlerFactory extends BaseModuleHandlerFactory
     private static final Collection<String> TYPES = Set.of(PIDControllerTriggerHandler.MODULE_TYPE_ID);
     private ItemRegistry itemRegistry;
     private EventPublisher eventPublisher;
-    private BundleContext bundleContext;
+    private PIDControllerEngine engine;
 
     @Activate
     public PIDControllerModuleHandlerFactory(@Reference ItemRegistry itemRegistry,
-            @Reference EventPublisher eventPublisher, BundleContext bundleContext) {
+            @Reference EventPublisher eventPublisher, @Reference PIDControllerEngine engine) {
         this.itemRegistry = itemRegistry;
         this.eventPublisher = eventPublisher;
-        this.bundleContext = bundleContext;
+        this.engine = engine;
     }
 
     @Override
@@ -59,7 +59,7 @@ public class PIDControllerModuleHandlerFactory extends BaseModuleHandlerFactory
     protected @Nullable ModuleHandler internalCreate(Module module, String ruleUID) {
         switch (module.getTypeUID()) {
             case PIDControllerTriggerHandler.MODULE_TYPE_ID:
-                return new PIDControllerTriggerHandler((Trigger) module, itemRegistry, eventPublisher, bundleContext);
+                return new PIDControllerTriggerHandler((Trigger) module, itemRegistry, eventPublisher, engine);
         }
 
         return null;
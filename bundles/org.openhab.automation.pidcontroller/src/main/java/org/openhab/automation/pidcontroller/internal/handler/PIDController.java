@@ -12,12 +12,15 @@
  */
 package org.openhab.automation.pidcontroller.internal.handler;
 
+import java.util.Arrays;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.automation.pidcontroller.internal.LowpassFilter;
 
 /**
  * The {@link PIDController} provides the necessary methods for retrieving part(s) of the PID calculations
- * and it provides the method for the overall PID calculations. It also resets the PID controller
+ * and it provides the method for the overall PID calculations. It also resets the PID controller. It holds the state
+ * of all controllers evaluated by the {@link PIDControllerEngine}, each controller being identified by its slot.
  *
  * @author George Erhan - Initial contribution
  * @author Hilbrand Bouwkamp - Adapted for new rule engine
@@ -25,51 +28,108 @@ import org.openhab.automation.pidcontroller.internal.LowpassFilter;
  */
 @NonNullByDefault
 class PIDController {
-    private double integralResult;
-    private double derivativeResult;
-    private double previousError;
-    private double output;
-
-    private double kp;
-    private double ki;
-    private double kd;
-    private double derivativeTimeConstantSec;
-
-    public PIDController(double kpAdjuster, double kiAdjuster, double kdAdjuster, double derivativeTimeConstantSec) {
-        this.kp = kpAdjuster;
-        this.ki = kiAdjuster;
-        this.kd = kdAdjuster;
-        this.derivativeTimeConstantSec = derivativeTimeConstantSec;
+    static final int OUTPUT = 0;
+    static final int PROPORTIONAL_PART = 1;
+    static final int INTEGRAL_PART = 2;
+    static final int DERIVATIVE_PART = 3;
+    static final int ERROR = 4;
+    static final int RESULT_SIZE = 5;
+
+    private double[] integralResult;
+    private double[] derivativeResult;
+    private double[] previousError;
+
+    private double[] kp;
+    private double[] ki;
+    private double[] kd;
+    private double[] derivativeTimeConstantSec;
+
+    /**
+     * Creates the state of a number of controllers, kept in primitive arrays indexed by the controller's slot.
+     *
+     * @param capacity the initial number of slots
+     */
+    public PIDController(int capacity) {
+        integralResult = new double[capacity];
+        derivativeResult = new double[capacity];
+        previousError = new double[capacity];
+        kp = new double[capacity];
+        ki = new double[capacity];
+        kd = new double[capacity];
+        derivativeTimeConstantSec = new double[capacity];
+    }
+
+    public int capacity() {
+        return kp.length;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > kp.length) {
+            integralResult = Arrays.copyOf(integralResult, capacity);
+            derivativeResult = Arrays.copyOf(derivativeResult, capacity);
+            previousError = Arrays.copyOf(previousError, capacity);
+            kp = Arrays.copyOf(kp, capacity);
+            ki = Arrays.copyOf(ki, capacity);
+            kd = Arrays.copyOf(kd, capacity);
+            derivativeTimeConstantSec = Arrays.copyOf(derivativeTimeConstantSec, capacity);
+        }
+    }
+
+    public void init(int slot, double kpAdjuster, double kiAdjuster, double kdAdjuster,
+            double derivativeTimeConstantSec) {
+        this.kp[slot] = kpAdjuster;
+        this.ki[slot] = kiAdjuster;
+        this.kd[slot] = kdAdjuster;
+        this.derivativeTimeConstantSec[slot] = derivativeTimeConstantSec;
+        integralResult[slot] = 0;
+        derivativeResult[slot] = 0;
+        previousError[slot] = 0;
     }
 
-    public PIDOutputDTO calculate(double input, double setpoint, long lastInvocationMs, int loopTimeMs) {
+    /**
+     * Calculates the next output of a controller.
+     *
+     * @param slot the controller's slot
+     * @param input the current input value
+     * @param setpoint the current setpoint
+     * @param lastInvocationMs the time since the last calculation
+     * @param loopTimeMs the loop time of the controller
+     * @param result receives the output, the P, I and D parts and the error at the indexes {@link #OUTPUT},
+     *            {@link #PROPORTIONAL_PART}, {@link #INTEGRAL_PART}, {@link #DERIVATIVE_PART} and {@link #ERROR}
+     */
+    public void calculate(int slot, double input, double setpoint, long lastInvocationMs, int loopTimeMs,
+            double[] result) {
         final double lastInvocationSec = lastInvocationMs / 1000d;
         final double error = setpoint - input;
 
         // derivative T1 calculation
-        final double timeQuotient = lastInvocationSec / derivativeTimeConstantSec;
-        if (derivativeTimeConstantSec != 0) {
-            derivativeResult = LowpassFilter.calculate(derivativeResult, error - previousError, timeQuotient);
-            previousError = error;
+        final double timeQuotient = lastInvocationSec / derivativeTimeConstantSec[slot];
+        if (derivativeTimeConstantSec[slot] != 0) {
+            derivativeResult[slot] = LowpassFilter.calculate(derivativeResult[slot], error - previousError[slot],
+                    timeQuotient);
+            previousError[slot] = error;
         }
 
         // integral calculation
-        integralResult += error * lastInvocationMs / loopTimeMs;
+        integralResult[slot] += error * lastInvocationMs / loopTimeMs;
 
         // calculate parts
-        final double proportionalPart = kp * error;
-        final double integralPart = ki * integralResult;
-        final double derivativePart = kd * derivativeResult;
-        output = proportionalPart + integralPart + derivativePart;
+        final double proportionalPart = kp[slot] * error;
+        final double integralPart = ki[slot] * integralResult[slot];
+        final double derivativePart = kd[slot] * derivativeResult[slot];
 
-        return new PIDOutputDTO(output, proportionalPart, integralPart, derivativePart, error);
+        result[OUTPUT] = proportionalPart + integralPart + derivativePart;
+        result[PROPORTIONAL_PART] = proportionalPart;
+        result[INTEGRAL_PART] = integralPart;
+        result[DERIVATIVE_PART] = derivativePart;
+        result[ERROR] = error;
     }
 
-    public void setIntegralResult(double integralResult) {
-        this.integralResult = integralResult;
+    public void setIntegralResult(int slot, double integralResult) {
+        this.integralResult[slot] = integralResult;
     }
 
-    public void setDerivativeResult(double derivativeResult) {
-        this.derivativeResult = derivativeResult;
+    public void setDerivativeResult(int slot, double derivativeResult) {
+        this.derivativeResult[slot] = derivativeResult;
     }
 }
@@ -0,0 +1,488 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.AUTOMATION_NAME;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PIDControllerEngine} evaluates all PID controllers on one shared timer.
+ *
+ * The controllers are kept in slots of primitive arrays. A hashed timing wheel with a resolution of {@link #TICK_MS}
+ * holds the slots by their next due time, so that one scheduled job serves all controllers. The input and setpoint
+ * values are cached from the item state changed events, instead of being read from the item registry on every
+ * calculation. The listeners are called after the engine's lock has been released.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { PIDControllerEngine.class, EventSubscriber.class })
+@NonNullByDefault
+public class PIDControllerEngine implements EventSubscriber {
+
+    /**
+     * Receives the results of a controller.
+     */
+    public interface Listener {
+        /**
+         * Called when the controller calculated a new output.
+         *
+         * @param result the output, the P, I and D parts and the error, only valid during the call
+         */
+        void calculated(double[] result);
+
+        /**
+         * Called when the controller was reset by its command item.
+         */
+        void reset();
+    }
+
+    static final int TICK_MS = 50;
+
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateChangedEvent.TYPE);
+    private static final int WHEEL_SIZE = 512; // must be a power of two
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = -1;
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final Logger logger = LoggerFactory.getLogger(PIDControllerEngine.class);
+    private final ItemRegistry itemRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+
+    private final PIDController controllers = new PIDController(INITIAL_CAPACITY);
+    private @Nullable Listener[] listeners = new Listener[INITIAL_CAPACITY];
+    private int[] loopTimeMs = new int[INITIAL_CAPACITY];
+    private int[] loopTicks = new int[INITIAL_CAPACITY];
+    private long[] previousTimeMs = new long[INITIAL_CAPACITY];
+    private double[] input = new double[INITIAL_CAPACITY];
+    private double[] setpoint = new double[INITIAL_CAPACITY];
+    private long[] dueTick = new long[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] previous = new int[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount;
+    private int usedSlots;
+    private int controllerCount;
+
+    private final int[] wheel = new int[WHEEL_SIZE];
+    private final double[] result = new double[PIDController.RESULT_SIZE];
+
+    // modified while holding the engine's lock, read concurrently by the event filter
+    private final Map<String, int[]> inputSlots = new ConcurrentHashMap<>();
+    private final Map<String, int[]> setpointSlots = new ConcurrentHashMap<>();
+    private final Map<String, int[]> commandSlots = new ConcurrentHashMap<>();
+    private final EventFilter eventFilter = event -> event instanceof ItemStateChangedEvent
+            && isSubscribed(((ItemStateChangedEvent) event).getItemName());
+
+    private long currentTick;
+    private @Nullable ScheduledFuture<?> job;
+
+    @Activate
+    public PIDControllerEngine(@Reference ItemRegistry itemRegistry) {
+        this(itemRegistry, ThreadPoolManager.getScheduledPool(AUTOMATION_NAME), System::currentTimeMillis);
+    }
+
+    PIDControllerEngine(ItemRegistry itemRegistry, ScheduledExecutorService scheduler, LongSupplier clock) {
+        this.itemRegistry = itemRegistry;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        Arrays.fill(wheel, NONE);
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
+        stopJob();
+    }
+
+    /**
+     * Adds a controller and calculates its first output.
+     *
+     * @return the slot of the controller, to be passed to {@link #unregister(int)}
+     */
+    public int register(Listener listener, String inputItemName, String setpointItemName,
+            @Nullable String commandItemName, double kp, double ki, double kd, double kdTimeConstant,
+            int loopTimeMs) {
+        Batch batch = new Batch();
+        int slot;
+        synchronized (this) {
+            slot = addController(listener, inputItemName, setpointItemName, commandItemName, kp, ki, kd, kdTimeConstant,
+                    loopTimeMs, batch);
+        }
+        batch.dispatch(logger);
+        return slot;
+    }
+
+    private int addController(Listener listener, String inputItemName, String setpointItemName,
+            @Nullable String commandItemName, double kp, double ki, double kd, double kdTimeConstant, int loopTimeMs,
+            Batch batch) {
+        int slot = allocateSlot();
+        long now = clock.getAsLong();
+
+        controllers.init(slot, kp, ki, kd, kdTimeConstant);
+        listeners[slot] = listener;
+        this.loopTimeMs[slot] = loopTimeMs;
+        loopTicks[slot] = Math.max(1, (loopTimeMs + TICK_MS - 1) / TICK_MS);
+        previousTimeMs[slot] = now;
+        input[slot] = getItemValue(inputItemName);
+        setpoint[slot] = getItemValue(setpointItemName);
+        addSlot(inputSlots, inputItemName, slot);
+        addSlot(setpointSlots, setpointItemName, slot);
+        if (commandItemName != null) {
+            addSlot(commandSlots, commandItemName, slot);
+        }
+
+        if (controllerCount++ == 0) {
+            currentTick = now / TICK_MS;
+            job = scheduler.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+        }
+
+        schedule(slot, currentTick + loopTicks[slot]);
+        try {
+            calculate(slot, now, batch);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to calculate PID controller: {}", e.getMessage(), e);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Removes a controller.
+     *
+     * @param slot the slot returned by {@link #register}
+     */
+    public synchronized void unregister(int slot) {
+        if (listeners[slot] == null) {
+            return;
+        }
+
+        unlink(slot);
+        listeners[slot] = null;
+        removeSlot(inputSlots, slot);
+        removeSlot(setpointSlots, slot);
+        removeSlot(commandSlots, slot);
+        freeSlots[freeSlotCount++] = slot;
+
+        if (--controllerCount == 0) {
+            stopJob();
+        }
+    }
+
+    private void stopJob() {
+        ScheduledFuture<?> localJob = job;
+        if (localJob != null) {
+            localJob.cancel(false);
+            job = null;
+        }
+    }
+
+    private void tick() {
+        try {
+            advance(clock.getAsLong());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to evaluate PID controllers: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calculates all controllers, which became due until the given time.
+     *
+     * @param now the current time in ms
+     */
+    void advance(long now) {
+        Batch batch = new Batch();
+        synchronized (this) {
+            advanceWheel(now, batch);
+        }
+        batch.dispatch(logger);
+    }
+
+    private void advanceWheel(long now, Batch batch) {
+        long targetTick = now / TICK_MS;
+        if (targetTick - currentTick > WHEEL_SIZE) {
+            // one revolution visits every bucket, so all overdue controllers are caught up
+            currentTick = targetTick - WHEEL_SIZE;
+        }
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            int slot = wheel[(int) (currentTick & (WHEEL_SIZE - 1))];
+            while (slot != NONE) {
+                int nextSlot = next[slot];
+                if (dueTick[slot] <= currentTick) {
+                    unlink(slot);
+                    try {
+                        calculate(slot, now, batch);
+                    } catch (RuntimeException e) {
+                        // the controller stays scheduled, a failing calculation must not stop it for good
+                        logger.warn("Failed to calculate PID controller: {}", e.getMessage(), e);
+                    }
+                    schedule(slot, currentTick + loopTicks[slot]);
+                }
+                slot = nextSlot;
+            }
+        }
+    }
+
+    private void calculate(int slot, long now, Batch batch) {
+        Listener listener = listeners[slot];
+        if (listener == null || Double.isNaN(input[slot]) || Double.isNaN(setpoint[slot])) {
+            return;
+        }
+
+        controllers.calculate(slot, input[slot], setpoint[slot], now - previousTimeMs[slot], loopTimeMs[slot],
+                result);
+        previousTimeMs[slot] = now;
+
+        batch.addResult(listener, result);
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            ItemStateChangedEvent changedEvent = (ItemStateChangedEvent) event;
+            Batch batch = new Batch();
+            synchronized (this) {
+                stateChanged(changedEvent.getItemName(), changedEvent.getItemState(), batch);
+            }
+            batch.dispatch(logger);
+        }
+    }
+
+    private void stateChanged(String itemName, State state, Batch batch) {
+        long now = clock.getAsLong();
+
+        for (int slot : commandSlots.getOrDefault(itemName, NO_SLOTS)) {
+            if ("RESET".equals(state.toString())) {
+                controllers.setIntegralResult(slot, 0);
+                controllers.setDerivativeResult(slot, 0);
+                Listener listener = listeners[slot];
+                if (listener != null) {
+                    batch.addReset(listener);
+                }
+            } else if (state != UnDefType.NULL) {
+                logger.warn("Unknown command: {}", state);
+            }
+        }
+
+        int[] changedInputs = inputSlots.getOrDefault(itemName, NO_SLOTS);
+        int[] changedSetpoints = setpointSlots.getOrDefault(itemName, NO_SLOTS);
+        if (changedInputs.length > 0 || changedSetpoints.length > 0) {
+            double value = toDouble(itemName, state);
+            for (int slot : changedInputs) {
+                input[slot] = value;
+            }
+            for (int slot : changedSetpoints) {
+                setpoint[slot] = value;
+            }
+            for (int slot : changedInputs) {
+                calculate(slot, now, batch);
+            }
+            for (int slot : changedSetpoints) {
+                calculate(slot, now, batch);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return eventFilter;
+    }
+
+    private boolean isSubscribed(String itemName) {
+        return inputSlots.containsKey(itemName) || setpointSlots.containsKey(itemName)
+                || commandSlots.containsKey(itemName);
+    }
+
+    private double getItemValue(String itemName) {
+        try {
+            return toDouble(itemName, itemRegistry.getItem(itemName).getState());
+        } catch (ItemNotFoundException e) {
+            logger.warn("Item not found: {}", itemName);
+            return Double.NaN;
+        }
+    }
+
+    private double toDouble(String itemName, State state) {
+        double value = toDouble(state);
+        if (Double.isNaN(value)) {
+            logger.warn("Item {}: Item type is not a number: {}: {}", itemName, state.getClass().getSimpleName(),
+                    state);
+        }
+        return value;
+    }
+
+    private static double toDouble(State state) {
+        if (state instanceof Number) {
+            double doubleValue = ((Number) state).doubleValue();
+
+            if (Double.isFinite(doubleValue)) {
+                return doubleValue;
+            }
+        } else if (state instanceof StringType) {
+            try {
+                double doubleValue = Double.parseDouble(state.toString());
+                if (Double.isFinite(doubleValue)) {
+                    return doubleValue;
+                }
+            } catch (NumberFormatException e) {
+                // nothing
+            }
+        }
+        return Double.NaN;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (usedSlots == listeners.length) {
+            int capacity = listeners.length * 2;
+            controllers.ensureCapacity(capacity);
+            listeners = Arrays.copyOf(listeners, capacity);
+            loopTimeMs = Arrays.copyOf(loopTimeMs, capacity);
+            loopTicks = Arrays.copyOf(loopTicks, capacity);
+            previousTimeMs = Arrays.copyOf(previousTimeMs, capacity);
+            input = Arrays.copyOf(input, capacity);
+            setpoint = Arrays.copyOf(setpoint, capacity);
+            dueTick = Arrays.copyOf(dueTick, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return usedSlots++;
+    }
+
+    private void schedule(int slot, long tick) {
+        int bucket = (int) (tick & (WHEEL_SIZE - 1));
+        dueTick[slot] = tick;
+        previous[slot] = NONE;
+        next[slot] = wheel[bucket];
+        if (wheel[bucket] != NONE) {
+            previous[wheel[bucket]] = slot;
+        }
+        wheel[bucket] = slot;
+    }
+
+    private void unlink(int slot) {
+        if (previous[slot] != NONE) {
+            next[previous[slot]] = next[slot];
+        } else {
+            wheel[(int) (dueTick[slot] & (WHEEL_SIZE - 1))] = next[slot];
+        }
+        if (next[slot] != NONE) {
+            previous[next[slot]] = previous[slot];
+        }
+        next[slot] = NONE;
+        previous[slot] = NONE;
+    }
+
+    private static void addSlot(Map<String, int[]> slots, String itemName, int slot) {
+        int[] current = slots.getOrDefault(itemName, NO_SLOTS);
+        int[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = slot;
+        slots.put(itemName, updated);
+    }
+
+    private static void removeSlot(Map<String, int[]> slots, int slot) {
+        slots.replaceAll((itemName, current) -> {
+            int[] updated = Arrays.stream(current).filter(s -> s != slot).toArray();
+            return updated.length == current.length ? current : updated;
+        });
+        slots.values().removeIf(current -> current.length == 0);
+    }
+
+    /**
+     * The results and resets collected while holding the engine's lock, passed to the listeners afterwards.
+     */
+    private static class Batch {
+        private static final Listener[] NO_LISTENERS = new Listener[0];
+
+        private Listener[] listeners = NO_LISTENERS;
+        private double[] results = new double[0];
+        private boolean[] resets = new boolean[0];
+        private int size;
+
+        void addResult(Listener listener, double[] result) {
+            int index = add(listener, false);
+            System.arraycopy(result, 0, results, index * PIDController.RESULT_SIZE, PIDController.RESULT_SIZE);
+        }
+
+        void addReset(Listener listener) {
+            add(listener, true);
+        }
+
+        private int add(Listener listener, boolean reset) {
+            if (size == listeners.length) {
+                int capacity = Math.max(4, size * 2);
+                listeners = Arrays.copyOf(listeners, capacity);
+                results = Arrays.copyOf(results, capacity * PIDController.RESULT_SIZE);
+                resets = Arrays.copyOf(resets, capacity);
+            }
+            listeners[size] = listener;
+            resets[size] = reset;
+            return size++;
+        }
+
+        void dispatch(Logger logger) {
+            if (size == 0) {
+                return;
+            }
+            double[] result = new double[PIDController.RESULT_SIZE];
+            for (int i = 0; i < size; i++) {
+                try {
+                    if (resets[i]) {
+                        listeners[i].reset();
+                    } else {
+                        System.arraycopy(results, i * PIDController.RESULT_SIZE, result, 0, result.length);
+                        listeners[i].calculated(result);
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to pass PID controller result: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.core.events.Event;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.types.DecimalType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark evaluating 1,000 controllers with a loop time of one second for ten simulated minutes, while every input
+ * changes once per second. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PIDControllerEngineBenchmarkTest {
+    private static final int CONTROLLERS = 1000;
+    private static final int SECONDS = 600;
+
+    private final Logger logger = LoggerFactory.getLogger(PIDControllerEngineBenchmarkTest.class);
+
+    @Test
+    void evaluateThousandControllers() throws ItemNotFoundException {
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        Item item = mock(Item.class);
+        when(item.getState()).thenReturn(new DecimalType(20));
+        when(itemRegistry.getItem(anyString())).thenReturn(item);
+
+        AtomicLong clock = new AtomicLong();
+        PIDControllerEngine engine = new PIDControllerEngine(itemRegistry, mock(ScheduledExecutorService.class),
+                clock::get);
+        long[] calculations = new long[1];
+        PIDControllerEngine.Listener listener = new PIDControllerEngine.Listener() {
+            @Override
+            public void calculated(double[] result) {
+                calculations[0]++;
+            }
+
+            @Override
+            public void reset() {
+            }
+        };
+
+        Event[][] events = new Event[2][CONTROLLERS];
+        for (int i = 0; i < CONTROLLERS; i++) {
+            // spread the controllers over the loop time
+            clock.set(i);
+            engine.register(listener, "input" + i, "setpoint" + i, null, 1, 0.1, 0.5, 5, 1000);
+            events[0][i] = ItemEventFactory.createStateChangedEvent("input" + i, new DecimalType(21),
+                    new DecimalType(20));
+            events[1][i] = ItemEventFactory.createStateChangedEvent("input" + i, new DecimalType(20),
+                    new DecimalType(21));
+        }
+
+        long start = System.nanoTime();
+        for (int second = 1; second <= SECONDS; second++) {
+            for (int tick = 0; tick < 1000 / PIDControllerEngine.TICK_MS; tick++) {
+                long now = second * 1000L + tick * PIDControllerEngine.TICK_MS;
+                clock.set(now);
+                engine.advance(now);
+                // one input change per controller and second, spread over the ticks
+                int perTick = CONTROLLERS * PIDControllerEngine.TICK_MS / 1000;
+                for (int i = tick * perTick; i < (tick + 1) * perTick; i++) {
+                    engine.receive(events[second % 2][i]);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(CONTROLLERS * (1 + 2L * SECONDS), calculations[0], CONTROLLERS);
+        logger.info("{} controllers, {} s: {} calculations in {} ms, {} ns per calculation", CONTROLLERS, SECONDS,
+                calculations[0], elapsed / 1_000_000, elapsed / calculations[0]);
+    }
+}
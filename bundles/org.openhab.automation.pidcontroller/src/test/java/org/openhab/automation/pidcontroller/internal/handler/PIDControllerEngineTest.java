@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Tests for {@link PIDControllerEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PIDControllerEngineTest {
+    private static final long START = 1_000_000;
+
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final AtomicLong clock = new AtomicLong(START);
+    private @NonNullByDefault({}) PIDControllerEngine engine;
+
+    @BeforeEach
+    void setUp() throws ItemNotFoundException {
+        mockItem("input", new DecimalType(20));
+        mockItem("setpoint", new DecimalType(22));
+        engine = new PIDControllerEngine(itemRegistry, mock(ScheduledExecutorService.class), clock::get);
+    }
+
+    private void mockItem(String name, State state) throws ItemNotFoundException {
+        Item item = mock(Item.class);
+        when(item.getState()).thenReturn(state);
+        when(itemRegistry.getItem(eq(name))).thenReturn(item);
+    }
+
+    @Test
+    void calculatesOnRegistrationAndEveryLoopTime() {
+        RecordingListener listener = new RecordingListener();
+        engine.register(listener, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+        assertEquals(List.of(2.0), listener.outputs);
+
+        engine.advance(START + 999);
+        assertEquals(1, listener.outputs.size());
+
+        engine.advance(START + 1000);
+        assertEquals(2, listener.outputs.size());
+
+        engine.advance(START + 5000);
+        assertEquals(6, listener.outputs.size());
+    }
+
+    @Test
+    void catchesUpLoopTimesLongerThanOneWheelRevolution() {
+        RecordingListener listener = new RecordingListener();
+        engine.register(listener, "input", "setpoint", null, 1, 0, 0, 0, 60_000);
+
+        engine.advance(START + 59_950);
+        assertEquals(1, listener.outputs.size());
+
+        engine.advance(START + 60_000);
+        assertEquals(2, listener.outputs.size());
+    }
+
+    @Test
+    void usesCachedValuesFromStateChangedEvents() throws ItemNotFoundException {
+        RecordingListener listener = new RecordingListener();
+        engine.register(listener, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+
+        engine.receive(ItemEventFactory.createStateChangedEvent("input", new DecimalType(21), new DecimalType(20)));
+        assertEquals(List.of(2.0, 1.0), listener.outputs);
+
+        engine.receive(ItemEventFactory.createStateChangedEvent("setpoint", new StringType("25"), new DecimalType(22)));
+        assertEquals(List.of(2.0, 1.0, 4.0), listener.outputs);
+
+        engine.advance(START + 1000);
+        assertEquals(4.0, listener.outputs.get(3));
+        verify(itemRegistry, times(2)).getItem(anyString());
+    }
+
+    @Test
+    void ignoresInputUpdatesWithoutChange() {
+        RecordingListener listener = new RecordingListener();
+        engine.register(listener, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+
+        assertEquals(Set.of(ItemStateChangedEvent.TYPE), engine.getSubscribedEventTypes());
+        engine.receive(ItemEventFactory.createStateEvent("input", new DecimalType(20)));
+        assertEquals(1, listener.outputs.size());
+    }
+
+    @Test
+    void filtersEventsOfUnusedItems() {
+        engine.register(new RecordingListener(), "input", "setpoint", "command", 1, 0, 0, 0, 1000);
+        EventFilter filter = engine.getEventFilter();
+        assertNotNull(filter);
+
+        assertTrue(filter.apply(ItemEventFactory.createStateChangedEvent("input", new DecimalType(21),
+                new DecimalType(20))));
+        assertTrue(filter.apply(ItemEventFactory.createStateChangedEvent("setpoint", new DecimalType(21),
+                new DecimalType(20))));
+        assertTrue(filter.apply(ItemEventFactory.createStateChangedEvent("command", new StringType("RESET"),
+                UnDefType.NULL)));
+        assertFalse(filter.apply(ItemEventFactory.createStateChangedEvent("other", new DecimalType(21),
+                new DecimalType(20))));
+    }
+
+    @Test
+    void keepsCalculatingAfterListenerFailure() {
+        RecordingListener failing = new RecordingListener() {
+            @Override
+            public void calculated(double[] result) {
+                super.calculated(result);
+                throw new IllegalStateException("test");
+            }
+        };
+        RecordingListener other = new RecordingListener();
+        engine.register(failing, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+        engine.register(other, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+
+        engine.advance(START + 2000);
+        assertEquals(3, failing.outputs.size());
+        assertEquals(3, other.outputs.size());
+    }
+
+    @Test
+    void callsListenersWithoutHoldingTheEngineLock() {
+        List<Boolean> lockHeld = new ArrayList<>();
+        RecordingListener listener = new RecordingListener() {
+            @Override
+            public void calculated(double[] result) {
+                lockHeld.add(Thread.holdsLock(engine));
+            }
+
+            @Override
+            public void reset() {
+                lockHeld.add(Thread.holdsLock(engine));
+            }
+        };
+        engine.register(listener, "input", "setpoint", "command", 1, 0, 0, 0, 1000);
+        engine.advance(START + 1000);
+        engine.receive(ItemEventFactory.createStateChangedEvent("input", new DecimalType(21), new DecimalType(20)));
+        engine.receive(ItemEventFactory.createStateChangedEvent("command", new StringType("RESET"), UnDefType.NULL));
+
+        assertEquals(List.of(false, false, false, false), lockHeld);
+    }
+
+    @Test
+    void skipsCalculationWhileInputIsNotANumber() {
+        RecordingListener listener = new RecordingListener();
+        engine.register(listener, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+
+        engine.receive(ItemEventFactory.createStateChangedEvent("input", UnDefType.UNDEF, new DecimalType(20)));
+        engine.advance(START + 3000);
+        assertEquals(1, listener.outputs.size());
+    }
+
+    @Test
+    void resetsIntegralPartOnResetCommand() {
+        RecordingListener listener = new RecordingListener();
+        engine.register(listener, "input", "setpoint", "command", 0, 1, 0, 0, 1000);
+
+        engine.advance(START + 2000);
+        assertEquals(4.0, listener.outputs.get(2));
+
+        engine.receive(ItemEventFactory.createStateChangedEvent("command", new StringType("RESET"), UnDefType.NULL));
+        assertEquals(1, listener.resets);
+
+        engine.advance(START + 3000);
+        assertEquals(2.0, listener.outputs.get(3));
+    }
+
+    @Test
+    void stopsCalculatingUnregisteredControllers() {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        int slot = engine.register(first, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+        engine.register(second, "input", "setpoint", null, 1, 0, 0, 0, 1000);
+
+        engine.unregister(slot);
+        engine.advance(START + 1000);
+        engine.receive(ItemEventFactory.createStateChangedEvent("input", new DecimalType(21), new DecimalType(20)));
+
+        assertEquals(1, first.outputs.size());
+        assertEquals(3, second.outputs.size());
+
+        RecordingListener third = new RecordingListener();
+        assertEquals(slot, engine.register(third, "input", "setpoint", null, 1, 0, 0, 0, 1000));
+    }
+
+    private static class RecordingListener implements PIDControllerEngine.Listener {
+        private final List<Double> outputs = new ArrayList<>();
+        private int resets;
+
+        @Override
+        public void calculated(double[] result) {
+            outputs.add(result[PIDController.OUTPUT]);
+        }
+
+        @Override
+        public void reset() {
+            resets++;
+        }
+    }
+}
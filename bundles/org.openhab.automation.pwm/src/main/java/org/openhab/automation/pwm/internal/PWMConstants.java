@@ -29,6 +29,7 @@ public class PWMConstants {
     public static final String CONFIG_MAX_DUTYCYCLE = "maxDutycycle";
     public static final String CONFIG_COMMAND_ITEM = "command";
     public static final String CONFIG_DEAD_MAN_SWITCH = "deadManSwitch";
+    public static final String CONFIG_STAGGER_PHASE = "staggerPhase";
     public static final String CONFIG_OUTPUT_ITEM = "outputItem";
     public static final String INPUT = "input";
     public static final String OUTPUT = "command";
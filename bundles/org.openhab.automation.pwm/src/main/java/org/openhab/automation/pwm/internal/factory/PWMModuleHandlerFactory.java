@@ -17,6 +17,7 @@ import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pwm.internal.handler.PWMEngine;
 import org.openhab.automation.pwm.internal.handler.PWMTriggerHandler;
 import org.openhab.core.automation.Module;
 import org.openhab.core.automation.Trigger;
@@ -24,7 +25,6 @@ import org.openhab.core.automation.handler.BaseModuleHandlerFactory;
 import org.openhab.core.automation.handler.ModuleHandler;
 import org.openhab.core.automation.handler.ModuleHandlerFactory;
 import org.openhab.core.items.ItemRegistry;
-import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -39,12 +39,12 @@ import org.osgi.service.component.annotations.Reference;
 public class PWMModuleHandlerFactory extends BaseModuleHandlerFactory {
     private static final Collection<String> TYPES = Set.of(PWMTriggerHandler.MODULE_TYPE_ID);
     private ItemRegistry itemRegistry;
-    private BundleContext bundleContext;
+    private PWMEngine engine;
 
     @Activate
-    public PWMModuleHandlerFactory(@Reference ItemRegistry itemRegistry, BundleContext bundleContext) {
+    public PWMModuleHandlerFactory(@Reference ItemRegistry itemRegistry, @Reference PWMEngine engine) {
         this.itemRegistry = itemRegistry;
-        this.bundleContext = bundleContext;
+        this.engine = engine;
     }
 
     @Override
@@ -56,7 +56,7 @@ public class PWMModuleHandlerFactory extends BaseModuleHandlerFactory {
     protected @Nullable ModuleHandler internalCreate(Module module, String ruleUID) {
         switch (module.getTypeUID()) {
             case PWMTriggerHandler.MODULE_TYPE_ID:
-                return new PWMTriggerHandler((Trigger) module, itemRegistry, bundleContext);
+                return new PWMTriggerHandler((Trigger) module, itemRegistry, engine);
         }
 
         return null;
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pwm.internal.handler;
+
+import static org.openhab.automation.pwm.internal.PWMConstants.AUTOMATION_NAME;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pwm.internal.timer.TimingWheel;
+import org.openhab.automation.pwm.internal.timer.WheelTimer;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * Drives all PWM trigger handlers: their timers share one {@link TimingWheel} and the duty cycle updates are received
+ * by this single {@link EventSubscriber} and dispatched by item name.
+ *
+ * Each handler gets a phase offset within its period, so that outputs started at the same time (e.g. after a restart)
+ * don't switch on in lock-step. The offsets follow the golden ratio sequence, which spreads any number of handlers
+ * evenly over the period.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { PWMEngine.class, EventSubscriber.class })
+@NonNullByDefault
+public class PWMEngine implements EventSubscriber {
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE);
+    private static final double GOLDEN_RATIO_FRACTION = 0.6180339887498949;
+
+    private final TimingWheel wheel = new TimingWheel(() -> System.nanoTime() / 1_000_000);
+    private final Map<String, List<PWMTriggerHandler>> handlers = new ConcurrentHashMap<>();
+    private int registeredHandlers;
+    private long phaseSequence;
+
+    @Deactivate
+    public void deactivate() {
+        wheel.stop();
+    }
+
+    public WheelTimer newTimer() {
+        return wheel.newTimer();
+    }
+
+    /**
+     * Returns the phase offset for the next handler.
+     *
+     * @param periodMs the period of the handler
+     * @return the offset in ms, between 0 and the period
+     */
+    public synchronized long nextPhaseOffset(long periodMs) {
+        double fraction = (phaseSequence++ * GOLDEN_RATIO_FRACTION) % 1;
+        return (long) (fraction * periodMs);
+    }
+
+    public synchronized void register(String dutycycleItemName, PWMTriggerHandler handler) {
+        handlers.computeIfAbsent(dutycycleItemName, name -> new CopyOnWriteArrayList<>()).add(handler);
+        if (registeredHandlers++ == 0) {
+            wheel.start(ThreadPoolManager.getScheduledPool(AUTOMATION_NAME));
+        }
+    }
+
+    public synchronized void unregister(String dutycycleItemName, PWMTriggerHandler handler) {
+        List<PWMTriggerHandler> itemHandlers = handlers.get(dutycycleItemName);
+        if (itemHandlers != null && itemHandlers.remove(handler)) {
+            if (itemHandlers.isEmpty()) {
+                handlers.remove(dutycycleItemName);
+            }
+            if (--registeredHandlers == 0) {
+                wheel.stop();
+            }
+        }
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateEvent) {
+            ItemStateEvent stateEvent = (ItemStateEvent) event;
+            List<PWMTriggerHandler> itemHandlers = handlers.get(stateEvent.getItemName());
+            if (itemHandlers != null) {
+                for (PWMTriggerHandler handler : itemHandlers) {
+                    handler.dutyCycleUpdated(stateEvent.getItemState());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+}
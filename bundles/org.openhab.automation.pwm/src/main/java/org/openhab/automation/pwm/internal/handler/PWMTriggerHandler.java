@@ -18,33 +18,25 @@ import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.pwm.internal.PWMException;
 import org.openhab.automation.pwm.internal.handler.state.StateMachine;
+import org.openhab.automation.pwm.internal.timer.WheelTimer;
 import org.openhab.core.automation.ModuleHandlerCallback;
 import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
 import org.openhab.core.config.core.Configuration;
-import org.openhab.core.events.Event;
-import org.openhab.core.events.EventFilter;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
-import org.openhab.core.items.events.ItemStateEvent;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,50 +46,53 @@ import org.slf4j.LoggerFactory;
  * @author Fabian Wolter - Initial Contribution
  */
 @NonNullByDefault
-public class PWMTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PWMTriggerHandler extends BaseTriggerModuleHandler {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PWMTriggerHandler.class);
-    private final BundleContext bundleContext;
-    private final EventFilter eventFilter;
+    private final PWMEngine engine;
+    private final String dutycycleItemName;
     private final Optional<Double> minDutyCycle;
     private final Optional<Double> maxDutyCycle;
     private final Optional<Double> deadManSwitchTimeoutMs;
+    private final boolean staggerPhase;
     private final Item dutyCycleItem;
-    private @Nullable ServiceRegistration<?> eventSubscriberRegistration;
-    private @Nullable ScheduledFuture<?> deadMeanSwitchTimer;
+    private final WheelTimer deadManSwitchTimer;
     private @Nullable StateMachine stateMachine;
 
-    public PWMTriggerHandler(Trigger module, ItemRegistry itemRegistry, BundleContext bundleContext) {
+    public PWMTriggerHandler(Trigger module, ItemRegistry itemRegistry, PWMEngine engine) {
         super(module);
-        this.bundleContext = bundleContext;
+        this.engine = engine;
 
         Configuration config = module.getConfiguration();
 
-        String dutycycleItemName = (String) Objects.requireNonNull(config.get(CONFIG_DUTY_CYCLE_ITEM),
+        dutycycleItemName = (String) Objects.requireNonNull(config.get(CONFIG_DUTY_CYCLE_ITEM),
                 "DutyCycle item is not set");
 
         minDutyCycle = getOptionalDoubleFromConfig(config, CONFIG_MIN_DUTYCYCLE);
         maxDutyCycle = getOptionalDoubleFromConfig(config, CONFIG_MAX_DUTYCYCLE);
         deadManSwitchTimeoutMs = getOptionalDoubleFromConfig(config, CONFIG_DEAD_MAN_SWITCH);
+        staggerPhase = !Boolean.FALSE.equals(config.get(CONFIG_STAGGER_PHASE));
+        deadManSwitchTimer = engine.newTimer();
 
         try {
             dutyCycleItem = itemRegistry.getItem(dutycycleItemName);
         } catch (ItemNotFoundException e) {
             throw new IllegalArgumentException("Dutycycle item not found: " + dutycycleItemName, e);
         }
-
-        eventFilter = event -> event.getTopic().equals("openhab/items/" + dutycycleItemName + "/state");
     }
 
     @Override
     public void setCallback(ModuleHandlerCallback callback) {
         super.setCallback(callback);
 
-        double periodSec = getDoubleFromConfig(module.getConfiguration(), CONFIG_PERIOD);
-        stateMachine = new StateMachine(getCallback().getScheduler(), this::setOutput, (long) (periodSec * 1000));
+        if (stateMachine == null) {
+            double periodSec = getDoubleFromConfig(module.getConfiguration(), CONFIG_PERIOD);
+            long periodMs = (long) (periodSec * 1000);
+            stateMachine = new StateMachine(engine.newTimer(), engine.newTimer(), this::setOutput, periodMs,
+                    staggerPhase ? engine.nextPhaseOffset(periodMs) : 0);
 
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+            engine.register(dutycycleItemName, this);
+        }
     }
 
     private double getDoubleFromConfig(Configuration config, String key) {
@@ -114,16 +109,15 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         return Optional.empty();
     }
 
-    @Override
-    public void receive(Event event) {
-        if (!(event instanceof ItemStateEvent)) {
-            return;
-        }
-
-        ItemStateEvent changedEvent = (ItemStateEvent) event;
+    /**
+     * Called by the {@link PWMEngine} when the duty cycle item was updated.
+     *
+     * @param state the new state of the duty cycle item
+     */
+    public void dutyCycleUpdated(State state) {
         synchronized (this) {
             try {
-                double newDutycycle = getDutyCycleValueInPercent(changedEvent.getItemState());
+                double newDutycycle = getDutyCycleValueInPercent(state);
                 double newDutycycleBeforeLimit = newDutycycle;
 
                 restartDeadManSwitchTimer();
@@ -165,14 +159,8 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
     }
 
     private void restartDeadManSwitchTimer() {
-        ScheduledFuture<?> timer = deadMeanSwitchTimer;
-        if (timer != null) {
-            timer.cancel(true);
-        }
-
         deadManSwitchTimeoutMs.ifPresent(timeout -> {
-            deadMeanSwitchTimer = getCallback().getScheduler().schedule(this::activateDeadManSwitch,
-                    timeout.longValue(), TimeUnit.MILLISECONDS);
+            deadManSwitchTimer.schedule(this::activateDeadManSwitch, timeout.longValue());
         });
     }
 
@@ -213,22 +201,10 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         throw new PWMException("Duty cycle item not of type DecimalType: " + state.getClass().getSimpleName());
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
-    }
-
-    @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
-    }
-
     @Override
     public void dispose() {
-        ServiceRegistration<?> localEventSubscriberRegistration = eventSubscriberRegistration;
-        if (localEventSubscriberRegistration != null) {
-            localEventSubscriberRegistration.unregister();
-        }
+        engine.unregister(dutycycleItemName, this);
+        deadManSwitchTimer.cancel();
 
         StateMachine localStateMachine = stateMachine;
         if (localStateMachine != null) {
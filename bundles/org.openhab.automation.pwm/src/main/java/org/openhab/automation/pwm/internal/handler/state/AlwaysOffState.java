@@ -15,7 +15,8 @@ package org.openhab.automation.pwm.internal.handler.state;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
- * Active when, the duty cycle is 0% for at least a whole period.
+ * Active when, the duty cycle is 0% for at least a whole period. The next period starts after the phase offset of the
+ * state machine, so that state machines starting at the same time don't switch their outputs in lock-step.
  *
  * @author Fabian Wolter - Initial Contribution
  */
@@ -29,23 +30,40 @@ public class AlwaysOffState extends State {
 
     @Override
     public void dutyCycleChanged() {
-        if (Math.round(context.getDutycycle()) >= 100) {
-            nextState(DutycycleHundredState::new);
-        } else {
-            nextState(OnState::new);
-        }
+        startPeriod();
     }
 
     @Override
     protected void dutyCycleUpdated() {
         // in case we came here by the dead-man switch
-        if (Math.round(context.getDutycycle()) > 0) {
+        startPeriod();
+    }
+
+    private void startPeriod() {
+        if (Math.round(context.getDutycycle()) <= 0 || stateTimer.isPending()) {
+            return;
+        }
+
+        long phaseOffsetMs = context.getPhaseOffsetMs();
+        if (phaseOffsetMs > 0) {
+            stateTimer.schedule(this::periodStarted, phaseOffsetMs);
+        } else {
+            periodStarted();
+        }
+    }
+
+    private void periodStarted() {
+        long dutycycleRounded = Math.round(context.getDutycycle());
+
+        if (dutycycleRounded >= 100) {
+            nextState(DutycycleHundredState::new);
+        } else if (dutycycleRounded > 0) {
             nextState(OnState::new);
         }
     }
 
     @Override
     public void dispose() {
-        // nothing
+        stateTimer.cancel();
     }
 }
@@ -14,11 +14,8 @@ package org.openhab.automation.pwm.internal.handler.state;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * Active when, the PWM period ended with a duty cycle set to 100%.
@@ -27,8 +24,6 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class DutycycleHundredState extends State {
-    private ScheduledFuture<?> periodTimer;
-    private @Nullable ScheduledFuture<?> offTimer;
     private Instant enabledAt = Instant.now();
     private boolean dutyCycleChanged;
 
@@ -37,7 +32,7 @@ public class DutycycleHundredState extends State {
 
         controlOutput(true);
 
-        periodTimer = scheduler.schedule(this::periodEnded, context.getPeriodMs(), TimeUnit.MILLISECONDS);
+        stateTimer.schedule(this::periodEnded, context.getPeriodMs());
     }
 
     private void periodEnded() {
@@ -62,11 +57,7 @@ public class DutycycleHundredState extends State {
         if (elapsedMs - newOnTimeMs > 0) {
             controlOutput(false);
         } else {
-            ScheduledFuture<?> timer = offTimer;
-            if (timer != null) {
-                timer.cancel(false);
-            }
-            offTimer = scheduler.schedule(() -> controlOutput(false), newOnTimeMs - elapsedMs, TimeUnit.MILLISECONDS);
+            outputTimer.schedule(() -> controlOutput(false), newOnTimeMs - elapsedMs);
         }
     }
 
@@ -77,11 +68,7 @@ public class DutycycleHundredState extends State {
 
     @Override
     public void dispose() {
-        periodTimer.cancel(false);
-
-        ScheduledFuture<?> timer = offTimer;
-        if (timer != null) {
-            timer.cancel(false);
-        }
+        stateTimer.cancel();
+        outputTimer.cancel();
     }
 }
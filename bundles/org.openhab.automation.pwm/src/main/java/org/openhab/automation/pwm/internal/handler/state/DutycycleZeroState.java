@@ -12,9 +12,6 @@
  */
 package org.openhab.automation.pwm.internal.handler.state;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
@@ -24,14 +21,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
  */
 @NonNullByDefault
 public class DutycycleZeroState extends State {
-    private ScheduledFuture<?> periodTimer;
-
     public DutycycleZeroState(StateMachine context) {
         super(context);
 
         controlOutput(false);
 
-        periodTimer = scheduler.schedule(this::periodEnded, context.getPeriodMs(), TimeUnit.MILLISECONDS);
+        stateTimer.schedule(this::periodEnded, context.getPeriodMs());
     }
 
     private void periodEnded() {
@@ -58,6 +53,6 @@ public class DutycycleZeroState extends State {
 
     @Override
     public void dispose() {
-        periodTimer.cancel(false);
+        stateTimer.cancel();
     }
 }
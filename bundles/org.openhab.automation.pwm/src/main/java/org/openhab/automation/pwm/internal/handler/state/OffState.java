@@ -12,9 +12,6 @@
  */
 package org.openhab.automation.pwm.internal.handler.state;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
@@ -24,15 +21,13 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
  */
 @NonNullByDefault
 public class OffState extends State {
-    ScheduledFuture<?> offTimer;
-
     public OffState(StateMachine context) {
         super(context);
 
         controlOutput(false);
 
         long offTimeMs = context.getPeriodMs() - calculateOnTimeMs(context.getDutycycle());
-        offTimer = scheduler.schedule(this::periodEnded, offTimeMs, TimeUnit.MILLISECONDS);
+        stateTimer.schedule(this::periodEnded, offTimeMs);
     }
 
     private void periodEnded() {
@@ -59,6 +54,6 @@ public class OffState extends State {
 
     @Override
     public void dispose() {
-        offTimer.cancel(false);
+        stateTimer.cancel();
     }
 }
@@ -14,8 +14,6 @@ package org.openhab.automation.pwm.internal.handler.state;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -26,7 +24,6 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
  */
 @NonNullByDefault
 public class OnState extends State {
-    private @NonNullByDefault({}) ScheduledFuture<?> offTimer;
     private Instant enabledAt = Instant.now();
 
     public OnState(StateMachine context) {
@@ -38,19 +35,19 @@ public class OnState extends State {
     }
 
     private void startOnTimer(long timeMs) {
-        offTimer = scheduler.schedule(() -> {
+        stateTimer.schedule(() -> {
             if (Math.round(context.getDutycycle()) >= 100) {
                 nextState(DutycycleHundredState::new);
             } else {
                 nextState(OffState::new);
             }
-        }, timeMs, TimeUnit.MILLISECONDS);
+        }, timeMs);
     }
 
     @Override
     public void dutyCycleChanged() {
         // end current ON phase prematurely or extend it if the new duty cycle demands it
-        offTimer.cancel(false);
+        stateTimer.cancel();
 
         long newOnTimeMs = calculateOnTimeMs(context.getDutycycle());
         long elapsedMs = enabledAt.until(Instant.now(), ChronoUnit.MILLIS);
@@ -69,6 +66,6 @@ public class OnState extends State {
 
     @Override
     public void dispose() {
-        offTimer.cancel(false);
+        stateTimer.cancel();
     }
 }
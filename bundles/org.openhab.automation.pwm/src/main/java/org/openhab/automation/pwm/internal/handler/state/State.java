@@ -12,10 +12,10 @@
  */
 package org.openhab.automation.pwm.internal.handler.state;
 
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.automation.pwm.internal.timer.WheelTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,11 +28,13 @@ import org.slf4j.LoggerFactory;
 public abstract class State {
     private final Logger logger = LoggerFactory.getLogger(State.class);
     protected StateMachine context;
-    protected ScheduledExecutorService scheduler;
+    protected WheelTimer stateTimer;
+    protected WheelTimer outputTimer;
 
     public State(StateMachine context) {
         this.context = context;
-        this.scheduler = context.getScheduler();
+        this.stateTimer = context.getStateTimer();
+        this.outputTimer = context.getOutputTimer();
     }
 
     /**
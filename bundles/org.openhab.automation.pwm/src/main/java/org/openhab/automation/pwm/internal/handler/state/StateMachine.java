@@ -12,10 +12,10 @@
  */
 package org.openhab.automation.pwm.internal.handler.state;
 
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.automation.pwm.internal.timer.WheelTimer;
 
 /**
  * The context of all states.
@@ -24,21 +24,40 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
  */
 @NonNullByDefault
 public class StateMachine {
-    private ScheduledExecutorService scheduler;
+    private WheelTimer stateTimer;
+    private WheelTimer outputTimer;
     private Consumer<Boolean> controlOutput;
     private State state;
     private long periodMs;
+    private long phaseOffsetMs;
     private double dutycycle;
 
-    public StateMachine(ScheduledExecutorService scheduler, Consumer<Boolean> controlOutput, long periodMs) {
-        this.scheduler = scheduler;
+    /**
+     * Creates a state machine, which is initially off.
+     *
+     * @param stateTimer the timer ending the current state, reused by all states
+     * @param outputTimer the timer switching the output within a state, reused by all states
+     * @param controlOutput switches the output
+     * @param periodMs the PWM period
+     * @param phaseOffsetMs the delay of the first period after being switched off continuously, to stagger the
+     *            periods of multiple state machines
+     */
+    public StateMachine(WheelTimer stateTimer, WheelTimer outputTimer, Consumer<Boolean> controlOutput, long periodMs,
+            long phaseOffsetMs) {
+        this.stateTimer = stateTimer;
+        this.outputTimer = outputTimer;
         this.controlOutput = controlOutput;
         this.periodMs = periodMs;
+        this.phaseOffsetMs = phaseOffsetMs;
         this.state = new AlwaysOffState(this);
     }
 
-    public ScheduledExecutorService getScheduler() {
-        return scheduler;
+    public WheelTimer getStateTimer() {
+        return stateTimer;
+    }
+
+    public WheelTimer getOutputTimer() {
+        return outputTimer;
     }
 
     public void setDutycycle(double newDutycycle) {
@@ -58,6 +77,10 @@ public class StateMachine {
         return periodMs;
     }
 
+    public long getPhaseOffsetMs() {
+        return phaseOffsetMs;
+    }
+
     public State getState() {
         return state;
     }
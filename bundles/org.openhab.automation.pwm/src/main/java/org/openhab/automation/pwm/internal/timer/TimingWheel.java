@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pwm.internal.timer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel, which runs the tasks of many {@link WheelTimer}s from one periodic job.
+ *
+ * The wheel has {@link #WHEEL_SIZE} buckets of {@link #TICK_MS} each. A timer is kept in the bucket of its deadline
+ * tick; timers with a delay longer than one revolution stay in their bucket until the deadline is reached. Due tasks
+ * are run on the job's thread, outside of the wheel's lock.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TimingWheel {
+    public static final int TICK_MS = 50;
+    static final int WHEEL_SIZE = 1024; // must be a power of two
+
+    private final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+    private final @Nullable WheelTimer[] buckets = new WheelTimer[WHEEL_SIZE];
+    private final List<WheelTimer> dueTimers = new ArrayList<>();
+    private final List<Runnable> dueTasks = new ArrayList<>();
+    private long[] dueGenerations = new long[64];
+    private final LongSupplier clock;
+
+    private long currentTick;
+    private int pending;
+    private @Nullable ScheduledFuture<?> job;
+
+    /**
+     * Creates a timing wheel driven by the given clock.
+     *
+     * @param clock the current time in ms, must be monotonic
+     */
+    public TimingWheel(LongSupplier clock) {
+        this.clock = clock;
+        this.currentTick = clock.getAsLong() / TICK_MS;
+    }
+
+    public WheelTimer newTimer() {
+        return new WheelTimer(this);
+    }
+
+    /**
+     * Starts the periodic job advancing the wheel.
+     */
+    public synchronized void start(ScheduledExecutorService scheduler) {
+        if (job == null) {
+            currentTick = clock.getAsLong() / TICK_MS;
+            job = scheduler.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic job. Pending timers are kept and fire late, once the wheel is started again.
+     */
+    public synchronized void stop() {
+        ScheduledFuture<?> localJob = job;
+        if (localJob != null) {
+            localJob.cancel(false);
+            job = null;
+        }
+    }
+
+    synchronized void schedule(WheelTimer timer, Runnable task, long delayMs) {
+        unlink(timer);
+
+        // round up, so that a timer never fires early
+        long deadlineTick = (clock.getAsLong() + Math.max(0, delayMs) + TICK_MS - 1) / TICK_MS;
+        timer.task = task;
+        timer.deadlineTick = Math.max(deadlineTick, currentTick + 1);
+        timer.generation++;
+
+        int bucket = (int) (timer.deadlineTick & (WHEEL_SIZE - 1));
+        WheelTimer head = buckets[bucket];
+        timer.previous = null;
+        timer.next = head;
+        if (head != null) {
+            head.previous = timer;
+        }
+        buckets[bucket] = timer;
+        pending++;
+    }
+
+    synchronized void cancel(WheelTimer timer) {
+        unlink(timer);
+        timer.generation++;
+    }
+
+    synchronized boolean isPending(WheelTimer timer) {
+        return timer.task != null;
+    }
+
+    public synchronized int getPendingTimers() {
+        return pending;
+    }
+
+    private void unlink(WheelTimer timer) {
+        if (timer.task == null) {
+            return;
+        }
+
+        WheelTimer previous = timer.previous;
+        WheelTimer next = timer.next;
+        if (previous != null) {
+            previous.next = next;
+        } else {
+            buckets[(int) (timer.deadlineTick & (WHEEL_SIZE - 1))] = next;
+        }
+        if (next != null) {
+            next.previous = previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.task = null;
+        pending--;
+    }
+
+    private void tick() {
+        try {
+            advance(clock.getAsLong());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to advance PWM timers: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the tasks of all timers, which are due at the given time. Must only be called by one thread at a time.
+     *
+     * @param now the current time in ms
+     */
+    public void advance(long now) {
+        int count;
+        synchronized (this) {
+            long targetTick = now / TICK_MS;
+            if (targetTick - currentTick > WHEEL_SIZE) {
+                // one revolution visits every bucket, so all overdue timers are collected
+                currentTick = targetTick - WHEEL_SIZE;
+            }
+
+            dueTimers.clear();
+            dueTasks.clear();
+            while (currentTick < targetTick) {
+                currentTick++;
+                WheelTimer timer = buckets[(int) (currentTick & (WHEEL_SIZE - 1))];
+                while (timer != null) {
+                    WheelTimer next = timer.next;
+                    Runnable task = timer.task;
+                    if (task != null && timer.deadlineTick <= currentTick) {
+                        unlink(timer);
+                        if (dueTimers.size() == dueGenerations.length) {
+                            dueGenerations = Arrays.copyOf(dueGenerations, dueGenerations.length * 2);
+                        }
+                        dueGenerations[dueTimers.size()] = timer.generation;
+                        dueTimers.add(timer);
+                        dueTasks.add(task);
+                    }
+                    timer = next;
+                }
+            }
+            count = dueTimers.size();
+        }
+
+        for (int i = 0; i < count; i++) {
+            WheelTimer timer;
+            Runnable task;
+            synchronized (this) {
+                timer = dueTimers.get(i);
+                task = dueTasks.get(i);
+                if (timer.generation != dueGenerations[i]) {
+                    // rescheduled or cancelled in the meantime
+                    continue;
+                }
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("PWM timer task failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pwm.internal.timer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A reusable one-shot timer of a {@link TimingWheel}. Scheduling a pending timer replaces its task, so a timer never
+ * holds more than one task and can be reused without allocating new timers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WheelTimer {
+    private final TimingWheel wheel;
+
+    // guarded by the wheel
+    @Nullable
+    Runnable task;
+    long deadlineTick;
+    long generation;
+    @Nullable
+    WheelTimer previous;
+    @Nullable
+    WheelTimer next;
+
+    WheelTimer(TimingWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    /**
+     * Schedules the task, replacing the pending one.
+     *
+     * @param task the task to run
+     * @param delayMs the delay in ms
+     */
+    public void schedule(Runnable task, long delayMs) {
+        wheel.schedule(this, task, delayMs);
+    }
+
+    /**
+     * Cancels the pending task, if any.
+     */
+    public void cancel() {
+        wheel.cancel(this);
+    }
+
+    public boolean isPending() {
+        return wheel.isPending(this);
+    }
+}
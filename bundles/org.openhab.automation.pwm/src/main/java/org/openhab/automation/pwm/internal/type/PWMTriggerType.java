@@ -82,6 +82,15 @@ public class PWMTriggerType extends TriggerType {
                 .withDescription(
                         "If the duty cycle Item is not updated within this time (in ms), the output is switched off")
                 .build());
+        configDescriptions.add(ConfigDescriptionParameterBuilder.create(CONFIG_STAGGER_PHASE, Type.BOOLEAN) //
+                .withRequired(false) //
+                .withMultiple(false) //
+                .withDefault("true") //
+                .withAdvanced(true) //
+                .withLabel("Stagger Phase") //
+                .withDescription(
+                        "Delay the first interval by an offset unique to this module, so that multiple outputs don't switch on at the same time")
+                .build());
 
         List<Output> outputs = Collections.singletonList(new Output(OUTPUT, OnOffType.class.getName(), "Output",
                 "Output value of the PWM module", Set.of("command"), null, null));
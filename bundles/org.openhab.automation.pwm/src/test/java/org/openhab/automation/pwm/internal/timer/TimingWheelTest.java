@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pwm.internal.timer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TimingWheel}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class TimingWheelTest {
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private final TimingWheel wheel = new TimingWheel(clock::get);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void firesAfterDelayRoundedUpToTicks() {
+        WheelTimer timer = wheel.newTimer();
+        timer.schedule(() -> fired.add("a"), 120);
+
+        wheel.advance(10_100);
+        assertTrue(fired.isEmpty());
+        assertTrue(timer.isPending());
+
+        wheel.advance(10_150);
+        assertEquals(List.of("a"), fired);
+        assertFalse(timer.isPending());
+        assertEquals(0, wheel.getPendingTimers());
+    }
+
+    @Test
+    void reschedulingReplacesPendingTask() {
+        WheelTimer timer = wheel.newTimer();
+        timer.schedule(() -> fired.add("a"), 100);
+        timer.schedule(() -> fired.add("b"), 200);
+
+        wheel.advance(10_500);
+        assertEquals(List.of("b"), fired);
+    }
+
+    @Test
+    void cancelledTimerDoesNotFire() {
+        WheelTimer timer = wheel.newTimer();
+        timer.schedule(() -> fired.add("a"), 100);
+        timer.cancel();
+
+        wheel.advance(10_500);
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void delaysLongerThanOneRevolutionFireOnTime() {
+        long revolutionMs = (long) TimingWheel.WHEEL_SIZE * TimingWheel.TICK_MS;
+        WheelTimer timer = wheel.newTimer();
+        timer.schedule(() -> fired.add("a"), revolutionMs + 1000);
+
+        for (long now = 10_000; now < 10_000 + revolutionMs + 1000; now += TimingWheel.TICK_MS) {
+            wheel.advance(now);
+        }
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(10_000 + revolutionMs + 1000);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void taskCanRescheduleItsTimer() {
+        WheelTimer timer = wheel.newTimer();
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                fired.add("a");
+                clock.set(10_100);
+                timer.schedule(() -> fired.add("b"), 100);
+            }
+        }, 100);
+
+        wheel.advance(10_100);
+        assertEquals(List.of("a"), fired);
+
+        wheel.advance(10_200);
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    @Test
+    void firesOverdueTimersAfterLongPause() {
+        WheelTimer first = wheel.newTimer();
+        WheelTimer second = wheel.newTimer();
+        first.schedule(() -> fired.add("a"), 100);
+        second.schedule(() -> fired.add("b"), 30_000);
+
+        wheel.advance(10_000 + 10 * (long) TimingWheel.WHEEL_SIZE * TimingWheel.TICK_MS);
+        assertEquals(List.of("a", "b"), fired);
+    }
+}
@@ -68,6 +68,8 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("bluetooth");
 
+    private final DBusCallCounter callCounter;
+
     // Device from native lib
     private @Nullable BluetoothDevice device = null;
 
@@ -80,27 +82,39 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
      */
     public BlueZBluetoothDevice(BlueZBridgeHandler adapter, BluetoothAddress address) {
         super(adapter, address);
+        this.callCounter = adapter.getCallCounter();
         logger.debug("Creating DBusBlueZ device with address '{}'", address);
     }
 
-    public synchronized void updateBlueZDevice(@Nullable BluetoothDevice blueZDevice) {
-        if (this.device != null && this.device == blueZDevice) {
-            return;
+    /**
+     * Updates the native device backing this device.
+     *
+     * @param blueZDevice the native device, or null if bluez removed it
+     * @return true if the native device changed, false if it is the same device object as before
+     */
+    public synchronized boolean updateBlueZDevice(@Nullable BluetoothDevice blueZDevice) {
+        BluetoothDevice current = this.device;
+        if (current != null && blueZDevice != null
+                && (current == blueZDevice || current.getDbusPath().equals(blueZDevice.getDbusPath()))) {
+            return false;
+        }
+        if (current == null && blueZDevice == null) {
+            return false;
         }
         logger.debug("updateBlueZDevice({})", blueZDevice);
 
         this.device = blueZDevice;
 
         if (blueZDevice == null) {
-            return;
+            return true;
         }
 
-        Short rssi = blueZDevice.getRssi();
+        Short rssi = callCounter.count(blueZDevice.getRssi());
         if (rssi != null) {
             this.rssi = rssi.intValue();
         }
-        this.name = blueZDevice.getName();
-        Map<UInt16, byte[]> manData = blueZDevice.getManufacturerData();
+        this.name = callCounter.count(blueZDevice.getName());
+        Map<UInt16, byte[]> manData = callCounter.count(blueZDevice.getManufacturerData());
         if (manData != null) {
             manData.entrySet().stream().map(Map.Entry::getKey).filter(Objects::nonNull).findFirst()
                     .ifPresent((UInt16 manufacturerId) ->
@@ -108,11 +122,12 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
                     this.manufacturer = manufacturerId.intValue() & 0xFFFF);
         }
 
-        if (Boolean.TRUE.equals(blueZDevice.isConnected())) {
+        if (Boolean.TRUE.equals(callCounter.count(blueZDevice.isConnected()))) {
             setConnectionState(ConnectionState.CONNECTED);
         }
 
         discoverServices();
+        return true;
     }
 
     /**
@@ -122,11 +137,12 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
     public void dispose() {
         BluetoothDevice dev = device;
         if (dev != null) {
-            if (Boolean.TRUE.equals(dev.isPaired())) {
+            if (Boolean.TRUE.equals(callCounter.count(dev.isPaired()))) {
                 return;
             }
 
             try {
+                callCounter.add(1);
                 dev.getAdapter().removeDevice(dev.getRawDevice());
             } catch (DBusException ex) {
                 if (ex.getMessage().contains("Does Not Exist")) {
@@ -158,15 +174,16 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
 
         BluetoothDevice dev = device;
         if (dev != null) {
-            if (Boolean.FALSE.equals(dev.isConnected())) {
+            if (Boolean.FALSE.equals(callCounter.count(dev.isConnected()))) {
                 try {
-                    boolean ret = dev.connect();
+                    boolean ret = callCounter.count(dev.connect());
                     logger.debug("Connect result: {}", ret);
                     return ret;
                 } catch (NoReply e) {
                     // Have to double check because sometimes, exception but still worked
-                    logger.debug("Got a timeout - but sometimes happen. Is Connected ? {}", dev.isConnected());
-                    if (Boolean.FALSE.equals(dev.isConnected())) {
+                    Boolean connected = callCounter.count(dev.isConnected());
+                    logger.debug("Got a timeout - but sometimes happen. Is Connected ? {}", connected);
+                    if (Boolean.FALSE.equals(connected)) {
 
                         notifyListeners(BluetoothEventType.CONNECTION_STATE,
                                 new BluetoothConnectionStatusNotification(ConnectionState.DISCONNECTED));
@@ -196,14 +213,14 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
         BluetoothDevice dev = device;
         if (dev != null) {
             logger.debug("Disconnecting '{}'", address);
-            return dev.disconnect();
+            return callCounter.count(dev.disconnect());
         }
         return false;
     }
 
     private void ensureConnected() {
         BluetoothDevice dev = device;
-        if (dev == null || !dev.isConnected()) {
+        if (dev == null || !callCounter.count(dev.isConnected())) {
             throw new IllegalStateException("DBusBlueZ device is not set or not connected");
         }
     }
@@ -213,9 +230,9 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
         if (dev == null) {
             return null;
         }
-        for (BluetoothGattService service : dev.getGattServices()) {
-            for (BluetoothGattCharacteristic c : service.getGattCharacteristics()) {
-                if (c.getUuid().equalsIgnoreCase(uuid)) {
+        for (BluetoothGattService service : callCounter.count(dev.getGattServices())) {
+            for (BluetoothGattCharacteristic c : callCounter.count(service.getGattCharacteristics())) {
+                if (callCounter.count(c.getUuid()).equalsIgnoreCase(uuid)) {
                     return c;
                 }
             }
@@ -228,9 +245,10 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
         if (dev == null) {
             return null;
         }
-        for (BluetoothGattService service : dev.getGattServices()) {
+        for (BluetoothGattService service : callCounter.count(dev.getGattServices())) {
             if (dBusPath.startsWith(service.getDbusPath())) {
-                for (BluetoothGattCharacteristic characteristic : service.getGattCharacteristics()) {
+                for (BluetoothGattCharacteristic characteristic : callCounter
+                        .count(service.getGattCharacteristics())) {
                     if (dBusPath.startsWith(characteristic.getDbusPath())) {
                         return characteristic;
                     }
@@ -245,10 +263,10 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
         if (dev == null) {
             return null;
         }
-        for (BluetoothGattService service : dev.getGattServices()) {
-            for (BluetoothGattCharacteristic c : service.getGattCharacteristics()) {
-                for (BluetoothGattDescriptor d : c.getGattDescriptors()) {
-                    if (d.getUuid().equalsIgnoreCase(uuid)) {
+        for (BluetoothGattService service : callCounter.count(dev.getGattServices())) {
+            for (BluetoothGattCharacteristic c : callCounter.count(service.getGattCharacteristics())) {
+                for (BluetoothGattDescriptor d : callCounter.count(c.getGattDescriptors())) {
+                    if (callCounter.count(d.getUuid()).equalsIgnoreCase(uuid)) {
                         return d;
                     }
                 }
@@ -260,7 +278,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
     @Override
     public CompletableFuture<@Nullable Void> enableNotifications(BluetoothCharacteristic characteristic) {
         BluetoothDevice dev = device;
-        if (dev == null || !dev.isConnected()) {
+        if (dev == null || !callCounter.count(dev.isConnected())) {
             return CompletableFuture
                     .failedFuture(new IllegalStateException("DBusBlueZ device is not set or not connected"));
         }
@@ -274,6 +292,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
 
         return RetryFuture.callWithRetry(() -> {
             try {
+                callCounter.add(1);
                 c.startNotify();
             } catch (DBusException e) {
                 if (e.getMessage().contains("Already notifying")) {
@@ -295,7 +314,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
         logger.debug("writeCharacteristic()");
 
         BluetoothDevice dev = device;
-        if (dev == null || !dev.isConnected()) {
+        if (dev == null || !callCounter.count(dev.isConnected())) {
             return CompletableFuture
                     .failedFuture(new IllegalStateException("DBusBlueZ device is not set or not connected"));
         }
@@ -309,6 +328,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
 
         return RetryFuture.callWithRetry(() -> {
             try {
+                callCounter.add(1);
                 c.writeValue(value, null);
                 return null;
             } catch (DBusException e) {
@@ -371,7 +391,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
             logger.debug("Received a notification for a characteristic not found on device.");
             return;
         }
-        BluetoothCharacteristic c = getCharacteristic(UUID.fromString(characteristic.getUuid()));
+        BluetoothCharacteristic c = getCharacteristic(UUID.fromString(callCounter.count(characteristic.getUuid())));
         if (c != null) {
             notifyListeners(BluetoothEventType.CHARACTERISTIC_UPDATED, c, event.getData());
         }
@@ -399,18 +419,21 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
         if (dev == null) {
             return false;
         }
-        if (dev.getGattServices().size() > getServices().size()) {
-            for (BluetoothGattService dBusBlueZService : dev.getGattServices()) {
-                BluetoothService service = new BluetoothService(UUID.fromString(dBusBlueZService.getUuid()),
-                        dBusBlueZService.isPrimary());
-                for (BluetoothGattCharacteristic dBusBlueZCharacteristic : dBusBlueZService.getGattCharacteristics()) {
+        if (callCounter.count(dev.getGattServices()).size() > getServices().size()) {
+            for (BluetoothGattService dBusBlueZService : callCounter.count(dev.getGattServices())) {
+                BluetoothService service = new BluetoothService(
+                        UUID.fromString(callCounter.count(dBusBlueZService.getUuid())),
+                        callCounter.count(dBusBlueZService.isPrimary()));
+                for (BluetoothGattCharacteristic dBusBlueZCharacteristic : callCounter
+                        .count(dBusBlueZService.getGattCharacteristics())) {
                     BluetoothCharacteristic characteristic = new BluetoothCharacteristic(
-                            UUID.fromString(dBusBlueZCharacteristic.getUuid()), 0);
+                            UUID.fromString(callCounter.count(dBusBlueZCharacteristic.getUuid())), 0);
                     convertCharacteristicProperties(dBusBlueZCharacteristic, characteristic);
 
-                    for (BluetoothGattDescriptor dBusBlueZDescriptor : dBusBlueZCharacteristic.getGattDescriptors()) {
+                    for (BluetoothGattDescriptor dBusBlueZDescriptor : callCounter
+                            .count(dBusBlueZCharacteristic.getGattDescriptors())) {
                         BluetoothDescriptor descriptor = new BluetoothDescriptor(characteristic,
-                                UUID.fromString(dBusBlueZDescriptor.getUuid()), 0);
+                                UUID.fromString(callCounter.count(dBusBlueZDescriptor.getUuid())), 0);
                         characteristic.addDescriptor(descriptor);
                     }
                     service.addCharacteristic(characteristic);
@@ -432,7 +455,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
             BluetoothCharacteristic characteristic) {
         int properties = 0;
 
-        for (String property : dBusBlueZCharacteristic.getFlags()) {
+        for (String property : callCounter.count(dBusBlueZCharacteristic.getFlags())) {
             switch (property) {
                 case "broadcast":
                     properties |= BluetoothCharacteristic.PROPERTY_BROADCAST;
@@ -461,7 +484,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
     @Override
     public CompletableFuture<byte[]> readCharacteristic(BluetoothCharacteristic characteristic) {
         BluetoothDevice dev = device;
-        if (dev == null || !dev.isConnected()) {
+        if (dev == null || !callCounter.count(dev.isConnected())) {
             return CompletableFuture
                     .failedFuture(new IllegalStateException("DBusBlueZ device is not set or not connected"));
         }
@@ -475,6 +498,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
 
         return RetryFuture.callWithRetry(() -> {
             try {
+                callCounter.add(1);
                 return c.readValue(null);
             } catch (DBusException | DBusExecutionException e) {
                 // DBusExecutionException is thrown if the value cannot be read
@@ -489,7 +513,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
     public boolean isNotifying(BluetoothCharacteristic characteristic) {
         BluetoothGattCharacteristic c = getDBusBlueZCharacteristicByUUID(characteristic.getUuid().toString());
         if (c != null) {
-            Boolean isNotifying = c.isNotifying();
+            Boolean isNotifying = callCounter.count(c.isNotifying());
             return Objects.requireNonNullElse(isNotifying, false);
         } else {
             logger.warn("Characteristic '{}' is missing on device '{}'.", characteristic.getUuid(), address);
@@ -500,7 +524,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
     @Override
     public CompletableFuture<@Nullable Void> disableNotifications(BluetoothCharacteristic characteristic) {
         BluetoothDevice dev = device;
-        if (dev == null || !dev.isConnected()) {
+        if (dev == null || !callCounter.count(dev.isConnected())) {
             return CompletableFuture
                     .failedFuture(new IllegalStateException("DBusBlueZ device is not set or not connected"));
         }
@@ -513,6 +537,7 @@ public class BlueZBluetoothDevice extends BaseBluetoothDevice implements BlueZEv
 
         return RetryFuture.callWithRetry(() -> {
             try {
+                callCounter.add(1);
                 c.stopNotify();
             } catch (DBusException e) {
                 if (e.getMessage().contains("Already notifying")) {
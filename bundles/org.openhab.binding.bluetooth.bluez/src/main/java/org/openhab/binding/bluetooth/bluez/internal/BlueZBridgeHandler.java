@@ -25,6 +25,8 @@ import org.openhab.binding.bluetooth.bluez.internal.events.AdapterDiscoveringCha
 import org.openhab.binding.bluetooth.bluez.internal.events.AdapterPoweredChangedEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEventListener;
+import org.openhab.binding.bluetooth.bluez.internal.events.DeviceAddedEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.DeviceRemovedEvent;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
@@ -39,17 +41,25 @@ import com.github.hypfvieh.bluetooth.wrapper.BluetoothDevice;
  * This Binding does not use any JNI.
  * It provides a private interface for {@link BlueZBluetoothDevice}s to access the stack and provides top
  * level adaptor functionality for scanning and arbitration.
+ * Devices are tracked from the devices bluez adds and removes, a device that is added is attached from the DBus
+ * path of its signal. The full list of devices is only requested once the adapter is ready and then in a
+ * reconciliation sweep every {@link #RECONCILIATION_INTERVAL}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Hilbrand Bouwkamp - Simplified calling scan and better handling manual scanning
  * @author Connor Petty - Simplified device scan logic
  * @author Benjamin Lafois - Replaced tinyB with bluezDbus
+ * @author agent - Track devices from bluez signals
  *
  */
 @NonNullByDefault
 public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBluetoothDevice>
         implements BlueZEventListener {
 
+    private static final long RECONCILIATION_INTERVAL = TimeUnit.MINUTES.toNanos(5);
+
+    private static final String DEVICE_PATH_PREFIX = "dev_";
+
     private final Logger logger = LoggerFactory.getLogger(BlueZBridgeHandler.class);
 
     // ADAPTER from BlueZ-DBus Library
@@ -60,7 +70,13 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
 
     private @Nullable ScheduledFuture<?> discoveryJob;
 
+    // whether the adapter is known to be powered and discovering, so that it does not need to be prepared again
+    private volatile boolean adapterReady = false;
+    private volatile boolean sweepRequested = true;
+    private long lastSweep;
+
     private final DeviceManagerFactory deviceManagerFactory;
+    private final DBusCallCounter callCounter;
 
     /**
      * Constructor
@@ -70,6 +86,14 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
     public BlueZBridgeHandler(Bridge bridge, DeviceManagerFactory deviceManagerFactory) {
         super(bridge);
         this.deviceManagerFactory = deviceManagerFactory;
+        this.callCounter = deviceManagerFactory.getCallCounter();
+    }
+
+    /**
+     * @return the counter of the DBus calls made by this binding
+     */
+    DBusCallCounter getCallCounter() {
+        return callCounter;
     }
 
     @Override
@@ -89,6 +113,8 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
 
         logger.debug("Creating BlueZ adapter with address '{}'", adapterAddress);
         updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, "Initializing");
+        adapterReady = false;
+        sweepRequested = true;
         deviceManagerFactory.getPropertiesChangedHandler().addListener(this);
         discoveryJob = scheduler.scheduleWithFixedDelay(this::initializeAndRefreshDevices, 5, 10, TimeUnit.SECONDS);
     }
@@ -106,6 +132,7 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
 
         BluetoothAdapter localAdatper = this.adapter;
         if (localAdatper != null) {
+            callCounter.add(1);
             localAdatper.stopDiscovery();
             this.adapter = null;
         }
@@ -131,7 +158,8 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
             return null;
         }
         // now lets confirm that the adapter is powered
-        if (!localAdapter.isPowered()) {
+        if (!callCounter.count(localAdapter.isPowered())) {
+            callCounter.add(1);
             localAdapter.setPowered(true);
             // give the device some time to power on
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE,
@@ -140,14 +168,14 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         }
 
         // now lets make sure that discovery is turned on
-        if (!localAdapter.startDiscovery()) {
+        if (!callCounter.count(localAdapter.startDiscovery())) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE, "Trying to start discovery");
             return null;
         }
         return localAdapter;
     }
 
-    private void initializeAndRefreshDevices() {
+    void initializeAndRefreshDevices() {
         logger.debug("initializeAndRefreshDevice()");
 
         try {
@@ -159,23 +187,21 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
                 return;
             }
 
-            BluetoothAdapter adapter = prepareAdapter(deviceManager);
-            if (adapter == null) {
-                // adapter isn't prepared yet
-                return;
+            BluetoothAdapter adapter = this.adapter;
+            if (!adapterReady || adapter == null) {
+                adapter = prepareAdapter(deviceManager);
+                if (adapter == null) {
+                    // adapter isn't prepared yet
+                    return;
+                }
+                adapterReady = true;
             }
 
-            // now lets refresh devices
-            List<BluetoothDevice> bluezDevices = deviceManager.getDevices(adapter);
-            logger.debug("Found {} Bluetooth devices.", bluezDevices.size());
-            for (BluetoothDevice bluezDevice : bluezDevices) {
-                if (bluezDevice.getAddress() == null) {
-                    // For some reasons, sometimes the address is null..
-                    continue;
-                }
-                BlueZBluetoothDevice device = getDevice(new BluetoothAddress(bluezDevice.getAddress()));
-                device.updateBlueZDevice(bluezDevice);
-                deviceDiscovered(device);
+            long now = System.nanoTime();
+            if (sweepRequested || now - lastSweep >= RECONCILIATION_INTERVAL) {
+                sweepRequested = false;
+                lastSweep = now;
+                reconcileDevices(deviceManager, adapter);
             }
             updateStatus(ThingStatus.ONLINE);
         } catch (Exception ex) {
@@ -186,6 +212,41 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         }
     }
 
+    private void reconcileDevices(DeviceManagerWrapper deviceManager, BluetoothAdapter adapter) {
+        List<BluetoothDevice> bluezDevices = deviceManager.getDevices(adapter);
+        logger.debug("Found {} Bluetooth devices.", bluezDevices.size());
+        int updated = 0;
+        for (BluetoothDevice bluezDevice : bluezDevices) {
+            // the address is taken from the dbus path, asking bluez for it would be another DBus call per device
+            BluetoothAddress address = parseAddress(bluezDevice.getDbusPath());
+            if (address == null) {
+                continue;
+            }
+            BlueZBluetoothDevice device = getDevice(address);
+            if (device.updateBlueZDevice(bluezDevice)) {
+                updated++;
+                deviceDiscovered(device);
+            }
+        }
+        logger.debug("Updated {} Bluetooth devices, {} DBus calls during the last minute, {} in total.", updated,
+                callCounter.getCallsPerMinute(), callCounter.getTotalCalls());
+    }
+
+    private static @Nullable BluetoothAddress parseAddress(@Nullable String dbusPath) {
+        if (dbusPath == null) {
+            return null;
+        }
+        int start = dbusPath.lastIndexOf('/') + 1;
+        if (!dbusPath.startsWith(DEVICE_PATH_PREFIX, start)) {
+            return null;
+        }
+        String mac = dbusPath.substring(start + DEVICE_PATH_PREFIX.length());
+        if (mac.isEmpty()) {
+            return null;
+        }
+        return new BluetoothAddress(mac.replace('_', ':').toUpperCase());
+    }
+
     @Override
     public @Nullable BluetoothAddress getAddress() {
         return adapterAddress;
@@ -198,18 +259,19 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         return device;
     }
 
-    @Override
-    public void onDBusBlueZEvent(BlueZEvent event) {
+    private boolean isForThisAdapter(BlueZEvent event) {
         BluetoothAdapter localAdapter = this.adapter;
         String adapterName = event.getAdapterName();
         if (adapterName == null || localAdapter == null) {
             // We cannot be sure that this event concerns this adapter.. So ignore message
-            return;
+            return false;
         }
-        String localName = localAdapter.getDeviceName();
+        return adapterName.equals(localAdapter.getDeviceName());
+    }
 
-        if (!adapterName.equals(localName)) {
-            // does not concern this adapter
+    @Override
+    public void onDBusBlueZEvent(BlueZEvent event) {
+        if (!isForThisAdapter(event)) {
             return;
         }
 
@@ -222,13 +284,51 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         }
     }
 
+    @Override
+    public void onDeviceAdded(DeviceAddedEvent event) {
+        BluetoothAddress address = event.getDevice();
+        if (address == null || !isForThisAdapter(event)) {
+            return;
+        }
+        String dbusPath = event.getDbusPath();
+        DeviceManagerWrapper deviceManager = deviceManagerFactory.getDeviceManager();
+        BluetoothAdapter localAdapter = this.adapter;
+        if (deviceManager == null || localAdapter == null) {
+            // the device is picked up by the next sweep
+            return;
+        }
+        // only the added device is attached, listing all devices of the adapter is left to the sweep
+        BluetoothDevice bluezDevice = deviceManager.getDevice(localAdapter, dbusPath);
+        if (bluezDevice == null) {
+            return;
+        }
+        BlueZBluetoothDevice device = getDevice(address);
+        if (device.updateBlueZDevice(bluezDevice)) {
+            deviceDiscovered(device);
+        }
+    }
+
+    @Override
+    public void onDeviceRemoved(DeviceRemovedEvent event) {
+        BluetoothAddress address = event.getDevice();
+        if (address == null || !isForThisAdapter(event)) {
+            return;
+        }
+        // the device itself is removed by the inactivity cleanup, unless bluez adds it again
+        getDevice(address).updateBlueZDevice(null);
+    }
+
     @Override
     public void onDiscoveringChanged(AdapterDiscoveringChangedEvent event) {
-        // do nothing for now
+        if (!event.isDiscovering() && isForThisAdapter(event)) {
+            adapterReady = false;
+        }
     }
 
     @Override
     public void onPoweredChange(AdapterPoweredChangedEvent event) {
-        // do nothing for now
+        if (!event.isPowered() && isForThisAdapter(event)) {
+            adapterReady = false;
+        }
     }
 }
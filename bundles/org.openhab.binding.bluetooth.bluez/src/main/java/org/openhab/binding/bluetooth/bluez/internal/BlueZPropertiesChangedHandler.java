@@ -13,6 +13,7 @@
 package org.openhab.binding.bluetooth.bluez.internal;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -21,7 +22,11 @@ import java.util.concurrent.ScheduledExecutorService;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.freedesktop.dbus.DBusMap;
+import org.freedesktop.dbus.handlers.AbstractInterfacesAddedHandler;
+import org.freedesktop.dbus.handlers.AbstractInterfacesRemovedHandler;
 import org.freedesktop.dbus.handlers.AbstractPropertiesChangedHandler;
+import org.freedesktop.dbus.interfaces.ObjectManager.InterfacesAdded;
+import org.freedesktop.dbus.interfaces.ObjectManager.InterfacesRemoved;
 import org.freedesktop.dbus.interfaces.Properties.PropertiesChanged;
 import org.freedesktop.dbus.types.UInt16;
 import org.freedesktop.dbus.types.Variant;
@@ -31,6 +36,8 @@ import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEventListener;
 import org.openhab.binding.bluetooth.bluez.internal.events.CharacteristicUpdateEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.ConnectedEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.DeviceAddedEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.DeviceRemovedEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.ManufacturerDataEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.NameEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.RssiEvent;
@@ -42,7 +49,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This is the PropertiesChangedHandler subclass used by the binding to handle/dispatch property change events
- * from bluez.
+ * from bluez. It also dispatches the devices added and removed by bluez, see {@link #getInterfacesAddedHandler()}
+ * and {@link #getInterfacesRemovedHandler()}.
  *
  * @author Benjamin Lafois - Initial contribution and API
  * @author Connor Petty - Code cleanup
@@ -54,8 +62,58 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
 
     private final Set<BlueZEventListener> listeners = new CopyOnWriteArraySet<>();
 
+    private static final String DEVICE_INTERFACE = "org.bluez.Device1";
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("bluetooth");
 
+    private final AbstractInterfacesAddedHandler interfacesAddedHandler = new AbstractInterfacesAddedHandler() {
+        @Override
+        public void handle(@Nullable InterfacesAdded added) {
+            if (added == null) {
+                return;
+            }
+            @Nullable
+            Map<String, Map<@Nullable String, @Nullable Variant<?>>> interfaces = added.getInterfaces();
+            if (interfaces == null || !interfaces.containsKey(DEVICE_INTERFACE)) {
+                return;
+            }
+            @Nullable
+            Map<@Nullable String, @Nullable Variant<?>> properties = interfaces.get(DEVICE_INTERFACE);
+            String dbusPath = added.getSignalSource().getPath();
+            scheduler.execute(() -> {
+                // the properties of the device are known before it is added, e.g. for deciding whether it is reachable
+                if (properties != null) {
+                    dispatchProperties(dbusPath, properties);
+                }
+                notifyListeners(new DeviceAddedEvent(dbusPath));
+            });
+        }
+    };
+
+    private final AbstractInterfacesRemovedHandler interfacesRemovedHandler = new AbstractInterfacesRemovedHandler() {
+        @Override
+        public void handle(@Nullable InterfacesRemoved removed) {
+            if (removed == null) {
+                return;
+            }
+            @Nullable
+            List<String> interfaces = removed.getInterfaces();
+            if (interfaces == null || !interfaces.contains(DEVICE_INTERFACE)) {
+                return;
+            }
+            String dbusPath = removed.getSignalSource().getPath();
+            scheduler.execute(() -> notifyListeners(new DeviceRemovedEvent(dbusPath)));
+        }
+    };
+
+    public AbstractInterfacesAddedHandler getInterfacesAddedHandler() {
+        return interfacesAddedHandler;
+    }
+
+    public AbstractInterfacesRemovedHandler getInterfacesRemovedHandler() {
+        return interfacesRemovedHandler;
+    }
+
     public void addListener(BlueZEventListener listener) {
         this.listeners.add(listener);
     }
@@ -84,54 +142,57 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
 
         // do this asynchronously so that we don't slow things down for the dbus event dispatcher
         scheduler.execute(() -> {
-
             String dbusPath = properties.getPath();
-            changedProperties.forEach((key, variant) -> {
-                if (key == null || variant == null) {
-                    return;
-                }
-                switch (key.toLowerCase()) {
-                    case "rssi":
-                        // Signal Update
-                        onRSSIUpdate(dbusPath, variant);
-                        break;
-                    case "txpower":
-                        // TxPower
-                        onTXPowerUpdate(dbusPath, variant);
-                        break;
-                    case "value":
-                        // Characteristc value updated
-                        onValueUpdate(dbusPath, variant);
-                        break;
-                    case "connected":
-                        onConnectedUpdate(dbusPath, variant);
-                        break;
-                    case "name":
-                        onNameUpdate(dbusPath, variant);
-                        break;
-                    case "alias":
-                        // TODO
-                        break;
-                    case "manufacturerdata":
-                        onManufacturerDataUpdate(dbusPath, variant);
-                        break;
-                    case "powered":
-                        onPoweredUpdate(dbusPath, variant);
-                        break;
-                    case "discovering":
-                        onDiscoveringUpdate(dbusPath, variant);
-                        break;
-                    case "servicesresolved":
-                        onServicesResolved(dbusPath, variant);
-                        break;
-                }
-            });
+            dispatchProperties(dbusPath, changedProperties);
 
             logger.debug("PropertiesPath: {}", dbusPath);
             logger.debug("PropertiesChanged: {}", changedProperties);
         });
     }
 
+    private void dispatchProperties(String dbusPath, Map<@Nullable String, @Nullable Variant<?>> properties) {
+        properties.forEach((key, variant) -> {
+            if (key == null || variant == null) {
+                return;
+            }
+            switch (key.toLowerCase()) {
+                case "rssi":
+                    // Signal Update
+                    onRSSIUpdate(dbusPath, variant);
+                    break;
+                case "txpower":
+                    // TxPower
+                    onTXPowerUpdate(dbusPath, variant);
+                    break;
+                case "value":
+                    // Characteristc value updated
+                    onValueUpdate(dbusPath, variant);
+                    break;
+                case "connected":
+                    onConnectedUpdate(dbusPath, variant);
+                    break;
+                case "name":
+                    onNameUpdate(dbusPath, variant);
+                    break;
+                case "alias":
+                    // TODO
+                    break;
+                case "manufacturerdata":
+                    onManufacturerDataUpdate(dbusPath, variant);
+                    break;
+                case "powered":
+                    onPoweredUpdate(dbusPath, variant);
+                    break;
+                case "discovering":
+                    onDiscoveringUpdate(dbusPath, variant);
+                    break;
+                case "servicesresolved":
+                    onServicesResolved(dbusPath, variant);
+                    break;
+            }
+        });
+    }
+
     private void onDiscoveringUpdate(String dbusPath, Variant<?> variant) {
         Object discovered = variant.getValue();
         if (discovered instanceof Boolean) {
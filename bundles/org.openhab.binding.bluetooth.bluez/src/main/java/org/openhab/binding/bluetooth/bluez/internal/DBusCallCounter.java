@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counts the calls made to bluez via DBus, in total and during the last minute.
+ *
+ * The calls are counted where they are made: every call of the bluez library which talks to bluez, e.g. reading a
+ * property or listing the objects below a path, counts as one call.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DBusCallCounter {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private final long[] counts = new long[SECONDS_PER_MINUTE];
+    private final long[] seconds = new long[SECONDS_PER_MINUTE];
+    private long total;
+
+    private final LongSupplier clock;
+
+    public DBusCallCounter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param clock the time source in nanoseconds
+     */
+    DBusCallCounter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Count a call made just now, passing its result through.
+     *
+     * @param result the result of the call
+     * @return the result of the call
+     */
+    public <T> T count(T result) {
+        add(1);
+        return result;
+    }
+
+    /**
+     * Count calls made just now.
+     *
+     * @param calls the number of calls
+     */
+    public synchronized void add(int calls) {
+        long second = currentSecond();
+        int index = (int) (second % SECONDS_PER_MINUTE);
+        if (seconds[index] != second) {
+            seconds[index] = second;
+            counts[index] = 0;
+        }
+        counts[index] += calls;
+        total += calls;
+    }
+
+    /**
+     * @return the number of calls during the last minute
+     */
+    public synchronized long getCallsPerMinute() {
+        long second = currentSecond();
+        long sum = 0;
+        for (int i = 0; i < SECONDS_PER_MINUTE; i++) {
+            if (second - seconds[i] < SECONDS_PER_MINUTE) {
+                sum += counts[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return the number of calls since the binding started
+     */
+    public synchronized long getTotalCalls() {
+        return total;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong());
+    }
+}
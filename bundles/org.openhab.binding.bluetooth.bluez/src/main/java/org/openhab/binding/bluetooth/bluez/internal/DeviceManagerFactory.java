@@ -50,6 +50,7 @@ public class DeviceManagerFactory {
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("bluetooth");
 
     private final BlueZPropertiesChangedHandler changeHandler = new BlueZPropertiesChangedHandler();
+    private final DBusCallCounter callCounter = new DBusCallCounter();
 
     private @Nullable CompletableFuture<@Nullable DeviceManager> deviceManagerFuture;
     private @Nullable CompletableFuture<DeviceManagerWrapper> deviceManagerWrapperFuture;
@@ -58,6 +59,13 @@ public class DeviceManagerFactory {
         return changeHandler;
     }
 
+    /**
+     * @return the counter of the DBus calls made by this binding
+     */
+    public DBusCallCounter getCallCounter() {
+        return callCounter;
+    }
+
     public @Nullable DeviceManagerWrapper getDeviceManager() {
         // we can cheat the null checker with casting here
         var future = (CompletableFuture<@Nullable DeviceManagerWrapper>) deviceManagerWrapperFuture;
@@ -98,9 +106,11 @@ public class DeviceManagerFactory {
                     logger.debug("Registering property handler attempt: {}", count);
                     if (devManager != null) {
                         devManager.registerPropertyHandler(changeHandler);
+                        devManager.registerSignalHandler(changeHandler.getInterfacesAddedHandler());
+                        devManager.registerSignalHandler(changeHandler.getInterfacesRemovedHandler());
                         logger.debug("Successfully registered property handler");
                     }
-                    return new DeviceManagerWrapper(devManager);
+                    return new DeviceManagerWrapper(devManager, callCounter);
                 } catch (DBusException e) {
                     if (count < 3) {
                         throw new RetryException(5, TimeUnit.SECONDS);
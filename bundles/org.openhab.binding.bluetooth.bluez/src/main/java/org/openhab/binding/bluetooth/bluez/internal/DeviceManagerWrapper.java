@@ -16,9 +16,14 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
+import org.bluez.Device1;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.freedesktop.dbus.connections.impl.DBusConnection;
+import org.freedesktop.dbus.exceptions.DBusException;
 import org.openhab.binding.bluetooth.BluetoothAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.github.hypfvieh.bluetooth.DeviceManager;
 import com.github.hypfvieh.bluetooth.wrapper.BluetoothAdapter;
@@ -33,15 +38,21 @@ import com.github.hypfvieh.bluetooth.wrapper.BluetoothDevice;
 @NonNullByDefault
 public class DeviceManagerWrapper {
 
+    private static final String BLUEZ_DBUS_SERVICE = "org.bluez";
+
+    private final Logger logger = LoggerFactory.getLogger(DeviceManagerWrapper.class);
+
     private @Nullable DeviceManager deviceManager;
+    private final DBusCallCounter callCounter;
 
-    public DeviceManagerWrapper(@Nullable DeviceManager deviceManager) {
+    public DeviceManagerWrapper(@Nullable DeviceManager deviceManager, DBusCallCounter callCounter) {
         this.deviceManager = deviceManager;
+        this.callCounter = callCounter;
     }
 
     public synchronized Collection<BluetoothAdapter> scanForBluetoothAdapters() {
         if (deviceManager != null) {
-            return deviceManager.scanForBluetoothAdapters();
+            return callCounter.count(deviceManager.scanForBluetoothAdapters());
         } else {
             return Set.of();
         }
@@ -52,10 +63,11 @@ public class DeviceManagerWrapper {
         if (devMgr != null) {
             // we don't use `deviceManager.getAdapter` here since it might perform a scan if the adapter is missing.
             String addr = address.toString();
+            // the adapters are kept by the library after its first scan
             List<BluetoothAdapter> adapters = devMgr.getAdapters();
             if (adapters != null) {
                 for (BluetoothAdapter btAdapter : adapters) {
-                    String btAddr = btAdapter.getAddress();
+                    String btAddr = callCounter.count(btAdapter.getAddress());
                     if (addr.equalsIgnoreCase(btAddr)) {
                         return btAdapter;
                     }
@@ -67,9 +79,33 @@ public class DeviceManagerWrapper {
 
     public synchronized List<BluetoothDevice> getDevices(BluetoothAdapter adapter) {
         if (deviceManager != null) {
-            return deviceManager.getDevices(adapter.getAddress(), true);
+            String address = callCounter.count(adapter.getAddress());
+            return callCounter.count(deviceManager.getDevices(address, true));
         } else {
             return List.of();
         }
     }
+
+    /**
+     * Creates the native device for the given DBus object path without listing all devices of the adapter.
+     *
+     * @param adapter the adapter the device belongs to
+     * @param dbusPath the DBus object path of the device, as announced by bluez
+     * @return the native device or null if the device manager is not available
+     */
+    public synchronized @Nullable BluetoothDevice getDevice(BluetoothAdapter adapter, String dbusPath) {
+        DeviceManager devMgr = deviceManager;
+        if (devMgr == null) {
+            return null;
+        }
+        DBusConnection connection = devMgr.getDbusConnection();
+        try {
+            // only a proxy is created here, the device properties are read when the device is updated
+            Device1 device1 = connection.getRemoteObject(BLUEZ_DBUS_SERVICE, dbusPath, Device1.class);
+            return new BluetoothDevice(device1, adapter, dbusPath, connection);
+        } catch (DBusException e) {
+            logger.debug("Cannot get the native device for {}: {}", dbusPath, e.getMessage());
+            return null;
+        }
+    }
 }
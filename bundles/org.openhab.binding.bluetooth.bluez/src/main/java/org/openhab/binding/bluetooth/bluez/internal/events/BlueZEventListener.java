@@ -60,4 +60,12 @@ public interface BlueZEventListener {
     public default void onServicesResolved(ServicesResolvedEvent event) {
         onDBusBlueZEvent(event);
     }
+
+    public default void onDeviceAdded(DeviceAddedEvent event) {
+        onDBusBlueZEvent(event);
+    }
+
+    public default void onDeviceRemoved(DeviceRemovedEvent event) {
+        onDBusBlueZEvent(event);
+    }
 }
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal.events;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This is triggered when bluez adds a bluetooth device, after its initial properties have been dispatched as events.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DeviceAddedEvent extends BlueZEvent {
+
+    public DeviceAddedEvent(String dbusPath) {
+        super(dbusPath);
+    }
+
+    @Override
+    public void dispatch(BlueZEventListener listener) {
+        listener.onDeviceAdded(this);
+    }
+}
@@ -10,22 +10,25 @@
  *
  * SPDX-License-Identifier: EPL-2.0
  */
-package org.openhab.automation.pidcontroller.internal;
+package org.openhab.binding.bluetooth.bluez.internal.events;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
+ * This is triggered when bluez removes a bluetooth device.
  *
- * Common Exception for PID controller.
- *
- * @author Fabian Wolter - Initial contribution
+ * @author agent - Initial contribution
  *
  */
 @NonNullByDefault
-public class PIDException extends Exception {
-    private static final long serialVersionUID = -3029834022610530982L;
+public class DeviceRemovedEvent extends BlueZEvent {
+
+    public DeviceRemovedEvent(String dbusPath) {
+        super(dbusPath);
+    }
 
-    public PIDException(String message) {
-        super(message);
+    @Override
+    public void dispatch(BlueZEventListener listener) {
+        listener.onDeviceRemoved(this);
     }
 }
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+
+import com.github.hypfvieh.bluetooth.wrapper.BluetoothDevice;
+
+/**
+ * Tests for the DBus calls made by {@link BlueZBluetoothDevice}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueZBluetoothDeviceTest {
+
+    private static final String DBUS_PATH = "/org/bluez/hci0/dev_00_CC_3F_B2_7E_60";
+
+    private final DBusCallCounter callCounter = new DBusCallCounter();
+    private final BluetoothDevice nativeDevice = mock(BluetoothDevice.class);
+    private @NonNullByDefault({}) BlueZBluetoothDevice device;
+
+    @BeforeEach
+    public void setUp() {
+        BlueZBridgeHandler handler = mock(BlueZBridgeHandler.class);
+        when(handler.getCallCounter()).thenReturn(callCounter);
+        device = new BlueZBluetoothDevice(handler, new BluetoothAddress("00:CC:3F:B2:7E:60"));
+
+        when(nativeDevice.getDbusPath()).thenReturn(DBUS_PATH);
+        when(nativeDevice.getRssi()).thenReturn((short) -60);
+        when(nativeDevice.getName()).thenReturn("sensor");
+        when(nativeDevice.isConnected()).thenReturn(false);
+        when(nativeDevice.getGattServices()).thenReturn(List.of());
+    }
+
+    @Test
+    public void testUpdateCountsTheCallsMade() {
+        assertTrue(device.updateBlueZDevice(nativeDevice));
+
+        // rssi, name, manufacturer data, connection state and services
+        assertEquals(5, callCounter.getTotalCalls());
+        assertEquals(Integer.valueOf(-60), device.getRssi());
+        assertEquals("sensor", device.getName());
+    }
+
+    @Test
+    public void testUpdateWithTheSameDeviceMakesNoCalls() {
+        device.updateBlueZDevice(nativeDevice);
+        long calls = callCounter.getTotalCalls();
+
+        BluetoothDevice sameDevice = mock(BluetoothDevice.class);
+        when(sameDevice.getDbusPath()).thenReturn(DBUS_PATH);
+        assertFalse(device.updateBlueZDevice(nativeDevice));
+        assertFalse(device.updateBlueZDevice(sameDevice));
+        assertEquals(calls, callCounter.getTotalCalls());
+
+        assertTrue(device.updateBlueZDevice(null));
+        assertFalse(device.updateBlueZDevice(null));
+        assertEquals(calls, callCounter.getTotalCalls());
+    }
+
+    @Test
+    public void testConnectCountsTheCallsMade() {
+        device.updateBlueZDevice(nativeDevice);
+        long calls = callCounter.getTotalCalls();
+        when(nativeDevice.connect()).thenReturn(true);
+
+        assertTrue(device.connect());
+        // the connection state and the connect call
+        assertEquals(calls + 2, callCounter.getTotalCalls());
+    }
+}
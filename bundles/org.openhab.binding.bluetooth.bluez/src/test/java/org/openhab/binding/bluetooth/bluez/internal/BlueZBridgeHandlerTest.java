@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+import org.openhab.binding.bluetooth.bluez.internal.events.DeviceAddedEvent;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.thing.Bridge;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.ThingHandlerCallback;
+
+import com.github.hypfvieh.bluetooth.wrapper.BluetoothAdapter;
+import com.github.hypfvieh.bluetooth.wrapper.BluetoothDevice;
+
+/**
+ * Tests for the devices attached by {@link BlueZBridgeHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueZBridgeHandlerTest {
+
+    private static final String ADAPTER_PATH = "/org/bluez/hci0";
+
+    private final DeviceManagerFactory deviceManagerFactory = mock(DeviceManagerFactory.class);
+    private final DeviceManagerWrapper deviceManager = mock(DeviceManagerWrapper.class);
+    private final BluetoothAdapter adapter = mock(BluetoothAdapter.class);
+    private @NonNullByDefault({}) BlueZBridgeHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        when(deviceManagerFactory.getCallCounter()).thenReturn(new DBusCallCounter());
+        when(deviceManagerFactory.getPropertiesChangedHandler()).thenReturn(mock(BlueZPropertiesChangedHandler.class));
+        when(deviceManagerFactory.getDeviceManager()).thenReturn(deviceManager);
+
+        when(adapter.getDeviceName()).thenReturn("hci0");
+        when(adapter.isPowered()).thenReturn(true);
+        when(adapter.startDiscovery()).thenReturn(true);
+        when(deviceManager.getAdapter(any())).thenReturn(adapter);
+        when(deviceManager.getDevices(adapter)).thenReturn(List.of());
+
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getUID()).thenReturn(new ThingUID("bluetooth", "bluez", "hci0"));
+        when(bridge.getConfiguration()).thenReturn(new Configuration(Map.of("address", "00:1A:7D:DA:71:13")));
+
+        handler = new BlueZBridgeHandler(bridge, deviceManagerFactory);
+        handler.setCallback(mock(ThingHandlerCallback.class));
+        handler.initialize();
+        // prepares the adapter and makes the initial sweep
+        handler.initializeAndRefreshDevices();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        handler.dispose();
+    }
+
+    @Test
+    public void testAddedDevicesAreAttachedWithoutListingAllDevices() {
+        for (int i = 0; i < 50; i++) {
+            String dbusPath = String.format("%s/dev_00_CC_3F_B2_7E_%02X", ADAPTER_PATH, i);
+            BluetoothDevice nativeDevice = mock(BluetoothDevice.class);
+            when(nativeDevice.getDbusPath()).thenReturn(dbusPath);
+            when(nativeDevice.getName()).thenReturn("sensor " + i);
+            when(deviceManager.getDevice(adapter, dbusPath)).thenReturn(nativeDevice);
+
+            handler.onDeviceAdded(new DeviceAddedEvent(dbusPath));
+            handler.initializeAndRefreshDevices();
+        }
+
+        // only the initial sweep lists the devices
+        verify(deviceManager, times(1)).getDevices(any());
+        verify(deviceManager, times(50)).getDevice(eq(adapter), anyString());
+        assertEquals("sensor 7", handler.getDevice(new BluetoothAddress("00:CC:3F:B2:7E:07")).getName());
+    }
+
+    @Test
+    public void testAddedDevicesOfOtherAdaptersAreIgnored() {
+        handler.onDeviceAdded(new DeviceAddedEvent("/org/bluez/hci1/dev_00_CC_3F_B2_7E_60"));
+
+        verify(deviceManager, never()).getDevice(any(), anyString());
+    }
+}
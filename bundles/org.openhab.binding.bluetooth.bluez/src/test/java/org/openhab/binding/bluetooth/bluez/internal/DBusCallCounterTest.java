@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DBusCallCounter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DBusCallCounterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final DBusCallCounter counter = new DBusCallCounter(clock::get);
+
+    private void setSecond(long second) {
+        clock.set(TimeUnit.SECONDS.toNanos(second));
+    }
+
+    @Test
+    public void testCountPassesTheResultThrough() {
+        assertEquals("result", counter.count("result"));
+        assertNull(counter.count(null));
+        assertEquals(2, counter.getCallsPerMinute());
+        assertEquals(2, counter.getTotalCalls());
+    }
+
+    @Test
+    public void testCallsPerMinuteOnlyCountsTheLastMinute() {
+        counter.add(2);
+        setSecond(30);
+        counter.add(1);
+        assertEquals(3, counter.getCallsPerMinute());
+
+        setSecond(61);
+        assertEquals(1, counter.getCallsPerMinute());
+
+        // the slot of second 30 is reused
+        setSecond(90);
+        counter.add(5);
+        assertEquals(5, counter.getCallsPerMinute());
+        assertEquals(8, counter.getTotalCalls());
+
+        setSecond(200);
+        assertEquals(0, counter.getCallsPerMinute());
+        assertEquals(8, counter.getTotalCalls());
+    }
+}
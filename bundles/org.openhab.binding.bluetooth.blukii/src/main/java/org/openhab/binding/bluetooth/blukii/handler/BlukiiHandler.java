@@ -45,7 +45,7 @@ public class BlukiiHandler extends BeaconBluetoothHandler implements BluetoothDe
     @Override
     public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
         final byte[] manufacturerData = scanNotification.getManufacturerData();
-        if (manufacturerData != null) {
+        if (manufacturerData != null && isNewAdvertisement(scanNotification)) {
             final BlukiiData blukiiData = decoder.decode(manufacturerData);
             if (blukiiData != null) {
                 updateState(BlukiiBindingConstants.CHANNEL_ID_BATTERY, new DecimalType(blukiiData.battery));
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.bluetooth.roaming.internal;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,10 @@ import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
  * The {@link RoamingBluetoothDevice} acts as a roaming device by delegating
  * its operations to actual adapters.
  *
+ * The rssi values received by all adapters are aggregated by a {@link RssiAggregator}, which elects the adapter to
+ * delegate to. Only the scan records of the elected adapter are forwarded, carrying the rssi averaged over the
+ * aggregation window, so that a device received by several adapters is reported once per advertisement.
+ *
  * @author Connor Petty - Initial contribution
  */
 @NonNullByDefault
@@ -47,18 +52,35 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
     private final AtomicReference<@Nullable BluetoothDevice> currentDelegateRef = new AtomicReference<>();
 
+    private final RssiAggregator rssiAggregator = new RssiAggregator();
+
+    // the ids of the adapters in the rssi aggregator
+    private final BitSet adapterIds = new BitSet();
+
     protected RoamingBluetoothDevice(RoamingBridgeHandler roamingAdapter, BluetoothAddress address) {
         super(roamingAdapter, address);
     }
 
     public void addBluetoothDevice(BluetoothDevice device) {
-        device.addListener(Objects.requireNonNull(devices.computeIfAbsent(device, Listener::new)));
+        device.addListener(Objects.requireNonNull(devices.computeIfAbsent(device, this::createListener)));
     }
 
     public void removeBluetoothDevice(BluetoothDevice device) {
-        BluetoothDeviceListener listener = devices.remove(device);
+        Listener listener = devices.remove(device);
         if (listener != null) {
             device.removeListener(listener);
+            rssiAggregator.removeAdapter(listener.adapterId);
+            synchronized (adapterIds) {
+                adapterIds.clear(listener.adapterId);
+            }
+        }
+    }
+
+    private Listener createListener(BluetoothDevice device) {
+        synchronized (adapterIds) {
+            int adapterId = adapterIds.nextClearBit(0);
+            adapterIds.set(adapterId);
+            return new Listener(device, adapterId);
         }
     }
 
@@ -71,19 +93,29 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
     @SuppressWarnings("PMD.CompareObjectsWithEquals")
     protected @Nullable BluetoothDevice getDelegate() {
         BluetoothDevice newDelegate = null;
+        BluetoothDevice electedDevice = null;
         int newRssi = Integer.MIN_VALUE;
-        for (BluetoothDevice device : devices.keySet()) {
+        int elected = rssiAggregator.getElected();
+        for (Listener listener : devices.values()) {
+            BluetoothDevice device = listener.device;
             ConnectionState state = device.getConnectionState();
             if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
-                newDelegate = device;
+                electedDevice = device;
                 break;
             }
+            if (listener.adapterId == elected) {
+                electedDevice = device;
+            }
             Integer rssi = device.getRssi();
             if (rssi != null && (newDelegate == null || rssi > newRssi)) {
                 newRssi = rssi;
                 newDelegate = device;
             }
         }
+        if (electedDevice != null) {
+            // the elected adapter is preferred over the best momentary rssi so that the delegate does not flap
+            newDelegate = electedDevice;
+        }
         BluetoothDevice oldDelegate = currentDelegateRef.getAndSet(newDelegate);
         if (oldDelegate != newDelegate) { // using reference comparison is valid in this case
             notifyListeners(BluetoothEventType.ADAPTER_CHANGED, getAdapter(newDelegate));
@@ -104,19 +136,46 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
         return getAdapter(currentDelegateRef.get());
     }
 
+    private static BluetoothScanNotification mergeScanNotification(BluetoothScanNotification scanNotification,
+            int rssi) {
+        BluetoothScanNotification merged = new BluetoothScanNotification();
+        merged.setRssi(rssi);
+        merged.setData(scanNotification.getData());
+        merged.setManufacturerData(scanNotification.getManufacturerData());
+        merged.setBeaconType(scanNotification.getBeaconType());
+        merged.setDeviceName(scanNotification.getDeviceName());
+        return merged;
+    }
+
     private class Listener implements BluetoothDeviceListener {
 
-        private BluetoothDevice device;
+        private final BluetoothDevice device;
+        private final int adapterId;
 
-        public Listener(BluetoothDevice device) {
+        public Listener(BluetoothDevice device, int adapterId) {
             this.device = device;
+            this.adapterId = adapterId;
         }
 
         @Override
         public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
-            if (device == getDelegate()) {
-                notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
+            long now = System.nanoTime();
+            int rssi = scanNotification.getRssi();
+            if (rssi != Integer.MIN_VALUE && rssi != 0) {
+                rssiAggregator.record(adapterId, rssi, now);
+            }
+            int elected = rssiAggregator.elect(now);
+            // getDelegate() also reports a change of the elected adapter
+            boolean fromDelegate = device == getDelegate();
+            if (elected != RssiAggregator.NO_ADAPTER ? elected != adapterId : !fromDelegate) {
+                // received by an adapter other than the elected one, which reports this advertisement as well
+                return;
+            }
+            BluetoothScanNotification notification = scanNotification;
+            if (rssi != Integer.MIN_VALUE && rssi != 0) {
+                notification = mergeScanNotification(scanNotification, rssiAggregator.getRssi(now));
             }
+            notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
         }
 
         @Override
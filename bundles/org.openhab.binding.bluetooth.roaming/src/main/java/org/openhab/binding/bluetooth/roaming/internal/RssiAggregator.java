@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.roaming.internal;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link RssiAggregator} keeps the rssi values a roaming device was received with by each of its adapters during
+ * a sliding window and elects the adapter the device is best received by. The samples are kept in a primitive ring
+ * buffer per adapter, so recording a sample only allocates for the first sample of an adapter.
+ *
+ * The elected adapter only changes if another adapter receives the device with an average rssi at least
+ * {@link #HYSTERESIS} dB better, or if the elected adapter lost the device, i.e. it missed
+ * {@link #LOST_INTERVALS} advertisements of the device in a row.
+ *
+ * Adapters are identified by small non-negative numbers assigned by the caller.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RssiAggregator {
+
+    public static final int NO_ADAPTER = -1;
+
+    static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+    static final int HYSTERESIS = 5;
+
+    /** The number of advertisements per second of a device which are kept for the whole window */
+    static final int MAX_RATE = 10;
+
+    /** The samples kept per adapter, a device advertising faster only keeps its most recent samples */
+    static final int CAPACITY = (int) (TimeUnit.NANOSECONDS.toSeconds(WINDOW) * MAX_RATE);
+
+    /** The number of advertisement intervals without a sample after which an adapter lost the device */
+    static final int LOST_INTERVALS = 3;
+
+    /** The minimum time without a sample after which an adapter lost the device */
+    static final long MIN_LOST_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+
+    private @Nullable Samples[] samples = new Samples[4];
+
+    private int elected = NO_ADAPTER;
+
+    /**
+     * The samples of one adapter, along with their statistics during the window as of the last accumulation.
+     */
+    private static class Samples {
+        private final int[] rssis = new int[CAPACITY];
+        private final long[] timestamps = new long[CAPACITY];
+        private int head = 0;
+        private int size = 0;
+
+        private long sum;
+        private int count;
+        private long newest;
+        private long oldest;
+
+        private void add(int rssi, long now) {
+            rssis[head] = rssi;
+            timestamps[head] = now;
+            head = (head + 1) % CAPACITY;
+            if (size < CAPACITY) {
+                size++;
+            }
+        }
+
+        private void accumulate(long now) {
+            sum = 0;
+            count = 0;
+            for (int i = 0; i < size; i++) {
+                int index = (head - 1 - i + CAPACITY) % CAPACITY;
+                if (now - timestamps[index] > WINDOW) {
+                    // older samples are outside of the window as well
+                    break;
+                }
+                if (count == 0) {
+                    newest = timestamps[index];
+                }
+                oldest = timestamps[index];
+                sum += rssis[index];
+                count++;
+            }
+        }
+
+        private double average() {
+            return (double) sum / count;
+        }
+
+        private boolean isLost(long now) {
+            // a single sample does not tell the advertisement interval, it is kept for the window
+            long timeout = count > 1 ? LOST_INTERVALS * ((newest - oldest) / (count - 1)) : WINDOW;
+            return now - newest > Math.max(MIN_LOST_TIMEOUT, timeout);
+        }
+    }
+
+    /**
+     * Records the rssi an adapter received the device with.
+     *
+     * @param adapter the id of the adapter
+     * @param rssi the received rssi
+     * @param now the current {@link System#nanoTime()}
+     */
+    public synchronized void record(int adapter, int rssi, long now) {
+        if (adapter >= samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(adapter + 1, samples.length * 2));
+        }
+        Samples adapterSamples = samples[adapter];
+        if (adapterSamples == null) {
+            adapterSamples = samples[adapter] = new Samples();
+        }
+        adapterSamples.add(rssi, now);
+    }
+
+    /**
+     * Forgets the samples of an adapter that no longer receives the device.
+     *
+     * @param adapter the id of the adapter
+     */
+    public synchronized void removeAdapter(int adapter) {
+        if (adapter < samples.length) {
+            samples[adapter] = null;
+        }
+        if (elected == adapter) {
+            elected = NO_ADAPTER;
+        }
+    }
+
+    /**
+     * Elects the adapter receiving the device best during the window.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the id of the elected adapter, or {@link #NO_ADAPTER} if no adapter received the device
+     */
+    public synchronized int elect(long now) {
+        int best = NO_ADAPTER;
+        double bestAverage = 0;
+        for (int adapter = 0; adapter < samples.length; adapter++) {
+            Samples adapterSamples = samples[adapter];
+            if (adapterSamples == null) {
+                continue;
+            }
+            adapterSamples.accumulate(now);
+            if (adapterSamples.count > 0 && !adapterSamples.isLost(now)
+                    && (best == NO_ADAPTER || adapterSamples.average() > bestAverage)) {
+                best = adapter;
+                bestAverage = adapterSamples.average();
+            }
+        }
+        int current = elected;
+        Samples currentSamples = current == NO_ADAPTER ? null : samples[current];
+        if (best != NO_ADAPTER && currentSamples != null && currentSamples.count > 0 && !currentSamples.isLost(now)
+                && bestAverage < currentSamples.average() + HYSTERESIS) {
+            // not enough of an improvement to switch adapters
+            best = current;
+        }
+        elected = best;
+        return best;
+    }
+
+    /**
+     * @return the adapter elected by the last call of {@link #elect(long)}
+     */
+    public synchronized int getElected() {
+        return elected;
+    }
+
+    /**
+     * Returns the average rssi the elected adapter received the device with during the window.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the average rssi, or {@link Integer#MIN_VALUE} if no adapter is elected
+     */
+    public synchronized int getRssi(long now) {
+        int current = elected;
+        Samples currentSamples = current == NO_ADAPTER ? null : samples[current];
+        if (currentSamples == null) {
+            return Integer.MIN_VALUE;
+        }
+        currentSamples.accumulate(now);
+        if (currentSamples.count == 0) {
+            return Integer.MIN_VALUE;
+        }
+        return (int) Math.round(currentSamples.average());
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.roaming.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RssiAggregator}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RssiAggregatorTest {
+
+    private static final int ADAPTER_A = 0;
+    private static final int ADAPTER_B = 1;
+
+    private final RssiAggregator aggregator = new RssiAggregator();
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void testElectsTheAdapterWithTheBestAverage() {
+        assertEquals(RssiAggregator.NO_ADAPTER, aggregator.elect(0));
+        assertEquals(Integer.MIN_VALUE, aggregator.getRssi(0));
+
+        aggregator.record(ADAPTER_A, -70, millis(0));
+        aggregator.record(ADAPTER_A, -80, millis(100));
+        aggregator.record(ADAPTER_B, -60, millis(100));
+        assertEquals(ADAPTER_B, aggregator.elect(millis(100)));
+        assertEquals(ADAPTER_B, aggregator.getElected());
+        assertEquals(-60, aggregator.getRssi(millis(100)));
+    }
+
+    @Test
+    public void testSwitchesOnlyWhenTheImprovementExceedsTheHysteresis() {
+        aggregator.record(ADAPTER_A, -70, millis(0));
+        assertEquals(ADAPTER_A, aggregator.elect(millis(0)));
+
+        aggregator.record(ADAPTER_B, -66, millis(100));
+        aggregator.record(ADAPTER_A, -70, millis(200));
+        assertEquals(ADAPTER_A, aggregator.elect(millis(200)));
+        assertEquals(-70, aggregator.getRssi(millis(200)));
+
+        aggregator.record(ADAPTER_B, -62, millis(300));
+        assertEquals(ADAPTER_B, aggregator.elect(millis(300)));
+        assertEquals(-64, aggregator.getRssi(millis(300)));
+    }
+
+    @Test
+    public void testSamplesExpireAfterTheWindow() {
+        aggregator.record(ADAPTER_A, -50, millis(0));
+        aggregator.record(ADAPTER_B, -90, millis(0));
+        assertEquals(ADAPTER_A, aggregator.elect(millis(0)));
+
+        long later = RssiAggregator.WINDOW + millis(500);
+        aggregator.record(ADAPTER_B, -60, later);
+        assertEquals(ADAPTER_B, aggregator.elect(later));
+        assertEquals(-60, aggregator.getRssi(later));
+
+        long muchLater = later + RssiAggregator.WINDOW + millis(1);
+        assertEquals(RssiAggregator.NO_ADAPTER, aggregator.elect(muchLater));
+        assertEquals(Integer.MIN_VALUE, aggregator.getRssi(muchLater));
+    }
+
+    @Test
+    public void testRemovedAdapterIsForgotten() {
+        aggregator.record(ADAPTER_A, -50, millis(0));
+        aggregator.record(ADAPTER_B, -80, millis(0));
+        assertEquals(ADAPTER_A, aggregator.elect(millis(0)));
+
+        aggregator.removeAdapter(ADAPTER_A);
+        assertEquals(RssiAggregator.NO_ADAPTER, aggregator.getElected());
+        assertEquals(ADAPTER_B, aggregator.elect(millis(100)));
+
+        // the id may be reused by another adapter
+        aggregator.record(ADAPTER_A, -85, millis(200));
+        assertEquals(ADAPTER_B, aggregator.elect(millis(200)));
+        assertEquals(-80, aggregator.getRssi(millis(200)));
+    }
+
+    @Test
+    public void testAdapterLosingTheDeviceIsReplacedBeforeTheWindowExpires() {
+        for (long time = 0; time < 1000; time += 100) {
+            aggregator.record(ADAPTER_A, -50, millis(time));
+            aggregator.record(ADAPTER_B, -80, millis(time));
+        }
+        assertEquals(ADAPTER_A, aggregator.elect(millis(900)));
+
+        // only B receives the device from now on
+        for (long time = 1000; time <= 1900; time += 100) {
+            aggregator.record(ADAPTER_B, -80, millis(time));
+            assertEquals(ADAPTER_A, aggregator.elect(millis(time)));
+        }
+        aggregator.record(ADAPTER_B, -80, millis(2000));
+        assertEquals(ADAPTER_B, aggregator.elect(millis(2000)));
+    }
+
+    @Test
+    public void testAdaptersKeepTheirSamplesIndependently() {
+        aggregator.record(ADAPTER_B, -40, millis(0));
+        // a device advertising much faster than MAX_RATE on adapter A
+        for (int i = 0; i < RssiAggregator.CAPACITY * 5; i++) {
+            aggregator.record(ADAPTER_A, -70, millis(1 + i));
+        }
+        assertEquals(ADAPTER_B, aggregator.elect(millis(1000)));
+        assertEquals(-40, aggregator.getRssi(millis(1000)));
+    }
+}
@@ -76,6 +76,8 @@ public class RuuviTagHandler extends BeaconBluetoothHandler {
             if (!receivedStatus.getAndSet(false) && getThing().getStatus() == ThingStatus.ONLINE) {
                 getThing().getChannels().stream().map(Channel::getUID).filter(this::isLinked)
                         .forEach(c -> updateState(c, UnDefType.UNDEF));
+                // process the next advertisement even if it repeats the last payload
+                advertisementFilter.reset();
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                         "No data received for some time");
             }
@@ -99,6 +101,9 @@ public class RuuviTagHandler extends BeaconBluetoothHandler {
         synchronized (receivedStatus) {
             receivedStatus.set(true);
             super.onScanRecordReceived(scanNotification);
+            if (!isNewAdvertisement(scanNotification)) {
+                return;
+            }
             final byte[] manufacturerData = scanNotification.getManufacturerData();
             if (manufacturerData != null && manufacturerData.length > 0) {
                 final RuuviMeasurement ruuvitagData = parser.parse(manufacturerData);
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link AdvertisementFilter} reduces the advertisements of a single device to those worth processing.
+ * Advertisements repeating the payload of the last processed one are dropped until the duplicate window has passed,
+ * payloads and rssi values are processed at most once per update interval and the rssi is smoothed with an
+ * exponential moving average.
+ *
+ * Payloads dropped by the update interval are not remembered, so a changed payload is processed as soon as the device
+ * advertises it again after the interval.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdvertisementFilter {
+
+    public static final long DEFAULT_DUPLICATE_WINDOW = 60;
+    public static final double DEFAULT_RSSI_SMOOTHING = 0.3;
+    public static final long DEFAULT_MIN_UPDATE_INTERVAL = 1000;
+
+    private final long duplicateWindow;
+    private final double rssiSmoothing;
+    private final long minUpdateInterval;
+
+    private byte @Nullable [] lastData;
+    private byte @Nullable [] lastManufacturerData;
+    private long lastPayloadTime;
+    private boolean payloadProcessed = false;
+
+    private double smoothedRssi = Double.NaN;
+    private int lastRssi;
+    private long lastRssiTime;
+    private boolean rssiProcessed = false;
+
+    /**
+     * Creates a filter with the default settings.
+     */
+    public AdvertisementFilter() {
+        this(DEFAULT_DUPLICATE_WINDOW, DEFAULT_RSSI_SMOOTHING, DEFAULT_MIN_UPDATE_INTERVAL);
+    }
+
+    /**
+     * Creates a filter.
+     *
+     * @param duplicateWindow the time in seconds during which an identical payload is dropped, 0 to disable
+     * @param rssiSmoothing the weight of a new rssi value between 0 (exclusive) and 1, 1 to disable smoothing
+     * @param minUpdateInterval the minimum time in milliseconds between processed payloads and rssi values,
+     *            0 to disable throttling
+     */
+    public AdvertisementFilter(long duplicateWindow, double rssiSmoothing, long minUpdateInterval) {
+        if (!(rssiSmoothing > 0 && rssiSmoothing <= 1)) {
+            throw new IllegalArgumentException("rssiSmoothing must be in (0, 1] but was " + rssiSmoothing);
+        }
+        this.duplicateWindow = TimeUnit.SECONDS.toNanos(Math.max(0, duplicateWindow));
+        this.rssiSmoothing = rssiSmoothing;
+        this.minUpdateInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minUpdateInterval));
+    }
+
+    /**
+     * Checks whether the payload of an advertisement should be processed.
+     *
+     * @param data the advertised data
+     * @param manufacturerData the advertised manufacturer data
+     * @return true if the payload should be processed, false if it should be dropped
+     */
+    public boolean isNewPayload(byte @Nullable [] data, byte @Nullable [] manufacturerData) {
+        return isNewPayload(data, manufacturerData, System.nanoTime());
+    }
+
+    synchronized boolean isNewPayload(byte @Nullable [] data, byte @Nullable [] manufacturerData, long now) {
+        if (payloadProcessed) {
+            long elapsed = now - lastPayloadTime;
+            if (elapsed < minUpdateInterval) {
+                return false;
+            }
+            if (elapsed < duplicateWindow && Arrays.equals(data, lastData)
+                    && Arrays.equals(manufacturerData, lastManufacturerData)) {
+                return false;
+            }
+        }
+        // copied since the notifications may reuse their buffers
+        lastData = data == null ? null : data.clone();
+        lastManufacturerData = manufacturerData == null ? null : manufacturerData.clone();
+        lastPayloadTime = now;
+        payloadProcessed = true;
+        return true;
+    }
+
+    /**
+     * Adds a received rssi value to the smoothed rssi and returns the smoothed value if it should be processed.
+     *
+     * @param rssi the received rssi value
+     * @return the smoothed rssi, or null if the update should be dropped
+     */
+    public @Nullable Integer filterRssi(int rssi) {
+        return filterRssi(rssi, System.nanoTime());
+    }
+
+    synchronized @Nullable Integer filterRssi(int rssi, long now) {
+        if (Double.isNaN(smoothedRssi)) {
+            smoothedRssi = rssi;
+        } else {
+            smoothedRssi += rssiSmoothing * (rssi - smoothedRssi);
+        }
+        int value = (int) Math.round(smoothedRssi);
+        if (rssiProcessed) {
+            long elapsed = now - lastRssiTime;
+            if (elapsed < minUpdateInterval || (elapsed < duplicateWindow && value == lastRssi)) {
+                return null;
+            }
+        }
+        lastRssi = value;
+        lastRssiTime = now;
+        rssiProcessed = true;
+        return value;
+    }
+
+    /**
+     * Forgets the last processed payload and rssi, e.g. after the device was out of reach.
+     */
+    public synchronized void reset() {
+        lastData = null;
+        lastManufacturerData = null;
+        payloadProcessed = false;
+        smoothedRssi = Double.NaN;
+        rssiProcessed = false;
+    }
+}
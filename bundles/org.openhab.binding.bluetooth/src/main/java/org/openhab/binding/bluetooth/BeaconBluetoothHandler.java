@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.Units;
@@ -45,6 +46,10 @@ import org.openhab.core.types.UnDefType;
  * This is a handler for generic Bluetooth devices in beacon-mode (i.e. not connected), which at the same time can be
  * used as a base implementation for more specific thing handlers.
  *
+ * The received advertisements pass an {@link AdvertisementFilter} configured from the thing configuration, which
+ * smooths and throttles the rssi updates. Subclasses parsing the advertised payload should skip the payloads rejected
+ * by {@link #isNewAdvertisement(BluetoothScanNotification)}.
+ *
  * @author Kai Kreuzer - Initial contribution and API
  */
 @NonNullByDefault
@@ -63,6 +68,8 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
     private @Nullable ZonedDateTime lastActivityTime;
 
+    protected AdvertisementFilter advertisementFilter = new AdvertisementFilter();
+
     public BeaconBluetoothHandler(Thing thing) {
         super(thing);
         deviceLock = new ReentrantLock();
@@ -92,6 +99,13 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
         adapter = (BluetoothAdapter) bridgeHandler;
 
+        try {
+            advertisementFilter = createAdvertisementFilter(getConfig());
+        } catch (IllegalArgumentException e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getLocalizedMessage());
+            return;
+        }
+
         try {
             deviceLock.lock();
             device = adapter.getDevice(address);
@@ -116,6 +130,21 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         updateStatus(ThingStatus.UNKNOWN);
     }
 
+    private static AdvertisementFilter createAdvertisementFilter(Configuration config) {
+        return new AdvertisementFilter(
+                getNumber(config, BluetoothBindingConstants.CONFIGURATION_DUPLICATE_WINDOW,
+                        AdvertisementFilter.DEFAULT_DUPLICATE_WINDOW).longValue(),
+                getNumber(config, BluetoothBindingConstants.CONFIGURATION_RSSI_SMOOTHING,
+                        AdvertisementFilter.DEFAULT_RSSI_SMOOTHING).doubleValue(),
+                getNumber(config, BluetoothBindingConstants.CONFIGURATION_MIN_UPDATE_INTERVAL,
+                        AdvertisementFilter.DEFAULT_MIN_UPDATE_INTERVAL).longValue());
+    }
+
+    private static Number getNumber(Configuration config, String key, Number defaultValue) {
+        Object value = config.get(key);
+        return value instanceof Number ? (Number) value : defaultValue;
+    }
+
     private Channel buildChannel(String channelType, String itemType) {
         return ChannelBuilder.create(new ChannelUID(getThing().getUID(), channelType), itemType).build();
     }
@@ -222,11 +251,29 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
     public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
         onActivity();
         int rssi = scanNotification.getRssi();
-        if (rssi != Integer.MIN_VALUE) {
+        if (rssi != Integer.MIN_VALUE && rssi != 0) {
+            Integer filteredRssi = advertisementFilter.filterRssi(rssi);
+            if (filteredRssi != null) {
+                updateRSSI(filteredRssi);
+            } else if (getThing().getStatus() != ThingStatus.ONLINE) {
+                updateStatusBasedOnRssi(true);
+            }
+        } else if (rssi == 0) {
             updateRSSI(rssi);
         }
     }
 
+    /**
+     * Checks whether the payload of an advertisement differs from the last processed one or should be processed again,
+     * see {@link AdvertisementFilter}. Handlers parsing the advertised data can skip the advertisement otherwise.
+     *
+     * @param scanNotification the received advertisement
+     * @return true if the payload should be processed
+     */
+    protected boolean isNewAdvertisement(BluetoothScanNotification scanNotification) {
+        return advertisementFilter.isNewPayload(scanNotification.getData(), scanNotification.getManufacturerData());
+    }
+
     @Override
     public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
         // a disconnection doesn't count as activity
@@ -45,6 +45,9 @@ public class BluetoothBindingConstants {
     public static final String CONFIGURATION_DISCOVERY = "backgroundDiscovery";
     public static final String CONFIGURATION_ALWAYS_CONNECTED = "alwaysConnected";
     public static final String CONFIGURATION_IDLE_DISCONNECT_DELAY = "idleDisconnectDelay";
+    public static final String CONFIGURATION_DUPLICATE_WINDOW = "duplicateWindow";
+    public static final String CONFIGURATION_RSSI_SMOOTHING = "rssiSmoothing";
+    public static final String CONFIGURATION_MIN_UPDATE_INTERVAL = "minUpdateInterval";
 
     public static final long BLUETOOTH_BASE_UUID = 0x800000805f9b34fbL;
 
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AdvertisementFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdvertisementFilterTest {
+
+    private static final byte[] DATA = { 1, 2, 3 };
+    private static final byte[] OTHER_DATA = { 1, 2, 4 };
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    public void testDropsDuplicatePayloadWithinWindow() {
+        AdvertisementFilter filter = new AdvertisementFilter(60, 1, 0);
+        assertTrue(filter.isNewPayload(DATA, null, 0));
+        assertFalse(filter.isNewPayload(DATA.clone(), null, seconds(1)));
+        assertTrue(filter.isNewPayload(OTHER_DATA, null, seconds(2)));
+        assertFalse(filter.isNewPayload(OTHER_DATA, null, seconds(61)));
+        assertTrue(filter.isNewPayload(OTHER_DATA, null, seconds(62)));
+    }
+
+    @Test
+    public void testComparesManufacturerData() {
+        AdvertisementFilter filter = new AdvertisementFilter(60, 1, 0);
+        assertTrue(filter.isNewPayload(null, DATA, 0));
+        assertFalse(filter.isNewPayload(null, DATA, 1));
+        assertTrue(filter.isNewPayload(DATA, DATA, 2));
+    }
+
+    @Test
+    public void testCopiesReusedBuffers() {
+        AdvertisementFilter filter = new AdvertisementFilter(60, 1, 0);
+        byte[] buffer = DATA.clone();
+        assertTrue(filter.isNewPayload(buffer, null, 0));
+        buffer[0] = 9;
+        assertTrue(filter.isNewPayload(buffer, null, 1));
+    }
+
+    @Test
+    public void testThrottlesChangedPayloads() {
+        AdvertisementFilter filter = new AdvertisementFilter(0, 1, 1000);
+        assertTrue(filter.isNewPayload(DATA, null, 0));
+        assertFalse(filter.isNewPayload(OTHER_DATA, null, TimeUnit.MILLISECONDS.toNanos(500)));
+        assertTrue(filter.isNewPayload(OTHER_DATA, null, seconds(1)));
+    }
+
+    @Test
+    public void testSmoothsRssi() {
+        AdvertisementFilter filter = new AdvertisementFilter(0, 0.5, 0);
+        assertEquals(-60, filter.filterRssi(-60, 0));
+        assertEquals(-70, filter.filterRssi(-80, 1));
+        assertEquals(-75, filter.filterRssi(-80, 2));
+    }
+
+    @Test
+    public void testDropsUnchangedRssiWithinWindow() {
+        AdvertisementFilter filter = new AdvertisementFilter(60, 1, 1000);
+        assertEquals(-60, filter.filterRssi(-60, 0));
+        assertNull(filter.filterRssi(-65, TimeUnit.MILLISECONDS.toNanos(500)));
+        assertNull(filter.filterRssi(-60, seconds(2)));
+        assertEquals(-61, filter.filterRssi(-61, seconds(3)));
+        assertEquals(-61, filter.filterRssi(-61, seconds(64)));
+    }
+
+    @Test
+    public void testReset() {
+        AdvertisementFilter filter = new AdvertisementFilter(60, 1, 1000);
+        assertTrue(filter.isNewPayload(DATA, null, 0));
+        filter.reset();
+        assertTrue(filter.isNewPayload(DATA, null, 1));
+    }
+
+    @Test
+    public void testRejectsInvalidSmoothing() {
+        assertThrows(IllegalArgumentException.class, () -> new AdvertisementFilter(60, 0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new AdvertisementFilter(60, 1.5, 1000));
+    }
+}
@@ -49,6 +49,7 @@ public class CameraConfig {
     private String motionOptions = "";
     private boolean ptzContinuous;
     private int gifPreroll;
+    private int motionAnalysisFps;
 
     public int getOnvifMediaProfile() {
         return onvifMediaProfile;
@@ -70,6 +71,10 @@ public class CameraConfig {
         return motionOptions;
     }
 
+    public int getMotionAnalysisFps() {
+        return motionAnalysisFps;
+    }
+
     public String getMp4OutOptions() {
         return mp4OutOptions;
     }
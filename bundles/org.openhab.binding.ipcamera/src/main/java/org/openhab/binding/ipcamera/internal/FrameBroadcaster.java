@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelMatcher;
+
+/**
+ * The {@link FrameBroadcaster} sends JPEG frames as parts of a MJPEG stream to all channels of a {@link ChannelGroup}.
+ *
+ * A frame is never copied: it is wrapped together with a pooled part header and a shared footer into one composite
+ * buffer, which the group writes to every channel as a retained duplicate. A client that has not received the previous
+ * frames yet, i.e. its channel is not writable, is skipped, so slow clients drop frames instead of buffering them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FrameBroadcaster {
+    public static final String BOUNDARY = "thisMjpegStream";
+    private static final ByteBuf FOOTER = Unpooled
+            .unreleasableBuffer(Unpooled.directBuffer(2).writeBytes(new byte[] { '\r', '\n' }).asReadOnly());
+    private static final ChannelMatcher WRITABLE = Channel::isWritable;
+
+    private final ChannelGroup channelGroup;
+    private final ByteBufAllocator allocator;
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+
+    public FrameBroadcaster(ChannelGroup channelGroup) {
+        this(channelGroup, PooledByteBufAllocator.DEFAULT);
+    }
+
+    public FrameBroadcaster(ChannelGroup channelGroup, ByteBufAllocator allocator) {
+        this.channelGroup = channelGroup;
+        this.allocator = allocator;
+    }
+
+    /**
+     * Wraps a JPEG frame into a MJPEG part. The frame is retained by the part, not copied.
+     */
+    ByteBuf createPart(ByteBuf jpeg) {
+        String header = "--" + BOUNDARY + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: "
+                + jpeg.readableBytes() + "\r\n\r\n";
+        ByteBuf headerBuf = allocator.buffer(header.length());
+        headerBuf.writeCharSequence(header, StandardCharsets.US_ASCII);
+        CompositeByteBuf part = allocator.compositeBuffer(3);
+        part.addComponents(true, headerBuf, jpeg.retainedDuplicate(), FOOTER.duplicate());
+        return part;
+    }
+
+    /**
+     * Sends the frame to all writable channels of the group. The caller keeps its reference to the frame.
+     */
+    public void broadcast(ByteBuf jpeg) {
+        if (channelGroup.isEmpty()) {
+            return;
+        }
+        int receivers = 0;
+        for (Channel channel : channelGroup) {
+            if (channel.isWritable()) {
+                receivers++;
+            } else {
+                framesDropped.incrementAndGet();
+            }
+        }
+        framesSent.addAndGet(receivers);
+        // The group writes retained duplicates of the part and releases it afterwards
+        channelGroup.writeAndFlush(createPart(jpeg), WRITABLE, true);
+    }
+
+    /**
+     * Sends the frame to a single channel regardless of its writability, for example as the first frame of a new
+     * stream. The caller keeps its reference to the frame.
+     */
+    public void send(Channel channel, ByteBuf jpeg) {
+        framesSent.incrementAndGet();
+        channel.writeAndFlush(createPart(jpeg), channel.voidPromise());
+    }
+
+    /**
+     * Return the number of frames written to clients.
+     */
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    /**
+     * Return the number of frames slow clients dropped.
+     */
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+}
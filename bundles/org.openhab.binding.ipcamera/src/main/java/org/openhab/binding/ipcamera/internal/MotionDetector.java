@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * The {@link MotionDetector} detects motion from the JPEG snapshots the binding already fetches, without running
+ * FFmpeg on the cameras stream.
+ *
+ * Each analysed snapshot is decoded subsampled to about {@link #ANALYSIS_WIDTH} pixels wide and reduced to the average
+ * luminance of a {@link #BLOCKS_WIDE} x {@link #BLOCKS_HIGH} grid of blocks. The score of a frame is the summed
+ * luminance change of all blocks that changed more than the noise of the JPEG compression, normalised to 0..1. It is
+ * not the scene score of FFmpeg, a threshold tuned for FFmpeg usually has to be adjusted.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetector {
+    public static final int ANALYSIS_WIDTH = 160;
+    public static final int BLOCKS_WIDE = 16;
+    public static final int BLOCKS_HIGH = 12;
+    private static final int BLOCKS = BLOCKS_WIDE * BLOCKS_HIGH;
+    private static final int NOISE_FLOOR = 3;
+    private static final int QUIET_FRAMES_BEFORE_OFF = 3;
+
+    private final long analysisIntervalNS;
+    private final AtomicBoolean analysing = new AtomicBoolean();
+    private final int[] blockSums = new int[BLOCKS];
+    private final int[] blockCounts = new int[BLOCKS];
+    private final int[] luminance = new int[BLOCKS];
+    private final int[] previousLuminance = new int[BLOCKS];
+    private int[] row = new int[ANALYSIS_WIDTH];
+    private boolean hasPrevious = false;
+    private boolean motion = false;
+    private int quietFrames = 0;
+    private volatile boolean resetRequested = false;
+    private volatile long lastAnalysisNS;
+    private volatile double lastScore;
+
+    public MotionDetector(int analysisFps) {
+        analysisIntervalNS = 1_000_000_000L / Math.max(1, analysisFps);
+        lastAnalysisNS = System.nanoTime() - analysisIntervalNS;
+    }
+
+    public long getAnalysisIntervalMS() {
+        return analysisIntervalNS / 1_000_000;
+    }
+
+    /**
+     * Claims the next analysis if it is due at the configured frame rate and no other analysis is still running. A
+     * successful claim must be followed by a call to {@link #analyse}.
+     */
+    public boolean tryStartAnalysis() {
+        long now = System.nanoTime();
+        if (now - lastAnalysisNS < analysisIntervalNS || !analysing.compareAndSet(false, true)) {
+            return false;
+        }
+        lastAnalysisNS = now;
+        return true;
+    }
+
+    /**
+     * Analyses a JPEG snapshot claimed with {@link #tryStartAnalysis}.
+     *
+     * @param jpeg the snapshot, not released by this method
+     * @param threshold the score at or above which a frame counts as motion
+     * @return true while motion is detected, which lasts for a few quiet frames after the last frame with motion
+     */
+    public boolean analyse(ByteBuf jpeg, double threshold) {
+        try {
+            if (resetRequested) {
+                resetRequested = false;
+                hasPrevious = false;
+                motion = false;
+                quietFrames = 0;
+            }
+            if (!reduce(jpeg)) {
+                return motion;
+            }
+            if (!hasPrevious) {
+                hasPrevious = true;
+                System.arraycopy(luminance, 0, previousLuminance, 0, BLOCKS);
+                return motion;
+            }
+            lastScore = score();
+            System.arraycopy(luminance, 0, previousLuminance, 0, BLOCKS);
+            if (lastScore >= threshold) {
+                quietFrames = 0;
+                motion = true;
+            } else if (motion && ++quietFrames >= QUIET_FRAMES_BEFORE_OFF) {
+                motion = false;
+            }
+            return motion;
+        } finally {
+            analysing.set(false);
+        }
+    }
+
+    public double getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * Forgets the previous frame, so a camera that was not analysed for a while does not report a false motion.
+     */
+    public void reset() {
+        resetRequested = true;
+    }
+
+    private double score() {
+        long changed = 0;
+        for (int i = 0; i < BLOCKS; i++) {
+            int delta = Math.abs(luminance[i] - previousLuminance[i]);
+            if (delta > NOISE_FLOOR) {
+                changed += delta;
+            }
+        }
+        return changed / (BLOCKS * 255.0);
+    }
+
+    private boolean reduce(ByteBuf jpeg) {
+        BufferedImage image = decode(jpeg);
+        if (image == null) {
+            return false;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width < BLOCKS_WIDE || height < BLOCKS_HIGH) {
+            return false;
+        }
+        if (row.length < width) {
+            row = new int[width];
+        }
+        Arrays.fill(blockSums, 0);
+        Arrays.fill(blockCounts, 0);
+        for (int y = 0; y < height; y++) {
+            int blockRow = (y * BLOCKS_HIGH / height) * BLOCKS_WIDE;
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                // integer approximation of the BT.601 luma weights
+                int luma = (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150 + (rgb & 0xFF) * 29) >> 8;
+                int block = blockRow + x * BLOCKS_WIDE / width;
+                blockSums[block] += luma;
+                blockCounts[block]++;
+            }
+        }
+        for (int i = 0; i < BLOCKS; i++) {
+            luminance[i] = blockSums[i] / blockCounts[i];
+        }
+        return true;
+    }
+
+    private static @Nullable BufferedImage decode(ByteBuf jpeg) {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("jpeg");
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteBufInputStream(jpeg.duplicate()))) {
+            reader.setInput(input, true, true);
+            ImageReadParam param = reader.getDefaultReadParam();
+            int subsampling = Math.max(1, reader.getWidth(0) / ANALYSIS_WIDTH);
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return reader.read(0, param);
+        } catch (IOException | RuntimeException e) {
+            // a truncated or corrupt snapshot, the next one will be analysed
+            return null;
+        } finally {
+            reader.dispose();
+        }
+    }
+}
@@ -57,9 +57,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     private IpCameraHandler ipCameraHandler;
     private boolean handlingMjpeg = false; // used to remove ctx from group when handler is removed.
     private boolean handlingSnapshotStream = false; // used to remove ctx from group when handler is removed.
-    private byte[] incomingJpeg = new byte[0];
+    private ByteBuf incomingJpeg = Unpooled.EMPTY_BUFFER;
     private String whiteList = "";
-    private int recievedBytes = 0;
     private boolean updateSnapshot = false;
     private boolean onvifEvent = false;
 
@@ -120,7 +119,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                             if (!ipCameraHandler.snapshotPolling && ipCameraHandler.snapshotUri != "") {
                                 ipCameraHandler.sendHttpGET(ipCameraHandler.snapshotUri);
                             }
-                            if (ipCameraHandler.currentSnapshot.length == 1) {
+                            if (!ipCameraHandler.hasSnapshot()) {
                                 logger.warn("ipcamera.jpg was requested but there is no jpg in ram to send.");
                                 return;
                             }
@@ -176,27 +175,30 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             }
             if (msg instanceof HttpContent) {
                 HttpContent content = (HttpContent) msg;
-                if (recievedBytes == 0) {
-                    incomingJpeg = new byte[content.content().readableBytes()];
-                    content.content().getBytes(0, incomingJpeg, 0, content.content().readableBytes());
-                } else {
-                    byte[] temp = incomingJpeg;
-                    incomingJpeg = new byte[recievedBytes + content.content().readableBytes()];
-                    System.arraycopy(temp, 0, incomingJpeg, 0, temp.length);
-                    content.content().getBytes(0, incomingJpeg, temp.length, content.content().readableBytes());
+                if (content.content().isReadable()) {
+                    if (incomingJpeg == Unpooled.EMPTY_BUFFER) {
+                        // The frames are assembled in pooled buffers, which are reused once all streams sent them
+                        incomingJpeg = ctx.alloc().buffer(content.content().readableBytes());
+                    }
+                    incomingJpeg.writeBytes(content.content());
                 }
-                recievedBytes = incomingJpeg.length;
                 if (content instanceof LastHttpContent) {
+                    ByteBuf jpeg = incomingJpeg;
+                    incomingJpeg = Unpooled.EMPTY_BUFFER;
                     if (updateSnapshot) {
-                        ipCameraHandler.processSnapshot(incomingJpeg);
-                    } else if (onvifEvent) {
-                        ipCameraHandler.onvifCamera.eventRecieved(new String(incomingJpeg, StandardCharsets.UTF_8));
-                    } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
-                        if (recievedBytes > 1000) {
-                            ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
+                        ipCameraHandler.processSnapshot(jpeg);
+                    } else {
+                        try {
+                            if (onvifEvent) {
+                                ipCameraHandler.onvifCamera.eventRecieved(jpeg.toString(StandardCharsets.UTF_8));
+                            } else if (jpeg.readableBytes() > 1000) {
+                                // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
+                                ipCameraHandler.mjpegBroadcaster.broadcast(jpeg);
+                            }
+                        } finally {
+                            jpeg.release();
                         }
                     }
-                    recievedBytes = 0;
                 }
             }
         } finally {
@@ -206,22 +208,18 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     private void sendSnapshotImage(ChannelHandlerContext ctx, String contentType) {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        ipCameraHandler.lockCurrentSnapshot.lock();
-        try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(ipCameraHandler.currentSnapshot);
-            response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
-            response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
-            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-            response.headers().add(HttpHeaderNames.CONTENT_LENGTH, snapshotData.readableBytes());
-            response.headers().add("Access-Control-Allow-Origin", "*");
-            response.headers().add("Access-Control-Expose-Headers", "*");
-            ctx.channel().write(response);
-            ctx.channel().write(snapshotData);
-            ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-            ctx.channel().writeAndFlush(footerBbuf);
-        } finally {
-            ipCameraHandler.lockCurrentSnapshot.unlock();
-        }
+        // a retained duplicate of the pooled snapshot, released by the channel once written
+        ByteBuf snapshotData = ipCameraHandler.getSnapshot();
+        response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
+        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, snapshotData.readableBytes());
+        response.headers().add("Access-Control-Allow-Origin", "*");
+        response.headers().add("Access-Control-Expose-Headers", "*");
+        ctx.channel().write(response);
+        ctx.channel().write(snapshotData);
+        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
+        ctx.channel().writeAndFlush(footerBbuf);
     }
 
     private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
@@ -280,6 +278,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+        incomingJpeg.release();
+        incomingJpeg = Unpooled.EMPTY_BUFFER;
         if (ctx == null) {
             return;
         }
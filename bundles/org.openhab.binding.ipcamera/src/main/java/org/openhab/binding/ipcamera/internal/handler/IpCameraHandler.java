@@ -22,7 +22,6 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -32,6 +31,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -46,6 +46,7 @@ import org.openhab.binding.ipcamera.internal.DahuaHandler;
 import org.openhab.binding.ipcamera.internal.DoorBirdHandler;
 import org.openhab.binding.ipcamera.internal.Ffmpeg;
 import org.openhab.binding.ipcamera.internal.FoscamHandler;
+import org.openhab.binding.ipcamera.internal.FrameBroadcaster;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
 import org.openhab.binding.ipcamera.internal.HikvisionHandler;
@@ -54,6 +55,7 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.MotionDetector;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
@@ -79,6 +81,7 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -137,6 +140,10 @@ public class IpCameraHandler extends BaseThingHandler {
     private final ChannelGroup snapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private final ChannelGroup autoSnapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     public final ChannelGroup openChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    // Frames are written once per group as retained duplicates of pooled buffers
+    public final FrameBroadcaster mjpegBroadcaster = new FrameBroadcaster(mjpegChannelGroup);
+    private final FrameBroadcaster snapshotMjpegBroadcaster = new FrameBroadcaster(snapshotMjpegChannelGroup);
+    private final FrameBroadcaster autoSnapshotMjpegBroadcaster = new FrameBroadcaster(autoSnapshotMjpegChannelGroup);
     public @Nullable Ffmpeg ffmpegHLS = null;
     public @Nullable Ffmpeg ffmpegRecord = null;
     public @Nullable Ffmpeg ffmpegGIF = null;
@@ -149,6 +156,8 @@ public class IpCameraHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> cameraConnectionJob = null;
     private @Nullable ScheduledFuture<?> pollCameraJob = null;
     private @Nullable ScheduledFuture<?> snapshotJob = null;
+    private @Nullable ScheduledFuture<?> motionAnalysisJob = null;
+    private @Nullable MotionDetector motionDetector = null;
     private @Nullable Bootstrap mainBootstrap;
     private @Nullable ServerBootstrap serverBootstrap;
 
@@ -164,7 +173,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private String mp4Filename = "ipcamera";
     private int mp4RecordTime;
     private int gifRecordTime = 5;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<byte[]>();
+    private LinkedList<ByteBuf> fifoSnapshotBuffer = new LinkedList<ByteBuf>();
     private int snapCount;
     private boolean updateImageChannel = false;
     private boolean updateAutoFps = false;
@@ -181,14 +190,16 @@ public class IpCameraHandler extends BaseThingHandler {
     public String mjpegUri = "";
     private @Nullable ChannelFuture serverFuture = null;
     private Object firstStreamedMsg = new Object();
-    public byte[] currentSnapshot = new byte[] { (byte) 0x00 };
-    public ReentrantLock lockCurrentSnapshot = new ReentrantLock();
+    // A pooled, reference counted buffer, guarded by lockCurrentSnapshot
+    private ByteBuf currentSnapshot = Unpooled.EMPTY_BUFFER;
+    private ReentrantLock lockCurrentSnapshot = new ReentrantLock();
     public String rtspUri = "";
     public boolean audioAlarmUpdateSnapshot = false;
     private boolean motionAlarmUpdateSnapshot = false;
     private boolean isOnline = false; // Used so only 1 error is logged when a network issue occurs.
     private boolean firstAudioAlarm = false;
     private boolean firstMotionAlarm = false;
+    private volatile boolean snapshotMotionDetected = false;
     public Double motionThreshold = 0.0016;
     public int audioThreshold = 35;
     @SuppressWarnings("unused")
@@ -204,7 +215,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private class CommonCameraHandler extends ChannelDuplexHandler {
         private int bytesToRecieve = 0;
         private int bytesAlreadyRecieved = 0;
-        private byte[] incomingJpeg = new byte[0];
+        private ByteBuf incomingJpeg = Unpooled.EMPTY_BUFFER;
         private String incomingMessage = "";
         private String contentType = "empty";
         private String boundary = "";
@@ -265,7 +276,8 @@ public class IpCameraHandler extends BaseThingHandler {
                                     bytesToRecieve = 768000; // 0.768 Mbyte when no Content-Length is sent
                                     logger.debug("Camera has no Content-Length header, we have to guess how much RAM.");
                                 }
-                                incomingJpeg = new byte[bytesToRecieve];
+                                incomingJpeg.release();
+                                incomingJpeg = ctx.alloc().buffer(bytesToRecieve);
                             }
                         }
                     }
@@ -279,11 +291,14 @@ public class IpCameraHandler extends BaseThingHandler {
                         HttpContent content = (HttpContent) msg;
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
                         if (contentType.contains("image/jp")) {
-                            for (int i = 0; i < content.content().capacity(); i++) {
-                                incomingJpeg[bytesAlreadyRecieved++] = content.content().getByte(i);
+                            if (incomingJpeg == Unpooled.EMPTY_BUFFER) {
+                                incomingJpeg = ctx.alloc().buffer(bytesToRecieve);
                             }
+                            bytesAlreadyRecieved += content.content().readableBytes();
+                            incomingJpeg.writeBytes(content.content());
                             if (content instanceof LastHttpContent) {
                                 processSnapshot(incomingJpeg);
+                                incomingJpeg = Unpooled.EMPTY_BUFFER;
                                 // testing next line and if works need to do a full cleanup of this function.
                                 closeConnection = true;
                                 if (closeConnection) {
@@ -369,6 +384,9 @@ public class IpCameraHandler extends BaseThingHandler {
 
         @Override
         public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+            // an incomplete snapshot is not needed anymore
+            incomingJpeg.release();
+            incomingJpeg = Unpooled.EMPTY_BUFFER;
         }
 
         @Override
@@ -642,44 +660,123 @@ public class IpCameraHandler extends BaseThingHandler {
                 });
     }
 
-    public void processSnapshot(byte[] incommingSnapshot) {
+    /**
+     * Makes the JPEG the current snapshot and sends it to the snapshot based streams.
+     *
+     * @param incommingSnapshot A pooled buffer with the JPEG, the reference is handed over to this handler.
+     */
+    public void processSnapshot(ByteBuf incommingSnapshot) {
+        // keep a reference until sent, a newer snapshot may replace this one meanwhile
+        incommingSnapshot.retain();
         lockCurrentSnapshot.lock();
         try {
+            currentSnapshot.release();
             currentSnapshot = incommingSnapshot;
             if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
+                fifoSnapshotBuffer.add(incommingSnapshot.retain());
                 if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
+                    fifoSnapshotBuffer.removeFirst().release();
                 }
             }
         } finally {
             lockCurrentSnapshot.unlock();
         }
 
-        if (streamingSnapshotMjpeg) {
-            sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
-        }
-        if (streamingAutoFps) {
-            if (motionDetected) {
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-            } else if (updateAutoFps) {
-                // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-                updateAutoFps = false;
+        try {
+            analyseMotion(incommingSnapshot);
+            if (streamingSnapshotMjpeg) {
+                snapshotMjpegBroadcaster.broadcast(incommingSnapshot);
+            }
+            if (streamingAutoFps) {
+                if (motionDetected) {
+                    autoSnapshotMjpegBroadcaster.broadcast(incommingSnapshot);
+                } else if (updateAutoFps) {
+                    // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
+                    autoSnapshotMjpegBroadcaster.broadcast(incommingSnapshot);
+                    updateAutoFps = false;
+                }
             }
+
+            if (updateImageChannel) {
+                updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
+            } else if (firstMotionAlarm || motionAlarmUpdateSnapshot) {
+                updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
+                firstMotionAlarm = motionAlarmUpdateSnapshot = false;
+            } else if (firstAudioAlarm || audioAlarmUpdateSnapshot) {
+                updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
+                firstAudioAlarm = audioAlarmUpdateSnapshot = false;
+            }
+        } finally {
+            incommingSnapshot.release();
         }
+    }
 
-        if (updateImageChannel) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
-        } else if (firstMotionAlarm || motionAlarmUpdateSnapshot) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
-            firstMotionAlarm = motionAlarmUpdateSnapshot = false;
-        } else if (firstAudioAlarm || audioAlarmUpdateSnapshot) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
-            firstAudioAlarm = audioAlarmUpdateSnapshot = false;
+    /**
+     * Hands the snapshot to the {@link MotionDetector} when the snapshot based motion detection is used instead of
+     * FFmpeg. Snapshots arriving faster than the configured analysis rate, or while the previous one is still being
+     * analysed, are skipped.
+     */
+    private void analyseMotion(ByteBuf snapshot) {
+        MotionDetector localDetector = motionDetector;
+        if (localDetector == null || !motionAlarmEnabled || !localDetector.tryStartAnalysis()) {
+            return;
+        }
+        ByteBuf jpeg = snapshot.retainedDuplicate();
+        try {
+            threadPool.execute(() -> {
+                try {
+                    boolean motion = localDetector.analyse(jpeg, motionThreshold);
+                    if (!motionAlarmEnabled) {
+                        return;
+                    }
+                    if (motion && !snapshotMotionDetected) {
+                        snapshotMotionDetected = true;
+                        motionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+                    } else if (!motion && snapshotMotionDetected) {
+                        snapshotMotionDetected = false;
+                        noMotionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+                    }
+                } finally {
+                    jpeg.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the handler is being disposed
+            jpeg.release();
+        }
+    }
+
+    /**
+     * Fetches snapshots at the analysis rate of the {@link MotionDetector} while snapshot based motion detection is
+     * enabled. Cameras that have their snapshots created by FFmpeg from the I-frames of the stream are analysed as the
+     * snapshots arrive.
+     */
+    private void startSnapshotMotionDetection() {
+        MotionDetector localDetector = motionDetector;
+        if (localDetector == null) {
+            return;
+        }
+        stopSnapshotMotionDetection();
+        localDetector.reset();
+        if (!snapshotUri.isEmpty()) {
+            long interval = localDetector.getAnalysisIntervalMS();
+            motionAnalysisJob = threadPool.scheduleWithFixedDelay(() -> {
+                if (!snapshotPolling || cameraConfig.getPollTime() > interval) {
+                    sendHttpGET(snapshotUri);
+                }
+            }, 200, interval, TimeUnit.MILLISECONDS);
         }
     }
 
+    private void stopSnapshotMotionDetection() {
+        Future<?> localFuture = motionAnalysisJob;
+        if (localFuture != null) {
+            localFuture.cancel(true);
+            motionAnalysisJob = null;
+        }
+        snapshotMotionDetected = false;
+    }
+
     public void stopStreamServer() {
         serversLoopGroup.shutdownGracefully();
         serverBootstrap = null;
@@ -732,22 +829,22 @@ public class IpCameraHandler extends BaseThingHandler {
             sendMjpegFirstPacket(ctx);
             if (auto) {
                 autoSnapshotMjpegChannelGroup.add(ctx.channel());
-                lockCurrentSnapshot.lock();
+                ByteBuf snapshot = getSnapshot();
                 try {
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    autoSnapshotMjpegBroadcaster.send(ctx.channel(), snapshot);
                     // iOS uses a FIFO? and needs two frames to display a pic
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    autoSnapshotMjpegBroadcaster.send(ctx.channel(), snapshot);
                 } finally {
-                    lockCurrentSnapshot.unlock();
+                    snapshot.release();
                 }
                 streamingAutoFps = true;
             } else {
                 snapshotMjpegChannelGroup.add(ctx.channel());
-                lockCurrentSnapshot.lock();
+                ByteBuf snapshot = getSnapshot();
                 try {
-                    sendMjpegFrame(currentSnapshot, snapshotMjpegChannelGroup);
+                    snapshotMjpegBroadcaster.send(ctx.channel(), snapshot);
                 } finally {
-                    lockCurrentSnapshot.unlock();
+                    snapshot.release();
                 }
                 streamingSnapshotMjpeg = true;
                 startSnapshotPolling();
@@ -758,11 +855,13 @@ public class IpCameraHandler extends BaseThingHandler {
             if (streamingSnapshotMjpeg && snapshotMjpegChannelGroup.isEmpty()) {
                 streamingSnapshotMjpeg = false;
                 stopSnapshotPolling();
-                logger.debug("All snapshots.mjpeg streams have stopped.");
+                logger.debug("All snapshots.mjpeg streams have stopped. {} frames sent, {} dropped by slow clients.",
+                        snapshotMjpegBroadcaster.getFramesSent(), snapshotMjpegBroadcaster.getFramesDropped());
             } else if (streamingAutoFps && autoSnapshotMjpegChannelGroup.isEmpty()) {
                 streamingAutoFps = false;
                 stopSnapshotPolling();
-                logger.debug("All autofps.mjpeg streams have stopped.");
+                logger.debug("All autofps.mjpeg streams have stopped. {} frames sent, {} dropped by slow clients.",
+                        autoSnapshotMjpegBroadcaster.getFramesSent(), autoSnapshotMjpegBroadcaster.getFramesDropped());
             }
         }
     }
@@ -794,7 +893,8 @@ public class IpCameraHandler extends BaseThingHandler {
         } else {
             mjpegChannelGroup.remove(ctx.channel());
             if (mjpegChannelGroup.isEmpty()) {
-                logger.debug("All ipcamera.mjpeg streams have stopped.");
+                logger.debug("All ipcamera.mjpeg streams have stopped. {} frames sent, {} dropped by slow clients.",
+                        mjpegBroadcaster.getFramesSent(), mjpegBroadcaster.getFramesDropped());
                 if ("ffmpeg".equals(mjpegUri) || mjpegUri.isEmpty()) {
                     Ffmpeg localMjpeg = ffmpegMjpeg;
                     if (localMjpeg != null) {
@@ -858,8 +958,7 @@ public class IpCameraHandler extends BaseThingHandler {
 
     // sends direct to ctx so can be either snapshots.mjpeg or normal mjpeg stream
     public void sendMjpegFirstPacket(ChannelHandlerContext ctx) {
-        final String boundary = "thisMjpegStream";
-        String contentType = "multipart/x-mixed-replace; boundary=" + boundary;
+        String contentType = "multipart/x-mixed-replace; boundary=" + FrameBroadcaster.BOUNDARY;
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
         response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
@@ -869,17 +968,29 @@ public class IpCameraHandler extends BaseThingHandler {
         ctx.channel().writeAndFlush(response);
     }
 
-    public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
-        final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
-        String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
-                + "\r\n\r\n";
-        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
+    /**
+     * Return true if a snapshot was received from the camera.
+     */
+    public boolean hasSnapshot() {
+        lockCurrentSnapshot.lock();
+        try {
+            return currentSnapshot.isReadable();
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
+    }
+
+    /**
+     * Return the current snapshot as a retained duplicate, which the caller has to release or write to a channel.
+     * The buffer is empty if no snapshot was received yet.
+     */
+    public ByteBuf getSnapshot() {
+        lockCurrentSnapshot.lock();
+        try {
+            return currentSnapshot.retainedDuplicate();
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
     }
 
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
@@ -894,12 +1005,12 @@ public class IpCameraHandler extends BaseThingHandler {
         // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
         lockCurrentSnapshot.lock();
         try {
-            for (byte[] foo : fifoSnapshotBuffer) {
+            for (ByteBuf foo : fifoSnapshotBuffer) {
                 File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
                 count++;
                 try {
                     OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
+                    foo.getBytes(foo.readerIndex(), fos, foo.readableBytes());
                     fos.close();
                 } catch (FileNotFoundException e) {
                     logger.warn("FileNotFoundException {}", e.getMessage());
@@ -1015,12 +1126,14 @@ public class IpCameraHandler extends BaseThingHandler {
                 setChannelState(CHANNEL_MP4_HISTORY, new StringType(mp4History));
                 break;
             case RTSP_ALARMS:
+                // motion is detected from the snapshots instead when a motion analysis rate is configured
+                boolean ffmpegMotionEnabled = motionAlarmEnabled && motionDetector == null;
                 Ffmpeg localAlarms = ffmpegRtspHelper;
                 if (localAlarms != null) {
                     localAlarms.stopConverting();
-                    if (!audioAlarmEnabled && !motionAlarmEnabled) {
-                        return;
-                    }
+                }
+                if (!audioAlarmEnabled && !ffmpegMotionEnabled) {
+                    return;
                 }
                 String input = (cameraConfig.getAlarmInputUrl().isEmpty()) ? rtspUri : cameraConfig.getAlarmInputUrl();
                 String filterOptions = "";
@@ -1029,9 +1142,9 @@ public class IpCameraHandler extends BaseThingHandler {
                 } else {
                     filterOptions = "-af silencedetect=n=-" + audioThreshold + "dB:d=2";
                 }
-                if (!motionAlarmEnabled && !ffmpegSnapshotGeneration) {
+                if (!ffmpegMotionEnabled && !ffmpegSnapshotGeneration) {
                     filterOptions = filterOptions.concat(" -vn");
-                } else if (motionAlarmEnabled && !cameraConfig.getMotionOptions().isEmpty()) {
+                } else if (ffmpegMotionEnabled && !cameraConfig.getMotionOptions().isEmpty()) {
                     String usersMotionOptions = cameraConfig.getMotionOptions();
                     if (usersMotionOptions.startsWith("-")) {
                         // Need to put the users custom options first in the chain before the motion is detected
@@ -1041,7 +1154,7 @@ public class IpCameraHandler extends BaseThingHandler {
                         filterOptions = filterOptions + " " + usersMotionOptions + " -vf select='gte(scene,"
                                 + motionThreshold + ")',metadata=print";
                     }
-                } else if (motionAlarmEnabled) {
+                } else if (ffmpegMotionEnabled) {
                     filterOptions = filterOptions
                             .concat(" -vf select='gte(scene," + motionThreshold + ")',metadata=print");
                 }
@@ -1267,6 +1380,13 @@ public class IpCameraHandler extends BaseThingHandler {
                         motionThreshold = Double.valueOf(command.toString());
                         motionThreshold = motionThreshold / 10000;
                     }
+                    if (motionDetector != null) {
+                        if (motionAlarmEnabled && motionAnalysisJob == null) {
+                            startSnapshotMotionDetection();
+                        } else if (!motionAlarmEnabled) {
+                            stopSnapshotMotionDetection();
+                        }
+                    }
                     setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
                     return;
                 case CHANNEL_START_STREAM:
@@ -1685,6 +1805,9 @@ public class IpCameraHandler extends BaseThingHandler {
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
+        motionDetector = (cameraConfig.getMotionAnalysisFps() > 0)
+                ? new MotionDetector(cameraConfig.getMotionAnalysisFps())
+                : null;
         if (cameraConfig.getFfmpegOutput().isEmpty()) {
             cameraConfig
                     .setFfmpegOutput(OpenHAB.getUserDataFolder() + "/ipcamera/" + this.thing.getUID().getId() + "/");
@@ -1792,6 +1915,7 @@ public class IpCameraHandler extends BaseThingHandler {
         if (localFuture != null) {
             localFuture.cancel(true);
         }
+        stopSnapshotMotionDetection();
         threadPool.shutdown();
         threadPool = Executors.newScheduledThreadPool(4);
 
@@ -1832,6 +1956,16 @@ public class IpCameraHandler extends BaseThingHandler {
             localFfmpeg.stopConverting();
         }
         channelTrackingMap.clear();
+
+        lockCurrentSnapshot.lock();
+        try {
+            currentSnapshot.release();
+            currentSnapshot = Unpooled.EMPTY_BUFFER;
+            fifoSnapshotBuffer.forEach(ByteBuf::release);
+            fifoSnapshotBuffer.clear();
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
     }
 
     public void setStreamServerHandler(StreamServerHandler streamServerHandler2) {
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.GlobalEventExecutor;
+
+/**
+ * Benchmark streaming MJPEG frames to ten clients, once by copying every frame into new arrays and buffers as the
+ * stream server used to do, and once through the {@link FrameBroadcaster} with pooled buffers. Reports the CPU time
+ * and the allocated bytes per frame and client. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class FrameBroadcasterBenchmarkTest {
+    private static final int CLIENTS = 10;
+    private static final int FRAMES = 2000;
+    private static final int FRAME_SIZE = 200 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(FrameBroadcasterBenchmarkTest.class);
+
+    private final ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final List<EmbeddedChannel> clients = new ArrayList<>();
+    private final List<ByteBuf> chunks = new ArrayList<>();
+
+    public FrameBroadcasterBenchmarkTest() {
+        for (int i = 0; i < CLIENTS; i++) {
+            EmbeddedChannel client = new EmbeddedChannel();
+            clients.add(client);
+            channelGroup.add(client);
+        }
+        byte[] jpeg = new byte[FRAME_SIZE];
+        new Random(42).nextBytes(jpeg);
+        for (int offset = 0; offset < FRAME_SIZE; offset += CHUNK_SIZE) {
+            chunks.add(Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(jpeg, offset, CHUNK_SIZE)));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channelGroup.close();
+    }
+
+    // The clients "send" everything that was written to them
+    private long drainClients() {
+        long bytes = 0;
+        for (EmbeddedChannel client : clients) {
+            Object msg;
+            while ((msg = client.readOutbound()) != null) {
+                bytes += ((ByteBuf) msg).readableBytes();
+                ReferenceCountUtil.release(msg);
+            }
+        }
+        return bytes;
+    }
+
+    private long streamCopyingFrames() {
+        long bytes = 0;
+        for (int f = 0; f < FRAMES; f++) {
+            // assemble the received chunks into a growing array
+            byte[] incomingJpeg = new byte[0];
+            for (ByteBuf chunk : chunks) {
+                byte[] temp = incomingJpeg;
+                incomingJpeg = new byte[temp.length + chunk.readableBytes()];
+                System.arraycopy(temp, 0, incomingJpeg, 0, temp.length);
+                chunk.getBytes(chunk.readerIndex(), incomingJpeg, temp.length, chunk.readableBytes());
+            }
+            ByteBuf imageByteBuf = Unpooled.copiedBuffer(incomingJpeg);
+            String header = "--" + FrameBroadcaster.BOUNDARY + "\r\n" + "content-type: image/jpeg" + "\r\n"
+                    + "content-length: " + imageByteBuf.readableBytes() + "\r\n\r\n";
+            channelGroup.write(Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8));
+            channelGroup.write(imageByteBuf);
+            channelGroup.write(Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8));
+            channelGroup.flush();
+            bytes += drainClients();
+        }
+        return bytes;
+    }
+
+    private long streamWithBroadcaster(FrameBroadcaster broadcaster) {
+        long bytes = 0;
+        for (int f = 0; f < FRAMES; f++) {
+            ByteBuf incomingJpeg = PooledByteBufAllocator.DEFAULT.buffer(CHUNK_SIZE);
+            for (ByteBuf chunk : chunks) {
+                incomingJpeg.writeBytes(chunk, chunk.readerIndex(), chunk.readableBytes());
+            }
+            broadcaster.broadcast(incomingJpeg);
+            incomingJpeg.release();
+            bytes += drainClients();
+        }
+        return bytes;
+    }
+
+    private static ThreadMXBean threads() {
+        return ManagementFactory.getThreadMXBean();
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = threads();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private void report(String name, long cpuTime, long allocated) {
+        long perClientFrame = (long) FRAMES * CLIENTS;
+        logger.info("{}: {} ns CPU time and {} bytes allocated per frame and client", name, cpuTime / perClientFrame,
+                allocated / perClientFrame);
+    }
+
+    @Test
+    public void streamToTenClients() {
+        FrameBroadcaster broadcaster = new FrameBroadcaster(channelGroup);
+        // warm up
+        long copiedBytes = streamCopyingFrames();
+        long broadcastBytes = streamWithBroadcaster(broadcaster);
+        assertEquals(copiedBytes, broadcastBytes);
+
+        long allocated = allocatedBytes();
+        long cpuTime = threads().getCurrentThreadCpuTime();
+        streamCopyingFrames();
+        report("Copied frames", threads().getCurrentThreadCpuTime() - cpuTime, allocatedBytes() - allocated);
+
+        allocated = allocatedBytes();
+        cpuTime = threads().getCurrentThreadCpuTime();
+        streamWithBroadcaster(broadcaster);
+        report("Frame broadcaster", threads().getCurrentThreadCpuTime() - cpuTime, allocatedBytes() - allocated);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.GlobalEventExecutor;
+
+/**
+ * Tests for {@link FrameBroadcaster}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FrameBroadcasterTest {
+    private static final int FRAME_SIZE = 1024;
+
+    private final ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final EmbeddedChannel fastClient = new EmbeddedChannel();
+    private final EmbeddedChannel slowClient = new EmbeddedChannel();
+    private final FrameBroadcaster broadcaster = new FrameBroadcaster(channelGroup);
+    private final ByteBuf jpeg = PooledByteBufAllocator.DEFAULT.buffer(FRAME_SIZE).writeZero(FRAME_SIZE);
+
+    public FrameBroadcasterTest() {
+        channelGroup.add(fastClient);
+        channelGroup.add(slowClient);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channelGroup.close();
+        if (jpeg.refCnt() > 0) {
+            jpeg.release();
+        }
+    }
+
+    @Test
+    public void partWrapsFrameWithHeaderAndFooter() {
+        ByteBuf part = broadcaster.createPart(jpeg);
+        String header = "--" + FrameBroadcaster.BOUNDARY + "\r\ncontent-type: image/jpeg\r\ncontent-length: "
+                + FRAME_SIZE + "\r\n\r\n";
+        assertEquals(header.length() + FRAME_SIZE + 2, part.readableBytes());
+        assertEquals(header, part.toString(0, header.length(), StandardCharsets.US_ASCII));
+        assertEquals("\r\n", part.toString(part.readableBytes() - 2, 2, StandardCharsets.US_ASCII));
+        // the part holds a reference to the frame instead of a copy
+        assertEquals(2, jpeg.refCnt());
+        part.release();
+        assertEquals(1, jpeg.refCnt());
+    }
+
+    @Test
+    public void slowClientDropsFrames() {
+        // as if the socket of the client did not accept the previous frames yet
+        slowClient.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+        broadcaster.broadcast(jpeg);
+        assertNull(slowClient.readOutbound());
+        ByteBuf part = fastClient.readOutbound();
+        assertNotNull(part);
+        assertTrue(part.readableBytes() > FRAME_SIZE);
+        assertEquals(2, jpeg.refCnt());
+        part.release();
+        jpeg.release();
+
+        assertEquals(1, broadcaster.getFramesSent());
+        assertEquals(1, broadcaster.getFramesDropped());
+        // the frame went back to the pool
+        assertEquals(0, jpeg.refCnt());
+    }
+
+    @Test
+    public void sendIgnoresWritability() {
+        slowClient.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+        broadcaster.send(slowClient, jpeg);
+        ByteBuf part = slowClient.readOutbound();
+        assertNotNull(part);
+        part.release();
+        assertNull(fastClient.readOutbound());
+
+        assertEquals(1, broadcaster.getFramesSent());
+        assertEquals(0, broadcaster.getFramesDropped());
+        assertEquals(1, jpeg.refCnt());
+    }
+}
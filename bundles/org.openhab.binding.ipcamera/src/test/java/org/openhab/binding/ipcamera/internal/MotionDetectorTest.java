@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests for {@link MotionDetector}, using synthetic JPEG snapshots.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetectorTest {
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+    private static final double THRESHOLD = 0.002;
+
+    private final MotionDetector detector = new MotionDetector(10);
+    private final ByteBuf still = jpeg(false);
+    private final ByteBuf moved = jpeg(true);
+
+    /**
+     * Creates a grey snapshot, with one block of the analysis grid turned white when moved.
+     */
+    private static ByteBuf jpeg(boolean moved) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.GRAY);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        if (moved) {
+            int blockWidth = WIDTH / MotionDetector.BLOCKS_WIDE;
+            int blockHeight = HEIGHT / MotionDetector.BLOCKS_HIGH;
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(5 * blockWidth, 4 * blockHeight, blockWidth, blockHeight);
+        }
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            assertTrue(ImageIO.write(image, "jpeg", out));
+        } catch (IOException e) {
+            fail(e);
+        }
+        return Unpooled.wrappedBuffer(out.toByteArray());
+    }
+
+    @Test
+    public void identicalFramesScoreZero() {
+        assertFalse(detector.analyse(still, THRESHOLD));
+        assertFalse(detector.analyse(still, THRESHOLD));
+        assertEquals(0.0, detector.getLastScore());
+        assertFalse(detector.analyse(jpeg(false), THRESHOLD));
+        assertEquals(0.0, detector.getLastScore());
+    }
+
+    @Test
+    public void changedBlockCrossesThreshold() {
+        assertFalse(detector.analyse(still, THRESHOLD));
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        assertTrue(detector.getLastScore() >= THRESHOLD);
+        // one of the 192 blocks changed from grey to white
+        assertTrue(detector.getLastScore() < 0.01);
+    }
+
+    @Test
+    public void changeBelowThresholdIsNoMotion() {
+        assertFalse(detector.analyse(still, THRESHOLD));
+        assertFalse(detector.analyse(moved, 0.5));
+        assertTrue(detector.getLastScore() > 0);
+    }
+
+    @Test
+    public void motionEndsAfterQuietFrames() {
+        detector.analyse(still, THRESHOLD);
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        assertFalse(detector.analyse(moved, THRESHOLD));
+    }
+
+    @Test
+    public void motionRestartsTheQuietFrames() {
+        detector.analyse(still, THRESHOLD);
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        assertTrue(detector.analyse(still, THRESHOLD));
+        assertTrue(detector.analyse(still, THRESHOLD));
+        assertTrue(detector.analyse(still, THRESHOLD));
+        assertFalse(detector.analyse(still, THRESHOLD));
+    }
+
+    @Test
+    public void resetForgetsThePreviousFrame() {
+        detector.analyse(still, THRESHOLD);
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        detector.reset();
+        // the first frame after the reset is only compared with the next one
+        assertFalse(detector.analyse(still, THRESHOLD));
+        assertFalse(detector.analyse(still, THRESHOLD));
+        assertTrue(detector.analyse(moved, THRESHOLD));
+    }
+
+    @Test
+    public void corruptJpegKeepsTheState() {
+        ByteBuf corrupt = Unpooled.copiedBuffer("not a JPEG", StandardCharsets.US_ASCII);
+        detector.analyse(still, THRESHOLD);
+        assertTrue(detector.analyse(moved, THRESHOLD));
+        double score = detector.getLastScore();
+
+        assertTrue(detector.analyse(corrupt, THRESHOLD));
+        assertEquals(score, detector.getLastScore());
+        assertEquals(0, corrupt.readerIndex());
+        // the corrupt snapshot was not compared, the moved frame is still the previous one
+        assertTrue(detector.analyse(still, THRESHOLD));
+        assertTrue(detector.getLastScore() >= THRESHOLD);
+    }
+
+    @Test
+    public void oneAnalysisAtATime() {
+        MotionDetector unthrottled = new MotionDetector(Integer.MAX_VALUE);
+        assertTrue(unthrottled.tryStartAnalysis());
+        assertFalse(unthrottled.tryStartAnalysis());
+        unthrottled.analyse(still, THRESHOLD);
+        assertTrue(unthrottled.tryStartAnalysis());
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.binding.ipcamera.internal.GroupTracker;
+import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.core.thing.Thing;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpResponse;
+
+/**
+ * Tests the hand-off of the reference counted snapshots in {@link IpCameraHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class IpCameraHandlerTest {
+    private @Mock @NonNullByDefault({}) Thing thing;
+    private @Mock @NonNullByDefault({}) IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
+    private @Mock @NonNullByDefault({}) ChannelHandlerContext ctx;
+
+    private @NonNullByDefault({}) IpCameraHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        handler = new IpCameraHandler(thing, "127.0.0.1", new GroupTracker(), stateDescriptionProvider);
+    }
+
+    private static ByteBuf snapshot(int fill) {
+        // the content does not matter as long as the motion detection is off
+        return PooledByteBufAllocator.DEFAULT.buffer(64).writeBytes(new byte[] { (byte) 0xFF, (byte) 0xD8 })
+                .writeZero(60).writeBytes(new byte[] { (byte) fill, (byte) 0xD9 });
+    }
+
+    @Test
+    public void noSnapshotYet() {
+        assertFalse(handler.hasSnapshot());
+        ByteBuf snapshot = handler.getSnapshot();
+        assertFalse(snapshot.isReadable());
+        snapshot.release();
+    }
+
+    @Test
+    public void handlerKeepsTheHandedOverReference() {
+        ByteBuf first = snapshot(1);
+        handler.processSnapshot(first);
+        assertEquals(1, first.refCnt());
+        assertTrue(handler.hasSnapshot());
+
+        ByteBuf current = handler.getSnapshot();
+        assertEquals(2, first.refCnt());
+        assertTrue(ByteBufUtil.equals(first, current));
+        current.release();
+        assertEquals(1, first.refCnt());
+    }
+
+    @Test
+    public void newerSnapshotReleasesThePreviousOne() {
+        ByteBuf first = snapshot(1);
+        ByteBuf second = snapshot(2);
+        handler.processSnapshot(first);
+        handler.processSnapshot(second);
+        assertEquals(0, first.refCnt());
+        assertEquals(1, second.refCnt());
+
+        ByteBuf current = handler.getSnapshot();
+        assertTrue(ByteBufUtil.equals(second, current));
+        current.release();
+        assertEquals(1, second.refCnt());
+    }
+
+    @Test
+    public void snapshotOutlivesItsReplacementWhileInUse() {
+        ByteBuf first = snapshot(1);
+        handler.processSnapshot(first);
+        ByteBuf inUse = handler.getSnapshot();
+
+        ByteBuf second = snapshot(2);
+        handler.processSnapshot(second);
+        assertEquals(1, first.refCnt());
+        assertEquals(1, inUse.getByte(inUse.readerIndex() + 62));
+
+        inUse.release();
+        assertEquals(0, first.refCnt());
+    }
+
+    @Test
+    public void streamedSnapshotIsReleasedOnceSent() {
+        EmbeddedChannel client = new EmbeddedChannel();
+        when(ctx.channel()).thenReturn(client);
+        ByteBuf first = snapshot(1);
+        handler.processSnapshot(first);
+
+        handler.setupSnapshotStreaming(true, ctx, true);
+        assertTrue(client.readOutbound() instanceof HttpResponse);
+        ByteBuf part1 = client.readOutbound();
+        ByteBuf part2 = client.readOutbound();
+        assertNotNull(part1);
+        assertNotNull(part2);
+        assertNull(client.readOutbound());
+
+        // the parts still to be sent keep the replaced snapshot
+        handler.processSnapshot(snapshot(2));
+        assertTrue(first.refCnt() > 0);
+        part1.release();
+        part2.release();
+        assertEquals(0, first.refCnt());
+
+        handler.setupSnapshotStreaming(false, ctx, true);
+        client.close();
+    }
+}
@@ -56,6 +56,12 @@ public class KNXBindingConstants {
     // href="http://www.iana.org/assignments/multicast-addresses/multicast-addresses.xml">iana</a> EIBnet/IP
     public static final String DEFAULT_MULTICAST_IP = "224.0.23.12";
 
+    // Bridge channel IDs
+    public static final String CHANNEL_READ_QUEUE_REFRESH = "readQueueRefresh";
+    public static final String CHANNEL_READ_QUEUE_STARTUP = "readQueueStartup";
+    public static final String CHANNEL_READ_QUEUE_PERIODIC = "readQueuePeriodic";
+    public static final String CHANNEL_INITIAL_SYNC_DURATION = "initialSyncDuration";
+
     // Channel Type IDs
     public static final String CHANNEL_COLOR = "color";
     public static final String CHANNEL_COLOR_CONTROL = "color-control";
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Dispatches bus telegrams to the {@link GroupAddressListener}s of their destination group address.
+ *
+ * The listeners are indexed by the group addresses they announce on registration, so a telegram only touches the
+ * listeners of its destination. Every listener has a queue of its own, which is drained by the executor in order.
+ * A listener therefore sees its telegrams in bus order, without a task being scheduled for every telegram.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupAddressDispatcher {
+
+    /** Maximum number of telegrams delivered in one go, before the queue gives way to the other listeners */
+    private static final int MAX_BATCH = 64;
+
+    private static final ListenerQueue[] NO_QUEUES = new ListenerQueue[0];
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcher.class);
+
+    private final Executor executor;
+    private final Map<GroupAddressListener, ListenerQueue> queues = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, ListenerQueue[]> index = new ConcurrentHashMap<>();
+
+    /**
+     * The telegrams of a single listener, delivered in order by at most one thread at a time.
+     */
+    private class ListenerQueue implements Runnable {
+        private final GroupAddressListener listener;
+        private final Set<GroupAddress> groupAddresses;
+        private final Queue<Consumer<GroupAddressListener>> telegrams = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed = false;
+
+        private ListenerQueue(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+            this.listener = listener;
+            this.groupAddresses = groupAddresses;
+        }
+
+        private void enqueue(Consumer<GroupAddressListener> telegram) {
+            telegrams.add(telegram);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH && !closed; i++) {
+                Consumer<GroupAddressListener> telegram = telegrams.poll();
+                if (telegram == null) {
+                    break;
+                }
+                try {
+                    telegram.accept(listener);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener {} failed to handle a telegram", listener, e);
+                }
+            }
+            if (closed) {
+                telegrams.clear();
+            }
+            scheduled.set(false);
+            // Telegrams may have been added after the last poll, or the batch limit was reached
+            if (!telegrams.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+    }
+
+    /**
+     * @param executor the executor delivering the telegrams to the listeners
+     */
+    public GroupAddressDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register a listener for the group addresses it currently announces. A listener that is registered already is
+     * re-indexed with its current group addresses.
+     *
+     * @param listener the listener
+     * @return true if the listener was not registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        boolean added = !unregister(listener);
+        ListenerQueue queue = new ListenerQueue(listener, new HashSet<>(listener.getGroupAddresses()));
+        queues.put(listener, queue);
+        for (GroupAddress groupAddress : queue.groupAddresses) {
+            ListenerQueue[] current = index.getOrDefault(groupAddress, NO_QUEUES);
+            ListenerQueue[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = queue;
+            index.put(groupAddress, updated);
+        }
+        return added;
+    }
+
+    /**
+     * Unregister a listener. Telegrams not yet delivered to it are dropped.
+     *
+     * @param listener the listener
+     * @return true if the listener was registered
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        ListenerQueue queue = queues.remove(listener);
+        if (queue == null) {
+            return false;
+        }
+        queue.closed = true;
+        for (GroupAddress groupAddress : queue.groupAddresses) {
+            ListenerQueue[] updated = Arrays.stream(index.getOrDefault(groupAddress, NO_QUEUES))
+                    .filter(q -> q != queue).toArray(ListenerQueue[]::new);
+            if (updated.length == 0) {
+                index.remove(groupAddress);
+            } else {
+                index.put(groupAddress, updated);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queue a telegram for all listeners of its destination.
+     *
+     * @param destination the destination group address of the telegram
+     * @param telegram delivers the telegram to a listener
+     */
+    public void dispatch(GroupAddress destination, Consumer<GroupAddressListener> telegram) {
+        for (ListenerQueue queue : index.getOrDefault(destination, NO_QUEUES)) {
+            queue.enqueue(telegram);
+        }
+    }
+
+    /**
+     * @return the number of group addresses with at least one listener
+     */
+    public int getGroupAddressCount() {
+        return index.size();
+    }
+}
@@ -62,6 +62,7 @@ public interface KNXClient {
 
     /**
      * Register the given listener to be informed on KNX bus traffic.
+     * The listener is informed about the group addresses it announces on registration.
      *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
@@ -78,10 +79,28 @@ public interface KNXClient {
 
     /**
      * Schedule the given data point for asynchronous reading.
+     * A read request which is queued for the group address already only gets its priority raised.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Get the number of read requests waiting to be sent.
+     *
+     * @param priority the priority of the read requests
+     * @return the number of queued read requests of the given priority
+     */
+    int getReadQueueDepth(ReadPriority priority);
+
+    /**
+     * Get the time the initial sync after connecting to the bus took.
+     *
+     * @return the time it took to read all group addresses requested for the initial sync in milliseconds, -1 if the
+     *         initial sync has not finished yet
+     */
+    long getInitialSyncDuration();
 
     /**
      * Write a command to the KNX bus.
@@ -59,7 +59,17 @@ public class NoOpClient implements KNXClient {
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+    }
+
+    @Override
+    public int getReadQueueDepth(ReadPriority priority) {
+        return 0;
+    }
+
+    @Override
+    public long getInitialSyncDuration() {
+        return -1;
     }
 
     @Override
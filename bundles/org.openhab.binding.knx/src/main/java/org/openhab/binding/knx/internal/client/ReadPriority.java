@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority classes of read requests to the KNX bus, from the most to the least urgent.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** A read requested by a REFRESH command, someone is waiting for the value */
+    REFRESH,
+    /** The first read of a group address, bringing the state in sync after start up or reconnect */
+    STARTUP,
+    /** A read repeated every read interval */
+    PERIODIC
+}
@@ -0,0 +1,412 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Schedules the read requests to the KNX bus.
+ *
+ * Requests are queued per {@link ReadPriority} and deduplicated by group address: a request for a group address which
+ * is queued already only raises its priority, and one which is awaiting its response is dropped. A value seen on the
+ * bus answers a request, whether it was sent by us or not.
+ *
+ * Sending a request only waits for its confirmation by the link, the response is awaited while the next requests
+ * are sent, up to {@link #MAX_IN_FLIGHT} at a time. Requests are sent at least the reading pause apart, and further
+ * apart when the link is slow to confirm them. The queue depths and the time the initial sync took are published by
+ * the bridge.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /**
+     * Sends a read request to the bus, returning once the link confirmed it.
+     */
+    @FunctionalInterface
+    public interface ReadRequestSender {
+        /**
+         * @param groupAddress the group address to read
+         * @return {@code false} if the link is not available at the moment
+         */
+        boolean sendReadRequest(GroupAddress groupAddress) throws KNXException, InterruptedException;
+    }
+
+    /** Maximum number of read requests awaiting their response */
+    static final int MAX_IN_FLIGHT = 16;
+
+    /** Upper bound of the pause between two read requests when the link is slow */
+    static final long MAX_PAUSE_MILLIS = 1000;
+
+    /** The pause between two read requests is this multiple of the confirmation latency */
+    private static final int LATENCY_FACTOR = 2;
+
+    /** Weight of a new sample in the smoothed confirmation latency */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final Logger logger = LoggerFactory.getLogger(ReadScheduler.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final ReadRequestSender sender;
+    private final long readingPauseNanos;
+    private final long responseTimeoutNanos;
+    private final int readRetriesLimit;
+
+    private final Map<ReadPriority, Deque<Request>> queues = new EnumMap<>(ReadPriority.class);
+    private final Map<GroupAddress, Request> queued = new HashMap<>();
+    private final Map<GroupAddress, Request> inFlight = new LinkedHashMap<>();
+    private final int[] queueDepths = new int[ReadPriority.values().length];
+
+    private boolean running = false;
+    private boolean sending = false;
+    private @Nullable ScheduledFuture<?> job;
+    private long jobTime;
+    private long nextSendTime;
+    private long latencyNanos = -1;
+
+    private int initialReadsPending;
+    private int initialReadsTotal;
+    private long initialSyncStart;
+    private long initialSyncMillis = -1;
+
+    /**
+     * A queued or sent read request. Raising the priority of a queued request queues a new one, the old one is
+     * skipped when it comes up.
+     */
+    private static class Request {
+        private final ReadDatapoint datapoint;
+        private final ReadPriority priority;
+        private final boolean initial;
+        private long sentTime;
+
+        private Request(ReadDatapoint datapoint, ReadPriority priority, boolean initial) {
+            this.datapoint = datapoint;
+            this.priority = priority;
+            this.initial = initial;
+        }
+
+        private GroupAddress getGroupAddress() {
+            return datapoint.getDatapoint().getMainAddress();
+        }
+    }
+
+    /**
+     * @param scheduler the scheduler running the send job
+     * @param sender sends the read requests
+     * @param readingPause the minimum pause between two read requests in milliseconds
+     * @param responseTimeout the time to wait for a response in seconds
+     * @param readRetriesLimit the number of read requests sent for a group address before giving up
+     */
+    public ReadScheduler(ScheduledExecutorService scheduler, ReadRequestSender sender, int readingPause,
+            int responseTimeout, int readRetriesLimit) {
+        this(scheduler, System::nanoTime, sender, readingPause, responseTimeout, readRetriesLimit);
+    }
+
+    /**
+     * @param clock the time source in nanoseconds
+     */
+    ReadScheduler(ScheduledExecutorService scheduler, LongSupplier clock, ReadRequestSender sender, int readingPause,
+            int responseTimeout, int readRetriesLimit) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.sender = sender;
+        this.readingPauseNanos = TimeUnit.MILLISECONDS.toNanos(readingPause);
+        this.responseTimeoutNanos = TimeUnit.SECONDS.toNanos(responseTimeout);
+        this.readRetriesLimit = readRetriesLimit;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Start sending the queued read requests.
+     */
+    public synchronized void start() {
+        running = true;
+        nextSendTime = clock.getAsLong();
+        schedule(0);
+    }
+
+    /**
+     * Stop sending and drop all read requests.
+     */
+    public synchronized void stop() {
+        running = false;
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            job.cancel(false);
+            this.job = null;
+        }
+        queues.values().forEach(Deque::clear);
+        queued.clear();
+        inFlight.clear();
+        for (int i = 0; i < queueDepths.length; i++) {
+            queueDepths[i] = 0;
+        }
+        initialReadsPending = 0;
+        initialReadsTotal = 0;
+    }
+
+    /**
+     * Queue a read request.
+     *
+     * @param datapoint the datapoint to read
+     * @param priority the priority of the request
+     */
+    public synchronized void read(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        if (inFlight.containsKey(groupAddress)) {
+            logger.trace("Read request for {} is awaiting its response already", groupAddress);
+            return;
+        }
+        Request existing = queued.get(groupAddress);
+        if (existing != null) {
+            if (priority.compareTo(existing.priority) < 0) {
+                // the old request is skipped when it comes up
+                queueDepths[existing.priority.ordinal()]--;
+                enqueue(new Request(existing.datapoint, priority, existing.initial));
+            }
+            return;
+        }
+        boolean initial = priority == ReadPriority.STARTUP;
+        if (initial) {
+            if (initialReadsPending == 0) {
+                initialSyncStart = clock.getAsLong();
+                initialReadsTotal = 0;
+            }
+            initialReadsPending++;
+            initialReadsTotal++;
+        }
+        enqueue(new Request(new ReadDatapoint(datapoint, readRetriesLimit), priority, initial));
+        if (!sending) {
+            schedule(Math.max(0, nextSendTime - clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Notify about a value of a group address seen on the bus, answering the read request for it.
+     *
+     * @param groupAddress the group address
+     */
+    public synchronized void valueReceived(GroupAddress groupAddress) {
+        Request request = inFlight.remove(groupAddress);
+        if (request == null) {
+            request = queued.remove(groupAddress);
+            if (request == null) {
+                return;
+            }
+            queueDepths[request.priority.ordinal()]--;
+        } else if (!sending && !queued.isEmpty()) {
+            // the window may have been full
+            schedule(Math.max(0, nextSendTime - clock.getAsLong()));
+        }
+        done(request);
+    }
+
+    private void enqueue(Request request) {
+        queued.put(request.getGroupAddress(), request);
+        queues.get(request.priority).addLast(request);
+        queueDepths[request.priority.ordinal()]++;
+    }
+
+    private @Nullable Request poll() {
+        for (Deque<Request> queue : queues.values()) {
+            Request request;
+            while ((request = queue.pollFirst()) != null) {
+                if (queued.get(request.getGroupAddress()) == request) {
+                    queued.remove(request.getGroupAddress());
+                    queueDepths[request.priority.ordinal()]--;
+                    return request;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void done(Request request) {
+        if (request.initial && --initialReadsPending == 0) {
+            initialSyncMillis = TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - initialSyncStart);
+            logger.debug("Initial read of {} group addresses finished after {} ms, confirmation latency {} ms",
+                    initialReadsTotal, initialSyncMillis, TimeUnit.NANOSECONDS.toMillis(Math.max(0, latencyNanos)));
+        }
+    }
+
+    private void retryOrGiveUp(Request request, String reason) {
+        ReadDatapoint datapoint = request.datapoint;
+        if (datapoint.getRetries() < datapoint.getLimit()) {
+            logger.debug("Could not read value for datapoint {}: {}. Going to retry.", request.getGroupAddress(),
+                    reason);
+            enqueue(request);
+        } else {
+            logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                    request.getGroupAddress(), datapoint.getLimit());
+            done(request);
+        }
+    }
+
+    private void schedule(long delayNanos) {
+        if (!running) {
+            return;
+        }
+        long time = clock.getAsLong() + delayNanos;
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            if (jobTime - time <= 0) {
+                return;
+            }
+            job.cancel(false);
+        }
+        jobTime = time;
+        this.job = scheduler.schedule(this::sendNext, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void sendNext() {
+        Request request;
+        synchronized (this) {
+            job = null;
+            if (!running) {
+                return;
+            }
+            long now = clock.getAsLong();
+            expire(now);
+            request = nextSendTime - now <= 0 && inFlight.size() < MAX_IN_FLIGHT ? poll() : null;
+            if (request == null) {
+                scheduleNext(now);
+                return;
+            }
+            request.sentTime = now;
+            inFlight.put(request.getGroupAddress(), request);
+            sending = true;
+        }
+
+        GroupAddress groupAddress = request.getGroupAddress();
+        long start = clock.getAsLong();
+        String failure = null;
+        boolean sent = false;
+        try {
+            logger.trace("Sending a Group Read Request telegram for {} ({})", groupAddress, request.priority);
+            sent = sender.sendReadRequest(groupAddress);
+        } catch (KNXException e) {
+            failure = e.getMessage();
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted sending KNX read request");
+            Thread.currentThread().interrupt();
+            synchronized (this) {
+                sending = false;
+            }
+            return;
+        }
+        long now = clock.getAsLong();
+
+        synchronized (this) {
+            sending = false;
+            if (!running) {
+                return;
+            }
+            // the value may have been seen on the bus while sending
+            boolean answered = inFlight.get(groupAddress) != request;
+            if (!sent && failure == null) {
+                // the link is not available, try again later without counting it as an attempt
+                if (!answered) {
+                    inFlight.remove(groupAddress);
+                    queued.put(groupAddress, request);
+                    queues.get(request.priority).addFirst(request);
+                    queueDepths[request.priority.ordinal()]++;
+                }
+                nextSendTime = now + readingPauseNanos;
+            } else {
+                request.datapoint.incrementRetries();
+                if (!answered) {
+                    if (failure != null) {
+                        inFlight.remove(groupAddress);
+                        retryOrGiveUp(request, failure);
+                    } else {
+                        // awaiting the response from now on, keeping the order of sending
+                        request.sentTime = now;
+                    }
+                }
+                long sample = now - start;
+                latencyNanos = latencyNanos < 0 ? sample
+                        : Math.round(latencyNanos + LATENCY_SMOOTHING * (sample - latencyNanos));
+                nextSendTime = now + getPauseNanos();
+            }
+            logger.trace("Read requests queued: {}, awaiting response: {}, confirmation latency: {} ms",
+                    queued.size(), inFlight.size(), TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+            scheduleNext(now);
+        }
+    }
+
+    private void expire(long now) {
+        Iterator<Request> iterator = inFlight.values().iterator();
+        while (iterator.hasNext()) {
+            Request request = iterator.next();
+            if (now - request.sentTime < responseTimeoutNanos) {
+                // in order of sending, the remaining ones are younger
+                break;
+            }
+            iterator.remove();
+            retryOrGiveUp(request, "no response");
+        }
+    }
+
+    private void scheduleNext(long now) {
+        if (!queued.isEmpty() && inFlight.size() < MAX_IN_FLIGHT) {
+            schedule(Math.max(0, nextSendTime - now));
+        } else if (!inFlight.isEmpty()) {
+            Request oldest = inFlight.values().iterator().next();
+            schedule(Math.max(0, oldest.sentTime + responseTimeoutNanos - now));
+        }
+    }
+
+    private long getPauseNanos() {
+        long maxPauseNanos = Math.max(readingPauseNanos, TimeUnit.MILLISECONDS.toNanos(MAX_PAUSE_MILLIS));
+        return Math.min(maxPauseNanos, Math.max(readingPauseNanos, LATENCY_FACTOR * latencyNanos));
+    }
+
+    public synchronized int getQueueDepth(ReadPriority priority) {
+        return queueDepths[priority.ordinal()];
+    }
+
+    synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return the time it took to read all group addresses requested for the initial sync in milliseconds, -1 if the
+     *         initial sync has not finished yet
+     */
+    public synchronized long getInitialSyncDuration() {
+        return initialReadsPending > 0 ? -1 : initialSyncMillis;
+    }
+}
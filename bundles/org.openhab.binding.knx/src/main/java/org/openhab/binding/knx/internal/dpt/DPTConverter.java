@@ -0,0 +1,452 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+import org.openhab.core.types.UnDefType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.KNXIllegalArgumentException;
+import tuwien.auto.calimero.dptxlator.DPT;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlator3BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+import tuwien.auto.calimero.dptxlator.DPTXlatorDate;
+import tuwien.auto.calimero.dptxlator.DPTXlatorDateTime;
+import tuwien.auto.calimero.dptxlator.DPTXlatorSceneControl;
+import tuwien.auto.calimero.dptxlator.DPTXlatorTime;
+
+/**
+ * Converts between openHAB types and the values of a single KNX datapoint type.
+ *
+ * The datapoint type id is parsed and its translator is created once, by {@link KNXCoreTypeMapper#getConverter}.
+ * The translator is reused for every received value, so a converter is safe to share but decodes one value at a
+ * time.
+ *
+ * @author Kai Kreuzer - Initial contribution of the conversions in KNXCoreTypeMapper
+ * @author Volker Daube - Contributor to the conversions in KNXCoreTypeMapper
+ * @author Jan N. Klug - Contributor to the conversions in KNXCoreTypeMapper
+ * @author Helmut Lehmeyer - Java8, generic DPT Mapper
+ * @author agent - Moved the conversions of a single datapoint type out of KNXCoreTypeMapper
+ */
+public final class DPTConverter {
+
+    private final Logger logger = LoggerFactory.getLogger(DPTConverter.class);
+
+    private static final String TIME_DAY_FORMAT = new String("EEE, HH:mm:ss");
+    private static final String DATE_FORMAT = new String("yyyy-MM-dd");
+
+    private final String dptId;
+    private final int mainNumber;
+    private final int subNumber;
+    private final DPT dpt;
+    private final DPTXlator translator;
+    private final Class<? extends Type> typeClass;
+
+    DPTConverter(String dptId, int mainNumber, int subNumber, DPTXlator translator, Class<? extends Type> typeClass) {
+        this.dptId = dptId;
+        this.mainNumber = mainNumber;
+        this.subNumber = subNumber;
+        this.dpt = translator.getType();
+        this.translator = translator;
+        this.typeClass = typeClass;
+    }
+
+    /**
+     * @return the datapoint type id, e.g. "9.001"
+     */
+    public String getDPTId() {
+        return dptId;
+    }
+
+    /**
+     * @return the openHAB type class of the datapoint type or {@code null} if it is not supported
+     */
+    public Class<? extends Type> getTypeClass() {
+        return typeClass;
+    }
+
+    /**
+     * Maps an openHAB command/state to a string value of this datapoint type.
+     *
+     * @param type a command or state
+     * @return datapoint value as a string or {@code null} if the type cannot be mapped
+     */
+    public String toDPTValue(Type type) {
+        try {
+            // check for HSBType first, because it extends PercentType as well
+            if (type instanceof HSBType) {
+                switch (mainNumber) {
+                    case 5:
+                        switch (subNumber) {
+                            case 3: // * 5.003: Angle, values: 0...360 °
+                                return ((HSBType) type).getHue().toString();
+                            case 1: // * 5.001: Scaling, values: 0...100 %
+                            default:
+                                return ((HSBType) type).getBrightness().toString();
+                        }
+                    case 232:
+                        switch (subNumber) {
+                            case 600: // 232.600
+                                HSBType hc = ((HSBType) type);
+                                return "r:" + convertPercentToByte(hc.getRed()) + " g:"
+                                        + convertPercentToByte(hc.getGreen()) + " b:"
+                                        + convertPercentToByte(hc.getBlue());
+                        }
+                    default:
+                        HSBType hc = ((HSBType) type);
+                        return "r:" + hc.getRed().intValue() + " g:" + hc.getGreen().intValue() + " b:"
+                                + hc.getBlue().intValue();
+                }
+            } else if (type instanceof OnOffType) {
+                return type.equals(OnOffType.OFF) ? dpt.getLowerValue() : dpt.getUpperValue();
+            } else if (type instanceof UpDownType) {
+                return type.equals(UpDownType.UP) ? dpt.getLowerValue() : dpt.getUpperValue();
+            } else if (type instanceof IncreaseDecreaseType) {
+                DPT valueDPT = ((DPTXlator3BitControlled.DPT3BitControlled) dpt).getControlDPT();
+                return type.equals(IncreaseDecreaseType.DECREASE) ? valueDPT.getLowerValue() + " 5"
+                        : valueDPT.getUpperValue() + " 5";
+            } else if (type instanceof OpenClosedType) {
+                return type.equals(OpenClosedType.CLOSED) ? dpt.getLowerValue() : dpt.getUpperValue();
+            } else if (type instanceof StopMoveType) {
+                return type.equals(StopMoveType.STOP) ? dpt.getLowerValue() : dpt.getUpperValue();
+            } else if (type instanceof PercentType) {
+                return String.valueOf(((DecimalType) type).intValue());
+            } else if (type instanceof DecimalType) {
+                switch (mainNumber) {
+                    case 2:
+                        DPT valueDPT = ((DPTXlator1BitControlled.DPT1BitControlled) dpt).getValueDPT();
+                        switch (((DecimalType) type).intValue()) {
+                            case 0:
+                                return "0 " + valueDPT.getLowerValue();
+                            case 1:
+                                return "0 " + valueDPT.getUpperValue();
+                            case 2:
+                                return "1 " + valueDPT.getLowerValue();
+                            default:
+                                return "1 " + valueDPT.getUpperValue();
+                        }
+                    case 18:
+                        int intVal = ((DecimalType) type).intValue();
+                        if (intVal > 63) {
+                            return "learn " + (intVal - 0x80);
+                        } else {
+                            return "activate " + intVal;
+                        }
+                    default:
+                        return ((DecimalType) type).toBigDecimal().stripTrailingZeros().toPlainString();
+                }
+            } else if (type instanceof StringType) {
+                return type.toString();
+            } else if (type instanceof DateTimeType) {
+                return formatDateTime((DateTimeType) type, dptId);
+            }
+        } catch (Exception e) {
+            logger.warn("An exception occurred converting type {} to dpt id {}: error message={}", type, dptId,
+                    e.getMessage());
+            return null;
+        }
+
+        logger.debug("toDPTValue: Couldn't convert type {} to dpt id {} (no mapping).", type, dptId);
+
+        return null;
+    }
+
+    /**
+     * Maps a datapoint value to an openHAB command or state.
+     *
+     * @param data the datapoint value as an ASDU byte array
+     * @return a command or state of openHAB or {@code null} if the value cannot be mapped
+     */
+    public Type toType(byte[] data) {
+        synchronized (translator) {
+            try {
+                translator.setData(data);
+                return decode();
+            } catch (KNXFormatException kfe) {
+                logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).", dptId);
+            } catch (KNXIllegalArgumentException kiae) {
+                logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
+                        dptId);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the data set on the translator. The string value of the translator is only built where needed.
+     */
+    private Type decode() throws KNXFormatException {
+        String value = null;
+        /*
+         * Following code section deals with specific mapping of values from KNX to openHAB types were the String
+         * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
+         */
+        switch (mainNumber) {
+            case 1:
+                DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+                switch (subNumber) {
+                    case 8:
+                        return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+                    case 9:
+                        return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 10:
+                        return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
+                    case 19:
+                        return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 22:
+                        return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+                    default:
+                        return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
+                }
+            case 2:
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case 3:
+                DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
+                if (translator3BitControlled.getStepCode() == 0) {
+                    logger.debug("toType: KNX DPT_Control_Dimming: break received.");
+                    return UnDefType.UNDEF;
+                }
+                switch (subNumber) {
+                    case 7:
+                        return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
+                                : IncreaseDecreaseType.DECREASE;
+                    case 8:
+                        return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
+                }
+                break;
+            case 14:
+                /*
+                 * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
+                 * locale when
+                 * translating a Float to String. It could happen the a ',' is used as separator, such as
+                 * 3,14159E20.
+                 * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
+                 * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
+                 * there.
+                 */
+                if (!StringType.class.equals(typeClass)) {
+                    break;
+                }
+                DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
+                Float f = translator4ByteFloat.getValueFloat();
+                if (Math.abs(f) < 100000) {
+                    value = String.valueOf(f);
+                } else {
+                    NumberFormat dcf = NumberFormat.getInstance(Locale.US);
+                    if (dcf instanceof DecimalFormat) {
+                        ((DecimalFormat) dcf).applyPattern("0.#####E0");
+                    }
+                    value = dcf.format(f);
+                }
+                break;
+            case 18:
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (translator.getValue().startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                value = String.valueOf(decimalValue);
+
+                break;
+            case 19:
+                DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
+                if (translatorDateTime.isFaultyClock()) {
+                    // Not supported: faulty clock
+                    logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "/1/1" (month and day without year)
+                    logger.debug("toType: KNX clock msg ignored: no year, but day and month, which is not supported");
+                    return null;
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "1900" (year without month and day)
+                    logger.debug("toType: KNX clock msg ignored: no day and month, but year, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Not supported: No year, no date and no time
+                    logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
+                    return null;
+                }
+
+                Calendar cal = Calendar.getInstance();
+                if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure date format, no time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure time format, no date information
+                    cal.clear();
+                    cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
+                    cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
+                    cal.set(Calendar.SECOND, translatorDateTime.getSecond());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Date format and time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                }
+                break;
+        }
+
+        if (typeClass == null) {
+            return null;
+        }
+
+        if (typeClass.equals(PercentType.class)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
+        }
+        if (typeClass.equals(DecimalType.class)) {
+            return new DecimalType(translator.getNumericValue());
+        }
+        if (typeClass.equals(StringType.class)) {
+            return StringType.valueOf(value != null ? value : translator.getValue());
+        }
+
+        if (typeClass.equals(DateTimeType.class)) {
+            String date = formatDateTime(value != null ? value : translator.getValue(), dptId);
+            if ((date == null) || (date.isEmpty())) {
+                logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
+                return null;
+            } else {
+                return DateTimeType.valueOf(date);
+            }
+        }
+
+        if (typeClass.equals(HSBType.class)) {
+            // value has format of "r:<red value> g:<green value> b:<blue value>"
+            String rgb = value != null ? value : translator.getValue();
+            int r = Integer.parseInt(rgb.split(" ")[0].split(":")[1]);
+            int g = Integer.parseInt(rgb.split(" ")[1].split(":")[1]);
+            int b = Integer.parseInt(rgb.split(" ")[2].split(":")[1]);
+
+            return HSBType.fromRGB(r, g, b);
+        }
+
+        return null;
+    }
+
+    /**
+     * Formats the given <code>value</code> according to the datapoint type
+     * <code>dpt</code> to a String which can be processed by {@link DateTimeType}.
+     *
+     * @param value
+     * @param dpt
+     *
+     * @return a formatted String like </code>yyyy-MM-dd'T'HH:mm:ss</code> which
+     *         is target format of the {@link DateTimeType}
+     */
+    private String formatDateTime(String value, String dpt) {
+        Date date = null;
+
+        try {
+            if (DPTXlatorDate.DPT_DATE.getID().equals(dpt)) {
+                date = new SimpleDateFormat(DATE_FORMAT).parse(value);
+            } else if (DPTXlatorTime.DPT_TIMEOFDAY.getID().equals(dpt)) {
+                if (value.contains("no-day")) {
+                    /*
+                     * KNX "no-day" needs special treatment since openHAB's DateTimeType doesn't support "no-day".
+                     * Workaround: remove the "no-day" String, parse the remaining time string, which will result in a
+                     * date of "1970-01-01".
+                     * Replace "no-day" with the current day name
+                     */
+                    StringBuffer stb = new StringBuffer(value);
+                    int start = stb.indexOf("no-day");
+                    int end = start + "no-day".length();
+                    stb.replace(start, end, String.format(Locale.US, "%1$ta", Calendar.getInstance()));
+                    value = stb.toString();
+                }
+                date = new SimpleDateFormat(TIME_DAY_FORMAT, Locale.US).parse(value);
+            }
+        } catch (ParseException pe) {
+            // do nothing but logging
+            logger.warn("Could not parse '{}' to a valid date", value);
+        }
+
+        return date != null ? new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(date) : "";
+    }
+
+    /**
+     * Formats the given internal <code>dateType</code> to a knx readable String
+     * according to the target datapoint type <code>dpt</code>.
+     *
+     * @param dateType
+     * @param dpt the target datapoint type
+     *
+     * @return a String which contains either an ISO8601 formatted date (yyyy-mm-dd),
+     *         a formatted 24-hour clock with the day of week prepended (Mon, 12:00:00) or
+     *         a formatted 24-hour clock (12:00:00)
+     *
+     * @throws IllegalArgumentException if none of the datapoint types DPT_DATE or
+     *             DPT_TIMEOFDAY has been used.
+     */
+    private static String formatDateTime(DateTimeType dateType, String dpt) {
+        if (DPTXlatorDate.DPT_DATE.getID().equals(dpt)) {
+            return dateType.format("%tF");
+        } else if (DPTXlatorTime.DPT_TIMEOFDAY.getID().equals(dpt)) {
+            return dateType.format(Locale.US, "%1$ta, %1$tT");
+        } else if (DPTXlatorDateTime.DPT_DATE_TIME.getID().equals(dpt)) {
+            return dateType.format(Locale.US, "%tF %1$tT");
+        } else {
+            throw new IllegalArgumentException("Could not format date to datapoint type '" + dpt + "'");
+        }
+    }
+
+    /**
+     * convert 0...100% to 1 byte 0..255
+     *
+     * @param percent
+     * @return int 0..255
+     */
+    private int convertPercentToByte(PercentType percent) {
+        return percent.toBigDecimal().multiply(BigDecimal.valueOf(255))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP).intValue();
+    }
+}
@@ -12,19 +12,11 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -38,16 +30,12 @@ import org.openhab.core.library.types.StopMoveType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.types.Type;
-import org.openhab.core.types.UnDefType;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import tuwien.auto.calimero.KNXException;
-import tuwien.auto.calimero.KNXFormatException;
-import tuwien.auto.calimero.KNXIllegalArgumentException;
 import tuwien.auto.calimero.datapoint.Datapoint;
-import tuwien.auto.calimero.dptxlator.DPT;
 import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
@@ -93,9 +81,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     private final Logger logger = LoggerFactory.getLogger(KNXCoreTypeMapper.class);
 
-    private static final String TIME_DAY_FORMAT = new String("EEE, HH:mm:ss");
-    private static final String DATE_FORMAT = new String("yyyy-MM-dd");
-
     /**
      * stores the openHAB type class for (supported) KNX datapoint types in a generic way.
      * dptTypeMap stores more specific type class and exceptions.
@@ -108,6 +93,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the converters of the datapoint types in use, created on first use and shared by all mappers */
+    private static final Map<String, DPTConverter> CONVERTERS = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -571,293 +559,57 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         defaultDptMap.put(HSBType.class, DPTXlatorRGB.DPT_RGB.getID());
     }
 
-    @Override
-    public String toDPTValue(Type type, String dptID) {
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
+    /**
+     * Returns the converter for a datapoint type id. Converters are created once and shared afterwards.
+     *
+     * @param dptId the datapoint type id, e.g. "9.001"
+     * @return the converter or {@code null} if the datapoint type id is not supported by Calimero
+     */
+    public DPTConverter getConverter(String dptId) {
+        DPTConverter converter = CONVERTERS.get(dptId);
+        if (converter == null) {
+            converter = createConverter(dptId);
+            if (converter != null) {
+                DPTConverter existing = CONVERTERS.putIfAbsent(dptId, converter);
+                if (existing != null) {
+                    converter = existing;
+                }
+            }
+        }
+        return converter;
+    }
+
+    private DPTConverter createConverter(String dptId) {
+        int mainNumber = getMainNumber(dptId);
         if (mainNumber == -1) {
-            logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
+            logger.debug("getConverter: couldn't identify mainnumber in dptID: {}.", dptId);
             return null;
         }
-        int subNumber = getSubNumber(dptID);
+        int subNumber = getSubNumber(dptId);
         if (subNumber == -1) {
-            logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
+            logger.debug("getConverter: couldn't identify sub number in dptID: {}.", dptId);
             return null;
         }
-
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
+            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptId);
+            return new DPTConverter(dptId, mainNumber, subNumber, translator, toTypeClass(dptId));
         } catch (KNXException e) {
+            logger.warn("Failed creating a translator for datapoint type '{}'.", dptId, e);
             return null;
         }
+    }
 
-        try {
-            // check for HSBType first, because it extends PercentType as well
-            if (type instanceof HSBType) {
-                switch (mainNumber) {
-                    case 5:
-                        switch (subNumber) {
-                            case 3: // * 5.003: Angle, values: 0...360 °
-                                return ((HSBType) type).getHue().toString();
-                            case 1: // * 5.001: Scaling, values: 0...100 %
-                            default:
-                                return ((HSBType) type).getBrightness().toString();
-                        }
-                    case 232:
-                        switch (subNumber) {
-                            case 600: // 232.600
-                                HSBType hc = ((HSBType) type);
-                                return "r:" + convertPercentToByte(hc.getRed()) + " g:"
-                                        + convertPercentToByte(hc.getGreen()) + " b:"
-                                        + convertPercentToByte(hc.getBlue());
-                        }
-                    default:
-                        HSBType hc = ((HSBType) type);
-                        return "r:" + hc.getRed().intValue() + " g:" + hc.getGreen().intValue() + " b:"
-                                + hc.getBlue().intValue();
-                }
-            } else if (type instanceof OnOffType) {
-                return type.equals(OnOffType.OFF) ? dpt.getLowerValue() : dpt.getUpperValue();
-            } else if (type instanceof UpDownType) {
-                return type.equals(UpDownType.UP) ? dpt.getLowerValue() : dpt.getUpperValue();
-            } else if (type instanceof IncreaseDecreaseType) {
-                DPT valueDPT = ((DPTXlator3BitControlled.DPT3BitControlled) dpt).getControlDPT();
-                return type.equals(IncreaseDecreaseType.DECREASE) ? valueDPT.getLowerValue() + " 5"
-                        : valueDPT.getUpperValue() + " 5";
-            } else if (type instanceof OpenClosedType) {
-                return type.equals(OpenClosedType.CLOSED) ? dpt.getLowerValue() : dpt.getUpperValue();
-            } else if (type instanceof StopMoveType) {
-                return type.equals(StopMoveType.STOP) ? dpt.getLowerValue() : dpt.getUpperValue();
-            } else if (type instanceof PercentType) {
-                return String.valueOf(((DecimalType) type).intValue());
-            } else if (type instanceof DecimalType) {
-                switch (mainNumber) {
-                    case 2:
-                        DPT valueDPT = ((DPTXlator1BitControlled.DPT1BitControlled) dpt).getValueDPT();
-                        switch (((DecimalType) type).intValue()) {
-                            case 0:
-                                return "0 " + valueDPT.getLowerValue();
-                            case 1:
-                                return "0 " + valueDPT.getUpperValue();
-                            case 2:
-                                return "1 " + valueDPT.getLowerValue();
-                            default:
-                                return "1 " + valueDPT.getUpperValue();
-                        }
-                    case 18:
-                        int intVal = ((DecimalType) type).intValue();
-                        if (intVal > 63) {
-                            return "learn " + (intVal - 0x80);
-                        } else {
-                            return "activate " + intVal;
-                        }
-                    default:
-                        return ((DecimalType) type).toBigDecimal().stripTrailingZeros().toPlainString();
-                }
-            } else if (type instanceof StringType) {
-                return type.toString();
-            } else if (type instanceof DateTimeType) {
-                return formatDateTime((DateTimeType) type, dptID);
-            }
-        } catch (Exception e) {
-            logger.warn("An exception occurred converting type {} to dpt id {}: error message={}", type, dptID,
-                    e.getMessage());
-            return null;
-        }
-
-        logger.debug("toDPTValue: Couldn't convert type {} to dpt id {} (no mapping).", type, dptID);
-
-        return null;
+    @Override
+    public String toDPTValue(Type type, String dptID) {
+        DPTConverter converter = getConverter(dptID);
+        return converter != null ? converter.toDPTValue(type) : null;
     }
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
-
-            int mainNumber = getMainNumber(id);
-            if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
-                return null;
-            }
-            int subNumber = getSubNumber(id);
-            if (subNumber == -1) {
-                logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
-                return null;
-            }
-            /*
-             * Following code section deals with specific mapping of values from KNX to openHAB types were the String
-             * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
-             */
-            switch (mainNumber) {
-                case 1:
-                    DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
-                    switch (subNumber) {
-                        case 8:
-                            return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
-                        case 9:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 10:
-                            return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-                        case 19:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 22:
-                            return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
-                        default:
-                            return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
-                    }
-                case 2:
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case 3:
-                    DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
-                    if (translator3BitControlled.getStepCode() == 0) {
-                        logger.debug("toType: KNX DPT_Control_Dimming: break received.");
-                        return UnDefType.UNDEF;
-                    }
-                    switch (subNumber) {
-                        case 7:
-                            return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
-                                    : IncreaseDecreaseType.DECREASE;
-                        case 8:
-                            return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
-                    }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
-                    break;
-                case 18:
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    value = String.valueOf(decimalValue);
-
-                    break;
-                case 19:
-                    DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
-                    if (translatorDateTime.isFaultyClock()) {
-                        // Not supported: faulty clock
-                        logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "/1/1" (month and day without year)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no year, but day and month, which is not supported");
-                        return null;
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "1900" (year without month and day)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no day and month, but year, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Not supported: No year, no date and no time
-                        logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
-                        return null;
-                    }
-
-                    Calendar cal = Calendar.getInstance();
-                    if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure date format, no time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure time format, no date information
-                        cal.clear();
-                        cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
-                        cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
-                        cal.set(Calendar.SECOND, translatorDateTime.getSecond());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Date format and time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    }
-                    break;
-            }
-
-            Class<? extends Type> typeClass = toTypeClass(id);
-            if (typeClass == null) {
-                return null;
-            }
-
-            if (typeClass.equals(PercentType.class)) {
-                return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
-            }
-            if (typeClass.equals(DecimalType.class)) {
-                return new DecimalType(translator.getNumericValue());
-            }
-            if (typeClass.equals(StringType.class)) {
-                return StringType.valueOf(value);
-            }
-
-            if (typeClass.equals(DateTimeType.class)) {
-                String date = formatDateTime(value, datapoint.getDPT());
-                if ((date == null) || (date.isEmpty())) {
-                    logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
-                    return null;
-                } else {
-                    return DateTimeType.valueOf(date);
-                }
-            }
-
-            if (typeClass.equals(HSBType.class)) {
-                // value has format of "r:<red value> g:<green value> b:<blue value>"
-                int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
-                int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
-                int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
-
-                return HSBType.fromRGB(r, g, b);
-            }
-
-        } catch (KNXFormatException kfe) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
-                    datapoint.getDPT());
-        } catch (KNXIllegalArgumentException kiae) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
-                    datapoint.getDPT());
-        } catch (KNXException e) {
-            logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
-        }
-
-        return null;
+        logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
+        DPTConverter converter = getConverter(datapoint.getDPT());
+        return converter != null ? converter.toType(data) : null;
     }
 
     /**
@@ -890,72 +642,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return defaultDptMap.get(typeClass);
     }
 
-    /**
-     * Formats the given <code>value</code> according to the datapoint type
-     * <code>dpt</code> to a String which can be processed by {@link DateTimeType}.
-     *
-     * @param value
-     * @param dpt
-     *
-     * @return a formatted String like </code>yyyy-MM-dd'T'HH:mm:ss</code> which
-     *         is target format of the {@link DateTimeType}
-     */
-    private String formatDateTime(String value, String dpt) {
-        Date date = null;
-
-        try {
-            if (DPTXlatorDate.DPT_DATE.getID().equals(dpt)) {
-                date = new SimpleDateFormat(DATE_FORMAT).parse(value);
-            } else if (DPTXlatorTime.DPT_TIMEOFDAY.getID().equals(dpt)) {
-                if (value.contains("no-day")) {
-                    /*
-                     * KNX "no-day" needs special treatment since openHAB's DateTimeType doesn't support "no-day".
-                     * Workaround: remove the "no-day" String, parse the remaining time string, which will result in a
-                     * date of "1970-01-01".
-                     * Replace "no-day" with the current day name
-                     */
-                    StringBuffer stb = new StringBuffer(value);
-                    int start = stb.indexOf("no-day");
-                    int end = start + "no-day".length();
-                    stb.replace(start, end, String.format(Locale.US, "%1$ta", Calendar.getInstance()));
-                    value = stb.toString();
-                }
-                date = new SimpleDateFormat(TIME_DAY_FORMAT, Locale.US).parse(value);
-            }
-        } catch (ParseException pe) {
-            // do nothing but logging
-            logger.warn("Could not parse '{}' to a valid date", value);
-        }
-
-        return date != null ? new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(date) : "";
-    }
-
-    /**
-     * Formats the given internal <code>dateType</code> to a knx readable String
-     * according to the target datapoint type <code>dpt</code>.
-     *
-     * @param dateType
-     * @param dpt the target datapoint type
-     *
-     * @return a String which contains either an ISO8601 formatted date (yyyy-mm-dd),
-     *         a formatted 24-hour clock with the day of week prepended (Mon, 12:00:00) or
-     *         a formatted 24-hour clock (12:00:00)
-     *
-     * @throws IllegalArgumentException if none of the datapoint types DPT_DATE or
-     *             DPT_TIMEOFDAY has been used.
-     */
-    private static String formatDateTime(DateTimeType dateType, String dpt) {
-        if (DPTXlatorDate.DPT_DATE.getID().equals(dpt)) {
-            return dateType.format("%tF");
-        } else if (DPTXlatorTime.DPT_TIMEOFDAY.getID().equals(dpt)) {
-            return dateType.format(Locale.US, "%1$ta, %1$tT");
-        } else if (DPTXlatorDateTime.DPT_DATE_TIME.getID().equals(dpt)) {
-            return dateType.format(Locale.US, "%tF %1$tT");
-        } else {
-            throw new IllegalArgumentException("Could not format date to datapoint type '" + dpt + "'");
-        }
-    }
-
     /**
      * Retrieves sub number from a DTP ID such as "14.001"
      *
@@ -1009,15 +695,4 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         }
         return result;
     }
-
-    /**
-     * convert 0...100% to 1 byte 0..255
-     *
-     * @param percent
-     * @return int 0..255
-     */
-    private int convertPercentToByte(PercentType percent) {
-        return percent.toBigDecimal().multiply(BigDecimal.valueOf(255))
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP).intValue();
-    }
 }
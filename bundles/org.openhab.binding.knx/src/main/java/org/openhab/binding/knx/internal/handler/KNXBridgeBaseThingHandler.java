@@ -12,21 +12,32 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
+
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.KNXClient;
+import org.openhab.binding.knx.internal.client.ReadPriority;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.MetricPrefix;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.RefreshType;
+import org.openhab.core.types.UnDefType;
 
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.mgmt.Destination;
@@ -40,9 +51,13 @@ import tuwien.auto.calimero.mgmt.Destination;
 @NonNullByDefault
 public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implements StatusUpdateCallback {
 
+    /** Interval of updating the read queue channels */
+    private static final long READ_STATISTICS_INTERVAL_SECONDS = 10;
+
     protected ConcurrentHashMap<IndividualAddress, Destination> destinations = new ConcurrentHashMap<>();
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
     private final ScheduledExecutorService backgroundScheduler = Executors.newSingleThreadScheduledExecutor();
+    private @Nullable ScheduledFuture<?> readStatisticsJob;
 
     public KNXBridgeBaseThingHandler(Bridge bridge) {
         super(bridge);
@@ -52,7 +67,43 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
-        // Nothing to do here
+        if (command instanceof RefreshType) {
+            updateReadStatistics();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        stopReadStatistics();
+        super.dispose();
+    }
+
+    /**
+     * Start updating the read queue depths and the initial sync duration, which change with every read request, so
+     * they are updated periodically.
+     */
+    protected void startReadStatistics() {
+        stopReadStatistics();
+        readStatisticsJob = scheduler.scheduleWithFixedDelay(this::updateReadStatistics, 0,
+                READ_STATISTICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void stopReadStatistics() {
+        ScheduledFuture<?> job = readStatisticsJob;
+        if (job != null) {
+            job.cancel(false);
+            readStatisticsJob = null;
+        }
+    }
+
+    private void updateReadStatistics() {
+        KNXClient client = getClient();
+        updateState(CHANNEL_READ_QUEUE_REFRESH, new DecimalType(client.getReadQueueDepth(ReadPriority.REFRESH)));
+        updateState(CHANNEL_READ_QUEUE_STARTUP, new DecimalType(client.getReadQueueDepth(ReadPriority.STARTUP)));
+        updateState(CHANNEL_READ_QUEUE_PERIODIC, new DecimalType(client.getReadQueueDepth(ReadPriority.PERIODIC)));
+        long initialSyncDuration = client.getInitialSyncDuration();
+        updateState(CHANNEL_INITIAL_SYNC_DURATION, initialSyncDuration < 0 ? UnDefType.UNDEF
+                : new QuantityType<>(initialSyncDuration, MetricPrefix.MILLI(Units.SECOND)));
     }
 
     public ScheduledExecutorService getScheduler() {
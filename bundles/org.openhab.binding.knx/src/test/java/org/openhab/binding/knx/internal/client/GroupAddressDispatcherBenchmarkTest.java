@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Benchmark replaying a busy bus of 2500 group addresses, watched by 250 things with 12 group addresses each, once
+ * through a scan of all listeners with a scheduled task per telegram and listener, and once through the
+ * {@link GroupAddressDispatcher}. Reports telegrams per second and the dispatch latency until a listener is called.
+ * Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class GroupAddressDispatcherBenchmarkTest {
+
+    private static final int GROUP_ADDRESSES = 2500;
+    private static final int LISTENERS = 250;
+    private static final int ADDRESSES_PER_LISTENER = 12;
+    private static final int TELEGRAMS = 200_000;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcherBenchmarkTest.class);
+
+    private final GroupAddress[] groupAddresses = new GroupAddress[GROUP_ADDRESSES];
+    private final RecordingListener[] listeners = new RecordingListener[LISTENERS];
+    private final GroupAddress[] replay = new GroupAddress[TELEGRAMS];
+    private final long[] latencies = new long[TELEGRAMS * 4];
+    private final AtomicInteger delivered = new AtomicInteger();
+    private int expectedDeliveries;
+    private ScheduledExecutorService knxScheduler;
+
+    @BeforeEach
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < GROUP_ADDRESSES; i++) {
+            groupAddresses[i] = new GroupAddress(i / 256 % 32, i / 256 / 32 % 8, i % 256);
+        }
+        // Status addresses are often watched by more than one thing
+        for (int l = 0; l < LISTENERS; l++) {
+            listeners[l] = new RecordingListener();
+            for (int a = 0; a < ADDRESSES_PER_LISTENER; a++) {
+                listeners[l].groupAddresses.add(groupAddresses[(l * 10 + a) % GROUP_ADDRESSES]);
+            }
+        }
+        expectedDeliveries = 0;
+        for (int t = 0; t < TELEGRAMS; t++) {
+            replay[t] = groupAddresses[random.nextInt(GROUP_ADDRESSES)];
+            for (RecordingListener listener : listeners) {
+                if (listener.listensTo(replay[t])) {
+                    expectedDeliveries++;
+                }
+            }
+        }
+        knxScheduler = new ScheduledThreadPoolExecutor(5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        knxScheduler.shutdownNow();
+    }
+
+    private void deliver(long sent) {
+        latencies[delivered.getAndIncrement()] = System.nanoTime() - sent;
+    }
+
+    private long replayScanning() throws InterruptedException {
+        Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>(Arrays.asList(listeners));
+        delivered.set(0);
+        long start = System.nanoTime();
+        for (GroupAddress destination : replay) {
+            long sent = System.nanoTime();
+            for (GroupAddressListener listener : groupAddressListeners) {
+                if (listener.listensTo(destination)) {
+                    knxScheduler.schedule(() -> deliver(sent), 0, TimeUnit.SECONDS);
+                }
+            }
+        }
+        awaitDeliveries();
+        return System.nanoTime() - start;
+    }
+
+    private long replayDispatching() throws InterruptedException {
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(knxScheduler);
+        for (RecordingListener listener : listeners) {
+            dispatcher.register(listener);
+        }
+        delivered.set(0);
+        long start = System.nanoTime();
+        for (GroupAddress destination : replay) {
+            long sent = System.nanoTime();
+            dispatcher.dispatch(destination, listener -> deliver(sent));
+        }
+        awaitDeliveries();
+        return System.nanoTime() - start;
+    }
+
+    private void awaitDeliveries() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (delivered.get() < expectedDeliveries && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expectedDeliveries, delivered.get());
+    }
+
+    private void report(String name, long elapsed) {
+        long[] sorted = Arrays.copyOf(latencies, expectedDeliveries);
+        Arrays.sort(sorted);
+        logger.info("{}: {} telegrams/s, {} deliveries, latency p50 {} µs, p99 {} µs", name,
+                TELEGRAMS * 1_000_000_000L / elapsed, expectedDeliveries, sorted[sorted.length / 2] / 1000,
+                sorted[sorted.length * 99 / 100] / 1000);
+    }
+
+    @Test
+    public void busReplay() throws InterruptedException {
+        // warm up
+        replayScanning();
+        replayDispatching();
+
+        report("Scanning all listeners", replayScanning());
+        report("Group address index", replayDispatching());
+    }
+}
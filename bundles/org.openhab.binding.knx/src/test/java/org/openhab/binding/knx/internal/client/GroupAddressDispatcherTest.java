@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class GroupAddressDispatcherTest {
+
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA3 = new GroupAddress(1, 2, 5);
+
+    @Test
+    public void testDispatch_onlyToListenersOfDestination() {
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        RecordingListener listener1 = new RecordingListener(GA1, GA2);
+        RecordingListener listener2 = new RecordingListener(GA2);
+
+        assertTrue(dispatcher.register(listener1));
+        assertTrue(dispatcher.register(listener2));
+        assertEquals(2, dispatcher.getGroupAddressCount());
+
+        dispatcher.dispatch(GA1, l -> ((RecordingListener) l).received(1));
+        dispatcher.dispatch(GA2, l -> ((RecordingListener) l).received(2));
+        dispatcher.dispatch(GA3, l -> ((RecordingListener) l).received(3));
+
+        assertEquals(Arrays.asList(1, 2), listener1.telegrams);
+        assertEquals(Collections.singletonList(2), listener2.telegrams);
+    }
+
+    @Test
+    public void testUnregister_stopsDelivery() {
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        RecordingListener listener = new RecordingListener(GA1);
+
+        dispatcher.register(listener);
+        assertTrue(dispatcher.unregister(listener));
+        assertFalse(dispatcher.unregister(listener));
+        assertEquals(0, dispatcher.getGroupAddressCount());
+
+        dispatcher.dispatch(GA1, l -> ((RecordingListener) l).received(1));
+        assertTrue(listener.telegrams.isEmpty());
+    }
+
+    @Test
+    public void testRegister_again_updatesGroupAddresses() {
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        RecordingListener listener = new RecordingListener(GA1);
+
+        assertTrue(dispatcher.register(listener));
+        listener.groupAddresses.clear();
+        listener.groupAddresses.add(GA2);
+        assertFalse(dispatcher.register(listener));
+
+        dispatcher.dispatch(GA1, l -> ((RecordingListener) l).received(1));
+        dispatcher.dispatch(GA2, l -> ((RecordingListener) l).received(2));
+        assertEquals(Collections.singletonList(2), listener.telegrams);
+    }
+
+    @Test
+    public void testDispatch_keepsOrderPerListener() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(executor);
+            RecordingListener listener1 = new RecordingListener(GA1, GA2);
+            RecordingListener listener2 = new RecordingListener(GA2);
+            dispatcher.register(listener1);
+            dispatcher.register(listener2);
+
+            for (int i = 0; i < 10000; i++) {
+                int telegram = i;
+                dispatcher.dispatch(i % 2 == 0 ? GA1 : GA2, l -> ((RecordingListener) l).received(telegram));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((listener1.telegrams.size() < 10000 || listener2.telegrams.size() < 5000)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            List<Integer> all = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+            List<Integer> odd = all.stream().filter(i -> i % 2 == 1).collect(Collectors.toList());
+            assertEquals(all, listener1.telegrams);
+            assertEquals(odd, listener2.telegrams);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests for {@link ReadScheduler}, driven by a manual clock and scheduler.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadSchedulerTest {
+
+    private final List<GroupAddress> sent = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private long now;
+    private long sendLatencyNanos;
+
+    private static class Task {
+        private final Runnable runnable;
+        private final long due;
+        private boolean cancelled;
+
+        private Task(Runnable runnable, long due) {
+            this.runnable = runnable;
+            this.due = due;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            long delay = invocation.getArgument(1);
+            TimeUnit unit = invocation.getArgument(2);
+            Task task = new Task(invocation.getArgument(0), now + unit.toNanos(delay));
+            tasks.add(task);
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            when(future.cancel(anyBoolean())).thenAnswer(i -> {
+                task.cancelled = true;
+                return true;
+            });
+            return future;
+        });
+    }
+
+    private ReadScheduler createReadScheduler(int readingPause, int responseTimeout, int readRetriesLimit) {
+        return new ReadScheduler(scheduler, () -> now, groupAddress -> {
+            sent.add(groupAddress);
+            now += sendLatencyNanos;
+            return true;
+        }, readingPause, responseTimeout, readRetriesLimit);
+    }
+
+    /**
+     * Advance the clock, running all tasks that become due in order
+     */
+    private void advance(long millis) {
+        long target = now + TimeUnit.MILLISECONDS.toNanos(millis);
+        Task next;
+        while ((next = nextDueTask(target)) != null) {
+            tasks.remove(next);
+            now = Math.max(now, next.due);
+            next.runnable.run();
+        }
+        now = Math.max(now, target);
+    }
+
+    private @Nullable Task nextDueTask(long target) {
+        Task next = null;
+        for (Task task : tasks) {
+            if (!task.cancelled && task.due <= target && (next == null || task.due < next.due)) {
+                next = task;
+            }
+        }
+        return next;
+    }
+
+    private static Datapoint datapoint(int sub) {
+        return new CommandDP(new GroupAddress(1, 0, sub), "test", 0, "1.001");
+    }
+
+    @Test
+    public void testReadsInOrderOfPriority() {
+        ReadScheduler readScheduler = createReadScheduler(0, 10, 3);
+        readScheduler.read(datapoint(1), ReadPriority.PERIODIC);
+        readScheduler.read(datapoint(2), ReadPriority.STARTUP);
+        readScheduler.read(datapoint(3), ReadPriority.REFRESH);
+        readScheduler.read(datapoint(4), ReadPriority.STARTUP);
+        assertEquals(2, readScheduler.getQueueDepth(ReadPriority.STARTUP));
+
+        readScheduler.start();
+        advance(0);
+
+        assertEquals(Arrays.asList(new GroupAddress(1, 0, 3), new GroupAddress(1, 0, 2), new GroupAddress(1, 0, 4),
+                new GroupAddress(1, 0, 1)), sent);
+        assertEquals(4, readScheduler.getInFlightCount());
+        readScheduler.stop();
+    }
+
+    @Test
+    public void testDeduplicatesByGroupAddress() {
+        ReadScheduler readScheduler = createReadScheduler(0, 10, 3);
+        readScheduler.read(datapoint(1), ReadPriority.PERIODIC);
+        readScheduler.read(datapoint(2), ReadPriority.PERIODIC);
+        readScheduler.read(datapoint(2), ReadPriority.REFRESH);
+        readScheduler.read(datapoint(1), ReadPriority.PERIODIC);
+        assertEquals(1, readScheduler.getQueueDepth(ReadPriority.PERIODIC));
+        assertEquals(1, readScheduler.getQueueDepth(ReadPriority.REFRESH));
+
+        readScheduler.start();
+        advance(0);
+        assertEquals(Arrays.asList(new GroupAddress(1, 0, 2), new GroupAddress(1, 0, 1)), sent);
+
+        // awaiting the response already
+        readScheduler.read(datapoint(1), ReadPriority.REFRESH);
+        advance(50);
+        assertEquals(2, sent.size());
+        readScheduler.stop();
+    }
+
+    @Test
+    public void testValueOnTheBusAnswersRead() {
+        ReadScheduler readScheduler = createReadScheduler(0, 10, 3);
+        readScheduler.read(datapoint(1), ReadPriority.STARTUP);
+        readScheduler.read(datapoint(2), ReadPriority.STARTUP);
+        readScheduler.valueReceived(new GroupAddress(1, 0, 1));
+        assertEquals(-1, readScheduler.getInitialSyncDuration());
+
+        readScheduler.start();
+        advance(0);
+        assertEquals(Arrays.asList(new GroupAddress(1, 0, 2)), sent);
+
+        advance(30);
+        readScheduler.valueReceived(new GroupAddress(1, 0, 2));
+        assertEquals(0, readScheduler.getInFlightCount());
+        assertEquals(30, readScheduler.getInitialSyncDuration());
+        readScheduler.stop();
+    }
+
+    @Test
+    public void testPeriodicReadsDoNotCountForTheInitialSync() {
+        ReadScheduler readScheduler = createReadScheduler(0, 10, 3);
+        readScheduler.read(datapoint(1), ReadPriority.STARTUP);
+        readScheduler.start();
+        advance(20);
+        readScheduler.read(datapoint(2), ReadPriority.PERIODIC);
+        advance(20);
+
+        readScheduler.valueReceived(new GroupAddress(1, 0, 1));
+        assertEquals(40, readScheduler.getInitialSyncDuration());
+        readScheduler.valueReceived(new GroupAddress(1, 0, 2));
+        assertEquals(40, readScheduler.getInitialSyncDuration());
+        readScheduler.stop();
+    }
+
+    @Test
+    public void testRetriesWithoutResponse() {
+        ReadScheduler readScheduler = createReadScheduler(0, 1, 2);
+        readScheduler.read(datapoint(1), ReadPriority.STARTUP);
+        readScheduler.start();
+
+        advance(999);
+        assertEquals(1, sent.size());
+        advance(1);
+        assertEquals(2, sent.size());
+        assertEquals(1, readScheduler.getInFlightCount());
+
+        advance(5000);
+        assertEquals(2, sent.size());
+        assertEquals(0, readScheduler.getInFlightCount());
+        assertEquals(2000, readScheduler.getInitialSyncDuration());
+        readScheduler.stop();
+    }
+
+    @Test
+    public void testPausesLongerWhenTheLinkIsSlow() {
+        ReadScheduler readScheduler = createReadScheduler(50, 10, 3);
+        sendLatencyNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        readScheduler.read(datapoint(1), ReadPriority.PERIODIC);
+        readScheduler.read(datapoint(2), ReadPriority.PERIODIC);
+        readScheduler.read(datapoint(3), ReadPriority.PERIODIC);
+        readScheduler.start();
+
+        // sent at 0 ms and confirmed at 100 ms, the next one is sent twice the latency later at 300 ms
+        advance(0);
+        assertEquals(1, sent.size());
+        advance(199);
+        assertEquals(1, sent.size());
+        advance(1);
+        assertEquals(2, sent.size());
+
+        sendLatencyNanos = 0;
+        advance(10_000);
+        assertEquals(3, sent.size());
+        readScheduler.stop();
+    }
+
+    @Test
+    public void testStopDropsQueuedReads() {
+        ReadScheduler readScheduler = createReadScheduler(100, 10, 3);
+        readScheduler.read(datapoint(1), ReadPriority.PERIODIC);
+        readScheduler.read(datapoint(2), ReadPriority.PERIODIC);
+        readScheduler.start();
+        advance(0);
+        readScheduler.stop();
+
+        advance(1000);
+        assertEquals(1, sent.size());
+        assertEquals(0, readScheduler.getQueueDepth(ReadPriority.PERIODIC));
+        assertEquals(0, readScheduler.getInFlightCount());
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ * A {@link GroupAddressListener} recording the telegrams it receives.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class RecordingListener implements GroupAddressListener {
+
+    final Set<GroupAddress> groupAddresses = new HashSet<>();
+    final List<Integer> telegrams = new CopyOnWriteArrayList<>();
+
+    RecordingListener(GroupAddress... groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            this.groupAddresses.add(groupAddress);
+        }
+    }
+
+    void received(int telegram) {
+        telegrams.add(telegram);
+    }
+
+    @Override
+    public boolean listensTo(GroupAddress destination) {
+        return groupAddresses.contains(destination);
+    }
+
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return groupAddresses;
+    }
+
+    @Override
+    public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+            byte[] asdu) {
+    }
+
+    @Override
+    public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+            byte[] asdu) {
+    }
+
+    @Override
+    public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+            byte[] asdu) {
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.core.types.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Benchmark decoding the values of the most common datapoint types, once with a translator created per value as the
+ * type mapper used to do, and once through the cached {@link DPTConverter}s. Reports values per second and the
+ * allocated bytes per value. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DPTConverterBenchmarkTest {
+
+    private static final int VALUES = 1_000_000;
+
+    private static final String[] DPT_IDS = { "1.001", "5.001", "9.001", "14.056", "232.600" };
+    private static final byte[][] DATA = { { 1 }, { (byte) 128 }, { 0x0C, 0x1A }, { 0x43, 0x48, 0x00, 0x00 },
+            { 10, 20, 30 } };
+
+    private final Logger logger = LoggerFactory.getLogger(DPTConverterBenchmarkTest.class);
+
+    private final KNXCoreTypeMapper typeMapper = new KNXCoreTypeMapper();
+    private final CommandDP[] datapoints = new CommandDP[DPT_IDS.length];
+
+    public DPTConverterBenchmarkTest() {
+        for (int i = 0; i < DPT_IDS.length; i++) {
+            datapoints[i] = new CommandDP(new GroupAddress(1, 1, i), "benchmark", 0, DPT_IDS[i]);
+        }
+    }
+
+    private int decodeCreatingTranslators() throws KNXException {
+        int checksum = 0;
+        for (int v = 0; v < VALUES; v++) {
+            int i = v % DPT_IDS.length;
+            DPTXlator translator = TranslatorTypes.createTranslator(datapoints[i].getMainNumber(),
+                    datapoints[i].getDPT());
+            translator.setData(DATA[i]);
+            checksum += translator.getValue().length();
+        }
+        return checksum;
+    }
+
+    private int decodeWithConverters() {
+        int checksum = 0;
+        for (int v = 0; v < VALUES; v++) {
+            int i = v % DPT_IDS.length;
+            Type type = typeMapper.toType(datapoints[i], DATA[i]);
+            assertNotNull(type);
+            checksum += type.hashCode();
+        }
+        return checksum;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private void report(String name, long elapsed, long allocated) {
+        logger.info("{}: {} values/s, {} bytes allocated per value", name, VALUES * 1_000_000_000L / elapsed,
+                allocated / VALUES);
+    }
+
+    @Test
+    public void decodeCommonDatapointTypes() throws KNXException {
+        // warm up
+        decodeCreatingTranslators();
+        decodeWithConverters();
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        decodeCreatingTranslators();
+        report("Translator per value", System.nanoTime() - start, allocatedBytes() - allocated);
+
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        decodeWithConverters();
+        report("Cached converters", System.nanoTime() - start, allocatedBytes() - allocated);
+    }
+}
@@ -16,6 +16,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
 
 /**
  *
@@ -29,4 +36,27 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_reusesConverter() throws KNXFormatException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        DPTXlator2ByteFloat translator = new DPTXlator2ByteFloat(DPTXlator2ByteFloat.DPT_TEMPERATURE);
+
+        translator.setValue(21.5);
+        DecimalType value = (DecimalType) mapper.toType(datapoint("9.001"), translator.getData());
+        assertEquals(21.5, value.doubleValue(), 0.01);
+        translator.setValue(-3);
+        value = (DecimalType) mapper.toType(datapoint("9.001"), translator.getData());
+        assertEquals(-3, value.doubleValue(), 0.01);
+
+        assertEquals(OnOffType.ON, mapper.toType(datapoint("1.001"), new byte[] { 1 }));
+        assertEquals(PercentType.HUNDRED, mapper.toType(datapoint("5.001"), new byte[] { (byte) 255 }));
+
+        assertSame(mapper.getConverter("9.001"), new KNXCoreTypeMapper().getConverter("9.001"));
+        assertNull(mapper.getConverter("9999.001"));
+    }
+
+    private static CommandDP datapoint(String dptId) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dptId);
+    }
 }
@@ -18,6 +18,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.sunspec.internal.handler.InverterHandler;
 import org.openhab.binding.modbus.sunspec.internal.handler.MeterHandler;
+import org.openhab.binding.modbus.sunspec.internal.handler.ModelBlockPoller;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
@@ -42,6 +43,11 @@ public class SunSpecHandlerFactory extends BaseThingHandlerFactory {
      */
     private final Logger logger = LoggerFactory.getLogger(SunSpecHandlerFactory.class);
 
+    /**
+     * Poller shared by all handlers, so that contiguous model blocks are read together
+     */
+    private final ModelBlockPoller poller = new ModelBlockPoller();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.containsValue(thingTypeUID);
@@ -55,12 +61,12 @@ public class SunSpecHandlerFactory extends BaseThingHandlerFactory {
                 || thingTypeUID.equals(THING_TYPE_INVERTER_SPLIT_PHASE)
                 || thingTypeUID.equals(THING_TYPE_INVERTER_THREE_PHASE)) {
             logger.debug("New InverterHandler created");
-            return new InverterHandler(thing);
+            return new InverterHandler(thing, poller);
         } else if (thingTypeUID.equals(THING_TYPE_METER_SINGLE_PHASE)
                 || thingTypeUID.equals(THING_TYPE_METER_SPLIT_PHASE) || thingTypeUID.equals(THING_TYPE_METER_WYE_PHASE)
                 || thingTypeUID.equals(THING_TYPE_METER_DELTA_PHASE)) {
             logger.debug("New MeterHandler created");
-            return new MeterHandler(thing);
+            return new MeterHandler(thing, poller);
         }
 
         return null;
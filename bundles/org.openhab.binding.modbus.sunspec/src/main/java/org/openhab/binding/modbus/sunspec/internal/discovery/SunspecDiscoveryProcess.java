@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ObjIntConsumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,6 +34,7 @@ import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
@@ -50,6 +52,10 @@ import org.slf4j.LoggerFactory;
  * It scans trough the defined model items and notifies the
  * discovery service about the discovered devices
  *
+ * The register map is read ahead in chunks as large as a single
+ * request allows, so the headers of a whole model chain are usually
+ * walked with only a few requests.
+ *
  * @author Nagy Attila Gabor - Initial contribution
  */
 @NonNullByDefault
@@ -108,6 +114,16 @@ public class SunspecDiscoveryProcess {
      */
     private @Nullable CommonModelBlock lastCommonBlock = null;
 
+    /**
+     * Registers read ahead from the device
+     */
+    private @Nullable ModbusRegisterArray chunk = null;
+
+    /**
+     * Address of the first register in chunk
+     */
+    private int chunkAddress;
+
     /**
      * Communication interface to the endpoint
      */
@@ -155,22 +171,82 @@ public class SunspecDiscoveryProcess {
         baseAddress = possibleAddresses.poll();
         logger.trace("Beginning scan for SunSpec device at address {}", baseAddress);
 
+        readAhead(baseAddress, SUNSPEC_ID_SIZE, this::headerReceived);
+    }
+
+    /**
+     * Make the given register range available, then continue with the next step
+     *
+     * If the range is not contained in the registers read so far, a new chunk of
+     * registers is read starting at address.
+     *
+     * @param address the first register needed
+     * @param length the number of registers needed
+     * @param next the next step, receiving the chunk and the index of address in it
+     */
+    private void readAhead(int address, int length, ObjIntConsumer<ModbusRegisterArray> next) {
+        ModbusRegisterArray registers = chunk;
+        if (registers != null && address >= chunkAddress && address + length <= chunkAddress + registers.size()) {
+            next.accept(registers, address - chunkAddress);
+            return;
+        }
+        readChunk(address, Math.max(length, ModbusConstants.MAX_REGISTERS_READ_COUNT), length, next);
+    }
+
+    /**
+     * Read a chunk of registers
+     *
+     * Slaves refuse reads reaching past the end of their register map, or answer them
+     * in a way that fails differently (timeouts, short or invalid responses), so when
+     * reading more registers than needed fails in any way, only the needed ones are read.
+     *
+     * @param address the first register to read
+     * @param count the number of registers to read
+     * @param length the number of registers needed
+     * @param next the next step, receiving the chunk and the index of address in it
+     */
+    private void readChunk(int address, int count, int length, ObjIntConsumer<ModbusRegisterArray> next) {
         ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, baseAddress, // Start address
-                SUNSPEC_ID_SIZE, // number or words to return
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, address, // Start address
+                count, // number or words to return
                 maxTries);
 
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::headerReceived),
-                this::handleError);
+        comms.submitOneTimePoll(request, result -> {
+            // Casting to allow orElse(null) below..
+            @Nullable
+            ModbusRegisterArray registers = ((Optional<@Nullable ModbusRegisterArray>) result.getRegisters())
+                    .orElse(null);
+            if (registers != null && registers.size() >= length) {
+                chunk = registers;
+                chunkAddress = address;
+                next.accept(registers, 0);
+            } else if (count > length) {
+                logger.trace("Reading {} registers at address {} returned too few registers, reading {} registers only",
+                        count, address, length);
+                readChunk(address, length, length, next);
+            } else {
+                logger.debug("Short read at address {}, expected at least {} registers, got {}", address, length,
+                        registers == null ? 0 : registers.size());
+                parsingFinished();
+            }
+        }, failure -> {
+            if (count > length) {
+                logger.trace("Reading {} registers at address {} failed ({}), reading {} registers only", count,
+                        address, failure.getCause().getMessage(), length);
+                readChunk(address, length, length, next);
+            } else {
+                handleError(failure);
+            }
+        });
     }
 
     /**
      * We received the first two words, that should equal to SunS
      */
-    private void headerReceived(ModbusRegisterArray registers) {
+    private void headerReceived(ModbusRegisterArray registers, int offset) {
         logger.trace("Received response from device {}", registers.toString());
 
-        Optional<DecimalType> id = ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT32);
+        Optional<DecimalType> id = ModbusBitUtilities.extractStateFromRegisters(registers, offset, ValueType.UINT32);
 
         if (!id.isPresent() || id.get().longValue() != SUNSPEC_ID) {
             logger.debug("Could not find SunSpec DID at address {}, received: {}, expected: {}", baseAddress, id,
@@ -189,24 +265,18 @@ public class SunspecDiscoveryProcess {
      * Look for a valid model block at the current base address
      */
     private void lookForModelBlock() {
-
-        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, baseAddress, // Start address
-                MODEL_HEADER_SIZE, // number or words to return
-                maxTries);
-
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::modelBlockReceived),
-                this::handleError);
+        readAhead(baseAddress, MODEL_HEADER_SIZE, this::modelBlockReceived);
     }
 
     /**
      * We received a model block header
      */
-    private void modelBlockReceived(ModbusRegisterArray registers) {
-        logger.debug("Received response from device {}", registers.toString());
+    private void modelBlockReceived(ModbusRegisterArray registers, int offset) {
+        logger.debug("Received model block header at address {}", baseAddress);
 
-        Optional<DecimalType> moduleID = ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT16);
-        Optional<DecimalType> blockLength = ModbusBitUtilities.extractStateFromRegisters(registers, 1,
+        Optional<DecimalType> moduleID = ModbusBitUtilities.extractStateFromRegisters(registers, offset,
+                ValueType.UINT16);
+        Optional<DecimalType> blockLength = ModbusBitUtilities.extractStateFromRegisters(registers, offset + 1,
                 ValueType.UINT16);
 
         if (!moduleID.isPresent() || !blockLength.isPresent()) {
@@ -243,13 +313,7 @@ public class SunspecDiscoveryProcess {
      * @param block
      */
     private void readCommonBlock(ModelBlock block) {
-        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, block.address, // Start address
-                block.length, // number or words to return
-                maxTries);
-
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::parseCommonBlock),
-                this::handleError);
+        readAhead(block.address, block.length, this::parseCommonBlock);
     }
 
     /**
@@ -257,10 +321,13 @@ public class SunspecDiscoveryProcess {
      * store for later use
      *
      * @param registers
+     * @param offset the index of the common block in registers
      */
-    private void parseCommonBlock(ModbusRegisterArray registers) {
-        logger.trace("Got common block data: {}", registers);
-        lastCommonBlock = commonBlockParser.parse(registers);
+    private void parseCommonBlock(ModbusRegisterArray registers, int offset) {
+        logger.trace("Got common block data at offset {}: {}", offset, registers);
+        CommonModelBlock commonBlock = new CommonModelBlock();
+        commonBlockParser.parse(registers, offset, commonBlock);
+        lastCommonBlock = commonBlock;
         lookForModelBlock(); // Continue parsing
     }
 
@@ -28,10 +28,8 @@ import org.openhab.binding.modbus.sunspec.internal.SunSpecConfiguration;
 import org.openhab.binding.modbus.sunspec.internal.dto.ModelBlock;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
-import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
-import org.openhab.core.io.transport.modbus.PollTask;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
@@ -53,7 +51,7 @@ import org.slf4j.LoggerFactory;
  *
  * - loads the configuration either from the configuration file or
  * from the properties that have been set by the auto discovery
- * - sets up a regular poller to the device
+ * - sets up a regular poller to the device, shared with the other sunspec things of the endpoint
  * - handles incoming messages from the device:
  * - common properties are parsed and published
  * - other values are submitted to child implementations
@@ -76,9 +74,14 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
     protected @Nullable SunSpecConfiguration config = null;
 
     /**
-     * This is the task used to poll the device
+     * Poller shared by all sunspec things, reading contiguous model blocks together
      */
-    private volatile @Nullable PollTask pollTask = null;
+    private final ModelBlockPoller poller;
+
+    /**
+     * This is the registration of our model block at the poller
+     */
+    private volatile @Nullable ModelBlockPoller.Registration pollTask = null;
 
     /**
      * Communication interface to the slave endpoint we're connecting to
@@ -94,10 +97,11 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
      * Instances of this handler should get a reference to the modbus manager
      *
      * @param thing the thing to handle
-     * @param managerRef the modbus manager
+     * @param poller the poller shared by the sunspec things
      */
-    public AbstractSunSpecHandler(Thing thing) {
+    public AbstractSunSpecHandler(Thing thing, ModelBlockPoller poller) {
         super(thing);
+        this.poller = poller;
     }
 
     /**
@@ -329,23 +333,23 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
 
         logger.debug("Setting up regular polling");
 
-        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(getSlaveId(),
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, mainBlock.address, mainBlock.length, myconfig.maxTries);
-
-        long refreshMillis = myconfig.getRefreshMillis();
-        pollTask = mycomms.registerRegularPoll(request, refreshMillis, 1000, result -> {
-            result.getRegisters().ifPresent(this::handlePolledData);
-            if (getThing().getStatus() != ThingStatus.ONLINE) {
-                updateStatus(ThingStatus.ONLINE);
-            }
-        }, this::handleError);
+        pollTask = poller.register(mycomms, getSlaveId(), mainBlock.address, mainBlock.length,
+                myconfig.getRefreshMillis(), myconfig.maxTries, (registers, offset) -> {
+                    handlePolledData(registers, offset);
+                    if (getThing().getStatus() != ThingStatus.ONLINE) {
+                        updateStatus(ThingStatus.ONLINE);
+                    }
+                }, this::handleError);
     }
 
     /**
      * This method should handle incoming poll data, and update the channels
      * with the values received
+     *
+     * @param registers the registers read, possibly containing other model blocks as well
+     * @param offset the index of the first register of our model block in registers
      */
-    protected abstract void handlePolledData(ModbusRegisterArray registers);
+    protected abstract void handlePolledData(ModbusRegisterArray registers, int offset);
 
     @Override
     public void bridgeStatusChanged(ThingStatusInfo bridgeStatusInfo) {
@@ -366,16 +370,12 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
      */
     private synchronized void unregisterPollTask() {
         @Nullable
-        PollTask task = pollTask;
+        ModelBlockPoller.Registration task = pollTask;
         if (task == null) {
             return;
         }
         logger.debug("Unregistering polling from ModbusManager");
-        @Nullable
-        ModbusCommunicationInterface mycomms = comms;
-        if (mycomms != null) {
-            mycomms.unregisterRegularPoll(task);
-        }
+        poller.unregister(task);
         pollTask = null;
     }
 
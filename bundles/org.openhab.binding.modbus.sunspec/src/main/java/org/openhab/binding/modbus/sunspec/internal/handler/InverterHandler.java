@@ -43,13 +43,18 @@ public class InverterHandler extends AbstractSunSpecHandler {
      */
     private final InverterModelParser parser = new InverterModelParser();
 
+    /**
+     * Model block updated in place on every poll
+     */
+    private final InverterModelBlock block = new InverterModelBlock();
+
     /**
      * Logger instance
      */
     private final Logger logger = LoggerFactory.getLogger(InverterHandler.class);
 
-    public InverterHandler(Thing thing) {
-        super(thing);
+    public InverterHandler(Thing thing, ModelBlockPoller poller) {
+        super(thing, poller);
     }
 
     /**
@@ -58,12 +63,13 @@ public class InverterHandler extends AbstractSunSpecHandler {
      * to the new values
      *
      * @param registers byte array read from the modbus slave
+     * @param offset the index of the first register of the model block in registers
      */
     @Override
-    protected void handlePolledData(ModbusRegisterArray registers) {
-        logger.trace("Model block received, size: {}", registers.size());
+    protected void handlePolledData(ModbusRegisterArray registers, int offset) {
+        logger.trace("Model block received, size: {}, offset: {}", registers.size(), offset);
 
-        InverterModelBlock block = parser.parse(registers);
+        parser.parse(registers, offset, block);
 
         // Device information group
         updateState(channelUID(GROUP_DEVICE_INFO, CHANNEL_CABINET_TEMPERATURE),
@@ -37,23 +37,28 @@ public class MeterHandler extends AbstractSunSpecHandler {
      */
     private final MeterModelParser parser = new MeterModelParser();
 
+    /**
+     * Model block updated in place on every poll
+     */
+    private final MeterModelBlock block = new MeterModelBlock();
+
     /**
      * Logger instance
      */
     private final Logger logger = LoggerFactory.getLogger(MeterHandler.class);
 
-    public MeterHandler(Thing thing) {
-        super(thing);
+    public MeterHandler(Thing thing, ModelBlockPoller poller) {
+        super(thing, poller);
     }
 
     /**
      * Receive polled data, parse then update states
      */
     @Override
-    protected void handlePolledData(ModbusRegisterArray registers) {
-        logger.trace("Model block received, size: {}", registers.size());
+    protected void handlePolledData(ModbusRegisterArray registers, int offset) {
+        logger.trace("Model block received, size: {}, offset: {}", registers.size(), offset);
 
-        MeterModelBlock block = parser.parse(registers);
+        parser.parse(registers, offset, block);
 
         // AC General group
         updateTotalValues(block);
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.handler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModelBlockPoller} polls the model blocks of all sunspec things
+ *
+ * Model blocks of the same slave that are polled with the same settings and
+ * follow each other without a gap are read in a single transaction, as long
+ * as the merged read fits into one request. Every block is handed to its
+ * thing as the merged register array together with the offset of the block,
+ * so no copying is needed.
+ *
+ * This is useful on gateways with many devices, where the blocks of the
+ * devices usually follow each other in the register map.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModelBlockPoller {
+
+    /**
+     * Callback receiving the polled data of a single model block
+     */
+    @FunctionalInterface
+    public interface BlockCallback {
+
+        /**
+         * Handle the polled data
+         *
+         * @param registers the registers read, possibly containing other blocks as well
+         * @param offset the index of the first register of the block in registers
+         */
+        void handle(ModbusRegisterArray registers, int offset);
+    }
+
+    /**
+     * A model block registered for polling
+     */
+    public static class Registration {
+        private final PollGroup group;
+        private final int address;
+        private final int length;
+        private final BlockCallback callback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(PollGroup group, int address, int length, BlockCallback callback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.group = group;
+            this.address = address;
+            this.length = length;
+            this.callback = callback;
+            this.failureCallback = failureCallback;
+        }
+
+        private int end() {
+            return address + length;
+        }
+    }
+
+    /**
+     * Blocks that may be read together: same endpoint, slave, refresh and retry settings
+     */
+    private static class PollGroup {
+        private final ModbusCommunicationInterface comms;
+        private final int slaveId;
+        private final long refreshMillis;
+        private final int maxTries;
+
+        private PollGroup(ModbusCommunicationInterface comms, int slaveId, long refreshMillis, int maxTries) {
+            this.comms = comms;
+            this.slaveId = slaveId;
+            this.refreshMillis = refreshMillis;
+            this.maxTries = maxTries;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(comms), slaveId, refreshMillis, maxTries);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            PollGroup other = (PollGroup) obj;
+            return comms == other.comms && slaveId == other.slaveId && refreshMillis == other.refreshMillis
+                    && maxTries == other.maxTries;
+        }
+    }
+
+    /**
+     * Delay of the first poll after (re)planning a group
+     */
+    private static final long INITIAL_DELAY_MILLIS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(ModelBlockPoller.class);
+
+    private final Map<PollGroup, List<Registration>> registrations = new HashMap<>();
+
+    private final Map<PollGroup, List<PollTask>> pollTasks = new HashMap<>();
+
+    /**
+     * Register a model block for regular polling
+     *
+     * @param comms the communication interface of the endpoint
+     * @param slaveId the slave id of the endpoint
+     * @param address the address of the model block
+     * @param length the length of the model block, including its header
+     * @param refreshMillis the poll period
+     * @param maxTries the maximum number of tries of a read
+     * @param callback called with the polled data
+     * @param failureCallback called on read errors
+     * @return the registration, to be passed to {@link #unregister(Registration)}
+     */
+    public synchronized Registration register(ModbusCommunicationInterface comms, int slaveId, int address,
+            int length, long refreshMillis, int maxTries, BlockCallback callback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        PollGroup group = new PollGroup(comms, slaveId, refreshMillis, maxTries);
+        Registration registration = new Registration(group, address, length, callback, failureCallback);
+        registrations.computeIfAbsent(group, g -> new ArrayList<>()).add(registration);
+        replan(group);
+        return registration;
+    }
+
+    /**
+     * Stop polling a model block. The remaining blocks of the same group are replanned.
+     *
+     * @param registration the registration returned by register
+     */
+    public synchronized void unregister(Registration registration) {
+        PollGroup group = registration.group;
+        List<Registration> members = registrations.get(group);
+        if (members == null || !members.remove(registration)) {
+            return;
+        }
+        if (members.isEmpty()) {
+            registrations.remove(group);
+        }
+        replan(group);
+    }
+
+    /**
+     * Replace the poll tasks of a group with merged reads of its current blocks
+     */
+    private void replan(PollGroup group) {
+        List<PollTask> oldTasks = pollTasks.remove(group);
+        if (oldTasks != null) {
+            oldTasks.forEach(group.comms::unregisterRegularPoll);
+        }
+
+        List<Registration> members = registrations.get(group);
+        if (members == null) {
+            return;
+        }
+        List<Registration> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparingInt(r -> r.address));
+
+        List<PollTask> tasks = new ArrayList<>();
+        List<Registration> run = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Registration registration : sorted) {
+            if (!run.isEmpty() && registration.address <= end
+                    && Math.max(end, registration.end()) - start <= ModbusConstants.MAX_REGISTERS_READ_COUNT) {
+                run.add(registration);
+                end = Math.max(end, registration.end());
+                continue;
+            }
+            if (!run.isEmpty()) {
+                tasks.add(registerRun(group, start, end - start, run));
+            }
+            run = new ArrayList<>();
+            run.add(registration);
+            start = registration.address;
+            end = registration.end();
+        }
+        if (!run.isEmpty()) {
+            tasks.add(registerRun(group, start, end - start, run));
+        }
+        pollTasks.put(group, tasks);
+        logger.debug("Polling {} model blocks of slave {} with {} reads", sorted.size(), group.slaveId, tasks.size());
+    }
+
+    /**
+     * Register a single read covering the given blocks
+     */
+    private PollTask registerRun(PollGroup group, int start, int length, List<Registration> run) {
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(group.slaveId,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, group.maxTries);
+        return group.comms.registerRegularPoll(request, group.refreshMillis, INITIAL_DELAY_MILLIS,
+                result -> result.getRegisters().ifPresent(registers -> {
+                    for (Registration registration : run) {
+                        registration.callback.handle(registers, registration.address - start);
+                    }
+                }), failure -> {
+                    for (Registration registration : run) {
+                        registration.failureCallback.handle(failure);
+                    }
+                });
+    }
+}
@@ -15,14 +15,13 @@ package org.openhab.binding.modbus.sunspec.internal.parser;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
-import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
-import org.openhab.core.library.types.DecimalType;
 
 /**
  * Base class for parsers with some helper methods
  *
+ * The helpers read the registers directly, as they are called for every field of every polled block.
+ *
  * @author Nagy Attila Gabor - Initial contribution
  *
  */
@@ -37,8 +36,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Short> extractOptionalInt16(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT16).map(DecimalType::shortValue)
-                .filter(value -> value != (short) 0x8000);
+        short value = (short) register(raw, index, 1);
+        return value == (short) 0x8000 ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -61,8 +60,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Integer> extractOptionalUInt16(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.UINT16).map(DecimalType::intValue)
-                .filter(value -> value != 0xffff);
+        int value = register(raw, index, 1);
+        return value == 0xffff ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -85,8 +84,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Long> extractOptionalAcc32(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT32).map(DecimalType::longValue)
-                .filter(value -> value != 0);
+        long value = (register(raw, index, 2) << 16) | raw.getRegister(index + 1);
+        return value == 0 ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -109,8 +108,7 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Short> extractOptionalSunSSF(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT16).map(DecimalType::shortValue)
-                .filter(value -> value != (short) 0x8000);
+        return extractOptionalInt16(raw, index);
     }
 
     /**
@@ -123,4 +121,20 @@ public class AbstractBaseParser {
     protected Short extractSunSSF(ModbusRegisterArray raw, int index) {
         return extractOptionalSunSSF(raw, index).orElse((short) 0);
     }
+
+    /**
+     * Read a single unsigned register after checking that the field fits into the array
+     *
+     * @param raw the register array to extract from
+     * @param index the address of the field
+     * @param size the number of registers of the field
+     * @return the unsigned value of the register at index
+     */
+    private int register(ModbusRegisterArray raw, int index, int size) {
+        if (index < 0 || index + size > raw.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Index=%d with size=%d is out-of-bounds given registers of size %d", index, size, raw.size()));
+        }
+        return raw.getRegister(index);
+    }
 }
@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.modbus.sunspec.internal.parser;
 
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.modbus.sunspec.internal.SunSpecConstants;
@@ -38,27 +38,33 @@ public class CommonModelParser extends AbstractBaseParser implements SunspecPars
 
     @Override
     public CommonModelBlock parse(ModbusRegisterArray raw) {
-
         CommonModelBlock block = new CommonModelBlock();
+        parse(raw, 0, block);
+        return block;
+    }
 
-        block.sunSpecDID = extractUInt16(raw, 0, 0);
+    @Override
+    public void parse(ModbusRegisterArray raw, int offset, CommonModelBlock block) {
+        int available = raw.size() - offset;
 
-        block.length = extractUInt16(raw, 1, raw.size() - SunSpecConstants.MODEL_HEADER_SIZE);
+        block.sunSpecDID = extractUInt16(raw, offset, 0);
 
-        if (block.length + SunSpecConstants.MODEL_HEADER_SIZE != raw.size()) {
+        block.length = extractUInt16(raw, offset + 1, available - SunSpecConstants.MODEL_HEADER_SIZE);
+
+        if (block.length + SunSpecConstants.MODEL_HEADER_SIZE > available) {
             logger.warn("Short read on common block loding. Expected size: {}, got: {}",
-                    block.length + SunSpecConstants.MODEL_HEADER_SIZE, raw.size());
-            return block;
+                    block.length + SunSpecConstants.MODEL_HEADER_SIZE, available);
+            return;
         }
 
         // parse manufacturer, model and version
-        block.manufacturer = ModbusBitUtilities.extractStringFromRegisters(raw, 2, 32, Charset.forName("UTF-8"));
-        block.model = ModbusBitUtilities.extractStringFromRegisters(raw, 18, 32, Charset.forName("UTF-8"));
-        block.version = ModbusBitUtilities.extractStringFromRegisters(raw, 42, 16, Charset.forName("UTF-8"));
-        block.serialNumber = ModbusBitUtilities.extractStringFromRegisters(raw, 50, 32, Charset.forName("UTF-8"));
-
-        block.deviceAddress = extractUInt16(raw, 66, 1);
+        block.manufacturer = ModbusBitUtilities.extractStringFromRegisters(raw, offset + 2, 32,
+                StandardCharsets.UTF_8);
+        block.model = ModbusBitUtilities.extractStringFromRegisters(raw, offset + 18, 32, StandardCharsets.UTF_8);
+        block.version = ModbusBitUtilities.extractStringFromRegisters(raw, offset + 42, 16, StandardCharsets.UTF_8);
+        block.serialNumber = ModbusBitUtilities.extractStringFromRegisters(raw, offset + 50, 32,
+                StandardCharsets.UTF_8);
 
-        return block;
+        block.deviceAddress = extractUInt16(raw, offset + 66, 1);
     }
 }
@@ -29,51 +29,54 @@ public class InverterModelParser extends AbstractBaseParser implements SunspecPa
     @Override
     public InverterModelBlock parse(ModbusRegisterArray raw) {
         InverterModelBlock block = new InverterModelBlock();
+        parse(raw, 0, block);
+        return block;
+    }
 
-        block.phaseConfiguration = extractUInt16(raw, 0, SunSpecConstants.INVERTER_SINGLE_PHASE);
-        block.length = extractUInt16(raw, 1, raw.size());
-        block.acCurrentTotal = extractUInt16(raw, 2, 0);
-        block.acCurrentPhaseA = extractUInt16(raw, 3, 0);
-        block.acCurrentPhaseB = extractOptionalUInt16(raw, 4);
-        block.acCurrentPhaseC = extractOptionalUInt16(raw, 5);
-        block.acCurrentSF = extractSunSSF(raw, 6);
-
-        block.acVoltageAB = extractOptionalUInt16(raw, 7);
-        block.acVoltageBC = extractOptionalUInt16(raw, 8);
-        block.acVoltageCA = extractOptionalUInt16(raw, 9);
-        block.acVoltageAtoN = extractUInt16(raw, 10, 0);
-        block.acVoltageBtoN = extractOptionalUInt16(raw, 11);
-        block.acVoltageCtoN = extractOptionalUInt16(raw, 12);
-        block.acVoltageSF = extractSunSSF(raw, 13);
+    @Override
+    public void parse(ModbusRegisterArray raw, int offset, InverterModelBlock block) {
+        block.phaseConfiguration = extractUInt16(raw, offset, SunSpecConstants.INVERTER_SINGLE_PHASE);
+        block.length = extractUInt16(raw, offset + 1, raw.size() - offset);
+        block.acCurrentTotal = extractUInt16(raw, offset + 2, 0);
+        block.acCurrentPhaseA = extractUInt16(raw, offset + 3, 0);
+        block.acCurrentPhaseB = extractOptionalUInt16(raw, offset + 4);
+        block.acCurrentPhaseC = extractOptionalUInt16(raw, offset + 5);
+        block.acCurrentSF = extractSunSSF(raw, offset + 6);
 
-        block.acPower = extractInt16(raw, 14, (short) 0);
-        block.acPowerSF = extractSunSSF(raw, 15);
-        block.acFrequency = extractUInt16(raw, 16, 0);
-        block.acFrequencySF = extractSunSSF(raw, 17);
-        block.acApparentPower = extractOptionalInt16(raw, 18);
-        block.acApparentPowerSF = extractOptionalSunSSF(raw, 19);
-        block.acReactivePower = extractOptionalInt16(raw, 20);
-        block.acReactivePowerSF = extractOptionalSunSSF(raw, 21);
-        block.acPowerFactor = extractOptionalInt16(raw, 22);
-        block.acPowerFactorSF = extractOptionalSunSSF(raw, 23);
-        block.acEnergyLifetime = extractAcc32(raw, 24, 0);
-        block.acEnergyLifetimeSF = extractSunSSF(raw, 26);
+        block.acVoltageAB = extractOptionalUInt16(raw, offset + 7);
+        block.acVoltageBC = extractOptionalUInt16(raw, offset + 8);
+        block.acVoltageCA = extractOptionalUInt16(raw, offset + 9);
+        block.acVoltageAtoN = extractUInt16(raw, offset + 10, 0);
+        block.acVoltageBtoN = extractOptionalUInt16(raw, offset + 11);
+        block.acVoltageCtoN = extractOptionalUInt16(raw, offset + 12);
+        block.acVoltageSF = extractSunSSF(raw, offset + 13);
 
-        block.dcCurrent = extractOptionalUInt16(raw, 27);
-        block.dcCurrentSF = extractOptionalSunSSF(raw, 28);
-        block.dcVoltage = extractOptionalUInt16(raw, 29);
-        block.dcVoltageSF = extractOptionalSunSSF(raw, 30);
-        block.dcPower = extractOptionalInt16(raw, 31);
-        block.dcPowerSF = extractOptionalSunSSF(raw, 32);
+        block.acPower = extractInt16(raw, offset + 14, (short) 0);
+        block.acPowerSF = extractSunSSF(raw, offset + 15);
+        block.acFrequency = extractUInt16(raw, offset + 16, 0);
+        block.acFrequencySF = extractSunSSF(raw, offset + 17);
+        block.acApparentPower = extractOptionalInt16(raw, offset + 18);
+        block.acApparentPowerSF = extractOptionalSunSSF(raw, offset + 19);
+        block.acReactivePower = extractOptionalInt16(raw, offset + 20);
+        block.acReactivePowerSF = extractOptionalSunSSF(raw, offset + 21);
+        block.acPowerFactor = extractOptionalInt16(raw, offset + 22);
+        block.acPowerFactorSF = extractOptionalSunSSF(raw, offset + 23);
+        block.acEnergyLifetime = extractAcc32(raw, offset + 24, 0);
+        block.acEnergyLifetimeSF = extractSunSSF(raw, offset + 26);
 
-        block.temperatureCabinet = extractInt16(raw, 33, (short) 0);
-        block.temperatureHeatsink = extractOptionalInt16(raw, 34);
-        block.temperatureTransformer = extractOptionalInt16(raw, 35);
-        block.temperatureOther = extractOptionalInt16(raw, 36);
-        block.temperatureSF = extractSunSSF(raw, 37);
-        block.status = extractUInt16(raw, 38, 1);
-        block.statusVendor = extractOptionalUInt16(raw, 39);
+        block.dcCurrent = extractOptionalUInt16(raw, offset + 27);
+        block.dcCurrentSF = extractOptionalSunSSF(raw, offset + 28);
+        block.dcVoltage = extractOptionalUInt16(raw, offset + 29);
+        block.dcVoltageSF = extractOptionalSunSSF(raw, offset + 30);
+        block.dcPower = extractOptionalInt16(raw, offset + 31);
+        block.dcPowerSF = extractOptionalSunSSF(raw, offset + 32);
 
-        return block;
+        block.temperatureCabinet = extractInt16(raw, offset + 33, (short) 0);
+        block.temperatureHeatsink = extractOptionalInt16(raw, offset + 34);
+        block.temperatureTransformer = extractOptionalInt16(raw, offset + 35);
+        block.temperatureOther = extractOptionalInt16(raw, offset + 36);
+        block.temperatureSF = extractSunSSF(raw, offset + 37);
+        block.status = extractUInt16(raw, offset + 38, 1);
+        block.statusVendor = extractOptionalUInt16(raw, offset + 39);
     }
 }
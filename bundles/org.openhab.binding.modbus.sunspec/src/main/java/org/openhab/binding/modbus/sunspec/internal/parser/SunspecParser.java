@@ -39,4 +39,15 @@ public interface SunspecParser<T> {
      * return a not-null sunspec block
      */
     T parse(ModbusRegisterArray raw);
+
+    /**
+     * This method should parse the block starting at the given offset of an
+     * incoming register array into an existing sunspec block, so that the same
+     * block instance can be updated on every poll
+     *
+     * @param raw the register array to parse
+     * @param offset the index of the first register of the block in raw
+     * @param block the block to update
+     */
+    void parse(ModbusRegisterArray raw, int offset, T block);
 }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.handler;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModelBlockPollerTest {
+
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private final ModelBlockPoller poller = new ModelBlockPoller();
+    private final List<String> received = new ArrayList<>();
+
+    public ModelBlockPollerTest() {
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+    }
+
+    private ModelBlockPoller.Registration register(String name, int address, int length, long refreshMillis,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return poller.register(comms, 1, address, length, refreshMillis, 3,
+                (registers, offset) -> received.add(name + "@" + offset + "=" + registers.getRegister(offset)),
+                failureCallback);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback() {
+        return mock(ModbusFailureCallback.class);
+    }
+
+    @Test
+    public void testAdjacentBlocksAreReadTogether() {
+        register("common", 40002, 68, 1000, failureCallback());
+        register("inverter", 40070, 52, 1000, failureCallback());
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requestCaptor = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callbackCaptor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, times(2)).registerRegularPoll(requestCaptor.capture(), eq(1000L), anyLong(),
+                callbackCaptor.capture(), any());
+        verify(comms, times(1)).unregisterRegularPoll(any());
+        ModbusReadRequestBlueprint request = requestCaptor.getValue();
+        assertThat(request.getReference(), is(equalTo(40002)));
+        assertThat(request.getDataLength(), is(equalTo(120)));
+
+        int[] registers = new int[120];
+        registers[0] = 1;
+        registers[68] = 101;
+        callbackCaptor.getValue().handle(new AsyncModbusReadResult(request, new ModbusRegisterArray(registers)));
+        assertThat(received, is(equalTo(List.of("common@0=1", "inverter@68=101"))));
+    }
+
+    @Test
+    public void testBlocksWithGapOrDifferentRefreshAreReadSeparately() {
+        register("first", 40000, 52, 1000, failureCallback());
+        register("gap", 40060, 52, 1000, failureCallback());
+        register("slower", 40052, 8, 5000, failureCallback());
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requestCaptor = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, times(4)).registerRegularPoll(requestCaptor.capture(), anyLong(), anyLong(), any(), any());
+        // the second registration replans the group of the first one, both blocks are read separately
+        List<ModbusReadRequestBlueprint> requests = requestCaptor.getAllValues();
+        assertThat(requests.get(1).getDataLength(), is(equalTo(52)));
+        assertThat(requests.get(2).getDataLength(), is(equalTo(52)));
+        assertThat(requests.get(3).getReference(), is(equalTo(40052)));
+    }
+
+    @Test
+    public void testMergedReadIsLimitedToOneRequest() {
+        register("first", 40000, 70, 1000, failureCallback());
+        register("second", 40070, 70, 1000, failureCallback());
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requestCaptor = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, times(3)).registerRegularPoll(requestCaptor.capture(), anyLong(), anyLong(), any(), any());
+        assertThat(requestCaptor.getValue().getDataLength(), is(equalTo(70)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFailuresAreFannedOutAndUnregisterReplans() {
+        ModbusFailureCallback<ModbusReadRequestBlueprint> firstFailure = failureCallback();
+        ModbusFailureCallback<ModbusReadRequestBlueprint> secondFailure = failureCallback();
+        ModelBlockPoller.Registration first = register("first", 40000, 10, 1000, firstFailure);
+        register("second", 40010, 10, 1000, secondFailure);
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requestCaptor = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCaptor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, times(2)).registerRegularPoll(requestCaptor.capture(), anyLong(), anyLong(), any(),
+                failureCaptor.capture());
+        AsyncModbusFailure<ModbusReadRequestBlueprint> failure = new AsyncModbusFailure<>(requestCaptor.getValue(),
+                new Exception("failed"));
+        failureCaptor.getValue().handle(failure);
+        verify(firstFailure).handle(failure);
+        verify(secondFailure).handle(failure);
+
+        poller.unregister(first);
+        verify(comms, times(3)).registerRegularPoll(requestCaptor.capture(), anyLong(), anyLong(), any(), any());
+        assertThat(requestCaptor.getValue().getReference(), is(equalTo(40010)));
+        assertThat(requestCaptor.getValue().getDataLength(), is(equalTo(10)));
+        verify(comms, times(2)).unregisterRegularPoll(any());
+
+        // unregistering twice is a no-op
+        poller.unregister(first);
+        verify(comms, times(3)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.parser;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.sunspec.internal.dto.CommonModelBlock;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommonModelParserTest {
+
+    private static final int BLOCK_SIZE = 68;
+
+    private final CommonModelParser parser = new CommonModelParser();
+
+    /**
+     * Common block with the given fields, preceded by padding registers
+     */
+    private static ModbusRegisterArray commonBlock(int padding, String manufacturer, String serialNumber) {
+        int[] registers = new int[padding + BLOCK_SIZE];
+        for (int i = 0; i < padding; i++) {
+            registers[i] = 0x1234;
+        }
+        registers[padding] = 1;
+        registers[padding + 1] = BLOCK_SIZE - 2;
+        putString(registers, padding + 2, 16, manufacturer);
+        putString(registers, padding + 18, 16, "Model");
+        putString(registers, padding + 42, 8, "1.2");
+        putString(registers, padding + 50, 16, serialNumber);
+        registers[padding + 66] = 7;
+        return new ModbusRegisterArray(registers);
+    }
+
+    private static void putString(int[] registers, int index, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < length; i++) {
+            int high = 2 * i < bytes.length ? bytes[2 * i] & 0xff : 0;
+            int low = 2 * i + 1 < bytes.length ? bytes[2 * i + 1] & 0xff : 0;
+            registers[index + i] = (high << 8) | low;
+        }
+    }
+
+    @Test
+    public void testParseAtOffsetZero() {
+        CommonModelBlock block = parser.parse(commonBlock(0, "ACME", "SN1"));
+
+        assertThat(block.sunSpecDID, is(equalTo(1)));
+        assertThat(block.length, is(equalTo(66)));
+        assertThat(block.manufacturer, is(equalTo("ACME")));
+        assertThat(block.model, is(equalTo("Model")));
+        assertThat(block.version, is(equalTo("1.2")));
+        assertThat(block.serialNumber, is(equalTo("SN1")));
+        assertThat(block.deviceAddress, is(equalTo(7)));
+    }
+
+    @Test
+    public void testParseAtOffsetReadsTheSameFields() {
+        CommonModelBlock block = new CommonModelBlock();
+        parser.parse(commonBlock(40, "ACME", "SN1"), 40, block);
+
+        assertThat(block.sunSpecDID, is(equalTo(1)));
+        assertThat(block.length, is(equalTo(66)));
+        assertThat(block.manufacturer, is(equalTo("ACME")));
+        assertThat(block.serialNumber, is(equalTo("SN1")));
+        assertThat(block.deviceAddress, is(equalTo(7)));
+    }
+
+    @Test
+    public void testParseUpdatesExistingBlock() {
+        CommonModelBlock block = new CommonModelBlock();
+        parser.parse(commonBlock(2, "ACME", "SN1"), 2, block);
+        parser.parse(commonBlock(5, "Other", "SN2"), 5, block);
+
+        assertThat(block.manufacturer, is(equalTo("Other")));
+        assertThat(block.serialNumber, is(equalTo("SN2")));
+    }
+
+    @Test
+    public void testShortBlockAtOffsetKeepsHeaderOnly() {
+        ModbusRegisterArray full = commonBlock(10, "ACME", "SN1");
+        int[] registers = new int[40];
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = full.getRegister(i);
+        }
+        CommonModelBlock block = new CommonModelBlock();
+        parser.parse(new ModbusRegisterArray(registers), 10, block);
+
+        assertThat(block.sunSpecDID, is(equalTo(1)));
+        assertThat(block.manufacturer, is(equalTo("")));
+    }
+}
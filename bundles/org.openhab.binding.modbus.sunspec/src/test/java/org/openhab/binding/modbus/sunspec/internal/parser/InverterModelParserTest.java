@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.parser;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.sunspec.internal.dto.InverterModelBlock;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InverterModelParserTest {
+
+    private static final int BLOCK_SIZE = 52;
+
+    private final InverterModelParser parser = new InverterModelParser();
+
+    /**
+     * Single phase inverter block, preceded and followed by other registers
+     */
+    private static ModbusRegisterArray inverterBlock(int padding, int acPower) {
+        int[] registers = new int[padding + BLOCK_SIZE + 10];
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = 0xffff;
+        }
+        registers[padding] = 101;
+        registers[padding + 1] = BLOCK_SIZE - 2;
+        registers[padding + 2] = 42; // total current
+        registers[padding + 3] = 42; // phase A current
+        registers[padding + 6] = 0xfffe; // current scale factor -2
+        registers[padding + 10] = 2301; // phase A voltage
+        registers[padding + 13] = 0xffff; // voltage scale factor -1
+        registers[padding + 14] = acPower & 0xffff;
+        registers[padding + 15] = 0;
+        registers[padding + 24] = 0x0001; // lifetime energy, high word
+        registers[padding + 25] = 0x0002; // lifetime energy, low word
+        registers[padding + 26] = 0;
+        registers[padding + 38] = 4; // status
+        return new ModbusRegisterArray(registers);
+    }
+
+    @Test
+    public void testParseAtOffsetZero() {
+        InverterModelBlock block = parser.parse(inverterBlock(0, 1500));
+
+        assertThat(block.phaseConfiguration, is(equalTo(101)));
+        assertThat(block.length, is(equalTo(50)));
+        assertThat(block.acCurrentTotal, is(equalTo(42)));
+        assertThat(block.acCurrentSF, is(equalTo((short) -2)));
+        assertThat(block.acCurrentPhaseB, is(equalTo(Optional.empty())));
+        assertThat(block.acVoltageAtoN, is(equalTo(2301)));
+        assertThat(block.acPower, is(equalTo((short) 1500)));
+        assertThat(block.acEnergyLifetime, is(equalTo(0x10002L)));
+        assertThat(block.status, is(equalTo(4)));
+    }
+
+    @Test
+    public void testParseAtOffsetReadsTheSameFields() {
+        InverterModelBlock block = new InverterModelBlock();
+        parser.parse(inverterBlock(125 - BLOCK_SIZE - 10, -200), 125 - BLOCK_SIZE - 10, block);
+
+        assertThat(block.phaseConfiguration, is(equalTo(101)));
+        assertThat(block.length, is(equalTo(50)));
+        assertThat(block.acCurrentTotal, is(equalTo(42)));
+        assertThat(block.acVoltageSF, is(equalTo((short) -1)));
+        assertThat(block.acPower, is(equalTo((short) -200)));
+        assertThat(block.acEnergyLifetime, is(equalTo(0x10002L)));
+        assertThat(block.temperatureHeatsink, is(equalTo(Optional.empty())));
+        assertThat(block.status, is(equalTo(4)));
+    }
+
+    @Test
+    public void testParseUpdatesExistingBlock() {
+        InverterModelBlock block = new InverterModelBlock();
+        parser.parse(inverterBlock(3, 1500), 3, block);
+        parser.parse(inverterBlock(7, 1600), 7, block);
+
+        assertThat(block.acPower, is(equalTo((short) 1600)));
+    }
+
+    @Test
+    public void testBlockReachingPastTheArrayIsRejected() {
+        ModbusRegisterArray registers = inverterBlock(0, 1500);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(registers, registers.size() - 20, new InverterModelBlock()));
+    }
+}
@@ -0,0 +1,436 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the regular polls of the pollers of one endpoint into fewer physical reads
+ *
+ * Polls with the same slave id, function code, refresh interval and maximum tries are sorted by start address, and
+ * ranges that are at most <code>maxGap</code> items apart are merged as long as the merged read stays within
+ * <code>maxLength</code> registers (or 16 times as many coils / discrete inputs). The result of a merged read is
+ * sliced and passed to the callbacks of every poll in it, using the request of that poll, so the callbacks see the
+ * same data as with separate reads.
+ *
+ * Registering or unregistering a poll only replaces the physical reads whose members changed. A replacing read keeps
+ * the phase of the earliest scheduled read it takes over, so the other reads keep their schedule.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlanner {
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadPlanner.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final LongSupplier clock;
+    private final int maxGap;
+    private final int maxLength;
+
+    private final Map<PollKey, List<PlannedPoll>> polls = new HashMap<>();
+    private final Map<PollKey, List<CoalescedRead>> physicalPolls = new HashMap<>();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong transactionsSaved = new AtomicLong();
+    private boolean closed;
+
+    /**
+     * Construct a planner
+     *
+     * @param comms communication interface of the endpoint
+     * @param maxGap maximum number of unpolled registers, coils or discrete inputs between two merged polls
+     * @param maxLength maximum length of a merged read, in registers
+     */
+    public ModbusReadPlanner(ModbusCommunicationInterface comms, int maxGap, int maxLength) {
+        this(comms, maxGap, maxLength, System::currentTimeMillis);
+    }
+
+    ModbusReadPlanner(ModbusCommunicationInterface comms, int maxGap, int maxLength, LongSupplier clock) {
+        this.comms = comms;
+        this.clock = clock;
+        this.maxGap = Math.max(0, maxGap);
+        this.maxLength = Math.max(1, Math.min(maxLength, ModbusConstants.MAX_REGISTERS_READ_COUNT));
+    }
+
+    /**
+     * Register a regular poll, replacing {@link ModbusCommunicationInterface#registerRegularPoll}
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback receiving the data of the request
+     * @param failureCallback callback receiving failures of the request
+     * @return handle of the poll, to be passed to {@link #unregisterRegularPoll(PlannedPoll)}
+     */
+    public synchronized PlannedPoll registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        PollKey key = new PollKey(request, pollPeriodMillis);
+        PlannedPoll poll = new PlannedPoll(key, request, resultCallback, failureCallback);
+        if (closed) {
+            return poll;
+        }
+        polls.computeIfAbsent(key, k -> new ArrayList<>()).add(poll);
+        replan(key);
+        return poll;
+    }
+
+    /**
+     * Unregister a poll registered with {@link #registerRegularPoll}
+     *
+     * No-op in case the poll is not registered.
+     *
+     * @param poll handle of the poll
+     */
+    public synchronized void unregisterRegularPoll(PlannedPoll poll) {
+        poll.active = false;
+        List<PlannedPoll> keyPolls = polls.get(poll.key);
+        if (closed || keyPolls == null || !keyPolls.remove(poll)) {
+            return;
+        }
+        if (keyPolls.isEmpty()) {
+            polls.remove(poll.key);
+        }
+        replan(poll.key);
+    }
+
+    /**
+     * Unregister all physical polls. Further registrations are ignored.
+     */
+    public synchronized void close() {
+        closed = true;
+        polls.values().forEach(keyPolls -> keyPolls.forEach(poll -> poll.active = false));
+        polls.clear();
+        physicalPolls.values().forEach(reads -> reads.forEach(read -> comms.unregisterRegularPoll(read.task)));
+        physicalPolls.clear();
+    }
+
+    /**
+     * Number of polls registered by pollers
+     */
+    public synchronized int getPollCount() {
+        return polls.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Number of physical polls registered with the communication interface
+     */
+    public synchronized int getPhysicalPollCount() {
+        return physicalPolls.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Number of transactions saved per poll cycle, that is, the number of polls minus the number of physical polls
+     */
+    public synchronized int getTransactionsSavedPerCycle() {
+        return getPollCount() - getPhysicalPollCount();
+    }
+
+    /**
+     * Number of physical reads completed since the planner was created
+     */
+    public long getTransactions() {
+        return transactions.get();
+    }
+
+    /**
+     * Number of reads saved by coalescing since the planner was created
+     */
+    public long getTransactionsSaved() {
+        return transactionsSaved.get();
+    }
+
+    private void replan(PollKey key) {
+        List<CoalescedRead> oldReads = physicalPolls.getOrDefault(key, List.of());
+        List<PlannedPoll> keyPolls = polls.getOrDefault(key, List.of());
+
+        List<ModbusReadRequestBlueprint> requests = new ArrayList<>(keyPolls.size());
+        keyPolls.forEach(poll -> requests.add(poll.request));
+        List<List<Integer>> groups = plan(requests, maxGap, maxLengthFor(key.functionCode));
+
+        // reads with unchanged members are kept, all others are replaced
+        Map<List<PlannedPoll>, CoalescedRead> unchanged = new HashMap<>();
+        oldReads.forEach(read -> unchanged.put(read.members, read));
+        List<CoalescedRead> reads = new ArrayList<>(groups.size());
+        List<List<PlannedPoll>> changedGroups = new ArrayList<>();
+        for (List<Integer> group : groups) {
+            List<PlannedPoll> members = new ArrayList<>(group.size());
+            group.forEach(index -> members.add(keyPolls.get(index)));
+            CoalescedRead read = unchanged.remove(members);
+            if (read != null) {
+                reads.add(read);
+            } else {
+                changedGroups.add(members);
+            }
+        }
+        unchanged.values().forEach(read -> comms.unregisterRegularPoll(read.task));
+
+        long now = clock.getAsLong();
+        for (List<PlannedPoll> members : changedGroups) {
+            // continue the schedule of the earliest read taken over, new polls are read right away otherwise
+            long phase = now;
+            for (PlannedPoll member : members) {
+                if (member.scheduled) {
+                    phase = Math.min(phase, member.phaseMillis);
+                }
+            }
+            long initialDelay = Math.floorMod(phase - now, key.pollPeriodMillis);
+            CoalescedRead read = new CoalescedRead(members);
+            for (PlannedPoll member : members) {
+                member.phaseMillis = now + initialDelay;
+                member.scheduled = true;
+            }
+            read.task = comms.registerRegularPoll(read.request, key.pollPeriodMillis, initialDelay, read, read);
+            reads.add(read);
+        }
+
+        if (reads.isEmpty()) {
+            physicalPolls.remove(key);
+        } else {
+            physicalPolls.put(key, reads);
+        }
+        logger.debug(
+                "Planned {} polls of slave {} ({}, every {} ms) into {} reads, replacing {} of them, saving {} transactions per cycle. In total {} polls in {} reads",
+                keyPolls.size(), key.slaveId, key.functionCode, key.pollPeriodMillis, reads.size(),
+                changedGroups.size(), keyPolls.size() - reads.size(), getPollCount(), getPhysicalPollCount());
+    }
+
+    private int maxLengthFor(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return Math.min(maxLength * 16, ModbusConstants.MAX_BITS_READ_COUNT);
+            default:
+                return maxLength;
+        }
+    }
+
+    /**
+     * Group requests into merged reads
+     *
+     * @param requests requests with the same slave and function code
+     * @param maxGap maximum number of unrequested items between two requests of a group
+     * @param maxLength maximum length of a group
+     * @return indexes of the requests of each group, sorted by start address
+     */
+    static List<List<Integer>> plan(List<ModbusReadRequestBlueprint> requests, int maxGap, int maxLength) {
+        List<Integer> order = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt((Integer i) -> requests.get(i).getReference())
+                .thenComparingInt(i -> requests.get(i).getDataLength()));
+
+        List<List<Integer>> groups = new ArrayList<>();
+        List<Integer> group = new ArrayList<>();
+        int groupStart = 0;
+        int groupEnd = 0; // exclusive
+        for (int index : order) {
+            ModbusReadRequestBlueprint request = requests.get(index);
+            int start = request.getReference();
+            int end = start + request.getDataLength();
+            if (!group.isEmpty() && start - groupEnd <= maxGap && Math.max(end, groupEnd) - groupStart <= maxLength) {
+                group.add(index);
+                groupEnd = Math.max(end, groupEnd);
+            } else {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                }
+                group = new ArrayList<>();
+                group.add(index);
+                groupStart = start;
+                groupEnd = end;
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Handle of a poll registered with the planner
+     */
+    public static class PlannedPoll {
+        private final PollKey key;
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private volatile boolean active = true;
+        // a time at which the poll was read, in ms, valid if scheduled
+        private long phaseMillis;
+        private boolean scheduled;
+
+        private PlannedPoll(PollKey key, ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.key = key;
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+    }
+
+    /**
+     * Physical read covering one or more polls, slicing the response for each of them
+     */
+    private class CoalescedRead implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<PlannedPoll> members;
+        private final ModbusReadRequestBlueprint request;
+        private @NonNullByDefault({}) PollTask task;
+
+        private CoalescedRead(List<PlannedPoll> members) {
+            this.members = Collections.unmodifiableList(members);
+            ModbusReadRequestBlueprint first = members.get(0).request;
+            if (members.size() == 1) {
+                request = first;
+            } else {
+                int start = Integer.MAX_VALUE;
+                int end = Integer.MIN_VALUE;
+                for (PlannedPoll member : members) {
+                    start = Math.min(start, member.request.getReference());
+                    end = Math.max(end, member.request.getReference() + member.request.getDataLength());
+                }
+                request = new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start,
+                        end - start, first.getMaxTries());
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            transactions.incrementAndGet();
+            transactionsSaved.addAndGet(members.size() - 1);
+            if (members.size() == 1) {
+                PlannedPoll member = members.get(0);
+                if (member.active) {
+                    member.resultCallback.handle(result);
+                }
+                return;
+            }
+            // Casting to allow orElse(null) below..
+            @Nullable
+            ModbusRegisterArray registers = ((Optional<@Nullable ModbusRegisterArray>) result.getRegisters())
+                    .orElse(null);
+            @Nullable
+            BitArray bits = ((Optional<@Nullable BitArray>) result.getBits()).orElse(null);
+            if (registers != null) {
+                byte[] registerBytes = registers.getBytes();
+                for (PlannedPoll member : members) {
+                    if (member.active) {
+                        byte[] bytes = new byte[member.request.getDataLength() * 2];
+                        System.arraycopy(registerBytes, offsetOf(member) * 2, bytes, 0, bytes.length);
+                        member.resultCallback.handle(new AsyncModbusReadResult(member.request,
+                                new ModbusRegisterArray(bytes)));
+                    }
+                }
+            } else if (bits != null) {
+                for (PlannedPoll member : members) {
+                    if (member.active) {
+                        boolean[] values = new boolean[member.request.getDataLength()];
+                        int offset = offsetOf(member);
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = bits.getBit(offset + i);
+                        }
+                        member.resultCallback.handle(new AsyncModbusReadResult(member.request, new BitArray(values)));
+                    }
+                }
+            } else {
+                // every member is told, so that none of them keeps stale data without notice
+                logger.debug("Read result {} contains no data, passing it as failure", result);
+                handleFailure(
+                        new AsyncModbusFailure<>(request, new IllegalStateException("Read result contains no data")));
+            }
+        }
+
+        private int offsetOf(PlannedPoll member) {
+            return member.request.getReference() - request.getReference();
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            transactions.incrementAndGet();
+            transactionsSaved.addAndGet(members.size() - 1);
+            handleFailure(failure);
+        }
+
+        private void handleFailure(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (PlannedPoll member : members) {
+                if (member.active) {
+                    member.failureCallback.handle(members.size() == 1 ? failure
+                            : new AsyncModbusFailure<>(member.request, failure.getCause()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Polls that may be coalesced have equal keys
+     */
+    private static class PollKey {
+        private final int slaveId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+        private final int maxTries;
+
+        private PollKey(ModbusReadRequestBlueprint request, long pollPeriodMillis) {
+            this.slaveId = request.getUnitID();
+            this.functionCode = request.getFunctionCode();
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.maxTries = request.getMaxTries();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            PollKey other = (PollKey) obj;
+            return slaveId == other.slaveId && functionCode == other.functionCode
+                    && pollPeriodMillis == other.pollPeriodMillis && maxTries == other.maxTries;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(slaveId, functionCode, pollPeriodMillis, maxTries);
+        }
+    }
+}
@@ -38,6 +38,9 @@ public class ModbusSerialConfiguration {
     private int connectMaxTries = 1;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private boolean coalesceReads;
+    private int coalesceReadsMaxGap;
+    private int coalesceReadsMaxLength = 125;
 
     public @Nullable String getPort() {
         return port;
@@ -158,4 +161,28 @@ public class ModbusSerialConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public int getCoalesceReadsMaxGap() {
+        return coalesceReadsMaxGap;
+    }
+
+    public void setCoalesceReadsMaxGap(int coalesceReadsMaxGap) {
+        this.coalesceReadsMaxGap = coalesceReadsMaxGap;
+    }
+
+    public int getCoalesceReadsMaxLength() {
+        return coalesceReadsMaxLength;
+    }
+
+    public void setCoalesceReadsMaxLength(int coalesceReadsMaxLength) {
+        this.coalesceReadsMaxLength = coalesceReadsMaxLength;
+    }
 }
@@ -32,6 +32,9 @@ public class ModbusTcpConfiguration {
     private int reconnectAfterMillis;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private boolean coalesceReads;
+    private int coalesceReadsMaxGap;
+    private int coalesceReadsMaxLength = 125;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -109,4 +112,28 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public int getCoalesceReadsMaxGap() {
+        return coalesceReadsMaxGap;
+    }
+
+    public void setCoalesceReadsMaxGap(int coalesceReadsMaxGap) {
+        this.coalesceReadsMaxGap = coalesceReadsMaxGap;
+    }
+
+    public int getCoalesceReadsMaxLength() {
+        return coalesceReadsMaxLength;
+    }
+
+    public void setCoalesceReadsMaxLength(int coalesceReadsMaxLength) {
+        this.coalesceReadsMaxLength = coalesceReadsMaxLength;
+    }
 }
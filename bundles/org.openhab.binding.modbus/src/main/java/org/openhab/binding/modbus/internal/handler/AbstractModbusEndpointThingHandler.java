@@ -12,21 +12,30 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.RefreshType;
+import org.openhab.core.types.UnDefType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,12 +51,22 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEndpoint, C> extends BaseBridgeHandler
         implements ModbusEndpointThingHandler {
 
+    /**
+     * Interval of updating the coalescing statistics
+     */
+    private static final long STATISTICS_INTERVAL_SECONDS = 60;
+
     protected volatile @Nullable C config;
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
+    protected volatile boolean coalesceReads;
+    protected volatile int coalesceReadsMaxGap;
+    protected volatile int coalesceReadsMaxLength;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusReadPlanner readPlanner;
+    private volatile @Nullable ScheduledFuture<?> statisticsJob;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -56,6 +75,9 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        if (command instanceof RefreshType) {
+            updateStatistics();
+        }
     }
 
     @Override
@@ -76,7 +98,15 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    readPlanner = coalesceReads
+                            ? new ModbusReadPlanner(comms, coalesceReadsMaxGap, coalesceReadsMaxLength)
+                            : null;
                     updateStatus(ThingStatus.ONLINE);
+                    updateStatistics();
+                    if (coalesceReads) {
+                        statisticsJob = scheduler.scheduleWithFixedDelay(this::updateStatistics,
+                                STATISTICS_INTERVAL_SECONDS, STATISTICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                    }
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                             formatConflictingParameterError());
@@ -93,7 +123,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> localStatisticsJob = statisticsJob;
+        if (localStatisticsJob != null) {
+            localStatisticsJob.cancel(false);
+            statisticsJob = null;
+        }
         try {
+            ModbusReadPlanner localReadPlanner = readPlanner;
+            if (localReadPlanner != null) {
+                localReadPlanner.close();
+            }
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
                 localComms.close();
@@ -101,15 +140,41 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         } catch (Exception e) {
             logger.warn("Error closing modbus communication interface", e);
         } finally {
+            readPlanner = null;
             comms = null;
         }
     }
 
+    /**
+     * Update the channels with the statistics of the read planner. The counters change with every poll, so they are
+     * only updated periodically.
+     */
+    private void updateStatistics() {
+        ModbusReadPlanner localReadPlanner = readPlanner;
+        if (localReadPlanner == null) {
+            updateState(CHANNEL_TRANSACTIONS_SAVED_PER_CYCLE, UnDefType.UNDEF);
+            updateState(CHANNEL_TRANSACTIONS_SAVED, UnDefType.UNDEF);
+        } else {
+            updateState(CHANNEL_TRANSACTIONS_SAVED_PER_CYCLE,
+                    new DecimalType(localReadPlanner.getTransactionsSavedPerCycle()));
+            updateState(CHANNEL_TRANSACTIONS_SAVED, new DecimalType(localReadPlanner.getTransactionsSaved()));
+        }
+    }
+
     @Override
     public @Nullable ModbusCommunicationInterface getCommunicationInterface() {
         return comms;
     }
 
+    /**
+     * Get the planner coalescing the regular polls of the pollers of this endpoint
+     *
+     * @return the planner, or <code>null</code> in case coalescing is disabled or initialization is incomplete
+     */
+    public @Nullable ModbusReadPlanner getReadPlanner() {
+        return readPlanner;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -119,7 +184,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     public abstract int getSlaveId() throws EndpointNotInitializedException;
 
     /**
-     * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration
+     * Must be overriden by subclasses to initialize config, endpoint, poolConfiguration and the coalescing parameters
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
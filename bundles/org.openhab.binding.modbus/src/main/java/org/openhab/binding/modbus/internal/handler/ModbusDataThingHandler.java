@@ -18,7 +18,6 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -94,6 +94,10 @@ import org.slf4j.LoggerFactory;
  * synchronized
  * to avoid data race conditions.
  *
+ * Polled data is compared with the data of the previous poll before it is decoded. When the registers or bits read by
+ * this thing are unchanged, and no channel is due for an update of an unchanged value (see
+ * updateUnchangedValuesEveryMillis), decoding, transformation and channel updates are skipped altogether.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @NonNullByDefault
@@ -122,8 +126,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         CHANNEL_ID_TO_ACCEPTED_TYPES.put(ModbusBindingConstantsInternal.CHANNEL_ROLLERSHUTTER,
                 new RollershutterItem("").getAcceptedDataTypes());
     }
-    // data channels + 4 for read/write last error/success
-    private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
+    // data channels followed by the last read success channel, indexing channelLastUpdated and channelLastState
+    private static final String[] READ_CHANNEL_IDS = Stream
+            .concat(CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream(), Stream.of(CHANNEL_LAST_READ_SUCCESS))
+            .toArray(String[]::new);
+    private static final int LAST_READ_SUCCESS_INDEX = READ_CHANNEL_IDS.length - 1;
 
     //
     // If you change the below default/initial values, please update the corresponding values in dispose()
@@ -149,16 +156,23 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
-    private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-    private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile long[] channelLastUpdated = new long[READ_CHANNEL_IDS.length];
+    private volatile @Nullable State[] channelLastState = new State[READ_CHANNEL_IDS.length];
+    // registers (up to four, packed big endian) or bit read by this thing in the previous poll
+    private volatile long lastRawValue;
+    private volatile boolean lastRawValueValid;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
             null);
 
     public ModbusDataThingHandler(Thing thing) {
+        this(thing, FrameworkUtil.getBundle(ModbusDataThingHandler.class).getBundleContext());
+    }
+
+    ModbusDataThingHandler(Thing thing, BundleContext bundleContext) {
         super(thing);
-        this.bundleContext = FrameworkUtil.getBundle(ModbusDataThingHandler.class).getBundleContext();
+        this.bundleContext = bundleContext;
     }
 
     @Override
@@ -482,8 +496,17 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         channelCache = new HashMap<>();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
-        channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-        channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        channelLastUpdated = new long[READ_CHANNEL_IDS.length];
+        channelLastState = new State[READ_CHANNEL_IDS.length];
+        lastRawValue = 0;
+        lastRawValueValid = false;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // Newly linked channel must receive a value even if the polled data does not change
+        lastRawValueValid = false;
+        super.channelLinked(channelUID);
     }
 
     @Override
@@ -817,6 +840,20 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (readValueType == null) {
             return;
         }
+        int registerIndex = readIndex.get() - pollStart;
+        int registerCount = Math.max(1, readValueType.getBits() / 16);
+        boolean rawValueAvailable = registerIndex >= 0 && registerIndex + registerCount <= registers.size();
+        long rawValue = 0;
+        if (rawValueAvailable) {
+            for (int i = 0; i < registerCount; i++) {
+                rawValue = (rawValue << 16) | registers.getRegister(registerIndex + i);
+            }
+            if (updateIfUnchanged(rawValue)) {
+                logger.trace("Thing {} registers unchanged, skipping channel updates. Registers {} for request {}",
+                        thing.getUID(), registers, request);
+                return;
+            }
+        }
         State numericState;
 
         // extractIndex:
@@ -841,11 +878,15 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        processUpdatedValue(numericState, boolValue);
+        lastRawValue = rawValue;
+        lastRawValueValid = rawValueAvailable;
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                    thing.getUID(), describeChannelStates(), readValueType, readIndex, readSubIndex.orElse(0),
+                    extractIndex, numericState, boolValue, registers, request);
+        }
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -855,11 +896,22 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        long rawValue = boolValue ? 1L : 0L;
+        if (updateIfUnchanged(rawValue)) {
+            logger.trace("Thing {} bit unchanged, skipping channel updates. Bits {} for request {}", thing.getUID(),
+                    bits, request);
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        processUpdatedValue(numericState, boolValue);
+        lastRawValue = rawValue;
+        lastRawValueValid = true;
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
+                    thing.getUID(), describeChannelStates(), readValueType, readIndex, numericState, boolValue, bits,
+                    request);
+        }
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
@@ -880,6 +932,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     getThing().getUID(), getThing().getLabel(), error.getClass().getName(), error.toString(),
                     error.getMessage(), error);
         }
+        // Update all channels once the reads succeed again
+        lastRawValueValid = false;
         Map<ChannelUID, State> states = new HashMap<>();
         ChannelUID lastReadErrorUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_ERROR);
         if (isLinked(lastReadErrorUID)) {
@@ -953,99 +1007,139 @@ public class ModbusDataThingHandler extends BaseThingHandler {
      *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
-     * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
+    private void processUpdatedValue(State numericState, boolean boolValue) {
         ValueTransformation localReadTransformation = readTransformation;
         if (localReadTransformation == null) {
             // We should always have transformation available if thing is initalized properly
             logger.trace("No transformation available, aborting processUpdatedValue");
-            return Collections.emptyMap();
+            return;
         }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
-            if (!isLinked(channelUID)) {
-                return;
-            }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
+        synchronized (this) {
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            long now = System.currentTimeMillis();
+            for (int channelIndex = 0; channelIndex < LAST_READ_SUCCESS_INDEX; channelIndex++) {
+                String channelId = READ_CHANNEL_IDS[channelIndex];
+                ChannelUID channelUID = getChannelUID(channelId);
+                State transformedState = isLinked(channelUID)
+                        ? transformState(localReadTransformation, channelId, numericState, boolValue)
+                        : null;
+                // Update channels that have not been updated in a while, or when their values has changed
+                updateExpiredChannel(now, channelIndex, channelUID, transformedState);
             }
 
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
-            }
+            ChannelUID lastReadSuccessUID = getChannelUID(CHANNEL_LAST_READ_SUCCESS);
+            updateExpiredChannel(now, LAST_READ_SUCCESS_INDEX, lastReadSuccessUID,
+                    isLinked(lastReadSuccessUID) ? new DateTimeType() : null);
+        }
+    }
 
-            State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
-                if (boolLikeState != null) {
-                    // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
-                    transformedState = boolLikeState;
-                } else {
-                    // Numeric states always go through transformation. This allows value of 17.5 to be
-                    // converted to
-                    // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
-                }
+    private @Nullable State transformState(ValueTransformation localReadTransformation, String channelId,
+            State numericState, boolean boolValue) {
+        List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
+        if (acceptedDataTypes.isEmpty()) {
+            return null;
+        }
+
+        State boolLikeState;
+        if (containsOnOff(acceptedDataTypes)) {
+            boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
+        } else if (containsOpenClosed(acceptedDataTypes)) {
+            boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+        } else {
+            boolLikeState = null;
+        }
+
+        State transformedState;
+        if (localReadTransformation.isIdentityTransform()) {
+            if (boolLikeState != null) {
+                // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
+                transformedState = boolLikeState;
             } else {
+                // Numeric states always go through transformation. This allows value of 17.5 to be
+                // converted to
+                // 17.5% with percent types (instead of raising error)
                 transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
                         numericState);
             }
-
-            if (transformedState != null) {
-                logger.trace(
-                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-                states.put(channelUID, transformedState);
-            } else {
-                String types = String.join(", ",
-                        acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
-                logger.warn(
-                        "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-            }
-        });
-
-        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
-        if (isLinked(lastReadSuccessUID)) {
-            states.put(lastReadSuccessUID, new DateTimeType());
+        } else {
+            transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes, numericState);
         }
-        updateExpiredChannels(states);
-        return states;
-    }
 
-    private void updateExpiredChannels(Map<ChannelUID, State> states) {
-        synchronized (this) {
-            updateStatusIfChanged(ThingStatus.ONLINE);
-            long now = System.currentTimeMillis();
-            // Update channels that have not been updated in a while, or when their values has changed
-            states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
-            channelLastState = states;
+        if (transformedState != null) {
+            logger.trace(
+                    "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                    channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
+                    readValueType, boolValue,
+                    localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+        } else {
+            String types = String.join(", ",
+                    acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
+            logger.warn(
+                    "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                    channelId, types, numericState, readValueType, boolValue,
+                    localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
         }
+        return transformedState;
     }
 
     // since lastState can be null, and "lastState == null" in conditional is not useless
     @SuppressWarnings("null")
-    private void updateExpiredChannel(long now, ChannelUID uid, State state) {
+    private void updateExpiredChannel(long now, int channelIndex, ChannelUID uid, @Nullable State state) {
         @Nullable
-        State lastState = channelLastState.get(uid);
-        long lastUpdatedMillis = channelLastUpdated.getOrDefault(uid, 0L);
+        State lastState = channelLastState[channelIndex];
+        channelLastState[channelIndex] = state;
+        if (state == null) {
+            return;
+        }
+        long lastUpdatedMillis = channelLastUpdated[channelIndex];
         long millisSinceLastUpdate = now - lastUpdatedMillis;
         if (lastUpdatedMillis <= 0L || lastState == null || updateUnchangedValuesEveryMillis <= 0L
                 || millisSinceLastUpdate > updateUnchangedValuesEveryMillis || !lastState.equals(state)) {
             tryUpdateState(uid, state);
-            channelLastUpdated.put(uid, now);
+            channelLastUpdated[channelIndex] = now;
+        }
+    }
+
+    /**
+     * Update status and last read success channel, in case the polled data has not changed since the previous poll
+     * and none of the channels is due for an update of an unchanged value
+     *
+     * @param rawValue registers or bit read by this thing
+     * @return whether the data was unchanged, and thus channels need not be updated
+     */
+    private boolean updateIfUnchanged(long rawValue) {
+        if (!lastRawValueValid || lastRawValue != rawValue || updateUnchangedValuesEveryMillis <= 0L) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (int channelIndex = 0; channelIndex < LAST_READ_SUCCESS_INDEX; channelIndex++) {
+            if (channelLastState[channelIndex] != null
+                    && now - channelLastUpdated[channelIndex] > updateUnchangedValuesEveryMillis) {
+                return false;
+            }
+        }
+        synchronized (this) {
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            ChannelUID lastReadSuccessUID = getChannelUID(CHANNEL_LAST_READ_SUCCESS);
+            updateExpiredChannel(now, LAST_READ_SUCCESS_INDEX, lastReadSuccessUID,
+                    isLinked(lastReadSuccessUID) ? new DateTimeType() : null);
+        }
+        return true;
+    }
+
+    private String describeChannelStates() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int channelIndex = 0; channelIndex < READ_CHANNEL_IDS.length; channelIndex++) {
+            State state = channelLastState[channelIndex];
+            if (state != null) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(getChannelUID(READ_CHANNEL_IDS[channelIndex])).append('=').append(state);
+            }
         }
+        return builder.append('}').toString();
     }
 
     private void tryUpdateState(ChannelUID uid, State state) {
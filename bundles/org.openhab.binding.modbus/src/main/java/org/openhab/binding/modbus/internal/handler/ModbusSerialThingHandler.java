@@ -71,6 +71,10 @@ public class ModbusSerialThingHandler
 
         endpoint = new ModbusSerialSlaveEndpoint(port, baud, flowControlIn, flowControlOut, config.getDataBits(),
                 stopBits, parity, encoding, config.isEcho(), config.getReceiveTimeoutMillis());
+
+        coalesceReads = config.isCoalesceReads();
+        coalesceReadsMaxGap = config.getCoalesceReadsMaxGap();
+        coalesceReadsMaxLength = config.getCoalesceReadsMaxLength();
     }
 
     /**
@@ -60,6 +60,10 @@ public class ModbusTcpThingHandler
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+
+        coalesceReads = config.isCoalesceReads();
+        coalesceReadsMaxGap = config.getCoalesceReadsMaxGap();
+        coalesceReadsMaxLength = config.getCoalesceReadsMaxLength();
     }
 
     @SuppressWarnings("null") // since Optional.map is always called with NonNull argument
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlannerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private static ModbusReadRequestBlueprint holding(int start, int length) {
+        return request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    @Test
+    public void testPlanMergesAdjacentRanges() {
+        List<List<Integer>> groups = ModbusReadPlanner.plan(List.of(holding(10, 5), holding(0, 10), holding(15, 2)), 0,
+                125);
+        assertThat(groups, is(equalTo(List.of(List.of(1, 0, 2)))));
+    }
+
+    @Test
+    public void testPlanRespectsGap() {
+        List<ModbusReadRequestBlueprint> requests = List.of(holding(0, 2), holding(5, 2));
+        assertThat(ModbusReadPlanner.plan(requests, 2, 125), is(equalTo(List.of(List.of(0), List.of(1)))));
+        assertThat(ModbusReadPlanner.plan(requests, 3, 125), is(equalTo(List.of(List.of(0, 1)))));
+    }
+
+    @Test
+    public void testPlanRespectsMaxLength() {
+        List<ModbusReadRequestBlueprint> requests = List.of(holding(0, 60), holding(60, 60), holding(120, 10));
+        assertThat(ModbusReadPlanner.plan(requests, 0, 125), is(equalTo(List.of(List.of(0, 1), List.of(2)))));
+    }
+
+    @Test
+    public void testPlanMergesOverlappingRanges() {
+        List<ModbusReadRequestBlueprint> requests = List.of(holding(0, 10), holding(2, 3), holding(8, 4));
+        assertThat(ModbusReadPlanner.plan(requests, 0, 12), is(equalTo(List.of(List.of(0, 1, 2)))));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRegisterResultsAreSlicedPerPoll() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 1, 125, clock::get);
+
+        ModbusReadCallback first = mock(ModbusReadCallback.class);
+        ModbusReadCallback second = mock(ModbusReadCallback.class);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        planner.registerRegularPoll(holding(0, 2), 1000, first, failureCallback);
+        planner.registerRegularPoll(holding(3, 1), 1000, second, failureCallback);
+
+        assertThat(planner.getPollCount(), is(equalTo(2)));
+        assertThat(planner.getPhysicalPollCount(), is(equalTo(1)));
+        assertThat(planner.getTransactionsSavedPerCycle(), is(equalTo(1)));
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requestCaptor = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callbackCaptor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, times(2)).registerRegularPoll(requestCaptor.capture(), eq(1000L), eq(0L),
+                callbackCaptor.capture(), any());
+        verify(comms, times(1)).unregisterRegularPoll(any());
+        ModbusReadRequestBlueprint merged = requestCaptor.getValue();
+        assertThat(merged.getReference(), is(equalTo(0)));
+        assertThat(merged.getDataLength(), is(equalTo(4)));
+
+        callbackCaptor.getValue().handle(new AsyncModbusReadResult(merged, new ModbusRegisterArray(1, 2, 3, 4)));
+
+        ArgumentCaptor<AsyncModbusReadResult> firstResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(first).handle(firstResult.capture());
+        assertThat(firstResult.getValue().getRequest().getReference(), is(equalTo(0)));
+        assertThat(firstResult.getValue().getRegisters().get(), is(equalTo(new ModbusRegisterArray(1, 2))));
+        ArgumentCaptor<AsyncModbusReadResult> secondResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(second).handle(secondResult.capture());
+        assertThat(secondResult.getValue().getRequest().getReference(), is(equalTo(3)));
+        assertThat(secondResult.getValue().getRegisters().get(), is(equalTo(new ModbusRegisterArray(4))));
+        assertThat(planner.getTransactions(), is(equalTo(1L)));
+        assertThat(planner.getTransactionsSaved(), is(equalTo(1L)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBitResultsAndFailuresAreFannedOut() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 0, 125, clock::get);
+
+        List<AsyncModbusReadResult> results = new ArrayList<>();
+        List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_COILS, 0, 2), 500, results::add,
+                failures::add);
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_COILS, 2, 1), 500, results::add,
+                failures::add);
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requestCaptor = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callbackCaptor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCaptor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, times(2)).registerRegularPoll(requestCaptor.capture(), anyLong(), anyLong(),
+                callbackCaptor.capture(), failureCaptor.capture());
+        ModbusReadRequestBlueprint merged = requestCaptor.getValue();
+
+        callbackCaptor.getValue().handle(new AsyncModbusReadResult(merged, new BitArray(true, false, true)));
+        assertThat(results.size(), is(equalTo(2)));
+        BitArray firstBits = results.get(0).getBits().get();
+        assertThat(firstBits.size(), is(equalTo(2)));
+        assertThat(firstBits.getBit(0), is(equalTo(true)));
+        assertThat(firstBits.getBit(1), is(equalTo(false)));
+        BitArray secondBits = results.get(1).getBits().get();
+        assertThat(secondBits.size(), is(equalTo(1)));
+        assertThat(secondBits.getBit(0), is(equalTo(true)));
+
+        failureCaptor.getValue().handle(new AsyncModbusFailure<>(merged, new Exception("failed")));
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(1).getRequest().getReference(), is(equalTo(2)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDifferentRefreshIsNotMerged() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 0, 125, clock::get);
+
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        planner.registerRegularPoll(holding(0, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        planner.registerRegularPoll(holding(2, 2), 2000, mock(ModbusReadCallback.class), failureCallback);
+
+        assertThat(planner.getPhysicalPollCount(), is(equalTo(2)));
+        assertThat(planner.getTransactionsSavedPerCycle(), is(equalTo(0)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnregisterAndClose() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 0, 125, clock::get);
+
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        ModbusReadPlanner.PlannedPoll poll = planner.registerRegularPoll(holding(0, 2), 1000,
+                mock(ModbusReadCallback.class), failureCallback);
+        planner.registerRegularPoll(holding(2, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        planner.unregisterRegularPoll(poll);
+        assertThat(planner.getPollCount(), is(equalTo(1)));
+        assertThat(planner.getPhysicalPollCount(), is(equalTo(1)));
+
+        planner.close();
+        assertThat(planner.getPollCount(), is(equalTo(0)));
+        assertThat(planner.getPhysicalPollCount(), is(equalTo(0)));
+        verify(comms, times(3)).unregisterRegularPoll(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testOnlyReadsWithChangedMembersAreReplaced() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        List<PollTask> tasks = new ArrayList<>();
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenAnswer(i -> {
+            PollTask task = mock(PollTask.class);
+            tasks.add(task);
+            return task;
+        });
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 0, 125, clock::get);
+
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        planner.registerRegularPoll(holding(0, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        planner.registerRegularPoll(holding(10, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        planner.registerRegularPoll(holding(20, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        assertThat(tasks.size(), is(equalTo(3)));
+        verify(comms, never()).unregisterRegularPoll(any());
+
+        planner.registerRegularPoll(holding(12, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        assertThat(tasks.size(), is(equalTo(4)));
+        verify(comms).unregisterRegularPoll(tasks.get(1));
+        verify(comms, times(1)).unregisterRegularPoll(any());
+        assertThat(planner.getPhysicalPollCount(), is(equalTo(3)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReplacingReadKeepsPhase() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 0, 125, clock::get);
+
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        clock.set(10_000);
+        planner.registerRegularPoll(holding(0, 2), 1000, mock(ModbusReadCallback.class), failureCallback);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(0L), any(), any());
+
+        clock.set(12_250);
+        ModbusReadPlanner.PlannedPoll poll = planner.registerRegularPoll(holding(2, 2), 1000,
+                mock(ModbusReadCallback.class), failureCallback);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(750L), any(), any());
+
+        clock.set(13_900);
+        planner.unregisterRegularPoll(poll);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(100L), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testResultWithoutDataIsPassedToEveryMemberAsFailure() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(i -> mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, 0, 125, clock::get);
+
+        List<AsyncModbusReadResult> results = new ArrayList<>();
+        List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+        planner.registerRegularPoll(holding(0, 2), 1000, results::add, failures::add);
+        planner.registerRegularPoll(holding(2, 2), 1000, results::add, failures::add);
+
+        ArgumentCaptor<ModbusReadCallback> callbackCaptor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), callbackCaptor.capture(), any());
+        AsyncModbusReadResult empty = mock(AsyncModbusReadResult.class);
+        when(empty.getRegisters()).thenReturn(Optional.empty());
+        when(empty.getBits()).thenReturn(Optional.empty());
+        callbackCaptor.getValue().handle(empty);
+
+        assertThat(results.size(), is(equalTo(0)));
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(failures.get(1).getRequest().getReference(), is(equalTo(2)));
+    }
+}
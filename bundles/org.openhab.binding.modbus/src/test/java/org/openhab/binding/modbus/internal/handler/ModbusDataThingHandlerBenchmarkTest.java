@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.thing.Bridge;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.ThingStatus;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.ThingHandlerCallback;
+import org.openhab.core.thing.binding.builder.ThingBuilder;
+import org.osgi.framework.BundleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark delivering poll cycles of 500 int16 data things, read by four pollers of 125 registers, with unchanged
+ * and with changing registers. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ModbusDataThingHandlerBenchmarkTest {
+
+    private static final int THINGS = 500;
+    private static final int POLLERS = THINGS / ModbusConstants.MAX_REGISTERS_READ_COUNT;
+    private static final int CYCLES = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusDataThingHandlerBenchmarkTest.class);
+
+    @Test
+    public void pollCycleOf500Things() {
+        AtomicLong stateUpdates = new AtomicLong();
+        Map<ThingUID, Bridge> pollers = new HashMap<>();
+        ThingHandlerCallback callback = mock(ThingHandlerCallback.class, withSettings().stubOnly());
+        when(callback.getBridge(any())).thenAnswer(invocation -> pollers.get(invocation.getArgument(0)));
+        when(callback.isChannelLinked(any()))
+                .thenAnswer(invocation -> CHANNEL_NUMBER.equals(((ChannelUID) invocation.getArgument(0)).getId()));
+        doAnswer(invocation -> stateUpdates.incrementAndGet()).when(callback).stateUpdated(any(), any());
+
+        ModbusReadRequestBlueprint[] requests = new ModbusReadRequestBlueprint[POLLERS];
+        for (int p = 0; p < POLLERS; p++) {
+            requests[p] = new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                    p * ModbusConstants.MAX_REGISTERS_READ_COUNT, ModbusConstants.MAX_REGISTERS_READ_COUNT, 1);
+            ModbusPollerThingHandler pollerHandler = mock(ModbusPollerThingHandler.class);
+            when(pollerHandler.getRequest()).thenReturn(requests[p]);
+            when(pollerHandler.getCommunicationInterface()).thenReturn(mock(ModbusCommunicationInterface.class));
+            Bridge poller = mock(Bridge.class);
+            when(poller.getStatus()).thenReturn(ThingStatus.ONLINE);
+            when(poller.getHandler()).thenReturn(pollerHandler);
+            pollers.put(new ThingUID(THING_TYPE_MODBUS_POLLER, "poller" + p), poller);
+        }
+
+        ModbusDataThingHandler[] handlers = new ModbusDataThingHandler[THINGS];
+        BundleContext bundleContext = mock(BundleContext.class);
+        for (int i = 0; i < THINGS; i++) {
+            Configuration config = new Configuration();
+            config.put("readStart", String.valueOf(i));
+            config.put("readValueType", "int16");
+            handlers[i] = new ModbusDataThingHandler(ThingBuilder
+                    .create(THING_TYPE_MODBUS_DATA, "data" + i).withConfiguration(config)
+                    .withBridge(new ThingUID(THING_TYPE_MODBUS_POLLER,
+                            "poller" + i / ModbusConstants.MAX_REGISTERS_READ_COUNT))
+                    .build(), bundleContext);
+            handlers[i].setCallback(callback);
+            handlers[i].initialize();
+        }
+
+        // initial poll, updating every thing
+        runCycles(handlers, requests, 1, false);
+        assertEquals(THINGS, stateUpdates.getAndSet(0));
+
+        long unchangedNanos = runCycles(handlers, requests, CYCLES, false);
+        long unchangedUpdates = stateUpdates.getAndSet(0);
+        long changingNanos = runCycles(handlers, requests, CYCLES, true);
+        long changingUpdates = stateUpdates.getAndSet(0);
+
+        assertEquals((long) THINGS * CYCLES, changingUpdates);
+        logger.info("{} things, unchanged registers: {} µs per poll cycle, {} state updates in {} cycles", THINGS,
+                unchangedNanos / CYCLES / 1000, unchangedUpdates, CYCLES);
+        logger.info("{} things, changing registers: {} µs per poll cycle, {} state updates in {} cycles", THINGS,
+                changingNanos / CYCLES / 1000, changingUpdates, CYCLES);
+    }
+
+    private long runCycles(ModbusDataThingHandler[] handlers, ModbusReadRequestBlueprint[] requests, int cycles,
+            boolean changing) {
+        long elapsed = 0;
+        for (int cycle = 1; cycle <= cycles; cycle++) {
+            AsyncModbusReadResult[] results = new AsyncModbusReadResult[requests.length];
+            for (int p = 0; p < requests.length; p++) {
+                int[] registers = new int[ModbusConstants.MAX_REGISTERS_READ_COUNT];
+                for (int r = 0; r < registers.length; r++) {
+                    registers[r] = changing ? (cycle + r) & 0x7fff : r;
+                }
+                results[p] = new AsyncModbusReadResult(requests[p], new ModbusRegisterArray(registers));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < handlers.length; i++) {
+                handlers[i].onReadResult(results[i / ModbusConstants.MAX_REGISTERS_READ_COUNT]);
+            }
+            elapsed += System.nanoTime() - start;
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.MqttPayload;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Dispatches the messages of a broker connection to the {@link ChannelState}s.
+ *
+ * <p>
+ * All channel states of a broker connection that share a state topic are served by a single subscriber.
+ * A received message is dispatched once to all of them, and its payload is decoded at most once.
+ * Many channels often listen to the same topic, for example when a JSON payload carries
+ * the values of several channels.
+ * </p>
+ *
+ * <p>
+ * The topic is subscribed at the broker again for every channel state joining it, so that the broker sends the
+ * retained message of the topic, just like it did when every channel state had its own subscriber.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ChannelStateDispatcher {
+    private static final Map<MqttBrokerConnection, ChannelStateDispatcher> DISPATCHERS = new WeakHashMap<>();
+
+    private final Map<String, TopicSubscribers> topics = new HashMap<>();
+
+    /**
+     * The channel states of a single topic, subscribed to the broker connection as one subscriber.
+     */
+    private static class TopicSubscribers implements MqttMessageSubscriber {
+        private final List<ChannelState> channelStates = new CopyOnWriteArrayList<>();
+        private @Nullable CompletableFuture<Boolean> subscribed;
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            MqttPayload sharedPayload = new MqttPayload(payload);
+            for (ChannelState channelState : channelStates) {
+                channelState.processMessage(topic, sharedPayload);
+            }
+        }
+    }
+
+    /**
+     * Returns the dispatcher of the given broker connection.
+     *
+     * @param connection A broker connection
+     */
+    public static ChannelStateDispatcher forConnection(MqttBrokerConnection connection) {
+        synchronized (DISPATCHERS) {
+            return DISPATCHERS.computeIfAbsent(connection, c -> new ChannelStateDispatcher());
+        }
+    }
+
+    /**
+     * Subscribes a channel state to a topic. The topic is subscribed again for every new channel state, so that it
+     * receives the retained message, and whenever the previous subscription failed.
+     *
+     * @param connection The broker connection of this dispatcher
+     * @param topic The state topic
+     * @param channelState The channel state to receive the messages
+     * @return A future that completes with true if the topic has been subscribed
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscribers subscribers = topics.computeIfAbsent(topic, t -> new TopicSubscribers());
+        boolean added = !subscribers.channelStates.contains(channelState);
+        if (added) {
+            subscribers.channelStates.add(channelState);
+        }
+        CompletableFuture<Boolean> subscribed = subscribers.subscribed;
+        if (added || subscribed == null || hasFailed(subscribed)) {
+            // the connection keeps one subscriber per topic, all channel states receive the retained message again
+            subscribed = connection.subscribe(topic, subscribers);
+            subscribers.subscribed = subscribed;
+        }
+        return subscribed;
+    }
+
+    private static boolean hasFailed(CompletableFuture<Boolean> subscribed) {
+        return subscribed.isCompletedExceptionally() || (subscribed.isDone() && !subscribed.getNow(false));
+    }
+
+    /**
+     * Unsubscribes a channel state from a topic. The broker connection is only unsubscribed for the last channel
+     * state of a topic.
+     *
+     * @param connection The broker connection of this dispatcher
+     * @param topic The state topic
+     * @param channelState The channel state to remove
+     * @return A future that completes with true if unsubscribing succeeded
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscribers subscribers = topics.get(topic);
+        if (subscribers == null || !subscribers.channelStates.remove(channelState)
+                || !subscribers.channelStates.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        topics.remove(topic);
+        return connection.unsubscribe(topic, subscribers);
+    }
+
+    /**
+     * Returns the number of topics subscribed at the broker connection.
+     */
+    public synchronized int getTopicCount() {
+        return topics.size();
+    }
+}
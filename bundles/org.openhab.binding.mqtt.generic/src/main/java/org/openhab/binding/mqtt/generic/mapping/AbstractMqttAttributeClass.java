@@ -45,6 +45,12 @@ import org.slf4j.LoggerFactory;
  * </p>
  *
  * <p>
+ * Instead of one subscription per field, the fields can also be received via a {@link BulkSubscription} of a whole
+ * topic tree by calling
+ * {@link #subscribeAndReceiveBulk(BulkSubscription, ScheduledExecutorService, String, AttributeChanged, int)}.
+ * </p>
+ *
+ * <p>
  * The Homie 3.x convention uses attribute classes for Devices, Nodes and Properties configuration.
  * </p>
  *
@@ -102,6 +108,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     protected transient List<SubscribeFieldToMQTTtopic> subscriptions = new ArrayList<>();
     public transient WeakReference<@Nullable MqttBrokerConnection> connection = new WeakReference<>(null);
     protected transient WeakReference<@Nullable ScheduledExecutorService> scheduler = new WeakReference<>(null);
+    protected transient @Nullable BulkSubscription bulkSubscription;
     private final String prefix;
     private transient String basetopic = "";
     protected transient AttributeChanged attributeChangedListener = (b, c, d, e, f) -> {
@@ -139,6 +146,14 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
      * @return Returns a future that completes as soon as all unsubscriptions have been performed.
      */
     public CompletableFuture<@Nullable Void> unsubscribe() {
+        final BulkSubscription bulkSubscription = this.bulkSubscription;
+        if (bulkSubscription != null) {
+            subscriptions.forEach(m -> bulkSubscription.unsubscribe(m.topic, m));
+            subscriptions.clear();
+            this.bulkSubscription = null;
+            return CompletableFuture.completedFuture(null);
+        }
+
         final MqttBrokerConnection connection = this.connection.get();
         if (connection == null) {
             subscriptions.clear();
@@ -170,6 +185,47 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     public CompletableFuture<@Nullable Void> subscribeAndReceive(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, String basetopic, @Nullable AttributeChanged attributeChangedListener,
             int timeout) {
+        final CompletableFuture<@Nullable Void> startFuture = prepareSubscriptions(connection, scheduler, basetopic,
+                attributeChangedListener);
+
+        final CompletableFuture<?>[] futures = subscriptions.stream()
+                .map(m -> m.subscribeAndReceive(connection, timeout)).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
+    }
+
+    /**
+     * Receive all subtopics on a MQTT broker connection base topic that match field names of s java object via a
+     * single bulk subscription of a topic tree. Otherwise behaves like
+     * {@link #subscribeAndReceive(MqttBrokerConnection, ScheduledExecutorService, String, AttributeChanged, int)}.
+     *
+     * @param bulkSubscription A started bulk subscription of a topic tree that contains the base topic.
+     * @param scheduler A scheduler for timeouts.
+     * @param basetopic The base topic. Given a base topic of "base/topic", a field "test" would be registered as
+     *            "base/topic/test".
+     * @param attributeChangedListener Field change listener
+     * @param timeout Timeout per mandatory field in milliseconds. Optional fields are not waited for after the
+     *            retained messages of the tree have been received.
+     * @return Returns a future that completes as soon as values for all fields have been received or have timed
+     *         out.
+     */
+    public CompletableFuture<@Nullable Void> subscribeAndReceiveBulk(BulkSubscription bulkSubscription,
+            ScheduledExecutorService scheduler, String basetopic, @Nullable AttributeChanged attributeChangedListener,
+            int timeout) {
+        final CompletableFuture<@Nullable Void> startFuture = prepareSubscriptions(bulkSubscription.getConnection(),
+                scheduler, basetopic, attributeChangedListener);
+        this.bulkSubscription = bulkSubscription;
+
+        final CompletableFuture<?>[] futures = subscriptions.stream()
+                .map(m -> m.subscribeAndReceiveBulk(bulkSubscription, timeout)).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
+    }
+
+    /**
+     * Unsubscribe old subscriptions if any and create the field subscribers.
+     */
+    private CompletableFuture<@Nullable Void> prepareSubscriptions(MqttBrokerConnection connection,
+            ScheduledExecutorService scheduler, String basetopic,
+            @Nullable AttributeChanged attributeChangedListener) {
         // We first need to unsubscribe old subscriptions if any
         final CompletableFuture<@Nullable Void> startFuture;
         if (!subscriptions.isEmpty()) {
@@ -190,10 +246,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
 
         subscriptions = getAllFields(getFieldsOf().getClass()).stream().filter(AbstractMqttAttributeClass::filterField)
                 .map(this::mapFieldToSubscriber).collect(Collectors.toList());
-
-        final CompletableFuture<?>[] futures = subscriptions.stream()
-                .map(m -> m.subscribeAndReceive(connection, timeout)).toArray(CompletableFuture[]::new);
-        return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
+        return startFuture;
     }
 
     /**
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.mapping;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A single wildcard subscription to a whole topic tree, for example "homie/device/#", that routes the received
+ * messages to subscribers of single topics within that tree.
+ * </p>
+ *
+ * <p>
+ * Attribute classes of a tree usually are created one level after another, only after the attributes of the parent
+ * level have been received. The last payload of every topic is kept therefore, and replayed to a subscriber that
+ * registers after its retained message has already arrived.
+ * </p>
+ *
+ * <p>
+ * The retained messages of the tree are delivered by the broker in one burst after subscribing. The subscription is
+ * considered settled as soon as no message has been received for a short quiet period after the broker acknowledged
+ * it. From then on, a topic without a retained message is known to be absent and optional fields do not need to wait
+ * for their timeout.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BulkSubscription implements MqttMessageSubscriber {
+    private final Logger logger = LoggerFactory.getLogger(BulkSubscription.class);
+
+    /** Default quiet period in milliseconds after which the retained messages are considered delivered */
+    public static final int DEFAULT_QUIET_PERIOD = 100;
+
+    private final MqttBrokerConnection connection;
+    private final ScheduledExecutorService scheduler;
+    private final String topic;
+    private final int quietPeriod;
+    private final Map<String, MqttMessageSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> lastPayloads = new ConcurrentHashMap<>();
+    private final CompletableFuture<Boolean> settled = new CompletableFuture<>();
+    private volatile long lastMessageNanos = System.nanoTime();
+    private @Nullable CompletableFuture<Boolean> subscribed;
+
+    /**
+     * Create a bulk subscription.
+     *
+     * @param connection A broker connection
+     * @param scheduler A scheduler to detect the end of the retained messages burst
+     * @param basetopic The base topic of the tree, without wildcard. E.g. "homie/device".
+     * @param quietPeriod The quiet period in milliseconds after which all retained messages are considered received
+     */
+    public BulkSubscription(MqttBrokerConnection connection, ScheduledExecutorService scheduler, String basetopic,
+            int quietPeriod) {
+        this.connection = connection;
+        this.scheduler = scheduler;
+        this.topic = basetopic + "/#";
+        this.quietPeriod = quietPeriod;
+    }
+
+    /**
+     * Subscribe to the topic tree on the broker connection.
+     *
+     * @return A future that completes with true as soon as the retained messages of the tree have been received.
+     *         Completes with false if subscribing failed.
+     */
+    public synchronized CompletableFuture<Boolean> start() {
+        if (subscribed == null) {
+            lastMessageNanos = System.nanoTime();
+            subscribed = connection.subscribe(topic, this).whenComplete((r, e) -> {
+                if (e != null || !Boolean.TRUE.equals(r)) {
+                    logger.debug("Failed to subscribe to topic {}", topic, e);
+                    settled.complete(false);
+                } else {
+                    scheduler.schedule(this::checkSettled, quietPeriod, TimeUnit.MILLISECONDS);
+                }
+            });
+        }
+        return settled;
+    }
+
+    /**
+     * Unsubscribe from the topic tree and forget all routes and payloads. A stopped bulk subscription cannot be
+     * started again.
+     *
+     * @return A future that completes as soon as unsubscribing has been performed.
+     */
+    public synchronized CompletableFuture<Boolean> stop() {
+        subscribers.clear();
+        lastPayloads.clear();
+        if (subscribed == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscribed = null;
+        settled.complete(false);
+        return connection.unsubscribe(topic, this);
+    }
+
+    private void checkSettled() {
+        long quietNanos = System.nanoTime() - lastMessageNanos;
+        long remaining = quietPeriod - TimeUnit.NANOSECONDS.toMillis(quietNanos);
+        if (remaining > 0) {
+            scheduler.schedule(this::checkSettled, remaining, TimeUnit.MILLISECONDS);
+        } else {
+            settled.complete(true);
+        }
+    }
+
+    /**
+     * Route the messages of a single topic of the tree to the given subscriber. If a message of the topic has been
+     * received before, it is passed to the subscriber immediately.
+     *
+     * @param topic A topic without wildcards
+     * @param subscriber The subscriber
+     * @return A future that completes with true as soon as the retained messages of the tree have been received.
+     */
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        subscribers.put(topic, subscriber);
+        byte[] payload = lastPayloads.get(topic);
+        if (payload != null) {
+            subscriber.processMessage(topic, payload);
+        }
+        return settled;
+    }
+
+    /**
+     * Stop routing the messages of a topic to the given subscriber.
+     *
+     * @param topic A topic without wildcards
+     * @param subscriber The subscriber
+     */
+    public void unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        subscribers.remove(topic, subscriber);
+    }
+
+    /**
+     * Return true if the retained messages of the tree have been received.
+     */
+    public boolean isSettled() {
+        return settled.getNow(false);
+    }
+
+    /**
+     * Return the broker connection of this subscription.
+     */
+    public MqttBrokerConnection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        if (!settled.isDone()) {
+            lastMessageNanos = System.nanoTime();
+        }
+        if (payload.length == 0) {
+            lastPayloads.remove(topic);
+        } else {
+            lastPayloads.put(topic, payload);
+        }
+        MqttMessageSubscriber subscriber = subscribers.get(topic);
+        if (subscriber != null) {
+            subscriber.processMessage(topic, payload);
+        }
+    }
+}
@@ -197,6 +197,35 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
         return future;
     }
 
+    /**
+     * Receive the value of the MQTT topic via a bulk subscription of a whole topic tree. A
+     * {@link SubscribeFieldToMQTTtopic} cannot be stopped. You need to manually unsubscribe from the {@link #topic}
+     * before disposing.
+     *
+     * <p>
+     * As soon as the retained messages of the tree have been received, a missing optional field is not waited for
+     * any longer. A missing mandatory field still times out after the given timeout.
+     * </p>
+     *
+     * @param bulkSubscription A bulk subscription of a topic tree containing {@link #topic}.
+     * @param timeout Timeout in milliseconds. The returned future completes after this time even if no message has
+     *            been received for the MQTT topic.
+     * @return Returns a future that completes if either a value is received for the topic or a timeout happens.
+     */
+    public CompletableFuture<@Nullable Void> subscribeAndReceiveBulk(BulkSubscription bulkSubscription, int timeout) {
+        bulkSubscription.subscribe(topic, this).thenAccept(settled -> {
+            if (future.isDone()) {
+                return;
+            }
+            if (settled && !mandatory) {
+                future.complete(null);
+            } else {
+                this.scheduledFuture = scheduler.schedule(this::timeoutReached, timeout, TimeUnit.MILLISECONDS);
+            }
+        });
+        return future;
+    }
+
     /**
      * Return true if the corresponding field has received a value at least once.
      */
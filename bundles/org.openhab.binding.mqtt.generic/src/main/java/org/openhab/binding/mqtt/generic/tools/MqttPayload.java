@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A received MQTT payload, shared by all receivers of a message.
+ * The payload is decoded into a string at most once, on first request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttPayload {
+    private final byte[] bytes;
+    private @Nullable String text;
+
+    public MqttPayload(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Returns the raw payload. Must not be modified.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the payload decoded as UTF8 text.
+     */
+    public String getText() {
+        String text = this.text;
+        if (text == null) {
+            text = new String(bytes, StandardCharsets.UTF_8);
+            this.text = text;
+        }
+        return text;
+    }
+}
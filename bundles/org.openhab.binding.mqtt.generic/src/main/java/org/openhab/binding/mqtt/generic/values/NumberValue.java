@@ -43,6 +43,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NumberValue extends Value {
+    /** Payloads up to this length can't overflow a long while parsed */
+    private static final int MAX_FAST_PAYLOAD_LENGTH = 18;
+
     private final Logger logger = LoggerFactory.getLogger(NumberValue.class);
     private final @Nullable BigDecimal min;
     private final @Nullable BigDecimal max;
@@ -133,6 +136,42 @@ public class NumberValue extends Value {
         }
     }
 
+    /**
+     * Parses plain decimal numbers like "21", "-3" or "21.5". Everything else, like exponents, units or
+     * surrounding whitespace, is left to the string parser.
+     */
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        int length = payload.length;
+        if (length == 0 || length > MAX_FAST_PAYLOAD_LENGTH) {
+            return null;
+        }
+        int start = payload[0] == '-' ? 1 : 0;
+        int dot = -1;
+        long integer = 0;
+        for (int i = start; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                integer = integer * 10 + (b - '0');
+            } else if (b == '.' && dot == -1 && i > start && i < length - 1) {
+                dot = i;
+            } else {
+                return null;
+            }
+        }
+        if (start == length) {
+            return null;
+        }
+        if (dot == -1) {
+            return new DecimalType(start == 1 ? -integer : integer);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) payload[i];
+        }
+        return new DecimalType(new BigDecimal(chars));
+    }
+
     @Override
     public StateDescriptionFragmentBuilder createStateDescription(boolean readOnly) {
         StateDescriptionFragmentBuilder builder = super.createStateDescription(readOnly);
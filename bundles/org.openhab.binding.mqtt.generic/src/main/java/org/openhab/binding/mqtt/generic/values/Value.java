@@ -125,6 +125,20 @@ public abstract class Value {
      */
     public abstract void update(Command command) throws IllegalArgumentException;
 
+    /**
+     * Parses a raw MQTT payload into a command without decoding it into a string first.
+     * <p>
+     * This is a fast path for simple, frequent payloads. If null is returned, the payload is decoded
+     * and parsed into one of the {@link #getSupportedCommandTypes()} instead.
+     * </p>
+     *
+     * @param payload The raw MQTT payload
+     * @return The command, or null if the payload is not handled by the fast path
+     */
+    public @Nullable Command parsePayload(byte[] payload) {
+        return null;
+    }
+
     /**
      * Returns the given command if it cannot be handled by {@link #update(Command)}
      * or {@link #update(byte[])} and need to be posted straight to the framework instead.
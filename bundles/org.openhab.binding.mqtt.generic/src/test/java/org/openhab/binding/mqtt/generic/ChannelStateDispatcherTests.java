@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.OnOffValue;
+import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.thing.ChannelUID;
+
+/**
+ * Tests the {@link ChannelStateDispatcher} class.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class ChannelStateDispatcherTests {
+
+    private @Mock MqttBrokerConnection connection;
+    private @Mock ChannelStateUpdateListener channelStateUpdateListener;
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private ChannelState channelState(String id, String stateTopic, Value value) {
+        return new ChannelState(ChannelConfigBuilder.create(stateTopic, "command").build(),
+                new ChannelUID("mqtt:topic:broker:thing:" + id), value, channelStateUpdateListener);
+    }
+
+    @Test
+    public void sharedTopicUsesOneSubscriber() throws Exception {
+        ChannelState number = channelState("number", "state", new NumberValue(null, null, null, null));
+        ChannelState onOff = channelState("onoff", "state", new OnOffValue("1", "0"));
+        ChannelState other = channelState("other", "other", new NumberValue(null, null, null, null));
+
+        number.start(connection, scheduler, 0).get();
+        onOff.start(connection, scheduler, 0).get();
+        other.start(connection, scheduler, 0).get();
+
+        // every channel state subscribes the topic to receive its retained message, with the same subscriber
+        ArgumentCaptor<MqttMessageSubscriber> subscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection, times(2)).subscribe(eq("state"), subscriber.capture());
+        assertThat(subscriber.getAllValues().get(0), is(subscriber.getAllValues().get(1)));
+        verify(connection).subscribe(eq("other"), any());
+        assertThat(ChannelStateDispatcher.forConnection(connection).getTopicCount(), is(2));
+
+        subscriber.getValue().processMessage("state", "1".getBytes());
+        assertThat(number.getCache().getChannelState(), is(new DecimalType(1)));
+        assertThat(onOff.getCache().getChannelState(), is(OnOffType.ON));
+        assertThat(other.getCache().getChannelState().toString(), is("UNDEF"));
+
+        number.stop().get();
+        verify(connection, never()).unsubscribe(any(), any());
+        subscriber.getValue().processMessage("state", "0".getBytes());
+        assertThat(onOff.getCache().getChannelState(), is(OnOffType.OFF));
+
+        onOff.stop().get();
+        verify(connection).unsubscribe(eq("state"), eq(subscriber.getValue()));
+        assertThat(ChannelStateDispatcher.forConnection(connection).getTopicCount(), is(1));
+    }
+
+    @Test
+    public void restartedChannelStateSubscribesAgain() throws Exception {
+        ChannelState number = channelState("number", "state", new NumberValue(null, null, null, null));
+        ChannelState onOff = channelState("onoff", "state", new OnOffValue("1", "0"));
+        number.start(connection, scheduler, 0).get();
+        onOff.start(connection, scheduler, 0).get();
+
+        onOff.stop().get();
+        onOff.start(connection, scheduler, 0).get();
+
+        verify(connection, times(3)).subscribe(eq("state"), any());
+        verify(connection, never()).unsubscribe(any(), any());
+    }
+
+    @Test
+    public void failedSubscriptionIsRetried() {
+        ChannelStateDispatcher dispatcher = ChannelStateDispatcher.forConnection(connection);
+        ChannelState number = channelState("number", "state", new NumberValue(null, null, null, null));
+
+        doReturn(CompletableFuture.completedFuture(false)).when(connection).subscribe(any(), any());
+        assertThat(dispatcher.subscribe(connection, "state", number).join(), is(false));
+
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        assertThat(dispatcher.subscribe(connection, "state", number).join(), is(true));
+        verify(connection, times(2)).subscribe(eq("state"), any());
+
+        // a successful subscription is reused
+        assertThat(dispatcher.subscribe(connection, "state", number).join(), is(true));
+        verify(connection, times(2)).subscribe(eq("state"), any());
+    }
+
+    @Test
+    public void fastPathMatchesStringParsing() {
+        ChannelState number = channelState("number", "state", new NumberValue(null, null, null, null));
+        number.processMessage("state", "-21.50".getBytes());
+        assertThat(number.getCache().getChannelState(), is(new DecimalType(new BigDecimal("-21.50"))));
+
+        // Not handled by the fast path, parsed as a string
+        number.processMessage("state", "INCREASE".getBytes());
+        assertThat(number.getCache().getChannelState(), is(new DecimalType(new BigDecimal("-20.50"))));
+    }
+}
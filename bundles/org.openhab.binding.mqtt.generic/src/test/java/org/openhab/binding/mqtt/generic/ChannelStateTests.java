@@ -94,9 +94,9 @@ public class ChannelStateTests {
     public void noInteractionTimeoutTest() throws InterruptedException, ExecutionException, TimeoutException {
         ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
         c.start(connection, scheduler, 50).get(100, TimeUnit.MILLISECONDS);
-        verify(connection).subscribe(eq("state"), eq(c));
+        verify(connection).subscribe(eq("state"), any());
         c.stop().get();
-        verify(connection).unsubscribe(eq("state"), eq(c));
+        verify(connection).unsubscribe(eq("state"), any());
     }
 
     @Test
@@ -104,7 +104,7 @@ public class ChannelStateTests {
         ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
 
         c.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
-        verify(connection).subscribe(eq("state"), eq(c));
+        verify(connection).subscribe(eq("state"), any());
 
         c.publishValue(new StringType("UPDATE")).get();
         verify(connection).publish(eq("command"), argThat(p -> Arrays.equals(p, "UPDATE".getBytes())), anyInt(),
@@ -126,7 +126,7 @@ public class ChannelStateTests {
         verify(connection).publish(eq("command"), any(), anyInt(), eq(true));
 
         c.stop().get();
-        verify(connection).unsubscribe(eq("state"), eq(c));
+        verify(connection).unsubscribe(eq("state"), any());
     }
 
     @Test
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.mapping;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.mapping.SubscribeFieldToMQTTtopic.FieldChanged;
+import org.openhab.binding.mqtt.generic.mapping.SubscribeFieldToMQTTtopicTests.Attributes;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests cases for {@link BulkSubscription}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class BulkSubscriptionTests {
+
+    private @Mock MqttBrokerConnection connection;
+    private @Mock MqttMessageSubscriber subscriber;
+    private @Mock FieldChanged fieldChanged;
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void routesAndReplaysMessages() throws Exception {
+        BulkSubscription bulkSubscription = new BulkSubscription(connection, scheduler, "homie/device", 10);
+        assertThat(bulkSubscription.start().get(1, TimeUnit.SECONDS), is(true));
+        verify(connection).subscribe(eq("homie/device/#"), eq(bulkSubscription));
+
+        // Received before anyone is interested
+        bulkSubscription.processMessage("homie/device/$name", "name".getBytes());
+        bulkSubscription.processMessage("homie/device/$state", "ready".getBytes());
+
+        bulkSubscription.subscribe("homie/device/$name", subscriber);
+        verify(subscriber).processMessage(eq("homie/device/$name"), eq("name".getBytes()));
+
+        bulkSubscription.processMessage("homie/device/$name", "other".getBytes());
+        verify(subscriber).processMessage(eq("homie/device/$name"), eq("other".getBytes()));
+        verify(subscriber, never()).processMessage(eq("homie/device/$state"), any());
+
+        bulkSubscription.unsubscribe("homie/device/$name", subscriber);
+        bulkSubscription.processMessage("homie/device/$name", "third".getBytes());
+        verify(subscriber, never()).processMessage(any(), eq("third".getBytes()));
+
+        bulkSubscription.stop().get();
+        verify(connection).unsubscribe(eq("homie/device/#"), eq(bulkSubscription));
+    }
+
+    @Test
+    public void optionalFieldsCompleteWhenSettled() throws Exception {
+        BulkSubscription bulkSubscription = new BulkSubscription(connection, scheduler, "homie/device", 10);
+        bulkSubscription.start();
+
+        SubscribeFieldToMQTTtopic optional = new SubscribeFieldToMQTTtopic(scheduler,
+                Attributes.class.getField("aString"), fieldChanged, "homie/device/aString", false);
+        SubscribeFieldToMQTTtopic mandatory = new SubscribeFieldToMQTTtopic(scheduler,
+                Attributes.class.getField("aLong"), fieldChanged, "homie/device/aLong", true);
+
+        // Would time out only after 10 seconds with a subscription per field
+        optional.subscribeAndReceiveBulk(bulkSubscription, 10000).get(1, TimeUnit.SECONDS);
+        assertThat(bulkSubscription.isSettled(), is(true));
+        assertThat(optional.hasReceivedValue(), is(false));
+
+        assertThrows(ExecutionException.class,
+                () -> mandatory.subscribeAndReceiveBulk(bulkSubscription, 50).get(1, TimeUnit.SECONDS));
+    }
+}
@@ -316,4 +316,25 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.update(new DecimalType(9.0)));
     }
+
+    @Test
+    public void parsePayloadMatchesStringParsing() {
+        NumberValue number = new NumberValue(null, null, null, null);
+        for (String payload : new String[] { "0", "15", "-100", "5.5", "-0.25" }) {
+            Command fast = number.parsePayload(payload.getBytes());
+            assertNotNull(fast);
+            number.update(p(number, payload));
+            assertEquals(number.getChannelState(), fast);
+        }
+        for (String payload : new String[] { "", "-", "1.", ".5", "1.2.3", " 1", "1e3", "INCREASE" }) {
+            assertNull(number.parsePayload(payload.getBytes()));
+        }
+
+        OnOffValue onOff = new OnOffValue("fancyON", "fancyOFF");
+        assertEquals(OnOffType.ON, onOff.parsePayload("ON".getBytes()));
+        assertEquals(OnOffType.OFF, onOff.parsePayload("OFF".getBytes()));
+        assertEquals(OnOffType.ON, onOff.parsePayload("fancyON".getBytes()));
+        assertEquals(OnOffType.OFF, onOff.parsePayload("fancyOFF".getBytes()));
+        assertNull(onOff.parsePayload("on".getBytes()));
+    }
 }
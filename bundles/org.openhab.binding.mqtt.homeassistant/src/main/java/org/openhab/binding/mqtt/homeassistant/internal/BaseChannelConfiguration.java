@@ -12,6 +12,10 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -22,6 +26,8 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.util.UIDUtils;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
@@ -68,6 +74,93 @@ public abstract class BaseChannelConfiguration {
         return fromString(configJSON, gson, Config.class);
     }
 
+    /**
+     * Parse only the base properties used by the discovery from the config payload.
+     *
+     * The payload is read as a stream and all other attributes are skipped without creating any objects for them,
+     * as thousands of retained configs may be received at once during discovery.
+     *
+     * @param payload The config payload in UTF8
+     * @return configuration object with name, unique_id and device set
+     * @throws IOException if the payload is not valid JSON
+     */
+    public static BaseChannelConfiguration fromDiscoveryPayload(final byte[] payload) throws IOException {
+        Config config = new Config();
+        try (JsonReader jsonReader = new JsonReader(
+                new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8))) {
+            jsonReader.setLenient(true);
+            JsonReader in = MappingJsonReader.getConfigMapper(jsonReader);
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        String name = readString(in);
+                        if (name != null) {
+                            config.name = name;
+                        }
+                        break;
+                    case "unique_id":
+                        config.unique_id = readString(in);
+                        break;
+                    case "device":
+                        config.device = readDevice(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return config;
+    }
+
+    private static @Nullable Device readDevice(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        Device device = new Device();
+        JsonReader in = MappingJsonReader.getDeviceMapper(jsonReader);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "identifiers":
+                    device.identifiers = new ListOrStringDeserializer().read(in);
+                    break;
+                case "name":
+                    device.name = readString(in);
+                    break;
+                case "manufacturer":
+                    device.manufacturer = readString(in);
+                    break;
+                case "model":
+                    device.model = readString(in);
+                    break;
+                case "sw_version":
+                    device.sw_version = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return device;
+    }
+
+    private static @Nullable String readString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                return in.nextString();
+        }
+    }
+
     public String name;
 
     protected String icon = "";
@@ -12,9 +12,7 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -34,7 +32,6 @@ import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryService;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homeassistant.internal.BaseChannelConfiguration;
-import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.HaID;
 import org.openhab.binding.mqtt.homeassistant.internal.HandlerConfiguration;
 import org.openhab.core.config.discovery.DiscoveryResult;
@@ -49,26 +46,29 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 /**
  * The {@link HomeAssistantDiscovery} is responsible for discovering device nodes that follow the
  * Home Assistant MQTT discovery convention (https://www.home-assistant.io/docs/mqtt/discovery/).
  *
+ * Brokers may hold thousands of retained config messages, which are all received again on every scan.
+ * Config payloads are therefore only parsed for the few attributes needed for discovery, configs that did not
+ * change since they were last seen are skipped, and only the things that changed are published again.
+ *
  * @author David Graeff - Initial contribution
  */
 @Component(service = DiscoveryService.class, configurationPid = "discovery.mqttha")
 @NonNullByDefault
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
-    @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
-    protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
-    protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
+    protected final Map<String, Set<HaID>> componentsPerThingID = new ConcurrentHashMap<>();
+    protected final Map<String, ThingUID> thingIDPerTopic = new ConcurrentHashMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    /** Config of the component that last updated a thing, to build its result again when a component leaves */
+    protected final Map<String, BaseChannelConfiguration> configPerThingID = new ConcurrentHashMap<>();
+    /** Content hash of the last config received per config topic */
+    protected final Map<String, Long> configHashPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
-    private final Gson gson;
 
     public static final Map<String, String> HA_COMP_TO_NAME = new TreeMap<>();
     {
@@ -94,7 +94,6 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
     public HomeAssistantDiscovery() {
         super(null, 3, true, BASE_TOPIC + "/#");
-        this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
     }
 
     @Reference
@@ -126,6 +125,19 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         return typeProvider.getThingTypeUIDs();
     }
 
+    @Override
+    protected void startScan() {
+        // Retained configs are received again, and things removed from the inbox in the meantime are found again
+        configHashPerTopic.clear();
+        super.startScan();
+    }
+
+    @Override
+    protected void startBackgroundDiscovery() {
+        configHashPerTopic.clear();
+        super.startBackgroundDiscovery();
+    }
+
     @Override
     public void receivedMessage(ThingUID connectionBridge, MqttBrokerConnection connection, String topic,
             byte[] payload) {
@@ -139,16 +151,21 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
-        // Reset the found-component timer.
-        // We will collect components for the thing label description for another 2 seconds.
-        final ScheduledFuture<?> future = this.future;
-        if (future != null) {
-            future.cancel(false);
+        // Retained configs are received again and again, skip them if nothing changed
+        final long hash = contentHash(payload);
+        final Long previousHash = configHashPerTopic.put(topic, hash);
+        if (previousHash != null && previousHash == hash) {
+            return;
         }
-        this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        BaseChannelConfiguration config;
+        try {
+            config = BaseChannelConfiguration.fromDiscoveryPayload(payload);
+        } catch (IOException e) {
+            logger.debug("Ignoring invalid config on topic {}: {}", topic, e.getMessage());
+            configHashPerTopic.remove(topic);
+            return;
+        }
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
@@ -162,37 +179,84 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
         final ThingUID thingUID = new ThingUID(typeID, connectionBridge, thingID);
 
-        thingIDPerTopic.put(topic, thingUID);
+        // A changed config may have moved the component to another thing
+        final ThingUID previousThingUID = thingIDPerTopic.put(topic, thingUID);
+        if (previousThingUID != null && !previousThingUID.equals(thingUID)) {
+            removeComponent(connectionBridge, previousThingUID, haID);
+        }
 
         // We need to keep track of already found component topics for a specific thing
         Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
         components.add(haID);
+        configPerThingID.put(thingID, config);
 
+        // Because we need the new properties map with the updated "components" list
+        results.put(thingUID.getAsString(), buildResult(connectionBridge, thingUID, config, components));
+
+        // Publish the things that changed in batches every 2 seconds.
+        // Components found later are added to the thing with the next batch.
+        schedulePublishResults();
+    }
+
+    private DiscoveryResult buildResult(ThingUID connectionBridge, ThingUID thingUID, BaseChannelConfiguration config,
+            Set<HaID> components) {
         final String componentNames = components.stream().map(id -> id.component)
                 .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
 
         final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
 
         Map<String, Object> properties = new HashMap<>();
-        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
+        HandlerConfiguration handlerConfig = new HandlerConfiguration(components.iterator().next().baseTopic, topics);
         properties = handlerConfig.appendToProperties(properties);
         properties = config.appendToProperties(properties);
-        properties.put("deviceId", thingID);
+        properties.put("deviceId", thingUID.getId());
 
-        // Because we need the new properties map with the updated "components" list
-        results.put(thingUID.getAsString(),
-                DiscoveryResultBuilder.create(thingUID).withProperties(properties)
-                        .withRepresentationProperty("deviceId").withBridge(connectionBridge)
-                        .withLabel(config.getThingName() + " (" + componentNames + ")").build());
+        return DiscoveryResultBuilder.create(thingUID).withProperties(properties).withRepresentationProperty("deviceId")
+                .withBridge(connectionBridge).withLabel(config.getThingName() + " (" + componentNames + ")").build();
     }
 
-    protected void publishResults() {
-        Collection<DiscoveryResult> localResults;
+    /**
+     * Removes a component that vanished or moved to another thing. The thing is removed together with its last
+     * component, otherwise it is published again without the component.
+     */
+    private void removeComponent(ThingUID connectionBridge, ThingUID thingUID, HaID haID) {
+        final String thingID = thingUID.getId();
+        Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
+        components.remove(haID);
+        if (components.isEmpty()) {
+            componentsPerThingID.remove(thingID);
+            configPerThingID.remove(thingID);
+            results.remove(thingUID.getAsString());
+            thingRemoved(thingUID);
+            return;
+        }
+        BaseChannelConfiguration config = configPerThingID.get(thingID);
+        if (config != null) {
+            results.put(thingUID.getAsString(), buildResult(connectionBridge, thingUID, config, components));
+            schedulePublishResults();
+        }
+    }
+
+    private synchronized void schedulePublishResults() {
+        final ScheduledFuture<?> future = this.future;
+        if (future == null || future.isDone()) {
+            this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
+        }
+    }
 
-        localResults = new ArrayList<>(results.values());
-        results.clear();
-        componentsPerThingID.clear();
-        for (DiscoveryResult result : localResults) {
+    /**
+     * Publish the things that changed since the last call. The components of the things are kept, so that a single
+     * changed component does not replace the thing found before with one that only knows this component.
+     */
+    protected void publishResults() {
+        synchronized (this) {
+            future = null;
+        }
+        for (String thingUID : results.keySet()) {
+            final DiscoveryResult result = results.remove(thingUID);
+            if (result == null) {
+                continue;
+            }
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
             typeProvider.setThingTypeIfAbsent(typeID, type);
@@ -201,22 +265,27 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
     }
 
+    /**
+     * 64 bit FNV-1a hash of a payload, to recognize configs that did not change
+     */
+    static long contentHash(byte[] payload) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : payload) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     @Override
     public void topicVanished(ThingUID connectionBridge, MqttBrokerConnection connection, String topic) {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
-            ThingUID thingUID = thingIDPerTopic.remove(topic);
-            final String thingID = thingUID.getId();
-
-            HaID haID = new HaID(topic);
-
-            Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
-            components.remove(haID);
-            if (components.isEmpty()) {
-                thingRemoved(thingUID);
-            }
+        configHashPerTopic.remove(topic);
+        ThingUID thingUID = thingIDPerTopic.remove(topic);
+        if (thingUID != null) {
+            removeComponent(connectionBridge, thingUID, new HaID(topic));
         }
     }
 }
@@ -15,11 +15,14 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -141,4 +144,28 @@ public class HAConfigurationTests {
             assertThat(device.identifiers, is(Arrays.asList("A")));
         }
     }
+
+    @Test
+    public void testDiscoveryPayload() throws IOException {
+        for (String name : new String[] { "configA.json", "configDeviceList.json", "configDeviceSingleString.json",
+                "configFan.json" }) {
+            String json = readTestJson(name);
+
+            BaseChannelConfiguration expected = BaseChannelConfiguration.fromString(json, gson);
+            BaseChannelConfiguration config = BaseChannelConfiguration
+                    .fromDiscoveryPayload(json.getBytes(StandardCharsets.UTF_8));
+
+            assertThat(config.getThingName(), is(expected.getThingName()));
+            assertThat(config.getThingId("default"), is(expected.getThingId("default")));
+            assertThat(config.appendToProperties(new HashMap<>()), is(expected.appendToProperties(new HashMap<>())));
+        }
+    }
+
+    @Test
+    public void testInvalidDiscoveryPayload() {
+        assertThrows(IOException.class,
+                () -> BaseChannelConfiguration.fromDiscoveryPayload("[\"A\"]".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IOException.class,
+                () -> BaseChannelConfiguration.fromDiscoveryPayload("{\"name\": ".getBytes(StandardCharsets.UTF_8)));
+    }
 }
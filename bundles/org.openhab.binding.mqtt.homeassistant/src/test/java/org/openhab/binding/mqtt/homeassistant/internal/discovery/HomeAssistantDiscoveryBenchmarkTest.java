@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.mqtt.homeassistant.internal.BaseChannelConfiguration;
+import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationTypeAdapterFactory;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ThingUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Benchmark replaying a dump of 5000 retained discovery configs, 1000 devices with 5 components each, twice.
+ * The second replay is what every further scan sees. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class HomeAssistantDiscoveryBenchmarkTest {
+
+    private static final int DEVICES = 1000;
+    private static final String[] COMPONENTS = { "sensor/temperature", "sensor/humidity", "sensor/battery",
+            "sensor/linkquality", "binary_sensor/occupancy" };
+
+    private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscoveryBenchmarkTest.class);
+
+    private static byte[] config(String device, String name) {
+        return ("{\"name\":\"" + device + " " + name + "\",\"uniq_id\":\"" + device + "_" + name
+                + "_zigbee2mqtt\",\"stat_t\":\"zigbee2mqtt/" + device + "\",\"json_attr_t\":\"zigbee2mqtt/" + device
+                + "\",\"val_tpl\":\"{{ value_json." + name + " }}\",\"unit_of_meas\":\"%\",\"dev_cla\":\"" + name
+                + "\",\"avty\":[{\"topic\":\"zigbee2mqtt/bridge/state\"}],\"dev\":{\"ids\":[\"zigbee2mqtt_" + device
+                + "\"],\"name\":\"" + device + "\",\"sw\":\"Zigbee2MQTT 1.18.1\",\"mdl\":\"Aqara temperature sensor\","
+                + "\"mf\":\"Xiaomi\"}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void replayRetainedDump() {
+        int configs = DEVICES * COMPONENTS.length;
+        String[] topics = new String[configs];
+        byte[][] payloads = new byte[configs][];
+        for (int d = 0; d < DEVICES; d++) {
+            String device = String.format("0x00158d00%08x", d);
+            for (int c = 0; c < COMPONENTS.length; c++) {
+                String[] component = COMPONENTS[c].split("/");
+                topics[d * COMPONENTS.length + c] = "homeassistant/" + component[0] + "/" + device + "/"
+                        + component[1] + "/config";
+                payloads[d * COMPONENTS.length + c] = config(device, component[1]);
+            }
+        }
+
+        HomeAssistantDiscovery discovery = new HomeAssistantDiscovery();
+        discovery.setTypeProvider(HomeAssistantDiscoveryTests.typeProvider());
+        ThingUID bridgeUID = new ThingUID("mqtt:broker:bridge");
+        MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < configs; i++) {
+            discovery.receivedMessage(bridgeUID, connection, topics[i], payloads[i]);
+        }
+        long firstReplay = System.nanoTime() - start;
+        assertThat(discovery.results.size(), is(DEVICES));
+
+        start = System.nanoTime();
+        discovery.publishResults();
+        long publish = System.nanoTime() - start;
+        assertThat(discovery.results.size(), is(0));
+
+        start = System.nanoTime();
+        for (int i = 0; i < configs; i++) {
+            discovery.receivedMessage(bridgeUID, connection, topics[i], payloads[i]);
+        }
+        long secondReplay = System.nanoTime() - start;
+        assertThat(discovery.results.size(), is(0));
+
+        // Reference: the full Gson parse formerly done for every config
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory())
+                .create();
+        start = System.nanoTime();
+        for (int i = 0; i < configs; i++) {
+            BaseChannelConfiguration.fromString(new String(payloads[i], StandardCharsets.UTF_8), gson);
+        }
+        long gsonParse = System.nanoTime() - start;
+
+        logger.info("{} configs: first replay {} ms, publishing {} things {} ms, second replay {} ms", configs,
+                firstReplay / 1_000_000, DEVICES, publish / 1_000_000, secondReplay / 1_000_000);
+        logger.info("{} configs: parsing with Gson alone took {} ms", configs, gsonParse / 1_000_000);
+        logger.info("Tracked state: {} topics, {} things", discovery.configHashPerTopic.size(),
+                discovery.componentsPerThingID.size());
+    }
+}
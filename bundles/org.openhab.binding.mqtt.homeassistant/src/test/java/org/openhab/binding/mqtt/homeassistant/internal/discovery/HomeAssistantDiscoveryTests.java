@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
+import org.openhab.core.config.discovery.DiscoveryListener;
+import org.openhab.core.config.discovery.DiscoveryResult;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.builder.ThingTypeBuilder;
+import org.openhab.core.thing.type.ThingTypeRegistry;
+
+/**
+ * Tests the {@link HomeAssistantDiscovery} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomeAssistantDiscoveryTests {
+
+    private static final ThingUID BRIDGE_UID = new ThingUID("mqtt:broker:bridge");
+
+    private final MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+    private HomeAssistantDiscovery discovery;
+
+    static MqttChannelTypeProvider typeProvider() {
+        ThingTypeRegistry typeRegistry = mock(ThingTypeRegistry.class);
+        when(typeRegistry.getThingType(any()))
+                .thenReturn(ThingTypeBuilder.instance(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, "HA").build());
+        return new MqttChannelTypeProvider(typeRegistry);
+    }
+
+    static byte[] config(String device, String name) {
+        return ("{\"name\":\"" + name + "\",\"uniq_id\":\"" + device + "_" + name
+                + "\",\"stat_t\":\"zigbee2mqtt/" + device + "\",\"dev\":{\"ids\":[\"" + device
+                + "\"],\"name\":\"" + device + "\",\"mf\":\"Vendor\",\"mdl\":\"Model\"}}")
+                        .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        discovery = new HomeAssistantDiscovery();
+        discovery.setTypeProvider(typeProvider());
+    }
+
+    private @Nullable DiscoveryResult result(String thingID) {
+        return discovery.results.values().stream().filter(result -> result.getThingUID().getId().equals(thingID))
+                .findAny().orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> topics(@Nullable DiscoveryResult result) {
+        return (List<String>) Objects.requireNonNull(result).getProperties().get("topics");
+    }
+
+    private void receive(String component, String device, String name) {
+        discovery.receivedMessage(BRIDGE_UID, connection,
+                "homeassistant/" + component + "/" + device + "/" + name + "/config", config(device, name));
+    }
+
+    @Test
+    public void unchangedConfigIsSkipped() {
+        receive("sensor", "dev1", "temperature");
+        assertThat(discovery.results.size(), is(1));
+        discovery.publishResults();
+        assertThat(discovery.results.size(), is(0));
+
+        receive("sensor", "dev1", "temperature");
+        assertThat(discovery.results.size(), is(0));
+
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/sensor/dev1/temperature/config",
+                config("dev1", "temp"));
+        assertThat(discovery.results.size(), is(1));
+    }
+
+    @Test
+    public void componentsAreKeptAcrossPublishes() {
+        receive("sensor", "dev1", "temperature");
+        discovery.publishResults();
+        receive("switch", "dev1", "power");
+
+        assertThat(discovery.results.size(), is(1));
+        DiscoveryResult result = discovery.results.values().iterator().next();
+        @SuppressWarnings("unchecked")
+        List<String> topics = (List<String>) result.getProperties().get("topics");
+        assertThat(topics, hasItems("sensor/dev1/temperature", "switch/dev1/power"));
+    }
+
+    @Test
+    public void invalidConfigIsIgnored() {
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/sensor/dev1/broken/config",
+                "{\"name\":".getBytes(StandardCharsets.UTF_8));
+        assertThat(discovery.results.size(), is(0));
+        assertThat(discovery.configHashPerTopic.size(), is(0));
+    }
+
+    @Test
+    public void vanishedComponentsAreForgotten() {
+        receive("sensor", "dev1", "temperature");
+        receive("switch", "dev1", "power");
+        discovery.publishResults();
+
+        discovery.topicVanished(BRIDGE_UID, connection, "homeassistant/sensor/dev1/temperature/config");
+        assertThat(discovery.componentsPerThingID.get("dev1").size(), is(1));
+        discovery.topicVanished(BRIDGE_UID, connection, "homeassistant/switch/dev1/power/config");
+        assertThat(discovery.componentsPerThingID.containsKey("dev1"), is(false));
+        assertThat(discovery.configHashPerTopic.size(), is(0));
+    }
+
+    @Test
+    public void movedComponentLeavesItsPreviousThing() {
+        DiscoveryListener listener = mock(DiscoveryListener.class);
+        discovery.addDiscoveryListener(listener);
+        receive("sensor", "dev1", "temperature");
+        receive("switch", "dev1", "power");
+        discovery.publishResults();
+
+        // the sensor is now reported by another device
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/sensor/dev1/temperature/config",
+                config("dev2", "temperature"));
+        assertThat(discovery.results.size(), is(2));
+        assertThat(topics(result("dev1")), is(List.of("switch/dev1/power")));
+        assertThat(topics(result("dev2")), is(List.of("sensor/dev1/temperature")));
+        discovery.publishResults();
+
+        // the previous thing is removed together with its last component
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/switch/dev1/power/config",
+                config("dev2", "power"));
+        assertThat(result("dev1"), is(nullValue()));
+        assertThat(topics(result("dev2")), hasItems("sensor/dev1/temperature", "switch/dev1/power"));
+        assertThat(discovery.componentsPerThingID.containsKey("dev1"), is(false));
+        verify(listener).thingRemoved(eq(discovery), argThat(uid -> uid.getId().equals("dev1")));
+    }
+}
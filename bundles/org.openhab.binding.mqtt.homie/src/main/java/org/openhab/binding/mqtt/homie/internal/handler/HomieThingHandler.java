@@ -105,6 +105,7 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
             return;
         }
         device.initialize(config.basetopic, config.deviceid, thing.getChannels());
+        device.setBulkSubscribe(config.bulksubscribe);
         super.initialize();
     }
 
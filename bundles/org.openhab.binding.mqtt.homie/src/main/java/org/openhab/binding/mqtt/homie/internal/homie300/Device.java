@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
+import org.openhab.binding.mqtt.generic.mapping.BulkSubscription;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -47,6 +48,9 @@ import org.slf4j.LoggerFactory;
  * });
  * </pre>
  *
+ * With {@link #setBulkSubscribe(boolean)} the whole device tree is received via a single wildcard subscription
+ * "basetopic/deviceid/#" instead of one subscription per attribute.
+ *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
@@ -64,6 +68,8 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private String topic = "";
     public String deviceID = "";
     private boolean initialized = false;
+    private boolean bulkSubscribe = false;
+    private @Nullable BulkSubscription bulkSubscription;
 
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
@@ -113,7 +119,22 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
             throw new IllegalStateException("You must call initialize()!");
         }
 
-        return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
+        final CompletableFuture<@Nullable Void> attributesFuture;
+        final BulkSubscription oldBulkSubscription = this.bulkSubscription;
+        if (oldBulkSubscription != null) {
+            oldBulkSubscription.stop();
+            this.bulkSubscription = null;
+        }
+        if (bulkSubscribe) {
+            final BulkSubscription bulkSubscription = new BulkSubscription(connection, scheduler, topic,
+                    BulkSubscription.DEFAULT_QUIET_PERIOD);
+            this.bulkSubscription = bulkSubscription;
+            bulkSubscription.start();
+            attributesFuture = attributes.subscribeAndReceiveBulk(bulkSubscription, scheduler, topic, this, timeout);
+        } else {
+            attributesFuture = attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout);
+        }
+        return attributesFuture
                 // On success, create all nodes and tell the handler about the ready state
                 .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
                 // No matter if values have been received or not -> the subscriptions have been performed
@@ -174,8 +195,24 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * Unsubscribe from everything.
      */
     public CompletableFuture<@Nullable Void> stop() {
-        return attributes.unsubscribe().thenCompose(
+        final BulkSubscription bulkSubscription = this.bulkSubscription;
+        this.bulkSubscription = null;
+        CompletableFuture<@Nullable Void> future = attributes.unsubscribe().thenCompose(
                 b -> CompletableFuture.allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)));
+        if (bulkSubscription != null) {
+            future = future.thenCompose(b -> bulkSubscription.stop()).thenApply(b -> null);
+        }
+        return future;
+    }
+
+    /**
+     * Receive the device tree via a single wildcard subscription instead of one subscription per attribute.
+     * Takes effect on the next call of {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}.
+     *
+     * @param bulkSubscribe True to use a single wildcard subscription
+     */
+    public void setBulkSubscribe(boolean bulkSubscribe) {
+        this.bulkSubscribe = bulkSubscribe;
     }
 
     /**
@@ -275,8 +312,11 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
     CompletableFuture<@Nullable Void> applyNodes(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
-        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, scheduler, timeout), this::createNode,
-                this::notifyNodeRemoved).exceptionally(e -> {
+        final BulkSubscription bulkSubscription = this.bulkSubscription;
+        return nodes.apply(attributes.nodes,
+                node -> bulkSubscription != null ? node.subscribe(bulkSubscription, scheduler, timeout)
+                        : node.subscribe(connection, scheduler, timeout),
+                this::createNode, this::notifyNodeRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
                 });
@@ -36,4 +36,8 @@ public class HandlerConfiguration {
      * Indicates if retained topics should be removed when the Thing is deleted.
      */
     public boolean removetopics = false;
+    /**
+     * Indicates if the device tree should be received via a single wildcard subscription.
+     */
+    public boolean bulksubscribe = false;
 }
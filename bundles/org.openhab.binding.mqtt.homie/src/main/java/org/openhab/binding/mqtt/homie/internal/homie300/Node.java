@@ -22,6 +22,7 @@ import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
+import org.openhab.binding.mqtt.generic.mapping.BulkSubscription;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -57,6 +58,7 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
     public final ChannelGroupTypeUID channelGroupTypeUID;
     private final String topic;
     private boolean initialized = false;
+    private @Nullable BulkSubscription bulkSubscription;
 
     /**
      * Creates a Homie Node.
@@ -92,6 +94,22 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
                 });
     }
 
+    /**
+     * Parse node properties like {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}, but receive
+     * the node and property attributes via the bulk subscription of the device.
+     */
+    public CompletableFuture<@Nullable Void> subscribe(BulkSubscription bulkSubscription,
+            ScheduledExecutorService scheduler, int timeout) {
+        this.bulkSubscription = bulkSubscription;
+        return attributes.subscribeAndReceiveBulk(bulkSubscription, scheduler, topic, this, timeout)
+                // On success, create all properties and tell the handler about this node
+                .thenCompose(b -> attributesReceived(bulkSubscription.getConnection(), scheduler, timeout))
+                // No matter if values have been received or not -> the subscriptions have been performed
+                .whenComplete((r, e) -> {
+                    initialized = true;
+                });
+    }
+
     public CompletableFuture<@Nullable Void> attributesReceived(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
         callback.nodeAddedOrChanged(this);
@@ -173,7 +191,10 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
 
     protected CompletableFuture<@Nullable Void> applyProperties(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
-        return properties.apply(attributes.properties, prop -> prop.subscribe(connection, scheduler, timeout),
+        final BulkSubscription bulkSubscription = this.bulkSubscription;
+        return properties.apply(attributes.properties,
+                prop -> bulkSubscription != null ? prop.subscribe(bulkSubscription, scheduler, timeout)
+                        : prop.subscribe(connection, scheduler, timeout),
                 this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
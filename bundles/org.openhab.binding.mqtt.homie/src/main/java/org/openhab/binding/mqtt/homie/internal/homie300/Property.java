@@ -28,6 +28,7 @@ import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass.AttributeChanged;
+import org.openhab.binding.mqtt.generic.mapping.BulkSubscription;
 import org.openhab.binding.mqtt.generic.mapping.ColorMode;
 import org.openhab.binding.mqtt.generic.values.ColorValue;
 import org.openhab.binding.mqtt.generic.values.NumberValue;
@@ -111,6 +112,21 @@ public class Property implements AttributeChanged {
                 });
     }
 
+    /**
+     * Subscribe to property attributes like {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)},
+     * but receive them via the bulk subscription of the device.
+     */
+    public CompletableFuture<@Nullable Void> subscribe(BulkSubscription bulkSubscription,
+            ScheduledExecutorService scheduler, int timeout) {
+        return attributes.subscribeAndReceiveBulk(bulkSubscription, scheduler, topic, this, timeout)
+                // On success, create the channel and tell the handler about this property
+                .thenRun(this::attributesReceived)
+                // No matter if values have been received or not -> the subscriptions have been performed
+                .whenComplete((r, e) -> {
+                    initialized = true;
+                });
+    }
+
     private @Nullable BigDecimal convertFromString(String value) {
         try {
             return new BigDecimal(value);
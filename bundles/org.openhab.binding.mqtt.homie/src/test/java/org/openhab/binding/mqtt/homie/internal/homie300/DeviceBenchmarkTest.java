@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.thing.ThingUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark measuring the time until the device trees of 100 Homie devices with 3 nodes of 10 properties each have
+ * been received, with one subscription per attribute and with a bulk subscription per device.
+ *
+ * The broker is simulated in memory. It handles one subscribe request at a time with a fixed service time and
+ * acknowledges it after a network round trip, followed by the matching retained messages. Half of the properties
+ * do not publish the optional $unit and $format attributes. Run with <code>mvn test -Dbenchmark=true</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DeviceBenchmarkTest {
+    private static final int DEVICES = 100;
+    private static final int NODES = 3;
+    private static final int PROPERTIES = 10;
+    private static final long SUBSCRIBE_SERVICE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long ROUND_TRIP_MILLIS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(DeviceBenchmarkTest.class);
+
+    private final Map<String, byte[]> retained = new ConcurrentSkipListMap<>();
+    private final AtomicInteger subscribes = new AtomicInteger();
+    private ExecutorService broker;
+    private ScheduledExecutorService network;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        broker = Executors.newSingleThreadExecutor();
+        network = new ScheduledThreadPoolExecutor(1);
+        scheduler = new ScheduledThreadPoolExecutor(4);
+
+        for (int d = 0; d < DEVICES; d++) {
+            String device = "homie/device" + d;
+            StringBuilder nodes = new StringBuilder();
+            publish(device + "/$homie", "3.0");
+            publish(device + "/$name", "Device " + d);
+            publish(device + "/$state", "ready");
+            for (int n = 0; n < NODES; n++) {
+                String node = device + "/node" + n;
+                StringBuilder properties = new StringBuilder();
+                nodes.append(n == 0 ? "" : ",").append("node").append(n);
+                publish(node + "/$name", "Node " + n);
+                publish(node + "/$type", "sensor");
+                for (int p = 0; p < PROPERTIES; p++) {
+                    String property = node + "/property" + p;
+                    properties.append(p == 0 ? "" : ",").append("property").append(p);
+                    publish(property + "/$name", "Property " + p);
+                    publish(property + "/$datatype", "float");
+                    publish(property + "/$settable", "false");
+                    publish(property + "/$retained", "true");
+                    if (p % 2 == 0) {
+                        publish(property + "/$unit", "°C");
+                        publish(property + "/$format", "-40:80");
+                    }
+                    publish(property, "21.5");
+                }
+                publish(node + "/$properties", properties.toString());
+            }
+            publish(device + "/$nodes", nodes.toString());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broker.shutdownNow();
+        network.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private void publish(String topic, String payload) {
+        retained.put(topic, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MqttBrokerConnection connection() {
+        MqttBrokerConnection connection = mock(MqttBrokerConnection.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            String filter = invocation.getArgument(0);
+            MqttMessageSubscriber subscriber = invocation.getArgument(1);
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            broker.execute(() -> {
+                subscribes.incrementAndGet();
+                LockSupport.parkNanos(SUBSCRIBE_SERVICE_NANOS);
+                network.schedule(() -> {
+                    future.complete(true);
+                    retained.forEach((topic, payload) -> {
+                        if (filter.endsWith("/#") ? topic.startsWith(filter.substring(0, filter.length() - 1))
+                                : topic.equals(filter)) {
+                            subscriber.processMessage(topic, payload);
+                        }
+                    });
+                }, ROUND_TRIP_MILLIS, TimeUnit.MILLISECONDS);
+            });
+            return future;
+        }).when(connection).subscribe(anyString(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(anyString(), any());
+        return connection;
+    }
+
+    private long timeToOnline(boolean bulkSubscribe) throws Exception {
+        MqttBrokerConnection connection = connection();
+        DeviceCallback callback = mock(DeviceCallback.class, withSettings().stubOnly());
+        Device[] devices = new Device[DEVICES];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[DEVICES];
+        subscribes.set(0);
+
+        long start = System.nanoTime();
+        for (int d = 0; d < DEVICES; d++) {
+            devices[d] = new Device(new ThingUID(MqttBindingConstants.HOMIE300_MQTT_THING, "device" + d), callback,
+                    new DeviceAttributes());
+            devices[d].initialize("homie", "device" + d, Collections.emptyList());
+            devices[d].setBulkSubscribe(bulkSubscribe);
+            futures[d] = devices[d].subscribe(connection, scheduler, MqttBindingConstants.HOMIE_ATTRIBUTE_TIMEOUT_MS);
+        }
+        CompletableFuture.allOf(futures).get(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+
+        for (Device device : devices) {
+            assertThat(device.nodes.size(), is(NODES));
+            device.nodes.stream().forEach(node -> assertThat(node.properties.size(), is(PROPERTIES)));
+            device.stop().get();
+        }
+        return elapsed;
+    }
+
+    @Test
+    public void timeToOnlineOf100Devices() throws Exception {
+        // warm up
+        timeToOnline(false);
+        timeToOnline(true);
+
+        long perAttribute = timeToOnline(false);
+        int perAttributeSubscribes = subscribes.get();
+        long bulk = timeToOnline(true);
+        int bulkSubscribes = subscribes.get();
+
+        logger.info("{} devices, subscription per attribute: {} ms until online, {} subscribes", DEVICES,
+                perAttribute / 1_000_000, perAttributeSubscribes);
+        logger.info("{} devices, bulk subscription: {} ms until online, {} subscribes", DEVICES, bulk / 1_000_000,
+                bulkSubscribes);
+    }
+}
@@ -34,8 +34,12 @@ public class NetworkBindingConfiguration {
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
     public @NonNullByDefault({}) ArpPingUtilEnum arpPingUtilMethod;
+    public String batchPingToolPath = "fping";
+    public boolean batchPingToolAvailable = false;
     // For backwards compatibility reasons, the default is to use the ping method execution time as latency value
     public boolean preferResponseTimeAsLatency = false;
+    // The network interface to listen on for passive presence detection, disabled if empty
+    public String passivePresenceInterface = "";
 
     private List<NetworkBindingConfigurationListener> listeners = new ArrayList<>();
 
@@ -44,10 +48,13 @@ public class NetworkBindingConfiguration {
         this.allowDHCPlisten = newConfiguration.allowDHCPlisten;
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
+        this.batchPingToolPath = newConfiguration.batchPingToolPath;
         this.preferResponseTimeAsLatency = newConfiguration.preferResponseTimeAsLatency;
+        this.passivePresenceInterface = newConfiguration.passivePresenceInterface;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeARPpingMethod(arpPingToolPath);
+        this.batchPingToolAvailable = networkUtils.isBatchPingToolAvailable(batchPingToolPath);
 
         notifyListeners();
     }
@@ -64,7 +71,9 @@ public class NetworkBindingConfiguration {
     public String toString() {
         return "NetworkBindingConfiguration{" + "allowSystemPings=" + allowSystemPings + ", allowDHCPlisten="
                 + allowDHCPlisten + ", cacheDeviceStateTimeInMS=" + cacheDeviceStateTimeInMS + ", arpPingToolPath='"
-                + arpPingToolPath + '\'' + ", arpPingUtilMethod=" + arpPingUtilMethod + ", preferResponseTimeAsLatency="
-                + preferResponseTimeAsLatency + '}';
+                + arpPingToolPath + '\'' + ", arpPingUtilMethod=" + arpPingUtilMethod + ", batchPingToolPath='"
+                + batchPingToolPath + '\'' + ", batchPingToolAvailable=" + batchPingToolAvailable
+                + ", preferResponseTimeAsLatency=" + preferResponseTimeAsLatency + ", passivePresenceInterface='"
+                + passivePresenceInterface + '\'' + '}';
     }
 }
@@ -41,6 +41,9 @@ public class NetworkBindingConstants {
     public static final String CHANNEL_LATENCY = "latency";
     public static final String CHANNEL_DEPRECATED_TIME = "time";
     public static final String CHANNEL_LASTSEEN = "lastseen";
+    public static final String CHANNEL_PROBES_AVOIDED = "probesAvoided";
+    public static final String CHANNEL_PROBES_PERFORMED = "probesPerformed";
+    public static final String CHANNEL_DETECTION_LATENCY = "detectionLatency";
     public static final String CHANNEL_TEST_ISRUNNING = "isRunning";
     public static final String CHANNEL_TEST_PROGRESS = "progress";
     public static final String CHANNEL_RATE_UP = "rateUp";
@@ -60,6 +63,7 @@ public class NetworkBindingConstants {
     public static final String PROPERTY_ICMP_STATE = "icmp_state";
     public static final String PROPERTY_PRESENCE_DETECTION_TYPE = "presence_detection_type";
     public static final String PROPERTY_IOS_WAKEUP = "uses_ios_wakeup";
+    public static final String PROPERTY_PASSIVE_STATE = "passive_state";
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = new HashSet<>();
 
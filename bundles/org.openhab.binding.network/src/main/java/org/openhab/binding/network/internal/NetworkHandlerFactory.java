@@ -18,6 +18,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.handler.NetworkHandler;
 import org.openhab.binding.network.internal.handler.SpeedTestHandler;
+import org.openhab.binding.network.internal.passive.PassivePresenceService;
+import org.openhab.binding.network.internal.utils.PresenceDetectionEngine;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -60,6 +62,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Override
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        PassivePresenceService.stop();
         super.deactivate(componentContext);
     }
 
@@ -70,6 +73,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
         logger.debug("Updated binding configuration to {}", configuration);
+        PassivePresenceService.start(configuration.passivePresenceInterface);
+        PresenceDetectionEngine.getInstance()
+                .setBatchPingToolPath(configuration.batchPingToolAvailable ? configuration.batchPingToolPath : null);
     }
 
     @Override
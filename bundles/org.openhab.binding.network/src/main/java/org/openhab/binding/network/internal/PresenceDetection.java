@@ -17,24 +17,33 @@ import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
+import org.openhab.binding.network.internal.passive.PassivePresenceService;
+import org.openhab.binding.network.internal.passive.PassivePresenceTable;
+import org.openhab.binding.network.internal.passive.PassivePresenceTable.Sighting;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceDetectionEngine;
 import org.openhab.core.cache.ExpiringCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +54,7 @@ import org.slf4j.LoggerFactory;
  * @author Marc Mettke - Initial contribution
  * @author David Gräff, 2017 - Rewritten
  * @author Jan N. Klug - refactored host name resolution
+ * @author agent - Checks performed by the shared presence detection engine
  */
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
@@ -53,10 +63,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
     NetworkUtils networkUtils = new NetworkUtils();
+    PresenceDetectionEngine engine = PresenceDetectionEngine.getInstance();
+    PassivePresenceTable passivePresenceTable = PassivePresenceService.getTable();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
     private boolean useDHCPsniffing = false;
+    private boolean usePassivePresence = false;
     private String arpPingState = "Disabled";
     private String ipPingState = "Disabled";
     protected String arpPingUtilPath = "";
@@ -79,11 +92,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable CompletableFuture<Void> detection;
     private String dhcpState = "off";
-    Integer currentCheck = 0;
     int detectionChecks;
 
+    /// Metrics
+    private long probesAvoided;
+    private long probesPerformed;
+    private long detectionStartInNS;
+    private double detectionLatencyInMS = NOT_REACHABLE;
+
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
             throws IllegalArgumentException {
         this.updateListener = updateListener;
@@ -144,6 +162,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.useDHCPsniffing = enable;
     }
 
+    /**
+     * Consult the {@link PassivePresenceTable} before actively probing the device. If the device was heard of
+     * within the refresh interval, it is reported as reachable without a probe.
+     */
+    public void setUsePassivePresence(boolean enable) {
+        this.usePassivePresence = enable;
+    }
+
     public void setRefreshInterval(long refreshInterval) {
         this.refreshIntervalInMS = refreshInterval;
     }
@@ -245,6 +271,30 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return dhcpState;
     }
 
+    /**
+     * Return the number of presence detections that were answered by the {@link PassivePresenceTable}, without
+     * probing the device.
+     */
+    public synchronized long getProbesAvoided() {
+        return probesAvoided;
+    }
+
+    /**
+     * Return the number of presence detections that actively probed the device.
+     */
+    public synchronized long getProbesPerformed() {
+        return probesPerformed;
+    }
+
+    /**
+     * Return the time in milliseconds the last successful presence detection took until the device was found,
+     * or {@link #NOT_REACHABLE} if the device was not found yet. If the device was detected passively, this is the
+     * age of the sighting when it was used, i.e. the time between the sighting and the detection.
+     */
+    public synchronized double getDetectionLatency() {
+        return detectionLatencyInMS;
+    }
+
     /**
      * Return true if the device presence detection is performed for an iOS device
      * like iPhone or iPads. An additional port knock is performed before a ping.
@@ -279,14 +329,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are performed by the shared
+     * {@link PresenceDetectionEngine}, so that no threads are created for them.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,20 +346,87 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
+        CompletableFuture<Void> detection = null;
+        PresenceDetectionValue passiveValue;
+        synchronized (this) {
+            if (this.detection != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
+
+            if (!cache.isExpired()) {
+                return false;
+            }
+
+            // A device that was heard of since the last refresh does not need to be probed
+            passiveValue = usePassivePresence ? detectPassively() : null;
+            if (passiveValue != null) {
+                probesAvoided++;
+            } else {
+                List<CompletableFuture<?>> checks = createChecks();
+                if (checks == null) {
+                    return false;
+                }
+                probesPerformed++;
+                detectionStartInNS = System.nanoTime();
+
+                detection = CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new));
+                this.detection = detection;
+            }
+        }
+        if (detection != null) {
+            // Finish after all checks, which happens way before the "timeoutInMS", if all checks were successful.
+            CompletableFuture<Void> activeDetection = detection;
+            activeDetection.orTimeout(timeoutInMS + 100, TimeUnit.MILLISECONDS)
+                    .whenComplete((result, e) -> submitFinalResult(activeDetection));
+
+            if (waitForDetectionToFinish) {
+                waitForPresenceDetection();
+            }
+        } else if (passiveValue != null) {
+            // The device was seen before this detection, which is finished already
+            updateListener.partialDetectionResult(passiveValue);
+            updateListener.finalDetectionResult(passiveValue);
         }
 
-        if (!cache.isExpired()) {
-            return false;
+        return true;
+    }
+
+    /**
+     * Looks up the device in the {@link PassivePresenceTable}.
+     *
+     * @return The reachable value if the device was heard of within the refresh interval, null otherwise
+     */
+    private @Nullable PresenceDetectionValue detectPassively() {
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return null;
         }
+        Sighting sighting = passivePresenceTable.get(destinationAddress.getHostAddress());
+        if (sighting == null) {
+            return null;
+        }
+        long age = System.currentTimeMillis() - sighting.getLastSeen();
+        if (age > refreshIntervalInMS) {
+            return null;
+        }
+        logger.trace("Passive presence detection for {}: seen {} ms ago, source {}", hostname, age,
+                sighting.getSource());
+        // the latency of a passive detection is the time between the sighting and its use
+        detectionLatencyInMS = age;
+        return updateReachableValue(sighting.getSource(), 0, sighting.getLastSeen());
+    }
 
+    /**
+     * Creates the active checks of a presence detection.
+     *
+     * @return The started checks or null if no check is enabled
+     */
+    private @Nullable List<CompletableFuture<?>> createChecks() {
         Set<String> interfaceNames = null;
 
-        currentCheck = 0;
         detectionChecks = tcpPorts.size();
         if (pingMethod != null) {
             detectionChecks += 1;
@@ -324,88 +437,70 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
 
         if (detectionChecks == 0) {
-            return false;
+            return null;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
-
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
-        }
+        List<CompletableFuture<?>> checks = new ArrayList<>();
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress != null) {
+            for (Integer tcpPort : tcpPorts) {
+                checks.add(performServicePing(destinationAddress, tcpPort));
+            }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+            // ARP ping for IPv4 addresses. Use a single check for the Windows tool and
+            // one for each network interface for other tools
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
-        } else if (interfaceNames != null) {
-            for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                checks.add(performARPping(destinationAddress, ""));
+            } else if (interfaceNames != null) {
+                for (final String interfaceName : interfaceNames) {
+                    checks.add(performARPping(destinationAddress, interfaceName));
+                }
             }
-        }
 
-        // ICMP ping
-        if (pingMethod != null) {
-            executorService.execute(() -> {
+            // ICMP ping
+            if (pingMethod != null) {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
+                    checks.add(performSystemPing(destinationAddress));
                 } else {
-                    performJavaPing();
+                    checks.add(performJavaPing(destinationAddress));
                 }
-                checkIfFinished();
-            });
-        }
-
-        if (waitForDetectionToFinish) {
-            waitForPresenceDetection();
+            }
         }
-
-        return true;
+        return checks;
     }
 
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished.
+     *
+     * @param finishedDetection the detection to finish, nothing is done if it is finished already
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
-        // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
-        detectionChecks = 0;
-
+    private void submitFinalResult(CompletableFuture<Void> finishedDetection) {
         PresenceDetectionValue v;
-
-        // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
-        // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
-            // We haven't seen the device in the detection process
-            v = new PresenceDetectionValue(hostname, -1);
-        } else {
-            // Make the cache valid again and submit the value.
-            v = cache.getExpiredValue();
+        synchronized (this) {
+            // Do nothing if we are not in this detection process
+            if (detection != finishedDetection) {
+                return;
+            }
+            // Finish the detection process
+            detection = null;
+            detectionChecks = 0;
+            detectionStartInNS = 0;
+
+            // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually
+            // reachable. Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping
+            // response.
+            if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+                // We haven't seen the device in the detection process
+                v = new PresenceDetectionValue(hostname, -1);
+            } else {
+                // Make the cache valid again and submit the value.
+                v = cache.getExpiredValue();
+            }
+            cache.setValue(v);
         }
-        cache.setValue(v);
 
         if (!v.isReachable()) {
             // if target can't be reached, check if name resolution need to be updated
@@ -415,37 +510,25 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * This method is called after each individual check and increases a check counter.
-     * If the counter equals the total checks,the final result is submitted. This will
-     * happen way before the "timeoutInMS", if all checks were successful.
-     * Thread safe.
-     */
-    private synchronized void checkIfFinished() {
-        currentCheck += 1;
-        if (currentCheck < detectionChecks) {
-            return;
-        }
-        submitFinalResult();
-    }
-
-    /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> detection = this.detection;
+        if (detection == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            detection.get(timeoutInMS + 100, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            // the detection finishes by itself
+            return;
+        } catch (ExecutionException | TimeoutException ignored) {
+            // the checks handle their failures, the timeout is handled like a finished detection
         }
+        submitFinalResult(detection);
     }
 
     /**
@@ -460,7 +543,25 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return The non expired or a new instance of PresenceDetectionValue.
      */
     synchronized PresenceDetectionValue updateReachableValue(PresenceDetectionType type, double latency) {
-        lastSeenInMS = System.currentTimeMillis();
+        return updateReachableValue(type, latency, System.currentTimeMillis());
+    }
+
+    /**
+     * Like {@link #updateReachableValue(PresenceDetectionType, double)}, for a device that was seen at the given time.
+     *
+     * @param type The detection type
+     * @param latency The latency of the detection
+     * @param seenInMS The time the device was seen at, based on {@link System#currentTimeMillis()}
+     * @return The non expired or a new instance of PresenceDetectionValue.
+     */
+    private synchronized PresenceDetectionValue updateReachableValue(PresenceDetectionType type, double latency,
+            long seenInMS) {
+        // a sighting may be older than the last successful check
+        lastSeenInMS = Math.max(lastSeenInMS, seenInMS);
+        if (detectionStartInNS != 0) {
+            detectionLatencyInMS = (System.nanoTime() - detectionStartInNS) / 1000000.0;
+            detectionStartInNS = 0;
+        }
         PresenceDetectionValue v;
         if (cache.isExpired()) {
             v = new PresenceDetectionValue(hostname, 0);
@@ -473,24 +574,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    protected CompletableFuture<?> performServicePing(InetAddress destinationAddress, int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
-                    }
-                });
+        return engine.servicePing(destinationAddress, tcpPort, timeoutInMS).handle((o, e) -> {
+            if (e != null) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            } else if (o.isSuccess()) {
+                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
+                        getLatency(o, preferResponseTimeAsLatency));
+                v.addReachableTcpService(tcpPort);
+                updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+            return null;
+        });
     }
 
     /**
@@ -501,31 +598,38 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
      */
-    protected void performARPping(String interfaceName) {
-        try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress == null) {
-                return;
-            }
-            if (iosDevice) {
+    protected CompletableFuture<?> performARPping(InetAddress destinationAddress, String interfaceName) {
+        logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+        CompletableFuture<Optional<PingResult>> arpPing;
+        if (iosDevice) {
+            try {
                 networkUtils.wakeUpIOS(destinationAddress);
-                Thread.sleep(50);
+            } catch (IOException e) {
+                logger.trace("Failed to wake up the iOS device {}", hostname, e);
             }
-
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                        if (o.isSuccess()) {
-                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
-                                    getLatency(o, preferResponseTimeAsLatency));
-                            updateListener.partialDetectionResult(v);
-                        }
-                    });
-        } catch (IOException e) {
-            logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
+            // give the device some time to wake up
+            Executor wakeUpDelay = CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS);
+            arpPing = CompletableFuture.supplyAsync(destinationAddress::getHostAddress, wakeUpDelay)
+                    .thenCompose(address -> engine.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
+                            address, timeoutInMS));
+        } else {
+            arpPing = engine.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
+                    destinationAddress.getHostAddress(), timeoutInMS);
         }
+        return arpPing.handle((result, e) -> {
+            if (e != null) {
+                logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
+            } else {
+                result.ifPresent(o -> {
+                    if (o.isSuccess()) {
+                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
+                                getLatency(o, preferResponseTimeAsLatency));
+                        updateListener.partialDetectionResult(v);
+                    }
+                });
+            }
+            return null;
+        });
     }
 
     /**
@@ -534,43 +638,35 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
      */
-    protected void performJavaPing() {
+    protected CompletableFuture<?> performJavaPing(InetAddress destinationAddress) {
         logger.trace("Perform java ping presence detection for {}", hostname);
 
-        InetAddress destinationAddress = destination.getValue();
-        if (destinationAddress == null) {
-            return;
-        }
-
-        networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
+        return engine.javaPing(timeoutInMS, destinationAddress).thenAccept(result -> result.ifPresent(o -> {
             if (o.isSuccess()) {
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
                         getLatency(o, preferResponseTimeAsLatency));
                 updateListener.partialDetectionResult(v);
             }
-        });
+        }));
     }
 
-    protected void performSystemPing() {
-        try {
-            logger.trace("Perform native ping presence detection for {}", hostname);
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress == null) {
-                return;
-            }
+    protected CompletableFuture<?> performSystemPing(InetAddress destinationAddress) {
+        logger.trace("Perform native ping presence detection for {}", hostname);
 
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                            getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
-                }
-            });
-        } catch (IOException e) {
-            logger.trace("Failed to execute a native ping for ip {}", hostname, e);
-        } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
-        }
+        return engine.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).handle((result, e) -> {
+            if (e != null) {
+                logger.trace("Failed to execute a native ping for ip {}", hostname, e);
+            } else {
+                result.ifPresent(o -> {
+                    if (o.isSuccess()) {
+                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                                getLatency(o, preferResponseTimeAsLatency));
+                        updateListener.partialDetectionResult(v);
+                    }
+                });
+            }
+            return null;
+        });
     }
 
     private double getLatency(PingResult pingResult, boolean preferResponseTimeAsLatency) {
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -92,6 +93,7 @@ class DHCPPacket {
     }
 
     private byte op;
+    private byte[] clientHardwareAddress = new byte[0];
     private Map<Byte, byte[]> options;
 
     /**
@@ -136,7 +138,7 @@ class DHCPPacket {
         // parse static part of packet
         this.op = inStream.readByte();
         inStream.readByte(); // read hardware type (ETHERNET)
-        inStream.readByte(); // read hardware address length (6 bytes)
+        int hardwareAddressLength = inStream.readUnsignedByte(); // read hardware address length (6 bytes)
         inStream.readByte(); // read hops
         inStream.readInt(); // read transaction id
         inStream.readShort(); // read secsonds elapsed
@@ -146,6 +148,7 @@ class DHCPPacket {
         inStream.readFully(dummy, 0, 4); // siaddr
         inStream.readFully(dummy, 0, 4); // giaddr
         inStream.readFully(dummy, 0, 16); // chaddr
+        clientHardwareAddress = Arrays.copyOf(dummy, Math.min(hardwareAddressLength, 16));
         inStream.readFully(dummy, 0, 64); // sname
         inStream.readFully(dummy, 0, 128); // file
 
@@ -235,4 +238,19 @@ class DHCPPacket {
         }
         return InetAddress.getByAddress(opt);
     }
+
+    /**
+     * Returns the client hardware address (chaddr) as lower case MAC address like "aa:bb:cc:dd:ee:ff",
+     * or an empty string if the packet does not contain one.
+     */
+    public String getClientHardwareAddress() {
+        StringBuilder mac = new StringBuilder();
+        for (byte b : clientHardwareAddress) {
+            if (mac.length() > 0) {
+                mac.append(':');
+            }
+            mac.append(String.format("%02x", b));
+        }
+        return mac.toString();
+    }
 }
@@ -23,7 +23,9 @@ import java.net.UnknownHostException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.PresenceDetectionType;
 import org.openhab.binding.network.internal.dhcp.DHCPPacket.BadPacketException;
+import org.openhab.binding.network.internal.passive.PassivePresenceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,6 +86,8 @@ public class DHCPPacketListenerServer extends Thread {
                 return;
             }
         }
+        PassivePresenceService.getTable().record(requestedAddress.getHostAddress(),
+                request.getClientHardwareAddress(), PresenceDetectionType.DHCP_REQUEST, System.currentTimeMillis());
         listener.dhcpRequestReceived(requestedAddress.getHostAddress());
     }
 
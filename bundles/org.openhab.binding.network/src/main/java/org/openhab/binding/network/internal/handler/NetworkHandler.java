@@ -31,6 +31,7 @@ import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
 import org.openhab.binding.network.internal.action.NetworkActions;
+import org.openhab.binding.network.internal.passive.PassivePresenceService;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
@@ -111,6 +112,11 @@ public class NetworkHandler extends BaseThingHandler
                     updateState(CHANNEL_LASTSEEN, UnDefType.UNDEF);
                 }
                 break;
+            case CHANNEL_PROBES_AVOIDED:
+            case CHANNEL_PROBES_PERFORMED:
+            case CHANNEL_DETECTION_LATENCY:
+                updateDetectionStatistics();
+                break;
             default:
                 logger.debug("Command received for an unknown channel: {}", channelUID.getId());
                 break;
@@ -152,7 +158,7 @@ public class NetworkHandler extends BaseThingHandler
                     ZonedDateTime.ofInstant(instant, TimeZone.getDefault().toZoneId()).withFixedOffsetZone()));
         }
 
-        updateNetworkProperties();
+        updateDetectionStatistics();
     }
 
     @Override
@@ -190,6 +196,7 @@ public class NetworkHandler extends BaseThingHandler
             presenceDetection.setIOSDevice(true);
             // Hand over binding configurations to the network service
             presenceDetection.setUseDhcpSniffing(configuration.allowDHCPlisten);
+            presenceDetection.setUsePassivePresence(!configuration.passivePresenceInterface.isEmpty());
             presenceDetection.setUseIcmpPing(configuration.allowSystemPings);
             presenceDetection.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
         }
@@ -214,9 +221,23 @@ public class NetworkHandler extends BaseThingHandler
         properties.put(NetworkBindingConstants.PROPERTY_PRESENCE_DETECTION_TYPE, "");
         properties.put(NetworkBindingConstants.PROPERTY_IOS_WAKEUP, presenceDetection.isIOSdevice() ? "Yes" : "No");
         properties.put(NetworkBindingConstants.PROPERTY_DHCP_STATE, presenceDetection.getDhcpState());
+        if (!isTCPServiceDevice) {
+            properties.put(NetworkBindingConstants.PROPERTY_PASSIVE_STATE, PassivePresenceService.getState());
+        }
         updateProperties(properties);
     }
 
+    // The statistics change with every detection, so they are channels rather than properties persisted each time
+    private void updateDetectionStatistics() {
+        if (!isTCPServiceDevice) {
+            updateState(CHANNEL_PROBES_AVOIDED, new DecimalType(presenceDetection.getProbesAvoided()));
+        }
+        updateState(CHANNEL_PROBES_PERFORMED, new DecimalType(presenceDetection.getProbesPerformed()));
+        double detectionLatency = presenceDetection.getDetectionLatency();
+        updateState(CHANNEL_DETECTION_LATENCY, detectionLatency < 0 ? UnDefType.UNDEF
+                : new QuantityType<>(detectionLatency, MetricPrefix.MILLI(Units.SECOND)));
+    }
+
     // Create a new network service and apply all configurations.
     @Override
     public void initialize() {
@@ -234,6 +255,9 @@ public class NetworkHandler extends BaseThingHandler
     public void bindingConfigurationChanged() {
         // Make sure that changed binding configuration is reflected
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
+        if (!isTCPServiceDevice) {
+            presenceDetection.setUsePassivePresence(!configuration.passivePresenceInterface.isEmpty());
+        }
     }
 
     @Override
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.passive;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.PresenceDetectionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listens for mDNS (multicast DNS) traffic on a network interface and records the sender of every packet in the
+ * {@link PassivePresenceTable}. Phones and tablets announce and query services via mDNS regularly, even if they
+ * are sleeping and do not answer pings.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MDNSListener extends Thread {
+    static final int MDNS_PORT = 5353;
+    static final String MDNS_GROUP = "224.0.0.251";
+
+    private final Logger logger = LoggerFactory.getLogger(MDNSListener.class);
+    private final PassivePresenceTable table;
+    private final MulticastSocket socket;
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private volatile boolean willbeclosed = false;
+
+    MDNSListener(PassivePresenceTable table, NetworkInterface networkInterface) throws IOException {
+        super("OH-binding-network-mDNS");
+        setDaemon(true);
+        this.table = table;
+        this.networkInterface = networkInterface;
+        this.group = new InetSocketAddress(InetAddress.getByName(MDNS_GROUP), MDNS_PORT);
+        // Other mDNS responders of the system are listening on the same port, so the address needs to be reused.
+        MulticastSocket socket = new MulticastSocket(null);
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(MDNS_PORT));
+        socket.joinGroup(group, networkInterface);
+        this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+        byte[] buffer = new byte[9000];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        logger.debug("mDNS listener online on interface {}", networkInterface.getName());
+        try {
+            while (!willbeclosed) {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                InetAddress sender = packet.getAddress();
+                if (sender instanceof Inet4Address) {
+                    table.record(sender.getHostAddress(), null, PresenceDetectionType.MDNS,
+                            System.currentTimeMillis());
+                }
+            }
+        } catch (IOException e) {
+            if (!willbeclosed) {
+                logger.warn("mDNS listener stopped: {}", e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Closes the socket and waits for the receive thread to finish.
+     */
+    public void close() {
+        willbeclosed = true;
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException ignored) {
+        }
+        socket.close();
+        try {
+            join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
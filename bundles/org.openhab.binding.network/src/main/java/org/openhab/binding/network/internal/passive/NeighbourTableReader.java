@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.passive;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.PresenceDetectionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the neighbour (ARP) table of the Linux kernel with "ip -s neigh" and records every neighbour in the
+ * {@link PassivePresenceTable}.
+ *
+ * The kernel learns and confirms neighbours from the ARP and IP traffic it receives, so the time since the last
+ * confirmation tells when a device was last heard on the network, without sending anything to it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NeighbourTableReader {
+    private final Logger logger = LoggerFactory.getLogger(NeighbourTableReader.class);
+    private final PassivePresenceTable table;
+    private final String interfaceName;
+
+    NeighbourTableReader(PassivePresenceTable table, String interfaceName) {
+        this.table = table;
+        this.interfaceName = interfaceName;
+    }
+
+    /**
+     * Read the neighbour table once.
+     *
+     * @return true if the table could be read
+     */
+    boolean read() {
+        Process proc;
+        try {
+            proc = new ProcessBuilder("ip", "-s", "neigh", "show", "dev", interfaceName).redirectErrorStream(true)
+                    .start();
+        } catch (IOException e) {
+            logger.debug("Cannot read the neighbour table: {}", e.getLocalizedMessage());
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                parseLine(line, now);
+            }
+            if (!proc.waitFor(2, TimeUnit.SECONDS)) {
+                proc.destroyForcibly();
+                return false;
+            }
+            return proc.exitValue() == 0;
+        } catch (IOException e) {
+            logger.debug("Cannot read the neighbour table: {}", e.getLocalizedMessage());
+            proc.destroyForcibly();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            proc.destroyForcibly();
+            return false;
+        }
+    }
+
+    /**
+     * Parses a line like "192.168.1.20 lladdr 3c:22:fb:aa:bb:cc ref 1 used 35/30/5 probes 1 STALE", where the
+     * second "used" value is the number of seconds since the neighbour was confirmed.
+     *
+     * @param line A line of "ip -s neigh"
+     * @param nowInMS The time the table was read
+     * @return true if the neighbour was recorded
+     */
+    boolean parseLine(String line, long nowInMS) {
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length < 2) {
+            return false;
+        }
+        String state = tokens[tokens.length - 1];
+        if (!"REACHABLE".equals(state) && !"STALE".equals(state) && !"DELAY".equals(state)
+                && !"PROBE".equals(state)) {
+            // neither failed nor incomplete neighbours are present, static entries are not learned from traffic
+            return false;
+        }
+
+        String mac = null;
+        long confirmedSecondsAgo = -1;
+        for (int i = 1; i < tokens.length - 1; i++) {
+            if ("lladdr".equals(tokens[i])) {
+                mac = tokens[i + 1];
+            } else if ("used".equals(tokens[i])) {
+                String[] timers = tokens[i + 1].split("/");
+                if (timers.length >= 2) {
+                    try {
+                        confirmedSecondsAgo = Long.parseLong(timers[1]);
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+        if (mac == null || confirmedSecondsAgo < 0) {
+            return false;
+        }
+
+        table.record(tokens[0], mac, PresenceDetectionType.NEIGHBOUR_TABLE,
+                nowInMS - TimeUnit.SECONDS.toMillis(confirmedSecondsAgo));
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.passive;
+
+import java.io.IOException;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains the passive presence sources of the configured network interface: the mDNS listener and the
+ * neighbour (ARP) table reader. DHCP requests are recorded by the DHCP listener, if DHCP listening is enabled.
+ *
+ * All sources write into the {@link PassivePresenceTable}, which is consulted by the presence detections before
+ * they actively probe a device.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PassivePresenceService {
+    static final long NEIGHBOUR_TABLE_INTERVAL_IN_MS = 10000;
+    // Devices not heard of for this long are removed from the table
+    static final long MAX_AGE_IN_MS = TimeUnit.HOURS.toMillis(1);
+
+    private static final PassivePresenceTable TABLE = new PassivePresenceTable();
+    private static final Logger LOGGER = LoggerFactory.getLogger(PassivePresenceService.class);
+
+    private static String interfaceName = "";
+    private static String state = "off";
+    private static @Nullable MDNSListener mdnsListener;
+    private static @Nullable ScheduledFuture<?> neighbourTableJob;
+
+    /**
+     * Return the table of the passively observed devices.
+     */
+    public static PassivePresenceTable getTable() {
+        return TABLE;
+    }
+
+    /**
+     * Start listening on the given interface. Listening on another interface is stopped.
+     *
+     * @param interfaceName The interface name, for example "eth0". Listening is stopped if it is empty.
+     */
+    public static synchronized void start(String interfaceName) {
+        if (interfaceName.equals(PassivePresenceService.interfaceName)) {
+            return;
+        }
+        stop();
+        if (interfaceName.isEmpty()) {
+            return;
+        }
+        PassivePresenceService.interfaceName = interfaceName;
+
+        NetworkInterface networkInterface;
+        try {
+            networkInterface = NetworkInterface.getByName(interfaceName);
+        } catch (SocketException e) {
+            networkInterface = null;
+        }
+        if (networkInterface == null) {
+            state = "Unknown interface " + interfaceName;
+            LOGGER.warn("Cannot listen for passive presence, the network interface {} does not exist", interfaceName);
+            return;
+        }
+
+        StringBuilder sources = new StringBuilder();
+        try {
+            MDNSListener listener = new MDNSListener(TABLE, networkInterface);
+            listener.start();
+            mdnsListener = listener;
+            sources.append("mDNS");
+        } catch (IOException e) {
+            LOGGER.warn("Cannot listen for mDNS traffic on {}: {}", interfaceName, e.getLocalizedMessage());
+        }
+
+        NeighbourTableReader reader = new NeighbourTableReader(TABLE, interfaceName);
+        if (reader.read()) {
+            neighbourTableJob = ThreadPoolManager.getScheduledPool("network").scheduleWithFixedDelay(() -> {
+                reader.read();
+                TABLE.removeOlderThan(System.currentTimeMillis() - MAX_AGE_IN_MS);
+            }, NEIGHBOUR_TABLE_INTERVAL_IN_MS, NEIGHBOUR_TABLE_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+            sources.append(sources.length() > 0 ? ", " : "").append("neighbour table");
+        } else {
+            LOGGER.info("Cannot read the neighbour table of {}, the 'ip' tool is required", interfaceName);
+        }
+
+        state = sources.length() > 0 ? "Running on " + interfaceName + " (" + sources + ")"
+                : "No passive source available on " + interfaceName;
+    }
+
+    /**
+     * Stop listening. The table is kept, as the DHCP listener keeps recording into it.
+     */
+    public static synchronized void stop() {
+        MDNSListener listener = mdnsListener;
+        if (listener != null) {
+            listener.close();
+            mdnsListener = null;
+        }
+        ScheduledFuture<?> job = neighbourTableJob;
+        if (job != null) {
+            job.cancel(true);
+            neighbourTableJob = null;
+        }
+        interfaceName = "";
+        state = "off";
+    }
+
+    /**
+     * Return true if passive presence detection is enabled for an interface.
+     */
+    public static synchronized boolean isEnabled() {
+        return !interfaceName.isEmpty();
+    }
+
+    /**
+     * Return a human readable state of the passive presence sources.
+     */
+    public static synchronized String getState() {
+        return state;
+    }
+}
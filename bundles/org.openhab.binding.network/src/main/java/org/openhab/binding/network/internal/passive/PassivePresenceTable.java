@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.passive;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.PresenceDetectionType;
+
+/**
+ * A last-seen table of the IP and MAC addresses that were observed in passively received network traffic.
+ *
+ * The table is written by the listener threads of the {@link PassivePresenceService} and read by every presence
+ * detection. Both is done without locking: a sighting is looked up or inserted with a single concurrent map
+ * operation, and its last seen time only ever moves forward with an atomic compare-and-set.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PassivePresenceTable {
+    private final Map<String, Sighting> byAddress = new ConcurrentHashMap<>();
+    private final Map<String, String> addressByMac = new ConcurrentHashMap<>();
+
+    /**
+     * The most recent observation of an IP address.
+     */
+    public static class Sighting {
+        private final String address;
+        private final AtomicLong lastSeenInMS = new AtomicLong();
+        private volatile @Nullable String mac;
+        private volatile PresenceDetectionType source = PresenceDetectionType.DHCP_REQUEST;
+
+        Sighting(String address) {
+            this.address = address;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        /**
+         * Return the MAC address or null if it was not observed yet.
+         */
+        public @Nullable String getMac() {
+            return mac;
+        }
+
+        /**
+         * Return the last seen time in milliseconds based on {@link System#currentTimeMillis()}.
+         */
+        public long getLastSeen() {
+            return lastSeenInMS.get();
+        }
+
+        /**
+         * Return the source of the most recent observation.
+         */
+        public PresenceDetectionType getSource() {
+            return source;
+        }
+
+        private void update(long timeInMS, PresenceDetectionType source) {
+            long lastSeen;
+            do {
+                lastSeen = lastSeenInMS.get();
+                if (timeInMS <= lastSeen) {
+                    return;
+                }
+            } while (!lastSeenInMS.compareAndSet(lastSeen, timeInMS));
+            this.source = source;
+        }
+    }
+
+    /**
+     * Record that traffic of the given address was observed.
+     *
+     * @param address The IP address
+     * @param mac The MAC address, if it is known from the traffic
+     * @param source The kind of traffic
+     * @param timeInMS The time the traffic was observed, based on {@link System#currentTimeMillis()}
+     */
+    public void record(String address, @Nullable String mac, PresenceDetectionType source, long timeInMS) {
+        Sighting sighting = byAddress.get(address);
+        if (sighting == null) {
+            Sighting newSighting = new Sighting(address);
+            sighting = byAddress.putIfAbsent(address, newSighting);
+            if (sighting == null) {
+                sighting = newSighting;
+            }
+        }
+        if (mac != null && !mac.isEmpty()) {
+            String normalizedMac = mac.toLowerCase();
+            sighting.mac = normalizedMac;
+            addressByMac.put(normalizedMac, address);
+        }
+        sighting.update(timeInMS, source);
+    }
+
+    /**
+     * Return the sighting of the given IP address or null if it was not observed.
+     */
+    public @Nullable Sighting get(String address) {
+        return byAddress.get(address);
+    }
+
+    /**
+     * Return the sighting of the IP address last used by the given MAC address or null if it was not observed.
+     */
+    public @Nullable Sighting getByMac(String mac) {
+        String address = addressByMac.get(mac.toLowerCase());
+        return address != null ? byAddress.get(address) : null;
+    }
+
+    /**
+     * Remove all sightings that are older than the given time.
+     *
+     * @param timeInMS The time based on {@link System#currentTimeMillis()}
+     */
+    public void removeOlderThan(long timeInMS) {
+        byAddress.values().removeIf(sighting -> sighting.getLastSeen() < timeInMS);
+        addressByMac.values().removeIf(address -> !byAddress.containsKey(address));
+    }
+
+    public int size() {
+        return byAddress.size();
+    }
+}
@@ -29,11 +29,17 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SystemUtils;
@@ -53,6 +59,10 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    // fping prints "192.168.1.1 is alive (0.61 ms)" or "192.168.1.2 is unreachable" per target
+    private static final Pattern BATCH_PING_RESULT_PATTERN = Pattern
+            .compile("^(\\S+) is (alive|unreachable)(?: \\((\\d+(?:\\.\\d+)?) ms\\))?");
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -218,6 +228,17 @@ public class NetworkUtils {
         return ArpPingUtilEnum.UNKNOWN_TOOL;
     }
 
+    /**
+     * Return true if the batch ping tool (fping) is available and executable on the given path.
+     */
+    public boolean isBatchPingToolAvailable(String batchPingToolPath) {
+        if (batchPingToolPath.isBlank()) {
+            return false;
+        }
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofMillis(100), batchPingToolPath, "-v");
+        return result != null && result.contains("fping");
+    }
+
     public enum IpPingMethodEnum {
         JAVA_PING,
         WINDOWS_PING,
@@ -237,38 +258,60 @@ public class NetworkUtils {
             throws IOException, InterruptedException {
         double execStartTimeInMS = System.currentTimeMillis();
 
-        Process proc;
-        if (method == null) {
+        ProcessBuilder command = nativePingCommand(method, hostname, timeoutInMS);
+        if (command == null) {
             return Optional.empty();
         }
+        Process proc = command.start();
+        proc.waitFor();
+        return Optional.of(parseNativePingResult(proc, execStartTimeInMS));
+    }
+
+    /**
+     * Creates the command line of the native ping utility of the operating system.
+     *
+     * @param hostname The DNS name, IPv4 or IPv6 address. Must not be null.
+     * @param timeoutInMS Timeout in milliseconds. Be aware that DNS resolution is not part of this timeout.
+     * @return The ping command, or null if there is no native ping utility for the method
+     */
+    public @Nullable ProcessBuilder nativePingCommand(@Nullable IpPingMethodEnum method, String hostname,
+            int timeoutInMS) {
+        if (method == null) {
+            return null;
+        }
         // Yes, all supported operating systems have their own ping utility with a different command line
         switch (method) {
             case IPUTILS_LINUX_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname)
-                        .start();
-                break;
+                return new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname);
             case MAC_OS_PING:
-                proc = new ProcessBuilder("ping", "-t", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname)
-                        .start();
-                break;
+                return new ProcessBuilder("ping", "-t", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname);
             case WINDOWS_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS), "-n", "1", hostname).start();
-                break;
+                return new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS), "-n", "1", hostname);
             case JAVA_PING:
             default:
                 // We cannot estimate the command line for any other operating system and just return false
-                return Optional.empty();
+                return null;
         }
+    }
 
+    /**
+     * Evaluates the exit code and the output of a terminated native ping process.
+     *
+     * @param proc The terminated ping process
+     * @param execStartTimeInMS The time the ping process was started at
+     * @return Ping result information
+     * @throws IOException The output of the ping process could not be read
+     */
+    public PingResult parseNativePingResult(Process proc, double execStartTimeInMS) throws IOException {
         // The return code is 0 for a successful ping, 1 if device didn't
         // respond, and 2 if there is another error like network interface
         // not ready.
         // Exception: return code is also 0 in Windows for all requests on the local subnet.
         // see https://superuser.com/questions/403905/ping-from-windows-7-get-no-reply-but-sets-errorlevel-to-0
 
-        int result = proc.waitFor();
+        int result = proc.exitValue();
         if (result != 0) {
-            return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
+            return new PingResult(false, System.currentTimeMillis() - execStartTimeInMS);
         }
 
         try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
@@ -282,13 +325,50 @@ public class NetworkUtils {
                 if (line.contains("TTL=") || line.contains("ttl=")) {
                     PingResult pingResult = new PingResult(true, System.currentTimeMillis() - execStartTimeInMS);
                     latencyParser.parseLatency(line).ifPresent(pingResult::setResponseTimeInMS);
-                    return Optional.of(pingResult);
+                    return pingResult;
                 }
                 line = r.readLine();
             } while (line != null);
 
-            return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
+            return new PingResult(false, System.currentTimeMillis() - execStartTimeInMS);
+        }
+    }
+
+    /**
+     * Creates the command line of the batch ping tool fping, which pings all given destinations once.
+     *
+     * @param batchPingToolPath The fping absolute path including filename. Example: "fping" or "/usr/bin/fping"
+     * @param timeoutInMS Timeout in milliseconds for each destination
+     * @param hostnames The DNS names, IPv4 or IPv6 addresses
+     * @return The fping command
+     */
+    public ProcessBuilder batchPingCommand(String batchPingToolPath, int timeoutInMS, Collection<String> hostnames) {
+        List<String> command = new ArrayList<>(
+                List.of(batchPingToolPath, "-e", "-r", "0", "-t", String.valueOf(timeoutInMS)));
+        command.addAll(hostnames);
+        // fping reports errors like unresolved names on stderr, which is not read
+        return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD);
+    }
+
+    /**
+     * Evaluates a line of the output of the batch ping tool.
+     *
+     * @param line A line of the fping output
+     * @param execStartTimeInMS The time the fping process was started at
+     * @return The destination the line reports on and its ping result, or null if the line reports no result
+     */
+    public @Nullable Map.Entry<String, PingResult> parseBatchPingLine(String line, double execStartTimeInMS) {
+        Matcher m = BATCH_PING_RESULT_PATTERN.matcher(line);
+        if (!m.find()) {
+            return null;
+        }
+        PingResult pingResult = new PingResult("alive".equals(m.group(2)),
+                System.currentTimeMillis() - execStartTimeInMS);
+        String responseTime = m.group(3);
+        if (responseTime != null) {
+            pingResult.setResponseTimeInMS(Double.parseDouble(responseTime));
         }
+        return Map.entry(m.group(1), pingResult);
     }
 
     public enum ArpPingUtilEnum {
@@ -317,25 +397,51 @@ public class NetworkUtils {
             String interfaceName, String ipV4address, int timeoutInMS) throws IOException, InterruptedException {
         double execStartTimeInMS = System.currentTimeMillis();
 
-        if (arpUtilPath == null || arpingTool == null || arpingTool == ArpPingUtilEnum.UNKNOWN_TOOL) {
+        ProcessBuilder command = nativeARPPingCommand(arpingTool, arpUtilPath, interfaceName, ipV4address,
+                timeoutInMS);
+        if (command == null) {
             return Optional.empty();
         }
-        Process proc;
+        Process proc = command.start();
+        proc.waitFor();
+        return Optional.of(parseARPPingResult(proc, execStartTimeInMS));
+    }
+
+    /**
+     * Creates the command line of the arping tool, see
+     * {@link #nativeARPPing(ArpPingUtilEnum, String, String, String, int)}.
+     *
+     * @return The arping command, or null if no arping tool is available
+     */
+    public @Nullable ProcessBuilder nativeARPPingCommand(@Nullable ArpPingUtilEnum arpingTool,
+            @Nullable String arpUtilPath, String interfaceName, String ipV4address, int timeoutInMS) {
+        if (arpUtilPath == null || arpingTool == null || arpingTool == ArpPingUtilEnum.UNKNOWN_TOOL) {
+            return null;
+        }
         if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT) {
-            proc = new ProcessBuilder(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address).start();
+            return new ProcessBuilder(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address);
         } else if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-C", "1", "-i",
-                    interfaceName, ipV4address).start();
+            return new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-C", "1", "-i",
+                    interfaceName, ipV4address);
         } else if (arpingTool == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS), "-x", ipV4address).start();
+            return new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS), "-x", ipV4address);
         } else {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-I",
-                    interfaceName, ipV4address).start();
+            return new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-I",
+                    interfaceName, ipV4address);
         }
+    }
 
+    /**
+     * Evaluates the exit code of a terminated arping process.
+     *
+     * @param proc The terminated arping process
+     * @param execStartTimeInMS The time the arping process was started at
+     * @return Ping result information
+     */
+    public PingResult parseARPPingResult(Process proc, double execStartTimeInMS) {
         // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
         // network interface not ready.
-        return Optional.of(new PingResult(proc.waitFor() == 0, System.currentTimeMillis() - execStartTimeInMS));
+        return new PingResult(proc.exitValue() == 0, System.currentTimeMillis() - execStartTimeInMS);
     }
 
     /**
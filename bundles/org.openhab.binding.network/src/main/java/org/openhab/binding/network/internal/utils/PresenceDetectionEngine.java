@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.core.common.ThreadPoolManager;
+
+/**
+ * A singleton performing the checks of all presence detections, without a thread per check:
+ * <ul>
+ * <li>TCP service pings are multiplexed by a {@link ServicePingSelector}.</li>
+ * <li>ICMP pings are batched, if the batch ping tool fping is available: the pings requested within
+ * {@link #BATCH_DELAY_IN_MS} are sent by a single fping process, up to {@link #MAX_BATCH_SIZE} targets each. Its
+ * output is read while it runs and the results are dispatched to the pings by their target.</li>
+ * <li>ARP pings and ICMP pings without fping still run a native ping utility per destination, as raw sockets are not
+ * available to Java and arping pings a single address only. The processes are not waited for by a thread but
+ * evaluated when they exit. Simultaneous pings of the same destination share a single process and at most
+ * {@link #MAX_PROCESSES} processes run at the same time, further pings are queued. The timeout of a ping starts when
+ * it is requested, a queued ping fails once its timeout passes before it started.</li>
+ * <li>Java pings, which block, run on a shared thread pool.</li>
+ * </ul>
+ *
+ * The futures are completed on the threads noticing the results, so their callbacks must not block.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceDetectionEngine {
+    static final int MAX_PROCESSES = 32;
+    // additional time a ping process gets to report its result before it is destroyed
+    static final int PROCESS_GRACE_TIME_IN_MS = 1000;
+    static final int MAX_BATCH_SIZE = 64;
+    // time the first ping of a batch waits for further pings to join it
+    static final int BATCH_DELAY_IN_MS = 50;
+    // fping sends the pings of a batch one after another, 10 ms apart by default
+    private static final int BATCH_PING_INTERVAL_IN_MS = 10;
+    private static final String THREAD_POOL_NAME = "network";
+
+    private static final PresenceDetectionEngine INSTANCE = new PresenceDetectionEngine(new NetworkUtils(),
+            new ServicePingSelector());
+
+    private final NetworkUtils networkUtils;
+    private final ServicePingSelector servicePingSelector;
+
+    private final Map<String, CompletableFuture<Optional<PingResult>>> runningPings = new ConcurrentHashMap<>();
+
+    private volatile @Nullable String batchPingToolPath;
+
+    // the batches which are not started yet, by their timeout, guarded by this
+    private final Map<Integer, Map<String, CompletableFuture<Optional<PingResult>>>> pendingBatches = new HashMap<>();
+
+    // guarded by this
+    private final Queue<QueuedProcess> queuedProcesses = new ArrayDeque<>();
+    private int runningProcesses = 0;
+
+    @FunctionalInterface
+    private interface ProcessResultParser {
+        PingResult parse(Process process, double execStartTimeInMS) throws IOException;
+    }
+
+    private static class QueuedProcess {
+        private final ProcessBuilder command;
+        private final long deadline;
+        private final ProcessResultParser parser;
+        private final CompletableFuture<Optional<PingResult>> future;
+
+        private QueuedProcess(ProcessBuilder command, long deadline, ProcessResultParser parser,
+                CompletableFuture<Optional<PingResult>> future) {
+            this.command = command;
+            this.deadline = deadline;
+            this.parser = parser;
+            this.future = future;
+        }
+    }
+
+    PresenceDetectionEngine(NetworkUtils networkUtils, ServicePingSelector servicePingSelector) {
+        this.networkUtils = networkUtils;
+        this.servicePingSelector = servicePingSelector;
+    }
+
+    public static PresenceDetectionEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the batch ping tool used for ICMP pings.
+     *
+     * @param batchPingToolPath The path of fping, or null to start a native ping process per destination
+     */
+    public void setBatchPingToolPath(@Nullable String batchPingToolPath) {
+        this.batchPingToolPath = batchPingToolPath;
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port, see
+     * {@link ServicePingSelector#servicePing(InetAddress, int, int)}.
+     */
+    public CompletableFuture<PingResult> servicePing(InetAddress address, int port, int timeoutInMS) {
+        return servicePingSelector.servicePing(address, port, timeoutInMS);
+    }
+
+    /**
+     * Use the native ping utility of the operating system to detect device presence, see
+     * {@link NetworkUtils#nativePing(IpPingMethodEnum, String, int)}. The ping is sent by a batch of the batch ping
+     * tool instead, if one is set.
+     *
+     * @return The future ping result, empty if the ping command was not executed. Completed exceptionally if the ping
+     *         command could probably not be found.
+     */
+    public CompletableFuture<Optional<PingResult>> nativePing(@Nullable IpPingMethodEnum method, String hostname,
+            int timeoutInMS) {
+        String toolPath = batchPingToolPath;
+        if (toolPath != null && method != null && method != IpPingMethodEnum.JAVA_PING) {
+            return batchPing(toolPath, hostname, timeoutInMS);
+        }
+        return execute("icmp " + hostname, networkUtils.nativePingCommand(method, hostname, timeoutInMS),
+                timeoutInMS, networkUtils::parseNativePingResult);
+    }
+
+    /**
+     * Execute the arping tool to perform an ARP ping, see
+     * {@link NetworkUtils#nativeARPPing(ArpPingUtilEnum, String, String, String, int)}.
+     *
+     * @return The future ping result, empty if the ping command was not executed. Completed exceptionally if the ping
+     *         command could probably not be found.
+     */
+    public CompletableFuture<Optional<PingResult>> nativeARPPing(@Nullable ArpPingUtilEnum arpingTool,
+            @Nullable String arpUtilPath, String interfaceName, String ipV4address, int timeoutInMS) {
+        return execute("arp " + interfaceName + " " + ipV4address, networkUtils.nativeARPPingCommand(arpingTool,
+                arpUtilPath, interfaceName, ipV4address, timeoutInMS), timeoutInMS, networkUtils::parseARPPingResult);
+    }
+
+    /**
+     * Execute a Java ping on a shared thread pool, see {@link NetworkUtils#javaPing(int, InetAddress)}.
+     */
+    public CompletableFuture<Optional<PingResult>> javaPing(int timeoutInMS, InetAddress destinationAddress) {
+        return CompletableFuture.supplyAsync(() -> networkUtils.javaPing(timeoutInMS, destinationAddress),
+                getPool());
+    }
+
+    private CompletableFuture<Optional<PingResult>> batchPing(String toolPath, String hostname, int timeoutInMS) {
+        String key = "icmp " + hostname;
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> runningPing = runningPings.putIfAbsent(key, future);
+        if (runningPing != null) {
+            // the destination is pinged already
+            return runningPing;
+        }
+        future.whenComplete((result, e) -> runningPings.remove(key, future));
+        Map<String, CompletableFuture<Optional<PingResult>>> batch;
+        synchronized (this) {
+            batch = pendingBatches.computeIfAbsent(timeoutInMS, t -> new LinkedHashMap<>());
+            batch.put(hostname, future);
+            if (batch.size() == 1) {
+                Map<String, CompletableFuture<Optional<PingResult>>> newBatch = batch;
+                CompletableFuture.delayedExecutor(BATCH_DELAY_IN_MS, TimeUnit.MILLISECONDS, getPool())
+                        .execute(() -> startBatch(toolPath, timeoutInMS, newBatch));
+                return future;
+            } else if (batch.size() < MAX_BATCH_SIZE) {
+                return future;
+            }
+        }
+        startBatch(toolPath, timeoutInMS, batch);
+        return future;
+    }
+
+    private void startBatch(String toolPath, int timeoutInMS,
+            Map<String, CompletableFuture<Optional<PingResult>>> batch) {
+        synchronized (this) {
+            if (pendingBatches.get(timeoutInMS) != batch) {
+                // the batch was started already, because it was full
+                return;
+            }
+            pendingBatches.remove(timeoutInMS);
+        }
+        double execStartTimeInMS = System.currentTimeMillis();
+        Process process;
+        try {
+            process = networkUtils.batchPingCommand(toolPath, timeoutInMS, batch.keySet()).start();
+        } catch (IOException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        long processTimeoutInMS = timeoutInMS + batch.size() * BATCH_PING_INTERVAL_IN_MS + PROCESS_GRACE_TIME_IN_MS;
+        process.onExit().orTimeout(processTimeoutInMS, TimeUnit.MILLISECONDS).whenComplete((exited, e) -> {
+            if (e != null) {
+                process.destroyForcibly();
+            }
+        });
+        // the results are read while they arrive, so that the reachable targets do not wait for the unreachable ones
+        getPool().execute(() -> readBatchResults(process, batch, execStartTimeInMS));
+    }
+
+    private void readBatchResults(Process process, Map<String, CompletableFuture<Optional<PingResult>>> batch,
+            double execStartTimeInMS) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Map.Entry<String, PingResult> result = networkUtils.parseBatchPingLine(line, execStartTimeInMS);
+                if (result != null) {
+                    CompletableFuture<Optional<PingResult>> future = batch.get(result.getKey());
+                    if (future != null) {
+                        future.complete(Optional.of(result.getValue()));
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+            // the process was destroyed, the remaining targets are unreachable
+        }
+        // fping reports no result for targets it could not ping, for instance because their name was not resolved
+        batch.values().forEach(future -> future
+                .complete(Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS))));
+    }
+
+    private static ExecutorService getPool() {
+        return ThreadPoolManager.getPool(THREAD_POOL_NAME);
+    }
+
+    private CompletableFuture<Optional<PingResult>> execute(String key, @Nullable ProcessBuilder command,
+            int timeoutInMS, ProcessResultParser parser) {
+        if (command == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> runningPing = runningPings.putIfAbsent(key, future);
+        if (runningPing != null) {
+            // the destination is pinged already
+            return runningPing;
+        }
+        future.whenComplete((result, e) -> runningPings.remove(key, future));
+        synchronized (this) {
+            if (runningProcesses >= MAX_PROCESSES) {
+                // the caller's timeout runs while waiting for a free slot as well
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+                queuedProcesses.add(new QueuedProcess(command, deadline, parser, future));
+                future.completeOnTimeout(Optional.of(new PingResult(false, timeoutInMS)), timeoutInMS,
+                        TimeUnit.MILLISECONDS);
+                return future;
+            }
+            runningProcesses++;
+        }
+        start(command, timeoutInMS, parser, future);
+        return future;
+    }
+
+    private void start(ProcessBuilder command, long timeoutInMS, ProcessResultParser parser,
+            CompletableFuture<Optional<PingResult>> future) {
+        double execStartTimeInMS = System.currentTimeMillis();
+        Process process;
+        try {
+            process = command.start();
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            processFinished();
+            return;
+        }
+        process.onExit().orTimeout(timeoutInMS + PROCESS_GRACE_TIME_IN_MS, TimeUnit.MILLISECONDS)
+                .whenComplete((exited, e) -> {
+                    try {
+                        if (e != null) {
+                            process.destroyForcibly();
+                            future.complete(
+                                    Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS)));
+                        } else {
+                            future.complete(Optional.of(parser.parse(process, execStartTimeInMS)));
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        future.completeExceptionally(ex);
+                    } finally {
+                        processFinished();
+                    }
+                });
+    }
+
+    synchronized int getRunningProcesses() {
+        return runningProcesses;
+    }
+
+    private void processFinished() {
+        QueuedProcess next;
+        synchronized (this) {
+            do {
+                next = queuedProcesses.poll();
+                if (next == null) {
+                    runningProcesses--;
+                    return;
+                }
+                // pings which timed out while queued are not started anymore
+            } while (next.future.isDone());
+        }
+        // the finished process' slot is handed over to the next one, for the remainder of its timeout
+        long remainingInMS = TimeUnit.NANOSECONDS.toMillis(next.deadline - System.nanoTime());
+        start(next.command, Math.max(0, remainingInMS), next.parser, next.future);
+    }
+}
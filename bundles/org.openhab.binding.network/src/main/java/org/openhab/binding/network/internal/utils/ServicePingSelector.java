@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP service pings, i.e. connection attempts, for any number of hosts and ports with non-blocking sockets
+ * that are multiplexed over a single {@link Selector} and thread.
+ *
+ * The thread is started with the first ping and ends after it has been idle for {@link #IDLE_TIMEOUT_IN_MS}. The
+ * futures of the pings are completed on this thread, so their callbacks must not block.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ServicePingSelector {
+    static final long IDLE_TIMEOUT_IN_MS = 60000;
+
+    private final Logger logger = LoggerFactory.getLogger(ServicePingSelector.class);
+
+    private final Queue<ServicePing> pendingPings = new ConcurrentLinkedQueue<>();
+
+    // guarded by this, null while no thread is running
+    private @Nullable Selector selector;
+
+    private static class ServicePing {
+        final InetSocketAddress address;
+        final long startTimeInNS = System.nanoTime();
+        final long deadlineInNS;
+        final CompletableFuture<PingResult> future = new CompletableFuture<>();
+
+        ServicePing(InetSocketAddress address, int timeoutInMS) {
+            this.address = address;
+            this.deadlineInNS = startTimeInNS + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+
+        void complete(boolean success) {
+            future.complete(new PingResult(success, (System.nanoTime() - startTimeInNS) / 1000000.0));
+        }
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port. The result is not successful if a timeout occurred
+     * or the connection was denied.
+     *
+     * @param address The address of the host
+     * @param port The tcp port. Must be not 0.
+     * @param timeoutInMS Timeout in ms
+     * @return The future ping result, completed exceptionally if the connection attempt failed for another reason
+     */
+    public CompletableFuture<PingResult> servicePing(InetAddress address, int port, int timeoutInMS) {
+        ServicePing ping = new ServicePing(new InetSocketAddress(address, port), timeoutInMS);
+        pendingPings.add(ping);
+        try {
+            wakeup();
+        } catch (IOException e) {
+            pendingPings.remove(ping);
+            ping.future.completeExceptionally(e);
+        }
+        return ping.future;
+    }
+
+    private synchronized void wakeup() throws IOException {
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        Selector newSelector = Selector.open();
+        this.selector = newSelector;
+        Thread thread = new Thread(() -> run(newSelector), "OH-binding-network-servicePing");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Ends the thread if nothing is pending anymore.
+     *
+     * @return true if the thread should end
+     */
+    private synchronized boolean stopIfIdle(Selector selector) throws IOException {
+        // removes the cancelled keys
+        selector.selectNow();
+        if (!pendingPings.isEmpty() || !selector.keys().isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        return true;
+    }
+
+    private void run(Selector selector) {
+        long idleTimeoutInNS = TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_IN_MS);
+        long idleSinceInNS = System.nanoTime();
+        try {
+            while (true) {
+                registerPendingPings(selector);
+                long now = System.nanoTime();
+                long timeoutInNS = expireTimedOutPings(selector, now);
+                if (timeoutInNS == Long.MAX_VALUE) {
+                    // nothing in progress
+                    long idleInNS = now - idleSinceInNS;
+                    if (idleInNS >= idleTimeoutInNS && stopIfIdle(selector)) {
+                        return;
+                    }
+                    timeoutInNS = Math.max(0, idleTimeoutInNS - idleInNS);
+                } else {
+                    idleSinceInNS = now;
+                }
+                // select(0) would block without a timeout
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeoutInNS)));
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    finishConnect(key);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Service ping selector failed", e);
+            synchronized (this) {
+                this.selector = null;
+            }
+            for (SelectionKey key : selector.keys()) {
+                ((ServicePing) key.attachment()).future.completeExceptionally(e);
+                closeChannel(key);
+            }
+            // pings added meanwhile start a new selector
+            ServicePing ping;
+            while ((ping = pendingPings.poll()) != null) {
+                ping.future.completeExceptionally(e);
+            }
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void registerPendingPings(Selector selector) {
+        ServicePing ping;
+        while ((ping = pendingPings.poll()) != null) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                if (channel.connect(ping.address)) {
+                    ping.complete(true);
+                    channel.close();
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, ping);
+                }
+            } catch (ConnectException | NoRouteToHostException e) {
+                ping.complete(false);
+                closeQuietly(channel);
+            } catch (IOException e) {
+                ping.future.completeExceptionally(e);
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    /**
+     * Completes the pings that timed out.
+     *
+     * @return the time until the next ping times out, or {@link Long#MAX_VALUE} if no ping is in progress
+     */
+    private long expireTimedOutPings(Selector selector, long now) {
+        long timeoutInNS = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            if (!key.isValid()) {
+                continue;
+            }
+            ServicePing ping = (ServicePing) key.attachment();
+            long remainingInNS = ping.deadlineInNS - now;
+            if (remainingInNS <= 0) {
+                ping.complete(false);
+                closeChannel(key);
+            } else {
+                timeoutInNS = Math.min(timeoutInNS, remainingInNS);
+            }
+        }
+        return timeoutInNS;
+    }
+
+    private void finishConnect(SelectionKey key) {
+        ServicePing ping = (ServicePing) key.attachment();
+        try {
+            ping.complete(((SocketChannel) key.channel()).finishConnect());
+        } catch (ConnectException | NoRouteToHostException e) {
+            ping.complete(false);
+        } catch (IOException e) {
+            ping.future.completeExceptionally(e);
+        }
+        closeChannel(key);
+    }
+
+    private void closeChannel(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(@Nullable Channel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
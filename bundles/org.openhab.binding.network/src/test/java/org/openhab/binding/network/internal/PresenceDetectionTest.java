@@ -14,15 +14,16 @@ package org.openhab.binding.network.internal;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -35,12 +36,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.passive.PassivePresenceTable;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheHelper;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceDetectionEngine;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -55,7 +58,7 @@ public class PresenceDetectionTest {
     private PresenceDetection subject;
 
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
+    private @Mock PresenceDetectionEngine engine;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
 
@@ -68,6 +71,7 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        subject.engine = engine;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -89,43 +93,56 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    private void mockChecks(CompletableFuture<PingResult> tcp, CompletableFuture<Optional<PingResult>> arp,
+            CompletableFuture<Optional<PingResult>> icmp) {
+        doReturn(tcp).when(engine).servicePing(any(), anyInt(), anyInt());
+        doReturn(arp).when(engine).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
+                anyString(), anyInt());
+        doReturn(icmp).when(engine).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
+    }
+
+    private static Optional<PingResult> success() {
+        return Optional.of(new PingResult(true, 10));
+    }
+
+    // Depending on the amount of test methods an according amount of checks is performed by the engine.
+    // We will check if they are started and finish in time.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void checkCountTest() {
+        assertNull(subject.detection);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        CompletableFuture<PingResult> tcp = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> arp = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> icmp = new CompletableFuture<>();
+        mockChecks(tcp, arp, icmp);
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
 
+        tcp.complete(new PingResult(false, 10));
+        arp.complete(Optional.empty());
+        icmp.complete(Optional.empty());
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
+        verify(listener).finalDetectionResult(any());
     }
 
     @Test
-    public void partialAndFinalCallbackTests() throws InterruptedException, IOException {
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
-                anyString(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+    public void partialAndFinalCallbackTests() {
+        mockChecks(CompletableFuture.completedFuture(new PingResult(true, 10)),
+                CompletableFuture.completedFuture(success()), CompletableFuture.completedFuture(success()));
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
 
-        verify(subject, times(0)).performJavaPing();
-        verify(subject).performSystemPing();
-        verify(subject).performARPping(any());
-        verify(subject).performServicePing(anyInt());
+        verify(subject, times(0)).performJavaPing(any());
+        verify(subject).performSystemPing(any());
+        verify(subject).performARPping(any(), any());
+        verify(subject).performServicePing(any(), anyInt());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
@@ -135,30 +152,25 @@ public class PresenceDetectionTest {
     }
 
     @Test
-    public void cacheTest() throws InterruptedException, IOException {
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
-                anyString(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+    public void cacheTest() {
+        CompletableFuture<PingResult> tcp = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> arp = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> icmp = new CompletableFuture<>();
+        mockChecks(tcp, arp, icmp);
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
+        // Let the engine finish the different checks now
+        tcp.complete(new PingResult(true, 10));
+        arp.complete(success());
+        icmp.complete(success());
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -177,7 +189,44 @@ public class PresenceDetectionTest {
     }
 
     @Test
-    public void reuseValueTests() throws InterruptedException, IOException {
+    public void passivePresenceAvoidsProbes() {
+        PassivePresenceTable table = new PassivePresenceTable();
+        subject.passivePresenceTable = table;
+        subject.setUsePassivePresence(true);
+        subject.setRefreshInterval(60000);
+
+        // Not heard of: the device is probed
+        mockChecks(CompletableFuture.completedFuture(new PingResult(false, 10)),
+                CompletableFuture.completedFuture(Optional.empty()),
+                CompletableFuture.completedFuture(Optional.empty()));
+        assertTrue(subject.performPresenceDetection(true));
+        verify(subject).performSystemPing(any());
+        assertThat(subject.getProbesPerformed(), is(1L));
+        assertThat(subject.getProbesAvoided(), is(0L));
+
+        // Heard of within the refresh interval: no probe is necessary
+        long seenInMS = System.currentTimeMillis() - 1000;
+        table.record("127.0.0.1", null, PresenceDetectionType.MDNS, seenInMS);
+        subject.cache.invalidateValue();
+        assertTrue(subject.performPresenceDetection(true));
+        verify(subject, times(1)).performSystemPing(any());
+        assertThat(subject.getProbesPerformed(), is(1L));
+        assertThat(subject.getProbesAvoided(), is(1L));
+        assertNull(subject.detection);
+
+        // The device was last seen when it was heard of, the latency is the time since then
+        assertThat(subject.getLastSeen(), is(seenInMS));
+        assertThat(subject.getDetectionLatency(), greaterThanOrEqualTo(1000.0));
+        assertThat(subject.getDetectionLatency(), lessThan(60000.0));
+
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, times(2)).finalDetectionResult(capture.capture());
+        assertTrue(capture.getValue().isReachable());
+        assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("MDNS"));
+    }
+
+    @Test
+    public void reuseValueTests() {
         final long START_TIME = 1000L;
         when(subject.cache.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(START_TIME));
 
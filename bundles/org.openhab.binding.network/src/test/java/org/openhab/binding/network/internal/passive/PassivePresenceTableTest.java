@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.passive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.PresenceDetectionType;
+import org.openhab.binding.network.internal.passive.PassivePresenceTable.Sighting;
+
+/**
+ * Tests cases for {@link PassivePresenceTable} and {@link NeighbourTableReader}.
+ *
+ * @author agent - Initial contribution
+ */
+public class PassivePresenceTableTest {
+    private final PassivePresenceTable table = new PassivePresenceTable();
+
+    @Test
+    public void lastSeenOnlyMovesForward() {
+        table.record("192.168.1.20", null, PresenceDetectionType.MDNS, 2000);
+        table.record("192.168.1.20", "3C:22:FB:AA:BB:CC", PresenceDetectionType.NEIGHBOUR_TABLE, 1000);
+
+        Sighting sighting = table.get("192.168.1.20");
+        assertNotNull(sighting);
+        assertEquals(2000, sighting.getLastSeen());
+        assertEquals(PresenceDetectionType.MDNS, sighting.getSource());
+        // the MAC address is kept, even from an older observation
+        assertEquals("3c:22:fb:aa:bb:cc", sighting.getMac());
+        assertSame(sighting, table.getByMac("3c:22:fb:aa:bb:cc"));
+
+        table.record("192.168.1.20", null, PresenceDetectionType.DHCP_REQUEST, 3000);
+        assertEquals(3000, sighting.getLastSeen());
+        assertEquals(PresenceDetectionType.DHCP_REQUEST, sighting.getSource());
+        assertNull(table.get("192.168.1.21"));
+    }
+
+    @Test
+    public void removeOlderThan() {
+        table.record("192.168.1.20", "3c:22:fb:aa:bb:cc", PresenceDetectionType.NEIGHBOUR_TABLE, 1000);
+        table.record("192.168.1.21", null, PresenceDetectionType.MDNS, 5000);
+
+        table.removeOlderThan(2000);
+        assertEquals(1, table.size());
+        assertNull(table.get("192.168.1.20"));
+        assertNull(table.getByMac("3c:22:fb:aa:bb:cc"));
+        assertNotNull(table.get("192.168.1.21"));
+    }
+
+    @Test
+    public void concurrentRecordsKeepTheLatestTime() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    table.record("192.168.1." + (i % 10), null, PresenceDetectionType.MDNS, i * 4 + offset);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10, table.size());
+        Sighting sighting = table.get("192.168.1.9");
+        assertNotNull(sighting);
+        assertEquals(9999 * 4 + 3, sighting.getLastSeen());
+    }
+
+    @Test
+    public void parseNeighbourTable() {
+        NeighbourTableReader reader = new NeighbourTableReader(table, "eth0");
+
+        assertTrue(reader.parseLine("192.168.1.20 lladdr 3c:22:fb:aa:bb:cc ref 1 used 35/30/5 probes 1 REACHABLE",
+                1000000));
+        assertTrue(reader.parseLine("192.168.1.21 lladdr 3c:22:fb:aa:bb:cd used 300/240/200 probes 4 STALE", 1000000));
+        assertFalse(reader.parseLine("192.168.1.22 used 10/10/10 probes 6 FAILED", 1000000));
+        assertFalse(reader.parseLine("192.168.1.23 lladdr 3c:22:fb:aa:bb:ce used 10/10/10 probes 0 PERMANENT",
+                1000000));
+        assertFalse(reader.parseLine("", 1000000));
+
+        Sighting sighting = table.get("192.168.1.20");
+        assertNotNull(sighting);
+        assertEquals(970000, sighting.getLastSeen());
+        assertEquals(PresenceDetectionType.NEIGHBOUR_TABLE, sighting.getSource());
+        assertEquals("3c:22:fb:aa:bb:cc", sighting.getMac());
+        sighting = table.get("192.168.1.21");
+        assertNotNull(sighting);
+        assertEquals(760000, sighting.getLastSeen());
+        assertEquals(2, table.size());
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+
+/**
+ * Tests the process limit and the ping batches of the {@link PresenceDetectionEngine}, running the sleep, true and sh
+ * commands instead of ping, arping and fping.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+public class PresenceDetectionEngineTest {
+    private static final int TIMEOUT_IN_MS = 500;
+    private static final int GRACE_TIME_IN_MS = PresenceDetectionEngine.PROCESS_GRACE_TIME_IN_MS;
+
+    private @Mock NetworkUtils networkUtils;
+    private @Mock ServicePingSelector servicePingSelector;
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void queuedPingsFailWithinTheirTimeout() throws Exception {
+        when(networkUtils.nativePingCommand(any(), anyString(), anyInt())).thenAnswer(invocation -> {
+            String hostname = invocation.getArgument(1);
+            return hostname.startsWith("host") ? new ProcessBuilder("sleep", "10") : new ProcessBuilder("true");
+        });
+        when(networkUtils.parseNativePingResult(any(), anyDouble())).thenReturn(new PingResult(true, 1));
+        PresenceDetectionEngine engine = new PresenceDetectionEngine(networkUtils, servicePingSelector);
+
+        List<CompletableFuture<Optional<PingResult>>> running = new ArrayList<>();
+        for (int i = 0; i < PresenceDetectionEngine.MAX_PROCESSES; i++) {
+            running.add(engine.nativePing(null, "host" + i, TIMEOUT_IN_MS));
+        }
+        CompletableFuture<Optional<PingResult>> queued = engine.nativePing(null, "queued", TIMEOUT_IN_MS);
+
+        // the running processes are destroyed after their grace time, the queued ping fails before
+        Optional<PingResult> queuedResult = queued.get(TIMEOUT_IN_MS + GRACE_TIME_IN_MS / 2, TimeUnit.MILLISECONDS);
+        assertFalse(queuedResult.get().isSuccess());
+        for (CompletableFuture<Optional<PingResult>> future : running) {
+            assertFalse(future.isDone());
+        }
+
+        for (CompletableFuture<Optional<PingResult>> future : running) {
+            Optional<PingResult> result = future.get(TIMEOUT_IN_MS + GRACE_TIME_IN_MS * 2, TimeUnit.MILLISECONDS);
+            assertFalse(result.get().isSuccess());
+        }
+
+        // the queued ping was not started once a slot became free, and all slots are free again
+        Optional<PingResult> result = engine.nativePing(null, "fast", TIMEOUT_IN_MS).get(TIMEOUT_IN_MS,
+                TimeUnit.MILLISECONDS);
+        assertTrue(result.get().isSuccess());
+        verify(networkUtils, times(1)).parseNativePingResult(any(), anyDouble());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void manyPingsShareOneBatchProcess() throws Exception {
+        // prints the output of fping for the targets given as arguments
+        String fping = "for t in \"$@\"; do case $t in down*) echo \"$t is unreachable\";; "
+                + "*) echo \"$t is alive (0.10 ms)\";; esac; done";
+        when(networkUtils.batchPingCommand(anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            List<String> command = new ArrayList<>(List.of("sh", "-c", fping, "sh"));
+            command.addAll(invocation.<Collection<String>> getArgument(2));
+            return new ProcessBuilder(command);
+        });
+        when(networkUtils.parseBatchPingLine(anyString(), anyDouble())).thenCallRealMethod();
+        PresenceDetectionEngine engine = new PresenceDetectionEngine(networkUtils, servicePingSelector);
+        engine.setBatchPingToolPath("fping");
+
+        int pings = PresenceDetectionEngine.MAX_BATCH_SIZE + 36;
+        List<CompletableFuture<Optional<PingResult>>> futures = new ArrayList<>();
+        for (int i = 0; i < pings; i++) {
+            String hostname = (i % 2 == 0 ? "up" : "down") + i;
+            futures.add(engine.nativePing(IpPingMethodEnum.IPUTILS_LINUX_PING, hostname, TIMEOUT_IN_MS));
+        }
+        // the same destination joins the running ping
+        assertSame(futures.get(0), engine.nativePing(IpPingMethodEnum.IPUTILS_LINUX_PING, "up0", TIMEOUT_IN_MS));
+
+        for (int i = 0; i < pings; i++) {
+            PingResult result = futures.get(i).get(TIMEOUT_IN_MS + GRACE_TIME_IN_MS, TimeUnit.MILLISECONDS).get();
+            assertEquals(i % 2 == 0, result.isSuccess());
+        }
+        // a full batch and the remainder
+        verify(networkUtils, times(2)).batchPingCommand(eq("fping"), eq(TIMEOUT_IN_MS), any());
+        verify(networkUtils, never()).nativePingCommand(any(), anyString(), anyInt());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void manyArpPingsAreLimitedToTheProcessSlots() throws Exception {
+        when(networkUtils.nativeARPPingCommand(any(), any(), anyString(), anyString(), anyInt()))
+                .thenAnswer(invocation -> new ProcessBuilder("sleep", "0.1"));
+        when(networkUtils.parseARPPingResult(any(), anyDouble())).thenReturn(new PingResult(true, 1));
+        PresenceDetectionEngine engine = new PresenceDetectionEngine(networkUtils, servicePingSelector);
+
+        int destinations = PresenceDetectionEngine.MAX_PROCESSES * 3;
+        int timeoutInMS = 2000;
+        List<CompletableFuture<Optional<PingResult>>> futures = new ArrayList<>();
+        for (int i = 0; i < destinations; i++) {
+            String address = "192.168.1." + i;
+            CompletableFuture<Optional<PingResult>> future = engine.nativeARPPing(ArpPingUtilEnum.IPUTILS_ARPING,
+                    "arping", "eth0", address, timeoutInMS);
+            // the same destination joins the running ping
+            assertSame(future, engine.nativeARPPing(ArpPingUtilEnum.IPUTILS_ARPING, "arping", "eth0", address,
+                    timeoutInMS));
+            futures.add(future);
+        }
+        assertTrue(engine.getRunningProcesses() <= PresenceDetectionEngine.MAX_PROCESSES);
+
+        for (CompletableFuture<Optional<PingResult>> future : futures) {
+            assertTrue(future.get(timeoutInMS, TimeUnit.MILLISECONDS).get().isSuccess());
+        }
+        verify(networkUtils, times(destinations)).parseARPPingResult(any(), anyDouble());
+    }
+
+    @Test
+    public void batchPingLinesAreParsed() {
+        NetworkUtils utils = new NetworkUtils();
+
+        Map.Entry<String, PingResult> alive = utils.parseBatchPingLine("192.168.1.1 is alive (0.61 ms)", 0);
+        assertNotNull(alive);
+        assertEquals("192.168.1.1", alive.getKey());
+        assertTrue(alive.getValue().isSuccess());
+        assertEquals(Optional.of(0.61), alive.getValue().getResponseTimeInMS());
+
+        Map.Entry<String, PingResult> unreachable = utils.parseBatchPingLine("fritz.box is unreachable", 0);
+        assertNotNull(unreachable);
+        assertEquals("fritz.box", unreachable.getKey());
+        assertFalse(unreachable.getValue().isSuccess());
+
+        assertNull(utils.parseBatchPingLine("ICMP Host Unreachable from 192.168.1.5 for ICMP Echo sent to x", 0));
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the {@link ServicePingSelector} against ports on the loopback interface.
+ *
+ * @author agent - Initial contribution
+ */
+public class ServicePingSelectorTest {
+    private static final int TIMEOUT_IN_MS = 1000;
+    private static final int HOSTS = 150;
+    private static final int ROUNDS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(ServicePingSelectorTest.class);
+
+    private final ServicePingSelector selector = new ServicePingSelector();
+
+    private PingResult ping(InetAddress address, int port)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return selector.servicePing(address, port, TIMEOUT_IN_MS).get(TIMEOUT_IN_MS * 2, TimeUnit.MILLISECONDS);
+    }
+
+    private static long countSelectorThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> "OH-binding-network-servicePing".equals(thread.getName())).count();
+    }
+
+    @Test
+    public void listeningAndRefusedPorts() throws Exception {
+        InetAddress loopback = InetAddress.getByName("127.0.0.1");
+        int refusedPort;
+        try (ServerSocket closed = new ServerSocket(0, 1, loopback)) {
+            refusedPort = closed.getLocalPort();
+        }
+
+        try (ServerSocket server = new ServerSocket(0, 1, loopback)) {
+            assertTrue(ping(loopback, server.getLocalPort()).isSuccess());
+        }
+        assertFalse(ping(loopback, refusedPort).isSuccess());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void manyHostsShareOneThread() throws Exception {
+        // Linux routes the whole 127.0.0.0/8 range to the loopback interface: every other host listens
+        List<ServerSocket> servers = new ArrayList<>();
+        InetAddress[] hosts = new InetAddress[HOSTS];
+        int port = 0;
+        try {
+            for (int i = 0; i < HOSTS; i++) {
+                hosts[i] = InetAddress.getByName("127.0.1." + (i + 1));
+                if (i % 2 == 0) {
+                    ServerSocket server = new ServerSocket();
+                    server.bind(new InetSocketAddress(hosts[i], port), HOSTS);
+                    port = server.getLocalPort();
+                    servers.add(server);
+                }
+            }
+
+            long threadsBefore = countSelectorThreads();
+            AtomicLong maxThreads = new AtomicLong();
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                List<CompletableFuture<PingResult>> results = new ArrayList<>();
+                for (InetAddress host : hosts) {
+                    CompletableFuture<PingResult> result = selector.servicePing(host, port, TIMEOUT_IN_MS);
+                    // counted while the other pings of the round are in flight
+                    result.whenComplete((r, e) -> maxThreads.accumulateAndGet(countSelectorThreads(), Math::max));
+                    results.add(result);
+                }
+                maxThreads.accumulateAndGet(countSelectorThreads(), Math::max);
+                for (int i = 0; i < HOSTS; i++) {
+                    PingResult result = results.get(i).get(TIMEOUT_IN_MS * 2, TimeUnit.MILLISECONDS);
+                    assertEquals(i % 2 == 0, result.isSuccess(), hosts[i].getHostAddress());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            // all pings of all rounds were multiplexed on at most one new thread
+            assertTrue(maxThreads.get() <= threadsBefore + 1, "selector threads: " + maxThreads.get());
+            logger.info("{} service pings in {} ms", HOSTS * ROUNDS, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } finally {
+            for (ServerSocket server : servers) {
+                try {
+                    server.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
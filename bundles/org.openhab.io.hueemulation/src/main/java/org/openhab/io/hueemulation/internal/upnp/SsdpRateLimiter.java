@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.upnp;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Limits the number of M-SEARCH requests answered per source address within a time window. Some devices (e.g. Amazon
+ * Echos) repeat their searches in bursts and dozens of them on one network would otherwise keep the responder busy.
+ * <p>
+ * Not thread safe. Only used by the selector thread of the {@link UpnpServer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class SsdpRateLimiter {
+    private static final int MAX_TRACKED_SOURCES = 256;
+
+    private final int maxRequests;
+    private final long windowNanos;
+    /** Per source: [0] = window start, [1] = requests within the window */
+    private final Map<InetAddress, long[]> windows = new HashMap<>();
+
+    SsdpRateLimiter(int maxRequests, long windowNanos) {
+        this.maxRequests = maxRequests;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * @param source The source address of the request
+     * @param now The current time in nanoseconds ({@link System#nanoTime()})
+     * @return Return true if the request should be answered
+     */
+    boolean tryAcquire(InetAddress source, long now) {
+        long[] window = windows.get(source);
+        if (window == null) {
+            if (windows.size() >= MAX_TRACKED_SOURCES) {
+                windows.values().removeIf(w -> now - w[0] >= windowNanos);
+            }
+            windows.put(source, new long[] { now, 1 });
+            return true;
+        }
+        if (now - window[0] >= windowNanos) {
+            window[0] = now;
+            window[1] = 1;
+            return true;
+        }
+        return ++window[1] <= maxRequests;
+    }
+}
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -56,6 +57,7 @@ import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -73,6 +75,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Advertises a Hue compatible bridge via UPNP and provides the announced /description.xml http endpoint.
+ * <p>
+ * The response datagrams are prepared once per configuration. M-SEARCH requests are rate limited per source address on
+ * the selector thread and answered by a small responder pool, so that the selector keeps up with busy networks.
  *
  * @author Dan Cunningham - Initial contribution
  * @author David Graeff - Rewritten
@@ -100,6 +105,13 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
      * Send a keep alive every 2 minutes
      */
     private static final int CACHE_MSECS = 120 * 1000;
+    /**
+     * Answer at most this many M-SEARCH requests per source address and second
+     */
+    static final int MAX_SEARCHES_PER_SOURCE = 10;
+    private static final long RATE_LIMIT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String RESPONDER_POOL_NAME = "hueemulation-upnp";
+    private static final byte[] M_SEARCH = "M-SEARCH".getBytes(StandardCharsets.US_ASCII);
 
     private final Logger logger = LoggerFactory.getLogger(UpnpServer.class);
 
@@ -107,6 +119,8 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
     public final InetAddress MULTI_ADDR_IPV6;
     private String[] stVersions = { "", "", "" };
     private String notifyMsg = "";
+    private volatile byte[][] responseDatagrams = {};
+    private volatile byte[] notifyDatagram = {};
 
     //// objects, set within activate()
     protected @NonNullByDefault({}) String xmlDoc;
@@ -130,16 +144,27 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
 
     private List<SelfTestReport> selfTests = new ArrayList<>();
     private final Executor executor;
+    private final Executor responderExecutor;
+    private final SsdpRateLimiter rateLimiter = new SsdpRateLimiter(MAX_SEARCHES_PER_SOURCE,
+            RATE_LIMIT_WINDOW_NANOS);
 
     /**
      * Creates a server instance.
      * UPnP IPv4/v6 multicast addresses are determined.
      */
     public UpnpServer() {
-        this(ForkJoinPool.commonPool());
+        this(ForkJoinPool.commonPool(), ThreadPoolManager.getPool(RESPONDER_POOL_NAME));
     }
 
     public UpnpServer(Executor executor) {
+        this(executor, executor);
+    }
+
+    /**
+     * @param executor Executor for the address self test
+     * @param responderExecutor Executor for sending the M-SEARCH responses
+     */
+    public UpnpServer(Executor executor, Executor responderExecutor) {
         try {
             MULTI_ADDR_IPV4 = InetAddress.getByName("239.255.255.250");
             MULTI_ADDR_IPV6 = InetAddress.getByName("ff02::c");
@@ -149,6 +174,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
         }
 
         this.executor = executor;
+        this.responderExecutor = responderExecutor;
     }
 
     /**
@@ -214,6 +240,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
 
         final String[] stVersions = { "upnp:rootdevice", "urn:schemas-upnp-org:device:basic:1",
                 "uuid:" + config.config.uuid };
+        final byte[][] responseDatagrams = new byte[stVersions.length][];
         for (int i = 0; i < stVersions.length; ++i) {
             this.stVersions[i] = String.format(
                     "HTTP/1.1 200 OK\r\n" + "HOST: %s:%d\r\n" + "EXT:\r\n" + "CACHE-CONTROL: max-age=%d\r\n"
@@ -223,7 +250,9 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                                                                                      // cache,location
                     cs.ds.config.apiversion, cs.ds.config.bridgeid, // version, bridgeid
                     stVersions[i], config.config.uuid);
+            responseDatagrams[i] = this.stVersions[i].getBytes(StandardCharsets.UTF_8);
         }
+        this.responseDatagrams = responseDatagrams;
 
         this.notifyMsg = String.format(
                 "NOTIFY * HTTP/1.1\r\n" + "HOST: %s:%d\r\n" + "CACHE-CONTROL: max-age=%d\r\n" + "LOCATION: %s\r\n"
@@ -231,6 +260,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                         + "USN: uuid:%s::upnp:rootdevice\r\n" + "hue-bridgeid: %s\r\n\r\n",
                 r.getMulticastAddress(), UPNP_PORT, CACHE_MSECS / 1000, baseurl, // host:port, cache,location
                 cs.ds.config.apiversion, config.config.uuid, cs.ds.config.bridgeid);// version, uuid, bridgeid
+        this.notifyDatagram = notifyMsg.getBytes(StandardCharsets.UTF_8);
 
         xmlDocWithAddress = String.format(xmlDoc, urlBase, r.addressString, cs.ds.config.bridgeid, cs.ds.config.uuid,
                 cs.ds.config.devicename);
@@ -370,7 +400,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
         }
     }
 
-    private void handleRead(SelectionKey key) throws IOException {
+    private void handleRead(SelectionKey key, DatagramSocket responseSocket) throws IOException {
         logger.trace("upnp thread handle received message");
         DatagramChannel channel = (DatagramChannel) key.channel();
         ClientRecord clntRec = (ClientRecord) key.attachment();
@@ -380,20 +410,42 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
         if (recAddress == null) { // Did we receive something?
             return;
         }
-        String data = new String(clntRec.buffer.array(), StandardCharsets.UTF_8);
-        if (!data.startsWith("M-SEARCH")) {
+        clntRec.buffer.flip();
+        if (!isMSearch(clntRec.buffer)) {
             return;
         }
 
-        try (DatagramSocket sendSocket = new DatagramSocket()) {
-            sendUPNPDatagrams(sendSocket, recAddress.getAddress(), recAddress.getPort());
+        final InetAddress address = recAddress.getAddress();
+        final int port = recAddress.getPort();
+        if (!rateLimiter.tryAcquire(address, System.nanoTime())) {
+            logger.trace("Rate limit exceeded, ignoring M-SEARCH from {}", address.getHostAddress());
+            return;
         }
+
+        final byte[][] datagrams = responseDatagrams;
+        try {
+            responderExecutor.execute(() -> sendUPNPDatagrams(responseSocket, datagrams, address, port));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Could not schedule UPNP response: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isMSearch(ByteBuffer buffer) {
+        if (buffer.remaining() < M_SEARCH.length) {
+            return false;
+        }
+        for (int i = 0; i < M_SEARCH.length; ++i) {
+            if (buffer.get(buffer.position() + i) != M_SEARCH[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private void sendUPNPDatagrams(DatagramSocket sendSocket, InetAddress address, int port) {
+    private void sendUPNPDatagrams(DatagramSocket sendSocket, byte[][] datagrams, InetAddress address, int port) {
         logger.trace("upnp thread send announcement");
-        for (String msg : stVersions) {
-            DatagramPacket response = new DatagramPacket(msg.getBytes(), msg.length(), address, port);
+        for (byte[] msg : datagrams) {
+            DatagramPacket response = new DatagramPacket(msg, msg.length, address, port);
             try {
                 logger.trace("Sending to {}:{}", address.getHostAddress(), port);
                 sendSocket.send(response);
@@ -404,7 +456,8 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
     }
 
     private void sendUPNPNotify(DatagramSocket sendSocket, InetAddress address, int port) {
-        DatagramPacket response = new DatagramPacket(notifyMsg.getBytes(), notifyMsg.length(), address, port);
+        byte[] msg = notifyDatagram;
+        DatagramPacket response = new DatagramPacket(msg, msg.length, address, port);
         try {
             logger.trace("Sending to {}:{}", address.getHostAddress(), port);
             sendSocket.send(response);
@@ -421,7 +474,8 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
 
         try (Selector selector = Selector.open();
                 DatagramChannel channelV4 = createBoundDataGramChannelOrNull(StandardProtocolFamily.INET);
-                DatagramChannel channelV6 = createBoundDataGramChannelOrNull(StandardProtocolFamily.INET6)) {
+                DatagramChannel channelV6 = createBoundDataGramChannelOrNull(StandardProtocolFamily.INET6);
+                DatagramSocket responseSocket = new DatagramSocket()) {
             // Set global config to thread local config. Otherwise upnpAnnouncementThreadRunning() will report wrong
             // results.
             config = threadContext;
@@ -451,15 +505,13 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                 channelV4.configureBlocking(false);
                 channelV4.register(selector, SelectionKey.OP_READ, new ClientRecord());
                 try (DatagramSocket sendSocket = new DatagramSocket(new InetSocketAddress(config.address, 0))) {
-                    sendUPNPDatagrams(sendSocket, MULTI_ADDR_IPV4, UPNP_PORT);
+                    sendUPNPDatagrams(sendSocket, responseDatagrams, MULTI_ADDR_IPV4, UPNP_PORT);
                 }
             }
             if (hasIPv6) {
                 channelV6.configureBlocking(false);
                 channelV6.register(selector, SelectionKey.OP_READ, new ClientRecord());
-                try (DatagramSocket sendSocket = new DatagramSocket()) {
-                    sendUPNPDatagrams(sendSocket, MULTI_ADDR_IPV6, UPNP_PORT);
-                }
+                sendUPNPDatagrams(responseSocket, responseDatagrams, MULTI_ADDR_IPV6, UPNP_PORT);
             }
 
             threadContext.future.complete(threadContext);
@@ -472,7 +524,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                 while (keyIter.hasNext()) {
                     SelectionKey key = keyIter.next();
                     if (key.isReadable()) {
-                        handleRead(key);
+                        handleRead(key, responseSocket);
                     }
                     keyIter.remove();
                 }
@@ -486,9 +538,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                         }
                     }
                     if (hasIPv6) {
-                        try (DatagramSocket sendSocket = new DatagramSocket()) {
-                            sendUPNPNotify(sendSocket, MULTI_ADDR_IPV6, UPNP_PORT);
-                        }
+                        sendUPNPNotify(responseSocket, MULTI_ADDR_IPV6, UPNP_PORT);
                     }
                 }
             }
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.upnp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the per source rate limiting of M-SEARCH requests
+ *
+ * @author agent - Initial contribution
+ */
+public class SsdpRateLimiterTests {
+
+    @Test
+    public void limitsPerSourceAndWindow() throws UnknownHostException {
+        SsdpRateLimiter subject = new SsdpRateLimiter(3, 1000);
+        InetAddress a = InetAddress.getByName("192.168.1.10");
+        InetAddress b = InetAddress.getByName("192.168.1.11");
+
+        assertTrue(subject.tryAcquire(a, 0));
+        assertTrue(subject.tryAcquire(a, 1));
+        assertTrue(subject.tryAcquire(a, 2));
+        assertFalse(subject.tryAcquire(a, 3));
+
+        // Other sources are not affected
+        assertTrue(subject.tryAcquire(b, 4));
+
+        // A new window starts
+        assertTrue(subject.tryAcquire(a, 1000));
+    }
+}
@@ -15,11 +15,16 @@ package org.openhab.io.hueemulation.internal.upnp;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +49,7 @@ import org.openhab.io.hueemulation.internal.rest.CommonSetup;
 import org.openhab.io.hueemulation.internal.rest.LightsAndGroups;
 import org.osgi.framework.Bundle;
 import org.osgi.util.tracker.ServiceTracker;
+import org.slf4j.LoggerFactory;
 
 /**
  * Tests the upnp server part if the description.xml is available and if the udp thread comes online
@@ -51,6 +57,19 @@ import org.osgi.util.tracker.ServiceTracker;
  * @author David Graeff - Initial contribution
  */
 public class UpnpTests {
+    /**
+     * M-SEARCH requests as recorded from an Amazon Echo and the Hue app. Both repeat their requests in bursts.
+     */
+    private static final String[] RECORDED_M_SEARCHES = {
+            "M-SEARCH * HTTP/1.1\r\nHOST: 239.255.255.250:1900\r\nMAN: \"ssdp:discover\"\r\nMX: 15\r\n"
+                    + "ST: urn:schemas-upnp-org:device:basic:1\r\n\r\n",
+            "M-SEARCH * HTTP/1.1\r\nHOST: 239.255.255.250:1900\r\nMAN: \"ssdp:discover\"\r\nMX: 3\r\n"
+                    + "ST: upnp:rootdevice\r\n\r\n",
+            "M-SEARCH * HTTP/1.1\r\nHOST: 239.255.255.250:1900\r\nMAN: \"ssdp:discover\"\r\nMX: 3\r\n"
+                    + "ST: ssdp:all\r\n\r\n" };
+    private static final int BURST_SOURCES = 8;
+    private static final int BURST_REPEATS = 10;
+
     protected static CommonSetup commonSetup = null;
     protected UpnpServer subject;
     protected static OSGiMainHandler mainHttpHandler;
@@ -152,4 +171,68 @@ public class UpnpTests {
         subject.deactivate();
         assertThat(subject.upnpAnnouncementThreadRunning(), is(false));
     }
+
+    @Test
+    public void mSearchBurstsAreRateLimited()
+            throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        HueEmulationConfigWithRuntime r = subject.createConfiguration(null);
+        r = subject.performAddressTest(r);
+        subject.applyConfiguration(r);
+        if (r == null) {
+            throw new IllegalStateException();
+        }
+        r.startNow().get(5, TimeUnit.SECONDS);
+
+        List<DatagramSocket> sources = new ArrayList<>();
+        try {
+            for (int i = 0; i < BURST_SOURCES; ++i) {
+                DatagramSocket source = new DatagramSocket();
+                source.setSoTimeout(700);
+                sources.add(source);
+            }
+
+            // Replay the recorded bursts from all sources at once
+            long start = System.nanoTime();
+            for (int repeat = 0; repeat < BURST_REPEATS; ++repeat) {
+                for (DatagramSocket source : sources) {
+                    for (String mSearch : RECORDED_M_SEARCHES) {
+                        byte[] bytes = mSearch.getBytes(StandardCharsets.US_ASCII);
+                        source.send(new DatagramPacket(bytes, bytes.length, subject.MULTI_ADDR_IPV4,
+                                UpnpServer.UPNP_PORT));
+                    }
+                }
+            }
+
+            int total = 0;
+            for (DatagramSocket source : sources) {
+                int received = receiveAll(source);
+                total += received;
+                // Every source gets answered, but not more often than the rate limit allows
+                assertTrue(received >= 3, "source got no response");
+                assertTrue(received <= UpnpServer.MAX_SEARCHES_PER_SOURCE * 3, "rate limit not applied: " + received);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            LoggerFactory.getLogger(UpnpTests.class).info("Replayed {} M-SEARCH requests, received {} responses in {} ms",
+                    BURST_SOURCES * BURST_REPEATS * RECORDED_M_SEARCHES.length, total, millis);
+        } finally {
+            sources.forEach(DatagramSocket::close);
+            r.dispose();
+        }
+    }
+
+    private int receiveAll(DatagramSocket socket) throws IOException {
+        int received = 0;
+        byte[] buffer = new byte[1000];
+        try {
+            while (true) {
+                DatagramPacket p = new DatagramPacket(buffer, buffer.length);
+                socket.receive(p);
+                String response = new String(buffer, 0, p.getLength(), StandardCharsets.UTF_8);
+                assertThat(response, CoreMatchers.containsString("hue-bridgeid: DEMOUUID"));
+                received++;
+            }
+        } catch (SocketTimeoutException e) {
+            return received;
+        }
+    }
 }
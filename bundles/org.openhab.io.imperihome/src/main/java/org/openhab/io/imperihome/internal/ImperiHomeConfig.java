@@ -29,6 +29,7 @@ public class ImperiHomeConfig {
 
     private String systemId;
     private String rootUrl;
+    private int historyMaxPoints;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -46,6 +47,16 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyMaxPoints = 0;
+        Object historyMaxPointsObj = config.get("history.maxPoints");
+        if (historyMaxPointsObj != null) {
+            try {
+                historyMaxPoints = Integer.parseInt(historyMaxPointsObj.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid history.maxPoints value: {}", historyMaxPointsObj);
+            }
+        }
+
         logger.info("Configuration updated");
     }
 
@@ -56,4 +67,8 @@ public class ImperiHomeConfig {
     public String getRootUrl() {
         return rootUrl;
     }
+
+    public int getHistoryMaxPoints() {
+        return historyMaxPoints;
+    }
 }
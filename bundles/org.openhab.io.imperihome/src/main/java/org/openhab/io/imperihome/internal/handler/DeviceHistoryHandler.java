@@ -13,6 +13,7 @@
 package org.openhab.io.imperihome.internal.handler;
 
 import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
 import java.net.URLDecoder;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -31,6 +32,7 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.types.State;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
 import org.openhab.io.imperihome.internal.model.HistoryItem;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -39,7 +41,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Device history request handler.
+ * Device history request handler. If a maximum number of points is configured, the history is downsampled by
+ * averaging the values per time bucket.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -51,10 +54,13 @@ public class DeviceHistoryHandler {
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
     }
 
     public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
@@ -120,6 +126,41 @@ public class DeviceHistoryHandler {
             }
         }
 
+        int maxPoints = config.getHistoryMaxPoints();
+        if (maxPoints > 0 && resultItems.size() > maxPoints) {
+            resultItems = downsample(resultItems, start, end, maxPoints);
+        }
+
         return new HistoryList(resultItems);
     }
+
+    /**
+     * Reduces the history to at most maxPoints items by dividing the requested period into equal time buckets and
+     * averaging value and timestamp of the items in each bucket.
+     */
+    private List<HistoryItem> downsample(List<HistoryItem> items, long start, long end, int maxPoints) {
+        long bucketSize = Math.max(1, (end - start + maxPoints - 1) / maxPoints);
+        double[] valueSums = new double[maxPoints];
+        long[] dateSums = new long[maxPoints];
+        int[] counts = new int[maxPoints];
+
+        for (HistoryItem item : items) {
+            int bucket = (int) Math.min(maxPoints - 1, Math.max(0, (item.getDate() - start) / bucketSize));
+            valueSums[bucket] += item.getValue().doubleValue();
+            dateSums[bucket] += item.getDate() - start;
+            counts[bucket]++;
+        }
+
+        List<HistoryItem> downsampled = new LinkedList<>();
+        for (int bucket = 0; bucket < maxPoints; bucket++) {
+            int count = counts[bucket];
+            if (count > 0) {
+                downsampled.add(new HistoryItem(start + dateSums[bucket] / count,
+                        BigDecimal.valueOf(valueSums[bucket] / count)));
+            }
+        }
+
+        logger.debug("Downsampled history from {} to {} items", items.size(), downsampled.size());
+        return downsampled;
+    }
 }
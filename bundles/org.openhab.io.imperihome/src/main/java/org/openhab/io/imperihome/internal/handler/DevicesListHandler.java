@@ -13,17 +13,24 @@
 package org.openhab.io.imperihome.internal.handler;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
-import org.openhab.io.imperihome.internal.model.device.DeviceList;
 import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+import org.openhab.io.imperihome.internal.processor.ItemProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
- * Device list request handler.
+ * Device list request handler. The JSON of each device is cached and only re-encoded when the device parameters (or
+ * those of a linked device) changed through the item state listeners.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -32,22 +39,54 @@ public class DevicesListHandler {
     private final Logger logger = LoggerFactory.getLogger(DevicesListHandler.class);
 
     private final DeviceRegistry deviceRegistry;
+    private final Gson gson;
+
+    private final Map<AbstractDevice, String> deviceJson = new HashMap<>();
+    private String deviceListJson;
 
-    public DevicesListHandler(DeviceRegistry deviceRegistry) {
+    public DevicesListHandler(DeviceRegistry deviceRegistry, Gson gson) {
         this.deviceRegistry = deviceRegistry;
+        this.gson = gson;
     }
 
-    public DeviceList handle(HttpServletRequest req) {
-        DeviceList response = new DeviceList();
-
+    /**
+     * @return the device list, serialized to JSON.
+     */
+    public synchronized String handle(HttpServletRequest req) {
         Collection<AbstractDevice> devices = deviceRegistry.getDevices().values();
+
+        Set<String> dirtyIds = new HashSet<>();
+        for (AbstractDevice device : devices) {
+            if (device.isDirty()) {
+                dirtyIds.add(device.getId());
+            }
+        }
+
+        boolean changed = deviceJson.keySet().retainAll(new HashSet<>(devices));
         for (AbstractDevice device : devices) {
-            device.updateParams();
+            String json = deviceJson.get(device);
+            if (json == null || dirtyIds.contains(device.getId()) || hasDirtyLink(device, dirtyIds)) {
+                device.updateParams();
+                device.clearDirty();
+                deviceJson.put(device, gson.toJson(device));
+                changed = true;
+            }
         }
 
-        response.setDevices(devices);
+        if (changed || deviceListJson == null) {
+            deviceListJson = "{\"devices\":[" + String.join(",", deviceJson.values()) + "]}";
+            logger.debug("Device list response: {}", deviceListJson);
+        }
+        return deviceListJson;
+    }
 
-        logger.debug("Device list response: {}", response);
-        return response;
+    private boolean hasDirtyLink(AbstractDevice device, Set<String> dirtyIds) {
+        // links refer to the item name of the linked device
+        for (String linkedItemName : device.getLinks().values()) {
+            if (dirtyIds.contains(ItemProcessor.getDeviceId(linkedItemName))) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -57,6 +57,8 @@ public abstract class AbstractDevice implements StateChangeListener {
     private transient DeviceRegistry deviceRegistry;
     private transient ActionRegistry actionRegistry;
 
+    private transient volatile boolean dirty = true;
+
     public AbstractDevice(DeviceType type, Item item) {
         this.type = type;
         this.item = item;
@@ -140,7 +142,24 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void addParam(DeviceParam param) {
         logger.trace("Setting param for device {}: {}", this, param);
-        params.set(param);
+        if (!param.equals(params.get(param.getKey()))) {
+            params.set(param);
+            dirty = true;
+        }
+    }
+
+    /**
+     * @return true if a parameter changed since the device was last serialized.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the current parameters as serialized.
+     */
+    public void clearDirty() {
+        dirty = false;
     }
 
     public Map<String, String> getLinks() {
@@ -47,15 +47,7 @@ public class MultiSwitchDevice extends AbstractDevice {
         DeviceParam choicesParam = new DeviceParam(ParamType.CHOICES,
                 mapping.values().stream().collect(Collectors.joining(",")));
         addParam(choicesParam);
-
-        // Find current value text
-        String currentValue = "";
-        if (mapping.containsKey(itemValue)) {
-            currentValue = mapping.get(itemValue);
-        }
-
-        DeviceParam valueParam = new DeviceParam(ParamType.MULTISWITCH_VALUE, currentValue);
-        addParam(valueParam);
+        addParam(createValueParam(mapping));
     }
 
     @Override
@@ -66,5 +58,21 @@ public class MultiSwitchDevice extends AbstractDevice {
         if (state instanceof DecimalType) {
             itemValue = String.valueOf(((DecimalType) state).intValue());
         }
+
+        // Update the value right away, so the device is marked dirty if the current value text changed
+        Map<String, String> mapping = getMapping();
+        if (mapping != null && !mapping.isEmpty()) {
+            addParam(createValueParam(mapping));
+        }
+    }
+
+    private DeviceParam createValueParam(Map<String, String> mapping) {
+        // Find current value text
+        String currentValue = "";
+        if (mapping.containsKey(itemValue)) {
+            currentValue = mapping.get(itemValue);
+        }
+
+        return new DeviceParam(ParamType.MULTISWITCH_VALUE, currentValue);
     }
 }
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.io.imperihome.internal.io.DeviceParametersSerializer;
+import org.openhab.io.imperihome.internal.io.DeviceTypeSerializer;
+import org.openhab.io.imperihome.internal.io.ParamTypeSerializer;
+import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
+import org.openhab.io.imperihome.internal.model.device.DeviceType;
+import org.openhab.io.imperihome.internal.model.device.HygrometryDevice;
+import org.openhab.io.imperihome.internal.model.device.MultiSwitchDevice;
+import org.openhab.io.imperihome.internal.model.device.TempHygroDevice;
+import org.openhab.io.imperihome.internal.model.param.DeviceParameters;
+import org.openhab.io.imperihome.internal.model.param.ParamType;
+import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+import org.openhab.io.imperihome.internal.processor.ItemProcessor;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests for the cached device list of {@link DevicesListHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DevicesListHandlerTest {
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(DeviceType.class, new DeviceTypeSerializer())
+            .registerTypeAdapter(ParamType.class, new ParamTypeSerializer())
+            .registerTypeAdapter(DeviceParameters.class, new DeviceParametersSerializer()).create();
+    private final DeviceRegistry deviceRegistry = new DeviceRegistry();
+    private final DevicesListHandler handler = new DevicesListHandler(deviceRegistry, gson);
+
+    private Item mockItem(String name, int value) {
+        Item item = mock(Item.class);
+        when(item.getName()).thenReturn(name);
+        setValue(item, value);
+        return item;
+    }
+
+    private void setValue(Item item, int value) {
+        when(item.getStateAs(DecimalType.class)).thenReturn(new DecimalType(value));
+    }
+
+    private <T extends AbstractDevice> T register(T device) {
+        device.setId(ItemProcessor.getDeviceId(device.getItem()));
+        device.setName(device.getItem().getName());
+        device.setDeviceRegistry(deviceRegistry);
+        deviceRegistry.add(device);
+        device.stateUpdated(device.getItem(), new DecimalType(0));
+        return device;
+    }
+
+    private String paramValue(String json, AbstractDevice device, String paramKey) {
+        for (JsonElement element : JsonParser.parseString(json).getAsJsonObject().getAsJsonArray("devices")) {
+            JsonObject deviceJson = element.getAsJsonObject();
+            if (device.getId().equals(deviceJson.get("id").getAsString())) {
+                for (JsonElement param : deviceJson.getAsJsonArray("params")) {
+                    if (paramKey.equals(param.getAsJsonObject().get("key").getAsString())) {
+                        return param.getAsJsonObject().get("value").getAsString();
+                    }
+                }
+            }
+        }
+        fail("No param " + paramKey + " for device " + device);
+        return "";
+    }
+
+    @Test
+    public void testUnchangedDevicesAreServedFromCache() {
+        register(new MultiSwitchDevice(mockItem("Mode", 1))).setMapping(Map.of("1", "Off", "2", "Eco"));
+
+        String first = handler.handle(null);
+        assertSame(first, handler.handle(null));
+    }
+
+    @Test
+    public void testMultiSwitchValueChangeInvalidatesCache() {
+        Item item = mockItem("Mode", 2);
+        MultiSwitchDevice device = new MultiSwitchDevice(item);
+        device.setMapping(Map.of("1", "Off", "2", "Eco", "3", "Comfort"));
+        register(device);
+        assertEquals("Eco", paramValue(handler.handle(null), device, "Value"));
+
+        // the status param stays the same, only the value text changes
+        setValue(item, 3);
+        device.stateUpdated(item, new DecimalType(3));
+        assertTrue(device.isDirty());
+        assertEquals("Comfort", paramValue(handler.handle(null), device, "Value"));
+    }
+
+    @Test
+    public void testLinkedDeviceChangeInvalidatesCache() {
+        Item hygroItem = mockItem("Hygro", 50);
+        HygrometryDevice hygroDevice = register(new HygrometryDevice(hygroItem));
+        TempHygroDevice tempHygroDevice = new TempHygroDevice(mockItem("Temp", 20));
+        tempHygroDevice.addLink("hygro", "Hygro");
+        register(tempHygroDevice);
+        assertEquals(50.0, Double.parseDouble(paramValue(handler.handle(null), tempHygroDevice, "hygro")));
+
+        // only the linked device changed
+        setValue(hygroItem, 60);
+        hygroDevice.stateUpdated(hygroItem, new DecimalType(60));
+        assertFalse(tempHygroDevice.isDirty());
+        assertEquals(60.0, Double.parseDouble(paramValue(handler.handle(null), tempHygroDevice, "hygro")));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+
+/**
+ * The {@link CardinalityLimiter} is a {@link MeterFilter} that limits the number of time series (distinct tag
+ * combinations) per meter name. Once the limit is reached, new time series are either dropped or aggregated into a
+ * single series whose tag values are replaced by {@link #AGGREGATED_TAG_VALUE}. This keeps a misbehaving binding (e.g.
+ * one using a timestamp as tag value) from blowing up heap and scrape time. Removed meters have to be reported with
+ * {@link #meterRemoved} to free their place.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CardinalityLimiter implements MeterFilter {
+
+    public static final String AGGREGATED_TAG_VALUE = "other";
+    public static final String ACTION_DROP = "drop";
+    public static final String ACTION_AGGREGATE = "aggregate";
+
+    private final Logger logger = LoggerFactory.getLogger(CardinalityLimiter.class);
+    private final Map<String, Set<List<Tag>>> seriesPerMeterName = new ConcurrentHashMap<>();
+    private volatile int limit;
+    private volatile boolean aggregate;
+
+    public CardinalityLimiter(int limit, String action) {
+        update(limit, action);
+    }
+
+    /**
+     * Updates the limit. Only meters registered afterwards are affected.
+     *
+     * @param limit the maximum number of time series per meter name, 0 or less disables the limiter
+     * @param action {@link #ACTION_DROP} or {@link #ACTION_AGGREGATE}
+     */
+    public void update(int limit, String action) {
+        this.limit = limit;
+        this.aggregate = ACTION_AGGREGATE.equalsIgnoreCase(action);
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        if (aggregate && !admit(id)) {
+            List<Tag> aggregatedTags = new ArrayList<>();
+            id.getTagsAsIterable().forEach(tag -> aggregatedTags.add(Tag.of(tag.getKey(), AGGREGATED_TAG_VALUE)));
+            return id.replaceTags(aggregatedTags);
+        }
+        return id;
+    }
+
+    @Override
+    public MeterFilterReply accept(Meter.Id id) {
+        return !aggregate && !admit(id) ? MeterFilterReply.DENY : MeterFilterReply.NEUTRAL;
+    }
+
+    /**
+     * Frees the place of a removed meter, e.g. of a removed item, so that new time series can take it.
+     */
+    public void meterRemoved(Meter meter) {
+        Meter.Id id = meter.getId();
+        Set<List<Tag>> series = seriesPerMeterName.get(id.getName());
+        if (series != null && series.remove(id.getTags())) {
+            // log again if the limit is exceeded again
+            series.remove(List.of());
+        }
+    }
+
+    private boolean admit(Meter.Id id) {
+        int currentLimit = limit;
+        List<Tag> tags = id.getTags();
+        if (currentLimit <= 0 || tags.isEmpty()) {
+            return true;
+        }
+        Set<List<Tag>> series = seriesPerMeterName.computeIfAbsent(id.getName(),
+                name -> ConcurrentHashMap.newKeySet());
+        if (series.contains(tags)) {
+            return true;
+        }
+        synchronized (series) {
+            if (series.size() < currentLimit) {
+                series.add(tags);
+                return true;
+            }
+        }
+        if (series.add(List.of())) {
+            // the empty tag list is used as marker so the limit is only logged once per meter name
+            logger.warn("Meter '{}' exceeds the limit of {} time series, further series are {}.", id.getName(),
+                    currentLimit, aggregate ? "aggregated" : "dropped");
+        }
+        return false;
+    }
+}
@@ -22,18 +22,26 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class MetricsConfiguration {
+    public static final int DEFAULT_CARDINALITY_LIMIT = 1000;
+
     public boolean influxMetricsEnabled = false;
     public String influxURL = "http://localhost:8086";
     public String influxDB = "openhab";
     public @Nullable String influxPassword = null;
     public @Nullable String influxUsername = null;
     public Integer influxUpdateIntervalInSeconds = 300;
+    public Integer metricsSampleRate = 10;
+    public Integer persistenceProbeIntervalInSeconds = 0;
+    public int cardinalityLimit = DEFAULT_CARDINALITY_LIMIT;
+    public String cardinalityLimitAction = CardinalityLimiter.ACTION_AGGREGATE;
 
     @Override
     public String toString() {
         return "MetricsConfiguration{" + "influxMetricsEnabled=" + influxMetricsEnabled + ", influxURL='" + influxURL
                 + '\'' + ", influxDB='" + influxDB + '\'' + ", influxPassword='" + influxPassword + '\''
                 + ", influxUsername='" + influxUsername + '\'' + ", influxUpdateIntervalInSeconds="
-                + influxUpdateIntervalInSeconds + '}';
+                + influxUpdateIntervalInSeconds + ", metricsSampleRate=" + metricsSampleRate
+                + ", persistenceProbeIntervalInSeconds=" + persistenceProbeIntervalInSeconds + ", cardinalityLimit="
+                + cardinalityLimit + ", cardinalityLimitAction='" + cardinalityLimitAction + '\'' + '}';
     }
 }
@@ -12,7 +12,14 @@
  */
 package org.openhab.io.metrics;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -21,20 +28,34 @@ import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.auth.Role;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.config.core.Configuration;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.io.rest.RESTConstants;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.io.metrics.binders.EventTypeMetric;
+import org.openhab.io.metrics.binders.MetricsBinder;
+import org.openhab.io.metrics.binders.PersistenceServiceMetric;
+import org.openhab.io.metrics.binders.ThingCommandMetric;
 import org.openhab.io.metrics.exporters.InfluxMetricsExporter;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
 import org.osgi.service.jaxrs.whiteboard.propertytypes.JSONRequired;
 import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsApplicationSelect;
@@ -45,7 +66,10 @@ import org.slf4j.LoggerFactory;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.exporter.common.TextFormat;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -53,10 +77,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 /**
  * The {@link MetricsRestController} class implements the REST endpoints for all pull based monitoring systems.
+ * It also binds the additional meters of this service (see {@link MetricsBinder}) and forwards the events they are
+ * interested in.
  *
  * @author Robert Bach - Initial contribution
  */
-@Component(immediate = true, service = MetricsRestController.class)
+@Component(immediate = true, service = { MetricsRestController.class, EventSubscriber.class })
 @JaxrsResource
 @JaxrsApplicationSelect("(" + JaxrsWhiteboardConstants.JAX_RS_NAME + "=" + RESTConstants.JAX_RS_NAME + ")")
 @Path(MetricsRestController.PATH_METRICS)
@@ -65,22 +91,83 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = MetricsRestController.PATH_METRICS)
 @NonNullByDefault
 @ConfigurableService(category = "io", label = "Metrics service", description_uri = "io:metrics")
-public class MetricsRestController {
+public class MetricsRestController implements EventSubscriber {
     private final Logger logger = LoggerFactory.getLogger(MetricsRestController.class);
     public static final String PATH_METRICS = "metrics";
     private @Nullable CompositeMeterRegistry meterRegistry = null;
     private final PrometheusMeterRegistry prometheusMeterRegistry = new PrometheusMeterRegistry(
             PrometheusConfig.DEFAULT);
+    private final CardinalityLimiter cardinalityLimiter = new CardinalityLimiter(
+            MetricsConfiguration.DEFAULT_CARDINALITY_LIMIT, CardinalityLimiter.ACTION_AGGREGATE);
     private final Set<MetricsExporter> metricsExporters = new HashSet<>();
+    private final PersistenceServiceMetric persistenceServiceMetric = new PersistenceServiceMetric();
+    private final List<MetricsBinder> metricsBinders = List.of(new EventTypeMetric(), new ThingCommandMetric(),
+            persistenceServiceMetric);
+    private final Set<String> subscribedEventTypes = new HashSet<>();
     private @Nullable MetricsConfiguration config;
 
+    public MetricsRestController() {
+        prometheusMeterRegistry.config().meterFilter(cardinalityLimiter)
+                .onMeterRemoved(cardinalityLimiter::meterRemoved);
+    }
+
     @GET
     @Path("/prometheus")
     @Produces(MediaType.TEXT_PLAIN)
     @Operation(operationId = "getPrometheusMetrics", summary = "Gets openHAB system and core metrics in a Prometheus compatible format.", responses = {
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = String.class))) })
-    public String getPrometheusMetrics() {
-        return prometheusMeterRegistry.scrape();
+    public Response getPrometheusMetrics(
+            @QueryParam("prefix") @Parameter(description = "only metrics whose name starts with one of the given prefixes") @Nullable List<String> prefixes) {
+        return Response.ok(streamMetrics(prefixes)).type(TextFormat.CONTENT_TYPE_004).build();
+    }
+
+    /**
+     * Streams the samples directly to the response instead of building the complete scrape as one String. The
+     * Prometheus text format 0.0.4 is used, which OpenMetrics scrapers accept as well: the OpenMetrics writer needs a
+     * newer Prometheus client than the one Micrometer 1.6 is built against.
+     */
+    StreamingOutput streamMetrics(@Nullable List<String> prefixes) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            TextFormat.write004(writer, filterByPrefix(
+                    prometheusMeterRegistry.getPrometheusRegistry().metricFamilySamples(), prefixes));
+            writer.flush();
+        };
+    }
+
+    static Enumeration<MetricFamilySamples> filterByPrefix(Enumeration<MetricFamilySamples> samples,
+            @Nullable List<String> prefixes) {
+        if (prefixes == null || prefixes.isEmpty()) {
+            return samples;
+        }
+        return new Enumeration<>() {
+            private @Nullable MetricFamilySamples next = advance();
+
+            private @Nullable MetricFamilySamples advance() {
+                while (samples.hasMoreElements()) {
+                    MetricFamilySamples family = samples.nextElement();
+                    if (prefixes.stream().anyMatch(family.name::startsWith)) {
+                        return family;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasMoreElements() {
+                return next != null;
+            }
+
+            @Override
+            public MetricFamilySamples nextElement() {
+                MetricFamilySamples current = next;
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                next = advance();
+                return current;
+            }
+        };
     }
 
     @Reference
@@ -94,26 +181,72 @@ public class MetricsRestController {
         updateMeterRegistry();
     }
 
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    public void addPersistenceService(PersistenceService persistenceService) {
+        persistenceServiceMetric.addPersistenceService(persistenceService);
+    }
+
+    public void removePersistenceService(PersistenceService persistenceService) {
+        persistenceServiceMetric.removePersistenceService(persistenceService);
+    }
+
     @Activate
     protected void activate(Map<@Nullable String, @Nullable Object> configuration) {
         logger.info("Metrics service activated, serving the following URL(s): /rest/metrics/prometheus");
         metricsExporters.add(new InfluxMetricsExporter());
+        metricsBinders.forEach(b -> subscribedEventTypes.addAll(b.getSubscribedEventTypes()));
+        if (subscribedEventTypes.contains(ALL_EVENT_TYPES)) {
+            subscribedEventTypes.retainAll(Set.of(ALL_EVENT_TYPES));
+        }
         updateConfig(configuration);
         updateMeterRegistry();
     }
 
+    @Deactivate
+    protected void deactivate() {
+        metricsBinders.forEach(MetricsBinder::unbind);
+    }
+
     @Modified
     protected synchronized void modified(Map<@Nullable String, @Nullable Object> configuration) {
         updateConfig(configuration);
     }
 
     private void updateConfig(@Nullable Map<@Nullable String, @Nullable Object> configuration) {
-        this.config = new Configuration(configuration).as(MetricsConfiguration.class);
-        logger.debug("Configuration: {}", this.config);
+        MetricsConfiguration config = new Configuration(configuration).as(MetricsConfiguration.class);
+        this.config = config;
+        logger.debug("Configuration: {}", config);
+        cardinalityLimiter.update(config.cardinalityLimit, config.cardinalityLimitAction);
         this.metricsExporters.forEach(e -> e.updateExporterState(config));
+        this.metricsBinders.forEach(b -> b.updateConfig(config));
     }
 
     private void updateMeterRegistry() {
         this.metricsExporters.forEach(e -> e.setMeterRegistry(meterRegistry));
+        CompositeMeterRegistry meterRegistry = this.meterRegistry;
+        this.metricsBinders.forEach(MetricsBinder::unbind);
+        if (meterRegistry != null) {
+            this.metricsBinders.forEach(b -> b.bindTo(meterRegistry));
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return subscribedEventTypes;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        for (MetricsBinder binder : metricsBinders) {
+            Set<String> eventTypes = binder.getSubscribedEventTypes();
+            if (eventTypes.contains(ALL_EVENT_TYPES) || eventTypes.contains(event.getType())) {
+                binder.receive(event);
+            }
+        }
     }
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventSubscriber;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * The {@link EventTypeMetric} class counts the events passing the openHAB event bus per event type (e.g.
+ * ItemStateEvent, ThingStatusInfoChangedEvent). Counters are cached per type, so counting an event is a single map
+ * lookup and an atomic increment.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EventTypeMetric extends MetricsBinder {
+
+    public static final String METRIC_NAME = "openhab.event.type.count";
+    private static final String TYPE_TAG_NAME = "type";
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Set.of(EventSubscriber.ALL_EVENT_TYPES);
+    }
+
+    @Override
+    public void receive(Event event) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        counters.computeIfAbsent(event.getType(), type -> track(Counter.builder(METRIC_NAME)
+                .description("openHAB events per event type").tags(Tags.of(Tag.of(TYPE_TAG_NAME, type)))
+                .register(registry))).increment();
+    }
+
+    @Override
+    public void unbind() {
+        counters.clear();
+        super.unbind();
+    }
+}
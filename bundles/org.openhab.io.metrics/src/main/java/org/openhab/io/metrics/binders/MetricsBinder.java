@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.io.metrics.MetricsConfiguration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * {@link MetricsBinder} is the base class for meter binders contributed by the metrics service itself (in addition to
+ * the ones provided by the openHAB core). Binders may subscribe to events from the openHAB event bus and keep track of
+ * the meters they create, so that those can be removed again when the binder is unbound.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public abstract class MetricsBinder implements MeterBinder {
+
+    private final Set<Meter.Id> meterIds = new CopyOnWriteArraySet<>();
+    protected @Nullable MeterRegistry meterRegistry = null;
+    protected int sampleRate = 1;
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void unbind() {
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            meterIds.forEach(registry::remove);
+        }
+        meterIds.clear();
+        meterRegistry = null;
+    }
+
+    public void updateConfig(MetricsConfiguration config) {
+        sampleRate = Math.max(1, Objects.requireNonNullElse(config.metricsSampleRate, 1));
+    }
+
+    /**
+     * @return the event types this binder needs to receive, empty if the binder is not event driven
+     */
+    public Set<String> getSubscribedEventTypes() {
+        return Collections.emptySet();
+    }
+
+    public void receive(Event event) {
+    }
+
+    /**
+     * Remembers a meter created by this binder, so it can be removed in {@link #unbind()}.
+     *
+     * @param meter the meter that was registered
+     * @return the given meter
+     */
+    protected <T extends Meter> T track(T meter) {
+        meterIds.add(meter.getId());
+        return meter;
+    }
+}
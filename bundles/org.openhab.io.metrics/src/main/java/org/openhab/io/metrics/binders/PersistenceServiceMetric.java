@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.events.Event;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.core.persistence.QueryablePersistenceService;
+import org.openhab.io.metrics.MetricsConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link PersistenceServiceMetric} class provides metrics for the registered persistence services.
+ *
+ * The persistence service API does not allow observing the store and query calls issued by the core, so the query
+ * latency of each {@link QueryablePersistenceService} can only be measured by a periodic probe: the most recent value
+ * of the last changed item is queried, which is the same kind of query charts and rules issue most often. The number
+ * of probe failures is counted per service, too. As every probe is a real query on the database behind the service,
+ * the probe is only run if an interval is configured.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PersistenceServiceMetric extends MetricsBinder {
+
+    public static final String METRIC_NAME_QUERY = "openhab.persistence.query";
+    public static final String METRIC_NAME_SERVICES = "openhab.persistence.services";
+    private static final String SERVICE_TAG_NAME = "service";
+    private static final String RESULT_TAG_NAME = "result";
+
+    private final Logger logger = LoggerFactory.getLogger(PersistenceServiceMetric.class);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+    private final Map<String, PersistenceService> persistenceServices = new ConcurrentHashMap<>();
+    private final AtomicInteger serviceCount = new AtomicInteger();
+    private volatile @Nullable String probeItemName = null;
+    private @Nullable ScheduledFuture<?> probeJob = null;
+    private int probeInterval = 0;
+
+    public void addPersistenceService(PersistenceService persistenceService) {
+        persistenceServices.put(persistenceService.getId(), persistenceService);
+        serviceCount.set(persistenceServices.size());
+    }
+
+    public void removePersistenceService(PersistenceService persistenceService) {
+        persistenceServices.remove(persistenceService.getId());
+        serviceCount.set(persistenceServices.size());
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry meterRegistry) {
+        super.bindTo(meterRegistry);
+        track(Gauge.builder(METRIC_NAME_SERVICES, serviceCount, AtomicInteger::get)
+                .description("Number of registered persistence services").register(meterRegistry));
+        startProbe();
+    }
+
+    @Override
+    public synchronized void unbind() {
+        stopProbe();
+        super.unbind();
+    }
+
+    @Override
+    public synchronized void updateConfig(MetricsConfiguration config) {
+        super.updateConfig(config);
+        int interval = config.persistenceProbeIntervalInSeconds == null ? 0
+                : config.persistenceProbeIntervalInSeconds.intValue();
+        if (interval != probeInterval) {
+            probeInterval = interval;
+            stopProbe();
+            startProbe();
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Set.of(ItemStateChangedEvent.TYPE);
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            probeItemName = ((ItemStateChangedEvent) event).getItemName();
+        }
+    }
+
+    private void startProbe() {
+        if (meterRegistry != null && probeInterval > 0 && probeJob == null) {
+            probeJob = scheduler.scheduleWithFixedDelay(this::probe, probeInterval, probeInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    private void stopProbe() {
+        ScheduledFuture<?> job = probeJob;
+        if (job != null) {
+            job.cancel(true);
+            probeJob = null;
+        }
+    }
+
+    void probe() {
+        MeterRegistry registry = meterRegistry;
+        String itemName = probeItemName;
+        if (registry == null || itemName == null) {
+            return;
+        }
+        FilterCriteria filter = new FilterCriteria().setItemName(itemName).setPageSize(1)
+                .setOrdering(Ordering.DESCENDING);
+        for (PersistenceService service : persistenceServices.values()) {
+            if (!(service instanceof QueryablePersistenceService)) {
+                continue;
+            }
+            QueryablePersistenceService queryableService = (QueryablePersistenceService) service;
+            Timer.Sample sample = Timer.start(registry);
+            String result = "success";
+            try {
+                // consume the result, some services evaluate the query lazily
+                queryableService.query(filter).iterator().hasNext();
+            } catch (RuntimeException e) {
+                logger.debug("Persistence probe query on service {} failed: {}", service.getId(), e.getMessage());
+                result = "failure";
+            }
+            sample.stop(track(Timer.builder(METRIC_NAME_QUERY)
+                    .description("Latency of the latest value query on a persistence service")
+                    .tags(Tags.of(Tag.of(SERVICE_TAG_NAME, service.getId()), Tag.of(RESULT_TAG_NAME, result)))
+                    .register(registry)));
+        }
+    }
+}
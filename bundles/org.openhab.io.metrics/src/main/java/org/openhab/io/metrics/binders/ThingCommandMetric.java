@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemStateEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link ThingCommandMetric} class measures the latency between a command sent to an item and the first state
+ * update posted for that item by a thing handler, per binding. State updates posted by thing handlers carry the
+ * channel UID as event source, which is used to attribute the latency to the binding. Only every n-th command (see
+ * {@link org.openhab.io.metrics.MetricsConfiguration#metricsSampleRate}) is timed to keep the overhead low.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ThingCommandMetric extends MetricsBinder {
+
+    public static final String METRIC_NAME = "openhab.thing.command.latency";
+    private static final String BINDING_TAG_NAME = "binding";
+    private static final long MAX_PENDING_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int MAX_PENDING_COMMANDS = 1000;
+
+    private final AtomicLong commandCounter = new AtomicLong();
+    private final Map<String, Long> pendingCommands = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Set.of(ItemCommandEvent.TYPE, ItemStateEvent.TYPE);
+    }
+
+    @Override
+    public void receive(Event event) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        if (event instanceof ItemCommandEvent) {
+            if (commandCounter.getAndIncrement() % sampleRate == 0) {
+                long now = System.nanoTime();
+                if (pendingCommands.size() >= MAX_PENDING_COMMANDS) {
+                    pendingCommands.values().removeIf(start -> now - start > MAX_PENDING_NANOS);
+                }
+                pendingCommands.putIfAbsent(((ItemCommandEvent) event).getItemName(), now);
+            }
+        } else if (event instanceof ItemStateEvent && !pendingCommands.isEmpty()) {
+            String bindingId = getBindingId(event.getSource());
+            if (bindingId == null) {
+                // state updates without a channel source (e.g. auto updates) are not handler responses
+                return;
+            }
+            Long start = pendingCommands.remove(((ItemStateEvent) event).getItemName());
+            if (start != null) {
+                long latency = System.nanoTime() - start;
+                if (latency <= MAX_PENDING_NANOS) {
+                    getTimer(registry, bindingId).record(Duration.ofNanos(latency));
+                }
+            }
+        }
+    }
+
+    private @Nullable String getBindingId(@Nullable String source) {
+        if (source == null) {
+            return null;
+        }
+        int separator = source.indexOf(':');
+        return separator > 0 ? source.substring(0, separator) : null;
+    }
+
+    private Timer getTimer(MeterRegistry registry, String bindingId) {
+        return timers.computeIfAbsent(bindingId, id -> track(Timer.builder(METRIC_NAME)
+                .description("Latency between an item command and the state update of the thing handler")
+                .tags(Tags.of(Tag.of(BINDING_TAG_NAME, id))).register(registry)));
+    }
+
+    @Override
+    public void unbind() {
+        pendingCommands.clear();
+        timers.clear();
+        super.unbind();
+    }
+}
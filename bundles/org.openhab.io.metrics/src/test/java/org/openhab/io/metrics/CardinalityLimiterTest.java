@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link CardinalityLimiter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CardinalityLimiterTest {
+
+    private MeterRegistry createRegistry(int limit, String action) {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        CardinalityLimiter limiter = new CardinalityLimiter(limit, action);
+        registry.config().meterFilter(limiter).onMeterRemoved(limiter::meterRemoved);
+        return registry;
+    }
+
+    @Test
+    public void testSeriesBelowLimitAreKept() {
+        MeterRegistry registry = createRegistry(3, CardinalityLimiter.ACTION_DROP);
+        registry.counter("test", "item", "a").increment();
+        registry.counter("test", "item", "b").increment();
+        registry.counter("test", "item", "a").increment();
+
+        assertEquals(2, registry.find("test").counters().size());
+        assertEquals(2.0, registry.get("test").tag("item", "a").counter().count());
+    }
+
+    @Test
+    public void testSeriesAboveLimitAreDropped() {
+        MeterRegistry registry = createRegistry(2, CardinalityLimiter.ACTION_DROP);
+        for (int i = 0; i < 10; i++) {
+            registry.counter("test", "item", "item" + i).increment();
+        }
+        registry.counter("other", "item", "item9").increment();
+
+        assertEquals(2, registry.find("test").counters().size());
+        assertNull(registry.find("test").tag("item", "item9").counter());
+        assertNotNull(registry.find("other").tag("item", "item9").counter());
+    }
+
+    @Test
+    public void testSeriesAboveLimitAreAggregated() {
+        MeterRegistry registry = createRegistry(2, CardinalityLimiter.ACTION_AGGREGATE);
+        for (int i = 0; i < 10; i++) {
+            registry.counter("test", "item", "item" + i).increment();
+        }
+
+        assertEquals(3, registry.find("test").counters().size());
+        Counter aggregated = registry.get("test").tag("item", CardinalityLimiter.AGGREGATED_TAG_VALUE).counter();
+        assertEquals(8.0, aggregated.count());
+    }
+
+    @Test
+    public void testRemovedSeriesFreeTheirPlace() {
+        MeterRegistry registry = createRegistry(2, CardinalityLimiter.ACTION_DROP);
+        Counter removed = registry.counter("test", "item", "a");
+        registry.counter("test", "item", "b");
+        registry.remove(removed);
+        registry.counter("test", "item", "c").increment();
+        registry.counter("test", "item", "d").increment();
+
+        assertEquals(2, registry.find("test").counters().size());
+        assertNotNull(registry.find("test").tag("item", "c").counter());
+        assertNull(registry.find("test").tag("item", "d").counter());
+    }
+
+    @Test
+    public void testRemovedSeriesAreNotAggregated() {
+        MeterRegistry registry = createRegistry(1, CardinalityLimiter.ACTION_AGGREGATE);
+        for (int i = 0; i < 10; i++) {
+            // an item that is renamed over and over
+            Counter counter = registry.counter("test", "item", "item" + i);
+            counter.increment();
+            registry.remove(counter);
+        }
+        registry.counter("test", "item", "current").increment();
+
+        assertEquals(1, registry.find("test").counters().size());
+        assertEquals(1.0, registry.get("test").tag("item", "current").counter().count());
+    }
+
+    @Test
+    public void testDisabledLimit() {
+        MeterRegistry registry = createRegistry(0, CardinalityLimiter.ACTION_DROP);
+        for (int i = 0; i < 10; i++) {
+            registry.counter("test", "item", "item" + i).increment();
+        }
+
+        assertEquals(10, registry.find("test").counters().size());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples;
+
+/**
+ * Tests for {@link MetricsRestController}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MetricsRestControllerTest {
+
+    private static Enumeration<MetricFamilySamples> families(String... names) {
+        return Collections.enumeration(List.of(names).stream()
+                .map(name -> new MetricFamilySamples(name, Collector.Type.GAUGE, "", List.of()))
+                .collect(Collectors.toList()));
+    }
+
+    private static List<String> names(Enumeration<MetricFamilySamples> families) {
+        return Collections.list(families).stream().map(family -> family.name).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testWithoutPrefixAllMetricsAreKept() {
+        assertEquals(List.of("jvm_memory", "openhab_events"),
+                names(MetricsRestController.filterByPrefix(families("jvm_memory", "openhab_events"), null)));
+        assertEquals(List.of("jvm_memory", "openhab_events"),
+                names(MetricsRestController.filterByPrefix(families("jvm_memory", "openhab_events"), List.of())));
+    }
+
+    @Test
+    public void testPrefixesSelectMetrics() {
+        Enumeration<MetricFamilySamples> filtered = MetricsRestController.filterByPrefix(
+                families("jvm_memory", "jvm_threads", "openhab_events", "process_cpu"),
+                List.of("openhab_", "jvm_memory"));
+
+        assertEquals(List.of("jvm_memory", "openhab_events"), names(filtered));
+    }
+
+    @Test
+    public void testNoMatchingMetric() {
+        Enumeration<MetricFamilySamples> filtered = MetricsRestController.filterByPrefix(families("jvm_memory"),
+                List.of("openhab_"));
+
+        assertFalse(filtered.hasMoreElements());
+        assertThrows(NoSuchElementException.class, filtered::nextElement);
+    }
+
+    @Test
+    public void testMetricsAreStreamed() throws IOException {
+        CompositeMeterRegistry registry = new CompositeMeterRegistry();
+        MeterRegistryProvider meterRegistryProvider = mock(MeterRegistryProvider.class);
+        when(meterRegistryProvider.getOHMeterRegistry()).thenReturn(registry);
+        MetricsRestController controller = new MetricsRestController();
+        controller.setMeterRegistryProvider(meterRegistryProvider);
+        registry.counter("openhab.test", "item", "a").increment();
+        registry.counter("other.test", "item", "a").increment();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        controller.streamMetrics(List.of("openhab_test")).write(output);
+        String scrape = output.toString(StandardCharsets.UTF_8);
+
+        assertTrue(scrape.contains("# TYPE openhab_test_total counter"), scrape);
+        assertTrue(scrape.contains("openhab_test_total{item=\"a\",} 1.0"), scrape);
+        assertFalse(scrape.contains("other_test"), scrape);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link EventTypeMetric}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EventTypeMetricTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final EventTypeMetric metric = new EventTypeMetric();
+
+    @Test
+    public void testEventsAreCountedPerType() {
+        metric.bindTo(registry);
+        metric.receive(ItemEventFactory.createStateEvent("item", new DecimalType(1), null));
+        metric.receive(ItemEventFactory.createStateEvent("other", new DecimalType(2), null));
+        metric.receive(ItemEventFactory.createCommandEvent("item", OnOffType.ON, null));
+
+        assertEquals(2.0,
+                registry.get(EventTypeMetric.METRIC_NAME).tag("type", ItemStateEvent.TYPE).counter().count());
+        assertEquals(1.0,
+                registry.get(EventTypeMetric.METRIC_NAME).tag("type", ItemCommandEvent.TYPE).counter().count());
+    }
+
+    @Test
+    public void testEventsBeforeBindingAreIgnored() {
+        metric.receive(ItemEventFactory.createStateEvent("item", new DecimalType(1), null));
+        metric.bindTo(registry);
+
+        assertTrue(registry.find(EventTypeMetric.METRIC_NAME).counters().isEmpty());
+    }
+
+    @Test
+    public void testUnbindRemovesMeters() {
+        metric.bindTo(registry);
+        metric.receive(ItemEventFactory.createStateEvent("item", new DecimalType(1), null));
+        metric.unbind();
+
+        assertTrue(registry.find(EventTypeMetric.METRIC_NAME).counters().isEmpty());
+
+        // counting starts over when bound again
+        metric.bindTo(registry);
+        metric.receive(ItemEventFactory.createStateEvent("item", new DecimalType(1), null));
+        assertEquals(1.0,
+                registry.get(EventTypeMetric.METRIC_NAME).tag("type", ItemStateEvent.TYPE).counter().count());
+    }
+}
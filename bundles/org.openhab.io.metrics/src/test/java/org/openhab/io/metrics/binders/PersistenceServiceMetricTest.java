@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.core.persistence.QueryablePersistenceService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link PersistenceServiceMetric}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PersistenceServiceMetricTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final PersistenceServiceMetric metric = new PersistenceServiceMetric();
+    private final QueryablePersistenceService queryableService = mock(QueryablePersistenceService.class);
+    private final PersistenceService plainService = mock(PersistenceService.class);
+
+    @BeforeEach
+    public void setUp() {
+        when(queryableService.getId()).thenReturn("jdbc");
+        when(queryableService.query(any())).thenReturn(List.of());
+        when(plainService.getId()).thenReturn("mqtt");
+        metric.addPersistenceService(queryableService);
+        metric.addPersistenceService(plainService);
+        metric.bindTo(registry);
+    }
+
+    @Test
+    public void testServicesAreCounted() {
+        assertEquals(2.0, registry.get(PersistenceServiceMetric.METRIC_NAME_SERVICES).gauge().value());
+        metric.removePersistenceService(plainService);
+        assertEquals(1.0, registry.get(PersistenceServiceMetric.METRIC_NAME_SERVICES).gauge().value());
+    }
+
+    @Test
+    public void testProbeWithoutChangedItemDoesNotQuery() {
+        metric.probe();
+        verify(queryableService, never()).query(any());
+    }
+
+    @Test
+    public void testProbeQueriesLastChangedItem() {
+        metric.receive(ItemEventFactory.createStateChangedEvent("temperature", new DecimalType(2), new DecimalType(1)));
+        metric.probe();
+
+        verify(queryableService).query(argThat((FilterCriteria filter) -> "temperature".equals(filter.getItemName())
+                && filter.getPageSize() == 1));
+        assertEquals(1, registry.get(PersistenceServiceMetric.METRIC_NAME_QUERY).tag("service", "jdbc")
+                .tag("result", "success").timer().count());
+        assertNull(registry.find(PersistenceServiceMetric.METRIC_NAME_QUERY).tag("service", "mqtt").timer());
+    }
+
+    @Test
+    public void testFailedProbeIsRecorded() {
+        when(queryableService.query(any())).thenThrow(new IllegalStateException("database down"));
+        metric.receive(ItemEventFactory.createStateChangedEvent("temperature", new DecimalType(2), new DecimalType(1)));
+        metric.probe();
+
+        assertEquals(1, registry.get(PersistenceServiceMetric.METRIC_NAME_QUERY).tag("service", "jdbc")
+                .tag("result", "failure").timer().count());
+    }
+
+    @Test
+    public void testUnbindRemovesMeters() {
+        metric.receive(ItemEventFactory.createStateChangedEvent("temperature", new DecimalType(2), new DecimalType(1)));
+        metric.probe();
+        metric.unbind();
+
+        assertTrue(registry.find(PersistenceServiceMetric.METRIC_NAME_QUERY).timers().isEmpty());
+        assertNull(registry.find(PersistenceServiceMetric.METRIC_NAME_SERVICES).gauge());
+    }
+}
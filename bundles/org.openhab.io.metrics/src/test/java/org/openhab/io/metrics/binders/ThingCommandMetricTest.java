@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.binders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.io.metrics.MetricsConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link ThingCommandMetric}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ThingCommandMetricTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ThingCommandMetric metric = new ThingCommandMetric();
+
+    @BeforeEach
+    public void setUp() {
+        metric.bindTo(registry);
+    }
+
+    private void command(String itemName) {
+        metric.receive(ItemEventFactory.createCommandEvent(itemName, OnOffType.ON, null));
+    }
+
+    private void stateUpdate(String itemName, @Nullable String source) {
+        metric.receive(ItemEventFactory.createStateEvent(itemName, OnOffType.ON, source));
+    }
+
+    private long count(String bindingId) {
+        Timer timer = registry.find(ThingCommandMetric.METRIC_NAME).tag("binding", bindingId).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    public void testLatencyIsRecordedPerBinding() {
+        command("light");
+        command("switch");
+        stateUpdate("light", "hue:0210:bridge:bulb:color");
+        stateUpdate("switch", "zwave:device:controller:node5:switch_binary");
+
+        assertEquals(1, count("hue"));
+        assertEquals(1, count("zwave"));
+    }
+
+    @Test
+    public void testOnlyTheFirstStateUpdateIsRecorded() {
+        command("light");
+        stateUpdate("light", "hue:0210:bridge:bulb:color");
+        stateUpdate("light", "hue:0210:bridge:bulb:color");
+
+        assertEquals(1, count("hue"));
+    }
+
+    @Test
+    public void testStateUpdatesWithoutChannelSourceAreIgnored() {
+        command("light");
+        stateUpdate("light", null);
+        assertEquals(0, count("hue"));
+
+        // the command is still pending for the state update of the handler
+        stateUpdate("light", "hue:0210:bridge:bulb:color");
+        assertEquals(1, count("hue"));
+    }
+
+    @Test
+    public void testCommandsAreSampled() {
+        MetricsConfiguration config = new MetricsConfiguration();
+        config.metricsSampleRate = 2;
+        metric.updateConfig(config);
+
+        for (int i = 0; i < 4; i++) {
+            command("item" + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            stateUpdate("item" + i, "hue:0210:bridge:bulb:color");
+        }
+
+        assertEquals(2, count("hue"));
+    }
+}
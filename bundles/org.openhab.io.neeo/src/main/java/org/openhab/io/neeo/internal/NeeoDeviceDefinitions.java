@@ -148,6 +148,7 @@ public class NeeoDeviceDefinitions {
 
         uidToDevice.put(device.getUid(), device);
         save();
+        context.getTokenSearch().refresh(device.getUid());
     }
 
     /**
@@ -162,6 +163,7 @@ public class NeeoDeviceDefinitions {
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
             save();
+            context.getTokenSearch().refresh(uid);
         }
         return found;
     }
@@ -174,8 +176,7 @@ public class NeeoDeviceDefinitions {
     public List<NeeoDevice> getExposed() {
         final List<NeeoDevice> devices = new ArrayList<>();
         for (NeeoDevice device : exposeAll || exposeNeeoBinding ? getAllDevices() : uidToDevice.values()) {
-            if (device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
-                    && !device.getType().toString().isEmpty()) {
+            if (isExposed(device)) {
                 devices.add(device);
             }
         }
@@ -183,6 +184,41 @@ public class NeeoDeviceDefinitions {
         return devices;
     }
 
+    /**
+     * Returns the {@link NeeoDevice} for the given {@link NeeoThingUID} if it has been exposed. This is the single
+     * device equivalent of {@link #getExposed()}.
+     *
+     * @param uid the non-null uid
+     * @return the exposed {@link NeeoDevice} or null if not exposed (or unknown)
+     */
+    @Nullable
+    public NeeoDevice getExposed(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+
+        NeeoDevice device = uidToDevice.get(uid);
+        if (exposeAll || exposeNeeoBinding) {
+            if (device == null) {
+                final Thing thing = context.getThingRegistry().get(uid.asThingUID());
+                device = thing == null ? null : converter.convert(thing);
+            } else if (!NeeoConstants.NEEOIO_BINDING_ID.equalsIgnoreCase(uid.getBindingId())) {
+                device = context.getThingRegistry().get(uid.asThingUID()) == null ? null : device.merge(context);
+            }
+        }
+
+        return device != null && isExposed(device) ? device : null;
+    }
+
+    /**
+     * Whether the device has any exposed channels and a type other than {@link NeeoDeviceType#EXCLUDE}
+     *
+     * @param device the non-null device
+     * @return true if exposed, false otherwise
+     */
+    private boolean isExposed(NeeoDevice device) {
+        return device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
+                && !device.getType().toString().isEmpty();
+    }
+
     /**
      *
      * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will find any
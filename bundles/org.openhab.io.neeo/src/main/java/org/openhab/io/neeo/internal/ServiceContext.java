@@ -74,6 +74,9 @@ public class ServiceContext {
     /** The network address service. */
     private final NetworkAddressService networkAddressService;
 
+    /** The token search (indexing the exposed devices) */
+    private final TokenSearch tokenSearch;
+
     /**
      * Creates teh service context from the variable services
      *
@@ -117,6 +120,7 @@ public class ServiceContext {
         this.eventPublisher = eventPublisher;
         this.networkAddressService = networkAddressService;
         this.definitions = new NeeoDeviceDefinitions(this);
+        this.tokenSearch = new TokenSearch(this, NeeoConstants.SEARCH_MATCHFACTOR);
     }
 
     /**
@@ -128,6 +132,22 @@ public class ServiceContext {
         return definitions;
     }
 
+    /**
+     * Gets the token search.
+     *
+     * @return the token search
+     */
+    public TokenSearch getTokenSearch() {
+        return tokenSearch;
+    }
+
+    /**
+     * Closes the context and releases the registry listeners of the token search.
+     */
+    public void close() {
+        tokenSearch.close();
+    }
+
     /**
      * Gets the component context.
      *
@@ -13,19 +13,28 @@
 package org.openhab.io.neeo.internal;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.binding.BindingInfo;
+import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.items.Item;
+import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.link.ItemChannelLink;
 import org.openhab.core.thing.type.ThingType;
 import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
 import org.openhab.io.neeo.internal.models.TokenScore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,10 +43,15 @@ import org.slf4j.LoggerFactory;
  * The class emulates the same search pattern that the NEEO brain uses (https://github.com/neophob/tokensearch.js) on
  * all the exposed things in the registry.
  *
+ * The searchable tokens of each exposed device (name, binding, location, vendor, thing type and binding labels) are
+ * gathered once and kept in an inverted index (token to devices), which is maintained from thing, item and link registry
+ * changes and device definition changes. A search therefore does no registry lookups and scores each distinct token
+ * only once. Devices with the same score are returned in the order of their UIDs.
+ *
  * @author Tim Roberts - Initial Contribution
  */
 @NonNullByDefault
-public class TokenSearch {
+public class TokenSearch implements RegistryChangeListener<Thing> {
 
     private final Logger logger = LoggerFactory.getLogger(TokenSearch.class);
 
@@ -53,6 +67,55 @@ public class TokenSearch {
     /** The delimiter used to split search terms */
     private static final char DELIMITER = ' ';
 
+    /** The token every device matches */
+    private static final String OPENHAB_TOKEN = "openhab";
+
+    /** The lower cased search tokens by exposed device */
+    private final Map<NeeoThingUID, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    /** The inverted index built from {@link #entries} (null if it needs to be rebuilt) */
+    private volatile @Nullable InvertedIndex index;
+
+    /** Whether the exposed devices have been loaded and the registry listeners have been added */
+    private boolean loaded;
+
+    /** Re-indexes the things whose channels have been linked or unlinked (which may change their exposure) */
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            refresh(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            refresh(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            refresh(new NeeoThingUID(oldElement.getLinkedUID().getThingUID()));
+            refresh(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+    };
+
+    /** Re-indexes the things linked to items that have been added, removed or changed */
+    private final RegistryChangeListener<Item> itemListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Item element) {
+            refreshLinkedThings(element.getName());
+        }
+
+        @Override
+        public void removed(Item element) {
+            refreshLinkedThings(element.getName());
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            refreshLinkedThings(element.getName());
+        }
+    };
+
     /**
      * Instantiates a new token search based on the {@link ServiceContext} and threshold
      *
@@ -82,7 +145,7 @@ public class TokenSearch {
     }
 
     /**
-     * Searches the registry for all {@link NeeoDevice} matching the query
+     * Searches the index for all {@link NeeoDevice} matching the query
      *
      * @param query the non-empty query
      * @return a non-null result
@@ -90,66 +153,178 @@ public class TokenSearch {
     public Result search(String query) {
         NeeoUtil.requireNotEmpty(query, "query cannot be empty");
 
-        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
+        final InvertedIndex localIndex = getIndex();
+        final String[] needles = StringUtils.split(query.toLowerCase(), DELIMITER);
+        final int[] scores = new int[localIndex.devices.length];
+
+        for (int t = 0; t < localIndex.tokens.length; t++) {
+            final int tokenScore = searchAlgorithm(localIndex.tokens[t], needles);
+            if (tokenScore > 0) {
+                for (int device : localIndex.postings[t]) {
+                    scores[device] += tokenScore;
+                }
+            }
+        }
 
-        final String[] needles = StringUtils.split(query, DELIMITER);
+        // devices are indexed in the order of their uids, which is kept for equal scores
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
         int maxScore = -1;
+        for (int i = 0; i < scores.length; i++) {
+            maxScore = Math.max(maxScore, scores[i]);
+            results.add(new TokenScore<>(scores[i], localIndex.devices[i]));
+        }
 
-        for (NeeoDevice device : context.getDefinitions().getExposed()) {
-            int score = search(device.getName(), needles);
-            score += search("openhab", needles);
-            // score += searchAlgorithm(thing.getLocation(), needles);
-            score += search(device.getUid().getBindingId(), needles);
-
-            final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
-            if (thing != null) {
-                final String location = thing.getLocation();
-                if (location != null && !location.isEmpty()) {
-                    score += search(location, needles);
-                }
+        return new Result(applyThreshold(results, maxScore, threshold), maxScore);
+    }
 
-                final Map<@NonNull String, String> properties = thing.getProperties();
-                final String vendor = properties.get(Thing.PROPERTY_VENDOR);
-                if (vendor != null && !vendor.isEmpty()) {
-                    score += search(vendor, needles);
-                }
+    /**
+     * Re-indexes the device with the given {@link NeeoThingUID} (or removes it from the index if no longer exposed)
+     *
+     * @param uid the non-null uid
+     */
+    public synchronized void refresh(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+        if (!loaded) {
+            // will be picked up by the initial load
+            return;
+        }
+
+        final NeeoDevice device = context.getDefinitions().getExposed(uid);
+        if (device == null) {
+            entries.remove(uid);
+        } else {
+            entries.put(uid, createEntry(device));
+        }
+        index = null;
+    }
+
+    /**
+     * Re-indexes the things with a channel linked to the given item
+     *
+     * @param itemName the non-empty item name
+     */
+    private void refreshLinkedThings(String itemName) {
+        for (ChannelUID channelUID : context.getItemChannelLinkRegistry().getBoundChannels(itemName)) {
+            refresh(new NeeoThingUID(channelUID.getThingUID()));
+        }
+    }
+
+    /**
+     * Removes the registry listeners and clears the index
+     */
+    public synchronized void close() {
+        if (loaded) {
+            context.getThingRegistry().removeRegistryChangeListener(this);
+            context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+            context.getItemRegistry().removeRegistryChangeListener(itemListener);
+            loaded = false;
+        }
+        entries.clear();
+        index = null;
+    }
+
+    @Override
+    public void added(Thing element) {
+        refresh(new NeeoThingUID(element.getUID()));
+    }
+
+    @Override
+    public void removed(Thing element) {
+        refresh(new NeeoThingUID(element.getUID()));
+    }
 
-                final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
-                if (tt != null) {
-                    score += search(tt.getLabel(), needles);
+    @Override
+    public void updated(Thing oldElement, Thing element) {
+        refresh(new NeeoThingUID(element.getUID()));
+    }
+
+    /**
+     * Returns the current inverted index, (re)building it if needed. The first call will load all exposed devices and
+     * start listening to thing, item and link registry changes.
+     *
+     * @return the non-null inverted index
+     */
+    private InvertedIndex getIndex() {
+        InvertedIndex localIndex = index;
+        if (localIndex != null) {
+            return localIndex;
+        }
 
-                    final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
-                    if (bi != null) {
-                        score += search(bi.getName(), needles);
+        synchronized (this) {
+            localIndex = index;
+            if (localIndex == null) {
+                if (!loaded) {
+                    context.getThingRegistry().addRegistryChangeListener(this);
+                    context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
+                    context.getItemRegistry().addRegistryChangeListener(itemListener);
+                    for (NeeoDevice device : context.getDefinitions().getExposed()) {
+                        entries.put(device.getUid(), createEntry(device));
                     }
+                    loaded = true;
                 }
+                localIndex = new InvertedIndex(entries.values());
+                index = localIndex;
             }
+            return localIndex;
+        }
+    }
 
-            maxScore = Math.max(maxScore, score);
+    /**
+     * Gathers the lower cased search tokens for the device. This is the only place doing registry lookups.
+     *
+     * @param device the non-null device
+     * @return the non-null index entry
+     */
+    private IndexEntry createEntry(NeeoDevice device) {
+        final List<String> tokens = new ArrayList<>();
+        addTokens(tokens, device.getName());
+        addTokens(tokens, OPENHAB_TOKEN);
+        addTokens(tokens, device.getUid().getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            final String location = thing.getLocation();
+            if (location != null && !location.isEmpty()) {
+                addTokens(tokens, location);
+            }
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            final String vendor = properties.get(Thing.PROPERTY_VENDOR);
+            if (vendor != null && !vendor.isEmpty()) {
+                addTokens(tokens, vendor);
+            }
 
-            results.add(new TokenScore<>(score, device));
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                addTokens(tokens, tt.getLabel());
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    addTokens(tokens, bi.getName());
+                }
+            }
         }
 
-        return new Result(applyThreshold(results, maxScore, threshold), maxScore);
+        return new IndexEntry(device, tokens);
     }
 
     /**
-     * Search the 'haystack' for the needles. The 'haystack' will be broken up by delimiter and each part will be
-     * compared to the needles array and the resulting score summation returned.
+     * Splits the haystack by the delimiter and adds the lower cased parts to the tokens
      *
+     * @param tokens the non-null tokens to add to
      * @param haystack the search term
-     * @param needles the items to search
-     * @return the score of the match
      */
-    private int search(String haystack, String[] needles) {
-        return Arrays.stream(StringUtils.split(haystack, DELIMITER)).mapToInt(hs -> searchAlgorithm(hs, needles)).sum();
+    private void addTokens(List<String> tokens, String haystack) {
+        for (String token : StringUtils.split(haystack, DELIMITER)) {
+            tokens.add(token.toLowerCase());
+        }
     }
 
     /**
      * The search algorithm (lifted from tokensearch.js)
      *
-     * @param haystack the search term
-     * @param needles the items to search
+     * @param haystack the lower cased search term
+     * @param needles the lower cased items to search
      * @return the score of the match
      */
     private int searchAlgorithm(String haystack, String[] needles) {
@@ -160,13 +335,13 @@ public class TokenSearch {
         int arrayLength = needles.length;
         for (int i = 0; i < arrayLength; i++) {
             String needle = needles[i];
-            int stringPos = haystack.toLowerCase().indexOf(needle.toLowerCase());
+            int stringPos = haystack.indexOf(needle);
             int tokenScore = 0;
             if (stringPos > -1) {
                 if (needle.length() < 2) {
                     tokenScore = 1;
                 } else {
-                    if (haystack.equalsIgnoreCase(needle)) {
+                    if (haystack.equals(needle)) {
                         tokenScore = 6;
                     } else if (stringPos == 0) {
                         tokenScore = 2;
@@ -202,8 +377,62 @@ public class TokenSearch {
             }
         }
 
-        // Sort and then limit by search limit
-        return results.stream().sorted().limit(searchLimit).collect(Collectors.toList());
+        // Sort (stable, so equal scores keep the index order) and then limit by search limit
+        return results.stream().sorted(Comparator.comparingDouble(TokenScore<NeeoDevice>::getScore).reversed())
+                .limit(searchLimit).collect(Collectors.toList());
+    }
+
+    /**
+     * The lower cased search tokens of a single device
+     *
+     * @author agent - Initial contribution
+     */
+    private static class IndexEntry {
+        private final NeeoDevice device;
+        private final List<String> tokens;
+
+        private IndexEntry(NeeoDevice device, List<String> tokens) {
+            this.device = device;
+            this.tokens = tokens;
+        }
+    }
+
+    /**
+     * Immutable inverted index mapping each distinct token to the devices containing it. A device is listed once per
+     * occurrence of the token, so the scores add up the same way as scanning every token of every device. Devices are
+     * numbered in the order of their uids, independent of the order the entries are kept in.
+     *
+     * @author agent - Initial contribution
+     */
+    private static class InvertedIndex {
+        private final NeeoDevice[] devices;
+        private final String[] tokens;
+        private final int[][] postings;
+
+        private InvertedIndex(Collection<IndexEntry> entries) {
+            final List<IndexEntry> sortedEntries = new ArrayList<>(entries);
+            sortedEntries.sort(Comparator.comparing(entry -> entry.device.getUid().getAsString()));
+
+            final List<NeeoDevice> deviceList = new ArrayList<>();
+            final Map<String, List<Integer>> tokenToDevices = new HashMap<>();
+            for (IndexEntry entry : sortedEntries) {
+                final int ordinal = deviceList.size();
+                deviceList.add(entry.device);
+                for (String token : entry.tokens) {
+                    tokenToDevices.computeIfAbsent(token, k -> new ArrayList<>()).add(ordinal);
+                }
+            }
+
+            devices = deviceList.toArray(new NeeoDevice[0]);
+            tokens = new String[tokenToDevices.size()];
+            postings = new int[tokenToDevices.size()][];
+            int t = 0;
+            for (Map.Entry<String, List<Integer>> entry : tokenToDevices.entrySet()) {
+                tokens[t] = entry.getKey();
+                postings[t] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+                t++;
+            }
+        }
     }
 
     /**
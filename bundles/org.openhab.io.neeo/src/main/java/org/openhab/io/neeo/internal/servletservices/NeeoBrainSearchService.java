@@ -25,7 +25,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.openhab.io.neeo.internal.NeeoConstants;
 import org.openhab.io.neeo.internal.NeeoUtil;
 import org.openhab.io.neeo.internal.ServiceContext;
 import org.openhab.io.neeo.internal.TokenSearch;
@@ -234,8 +233,7 @@ public class NeeoBrainSearchService extends DefaultServletService {
      */
     private List<TokenScoreResult<NeeoDevice>> search(String queryString) {
         Objects.requireNonNull(queryString, "queryString cannot be null");
-        final TokenSearch tokenSearch = new TokenSearch(context, NeeoConstants.SEARCH_MATCHFACTOR);
-        final TokenSearch.Result searchResult = tokenSearch.search(queryString);
+        final TokenSearch.Result searchResult = context.getTokenSearch().search(queryString);
 
         final List<TokenScoreResult<NeeoDevice>> searchItems = new ArrayList<>();
 
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.ThingRegistry;
+import org.openhab.core.thing.link.ItemChannelLink;
+import org.openhab.core.thing.link.ItemChannelLinkRegistry;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoDeviceType;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+import org.osgi.service.component.ComponentContext;
+
+/**
+ * Tests for the inverted index of {@link TokenSearch}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings("unchecked")
+public class TokenSearchTest {
+
+    private final ServiceContext context = mock(ServiceContext.class);
+    private final NeeoDeviceDefinitions definitions = mock(NeeoDeviceDefinitions.class);
+    private final ThingRegistry thingRegistry = mock(ThingRegistry.class);
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final ItemChannelLinkRegistry linkRegistry = mock(ItemChannelLinkRegistry.class);
+    private final Map<NeeoThingUID, NeeoDevice> exposed = new HashMap<>();
+
+    private @NonNullByDefault({}) TokenSearch tokenSearch;
+
+    @BeforeEach
+    public void setUp() {
+        ComponentContext componentContext = mock(ComponentContext.class);
+        when(componentContext.getProperties()).thenReturn(new Hashtable<>());
+        when(context.getComponentContext()).thenReturn(componentContext);
+        when(context.getDefinitions()).thenReturn(definitions);
+        when(context.getThingRegistry()).thenReturn(thingRegistry);
+        when(context.getItemRegistry()).thenReturn(itemRegistry);
+        when(context.getItemChannelLinkRegistry()).thenReturn(linkRegistry);
+        when(definitions.getExposed()).thenAnswer(invocation -> new ArrayList<>(exposed.values()));
+        when(definitions.getExposed(any(NeeoThingUID.class)))
+                .thenAnswer(invocation -> exposed.get(invocation.getArgument(0)));
+
+        tokenSearch = new TokenSearch(context, 0.8);
+    }
+
+    private NeeoDevice expose(String uid, String name) {
+        NeeoDevice device = new NeeoDevice(new NeeoThingUID(uid), 0, NeeoDeviceType.ACCESSOIRE, "openHAB", name,
+                List.of(), null, null, null, null);
+        exposed.put(device.getUid(), device);
+        return device;
+    }
+
+    private List<String> search(String query) {
+        return tokenSearch.search(query).getDevices().stream().map(TokenScore::getItem)
+                .map(device -> device.getUid().getAsString()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testExactMatchScoresHighest() {
+        expose("hue:bulb:kitchen", "Kitchen Light");
+        expose("hue:bulb:kitchenette", "Kitchenette Light");
+
+        TokenSearch.Result result = tokenSearch.search("kitchen");
+        assertEquals(2, result.getDevices().size());
+        TokenScore<NeeoDevice> best = result.getDevices().stream()
+                .min((a, b) -> Double.compare(a.getScore(), b.getScore())).get();
+        assertEquals("hue:bulb:kitchen", best.getItem().getUid().getAsString());
+    }
+
+    @Test
+    public void testEqualScoresAreOrderedByUid() {
+        expose("hue:bulb:c", "Lamp");
+        expose("hue:bulb:a", "Lamp");
+        expose("hue:bulb:b", "Lamp");
+
+        assertEquals(List.of("hue:bulb:a", "hue:bulb:b", "hue:bulb:c"), search("lamp"));
+        // stable across searches and rebuilds of the index
+        tokenSearch.refresh(new NeeoThingUID("hue:bulb:a"));
+        assertEquals(List.of("hue:bulb:a", "hue:bulb:b", "hue:bulb:c"), search("lamp"));
+    }
+
+    @Test
+    public void testRefreshReindexesDevice() {
+        expose("hue:bulb:kitchen", "Kitchen Light");
+        assertEquals(List.of("hue:bulb:kitchen"), search("kitchen"));
+
+        expose("hue:bulb:kitchen", "Dining Light");
+        tokenSearch.refresh(new NeeoThingUID("hue:bulb:kitchen"));
+        assertEquals(List.of("hue:bulb:kitchen"), search("dining"));
+        assertTrue(search("kitchen").isEmpty());
+
+        exposed.clear();
+        tokenSearch.refresh(new NeeoThingUID("hue:bulb:kitchen"));
+        assertTrue(search("dining").isEmpty());
+    }
+
+    @Test
+    public void testLinkChangeReindexesThing() {
+        search("anything");
+        ArgumentCaptor<RegistryChangeListener<ItemChannelLink>> captor = ArgumentCaptor
+                .forClass(RegistryChangeListener.class);
+        verify(linkRegistry).addRegistryChangeListener(captor.capture());
+
+        // linking the first item exposes the thing
+        expose("hue:bulb:kitchen", "Kitchen Light");
+        captor.getValue().added(new ItemChannelLink("KitchenLight", new ChannelUID("hue:bulb:kitchen:switch")));
+        assertEquals(List.of("hue:bulb:kitchen"), search("kitchen"));
+
+        // unlinking the last item hides it again
+        exposed.clear();
+        captor.getValue().removed(new ItemChannelLink("KitchenLight", new ChannelUID("hue:bulb:kitchen:switch")));
+        assertTrue(search("kitchen").isEmpty());
+    }
+
+    @Test
+    public void testItemChangeReindexesLinkedThings() {
+        search("anything");
+        ArgumentCaptor<RegistryChangeListener<Item>> captor = ArgumentCaptor.forClass(RegistryChangeListener.class);
+        verify(itemRegistry).addRegistryChangeListener(captor.capture());
+        when(linkRegistry.getBoundChannels("KitchenLight"))
+                .thenReturn(Set.of(new ChannelUID("hue:bulb:kitchen:switch")));
+
+        expose("hue:bulb:kitchen", "Kitchen Light");
+        captor.getValue().added(new SwitchItem("KitchenLight"));
+        assertEquals(List.of("hue:bulb:kitchen"), search("kitchen"));
+    }
+
+    @Test
+    public void testCloseRemovesListeners() {
+        search("anything");
+        tokenSearch.close();
+
+        verify(thingRegistry).removeRegistryChangeListener(tokenSearch);
+        verify(linkRegistry).removeRegistryChangeListener(any());
+        verify(itemRegistry).removeRegistryChangeListener(any());
+    }
+}
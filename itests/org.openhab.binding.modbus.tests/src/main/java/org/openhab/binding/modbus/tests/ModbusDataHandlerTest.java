@@ -594,6 +594,26 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         // no datetime, conversion not possible without transformation
     }
 
+    @Test
+    public void testOnRegistersUnchangedRegistersAreNotUpdatedAgain() {
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "default", ModbusConstants.ValueType.INT16, null,
+                new ModbusRegisterArray(new byte[] { (byte) 0x00, (byte) 0x05 }), null);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        // Unchanged data is not updated again until updateUnchangedValuesEveryMillis has passed
+        dataHandler.onReadResult(
+                new AsyncModbusReadResult(request, new ModbusRegisterArray(new byte[] { (byte) 0x00, (byte) 0x05 })));
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+
+        dataHandler.onReadResult(
+                new AsyncModbusReadResult(request, new ModbusRegisterArray(new byte[] { (byte) 0x00, (byte) 0x06 })));
+        String itemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+        waitForAssert(() -> assertThat(getStateUpdates(itemName),
+                is(equalTo(List.<State> of(new DecimalType(5), new DecimalType(6))))));
+    }
+
     @Test
     public void testOnRegistersRealTransformation() {
         mockTransformation("MULTIPLY", new MultiplyTransformation());